@@ -2,8 +2,10 @@ package com.jerosanchez.pms_patient_service;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class PmsPatientServiceApplication {
 
 	public static void main(String[] args) {
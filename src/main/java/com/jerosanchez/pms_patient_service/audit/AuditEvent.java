@@ -0,0 +1,18 @@
+package com.jerosanchez.pms_patient_service.audit;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One change to one patient, as written to the audit trail. Only the names of the changed fields
+ * are recorded, never their values, so the trail holds no personal data beyond the patient ID.
+ * @param timestamp when the change was made, just before its transaction committed
+ * @param actor who made the change, as identified by the caller
+ * @param operation what was done to the patient
+ * @param patientId the patient that changed
+ * @param fields the fields that were set, sorted by name; empty for deletes
+ */
+public record AuditEvent(Instant timestamp, String actor, AuditOperation operation, UUID patientId,
+        List<String> fields) {
+}
@@ -0,0 +1,163 @@
+package com.jerosanchez.pms_patient_service.audit;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.jerosanchez.pms_patient_service.concurrency.BoundedRingBuffer;
+import com.jerosanchez.pms_patient_service.config.AuditProperties;
+import com.jerosanchez.pms_patient_service.config.AuditProperties.OverflowPolicy;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Records who changed which patient fields. Recording only queues the event in a lock-free ring
+ * buffer, once the surrounding transaction commits; the {@link AuditWriter} thread writes it out,
+ * so requests never wait on disk. When the buffer is full the configured
+ * {@link OverflowPolicy} decides between dropping the event and briefly waiting for room.
+ */
+@Component
+public class AuditLog {
+    static final String ANONYMOUS = "anonymous";
+    static final String SYSTEM = "system";
+    private static final int MAX_ACTOR_LENGTH = 128;
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final AuditProperties properties;
+    private final BoundedRingBuffer<AuditEvent> buffer;
+    private final Clock clock;
+    private final Counter recordedCounter;
+    private final Counter droppedCounter;
+    private final AtomicLong unreportedDrops = new AtomicLong();
+
+    @Autowired
+    public AuditLog(AuditProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Clock.systemUTC());
+    }
+
+    AuditLog(AuditProperties properties, MeterRegistry meterRegistry, Clock clock) {
+        this.properties = properties;
+        this.buffer = new BoundedRingBuffer<>(properties.bufferCapacity());
+        this.clock = clock;
+
+        this.recordedCounter = Counter.builder("patients.audit.recorded")
+                .description("Audit events queued for writing")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("patients.audit.dropped")
+                .description("Audit events lost because the buffer was full")
+                .register(meterRegistry);
+        Gauge.builder("patients.audit.buffered", buffer, BoundedRingBuffer::size)
+                .description("Audit events waiting to be written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records a change to one patient.
+     * @param operation what was done
+     * @param patientId the patient that changed
+     * @param fields names of the fields that were set; empty for deletes
+     */
+    public void record(AuditOperation operation, UUID patientId, Collection<String> fields) {
+        recordAll(operation, List.of(patientId), fields);
+    }
+
+    /**
+     * Records the same change to several patients, one event each.
+     * @param operation what was done
+     * @param patientIds the patients that changed
+     * @param fields names of the fields that were set on every patient; empty for deletes
+     */
+    public void recordAll(AuditOperation operation, Collection<UUID> patientIds, Collection<String> fields) {
+        if (!properties.enabled() || patientIds.isEmpty()) {
+            return;
+        }
+
+        // Read on the request thread, which the header and the transaction are bound to
+        var timestamp = clock.instant();
+        var actor = currentActor();
+        var fieldNames = fields.stream().sorted().toList();
+        var events = new ArrayList<AuditEvent>(patientIds.size());
+        for (var patientId : patientIds) {
+            events.add(new AuditEvent(timestamp, actor, operation, patientId, fieldNames));
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(events);
+                }
+            });
+        } else {
+            enqueue(events);
+        }
+    }
+
+    /**
+     * Moves queued events to the target. Called by the {@link AuditWriter} thread only.
+     * @param target receives the events, oldest first
+     * @param max maximum number of events to move
+     * @return the number of events moved
+     */
+    int drainTo(List<AuditEvent> target, int max) {
+        return buffer.drainTo(target, max);
+    }
+
+    /**
+     * @return events dropped since the previous call, for the writer to report
+     */
+    long takeUnreportedDrops() {
+        return unreportedDrops.getAndSet(0);
+    }
+
+    private void enqueue(List<AuditEvent> events) {
+        for (var event : events) {
+            if (buffer.offer(event) || properties.overflowPolicy() == OverflowPolicy.BLOCK && awaitRoom(event)) {
+                recordedCounter.increment();
+            } else {
+                droppedCounter.increment();
+                unreportedDrops.incrementAndGet();
+            }
+        }
+    }
+
+    private boolean awaitRoom(AuditEvent event) {
+        var deadline = System.nanoTime() + properties.blockTimeout().toNanos();
+
+        while (System.nanoTime() - deadline < 0) {
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+            if (buffer.offer(event)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String currentActor() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return SYSTEM;
+        }
+
+        var actor = attributes.getRequest().getHeader(properties.actorHeader());
+        if (actor == null || actor.isBlank()) {
+            return ANONYMOUS;
+        }
+
+        actor = actor.strip();
+        return actor.length() > MAX_ACTOR_LENGTH ? actor.substring(0, MAX_ACTOR_LENGTH) : actor;
+    }
+}
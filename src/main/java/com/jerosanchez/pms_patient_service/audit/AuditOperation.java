@@ -0,0 +1,8 @@
+package com.jerosanchez.pms_patient_service.audit;
+
+public enum AuditOperation {
+    CREATE,
+    UPDATE,
+    PATCH,
+    DELETE
+}
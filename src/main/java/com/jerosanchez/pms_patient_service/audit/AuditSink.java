@@ -0,0 +1,22 @@
+package com.jerosanchez.pms_patient_service.audit;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Durable, append-only destination of audit events. Only the {@link AuditWriter} thread calls it.
+ */
+public interface AuditSink extends Closeable {
+    /**
+     * Appends a batch of events in order. Throwing keeps the batch to be written again, so events
+     * can be appended more than once after a partial write.
+     * @param events the events, oldest first
+     * @throws IOException when the events could not be stored
+     */
+    void write(List<AuditEvent> events) throws IOException;
+
+    @Override
+    default void close() throws IOException {
+    }
+}
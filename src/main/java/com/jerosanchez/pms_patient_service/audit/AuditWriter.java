@@ -0,0 +1,147 @@
+package com.jerosanchez.pms_patient_service.audit;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import com.jerosanchez.pms_patient_service.config.AuditProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Background thread that drains the {@link AuditLog} buffer in batches into the {@link AuditSink}.
+ * It keeps writing while events are waiting and sleeps for the flush interval once the buffer is
+ * empty. A failed batch is kept and retried, meanwhile new events pile up in the buffer, where the
+ * overflow policy applies. On shutdown, after the web server has stopped taking requests, whatever
+ * is left in the buffer is written before the sink is closed.
+ */
+@Component
+public class AuditWriter implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(AuditWriter.class);
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+
+    private final AuditLog auditLog;
+    private final AuditSink sink;
+    private final AuditProperties properties;
+    private final Counter writtenCounter;
+    private final Counter failureCounter;
+
+    private List<AuditEvent> pending = new ArrayList<>();
+    private volatile Thread thread;
+    private volatile boolean running;
+
+    public AuditWriter(AuditLog auditLog, AuditSink sink, AuditProperties properties, MeterRegistry meterRegistry) {
+        this.auditLog = auditLog;
+        this.sink = sink;
+        this.properties = properties;
+
+        this.writtenCounter = Counter.builder("patients.audit.written")
+                .description("Audit events written to the sink")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("patients.audit.write.failures")
+                .description("Audit batches that failed to be written and will be retried")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        if (!properties.enabled() || running) {
+            return;
+        }
+
+        running = true;
+        thread = Thread.ofPlatform().name("audit-writer").daemon().start(this::run);
+    }
+
+    @Override
+    public void stop() {
+        var writer = thread;
+        if (writer == null) {
+            return;
+        }
+
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(SHUTDOWN_TIMEOUT);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+
+        try {
+            sink.close();
+        } catch (IOException ex) {
+            logger.warn("Closing the audit sink failed", ex);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Lifecycle beans stop in decreasing phase order: stopping after the web server lets requests
+    // still in flight during a graceful shutdown record their events
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    /**
+     * Writes the pending batch, or the next one from the buffer. Synchronized, so that tests can
+     * flush while the writer thread is running.
+     * @return the number of events written; 0 when there was nothing to write or the write failed
+     */
+    synchronized int flush() {
+        var dropped = auditLog.takeUnreportedDrops();
+        if (dropped > 0) {
+            logger.warn("Audit buffer full, events dropped: count={}", dropped);
+        }
+
+        if (pending.isEmpty()) {
+            auditLog.drainTo(pending, properties.batchSize());
+            if (pending.isEmpty()) {
+                return 0;
+            }
+        }
+
+        try {
+            sink.write(pending);
+        } catch (IOException | RuntimeException ex) {
+            failureCounter.increment();
+            logger.warn("Writing audit events failed, will retry: count={}", pending.size(), ex);
+            return 0;
+        }
+
+        var written = pending.size();
+        writtenCounter.increment(written);
+        pending = new ArrayList<>();
+        return written;
+    }
+
+    private void run() {
+        while (running) {
+            if (flush() == 0) {
+                LockSupport.parkNanos(this, properties.flushInterval().toNanos());
+            }
+        }
+
+        while (flush() > 0) {
+            logger.debug("Audit batch written during shutdown");
+        }
+        synchronized (this) {
+            if (!pending.isEmpty()) {
+                logger.warn("Audit events lost on shutdown: count={}", pending.size());
+            }
+        }
+    }
+}
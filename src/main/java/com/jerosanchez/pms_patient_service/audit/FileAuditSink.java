@@ -0,0 +1,73 @@
+package com.jerosanchez.pms_patient_service.audit;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Appends audit events to a file as JSON lines, one event per line. The file is opened in append
+ * mode on the first write, creating it and its directory if needed, and each batch is written
+ * with a single system call.
+ */
+public class FileAuditSink implements AuditSink {
+    private final Path path;
+    private final ObjectMapper objectMapper;
+    private final boolean fsync;
+    private FileChannel channel;
+
+    /**
+     * @param path the file to append to
+     * @param objectMapper serializes the events
+     * @param fsync whether each batch is forced to disk before {@link #write} returns
+     */
+    public FileAuditSink(Path path, ObjectMapper objectMapper, boolean fsync) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+        this.fsync = fsync;
+    }
+
+    @Override
+    public synchronized void write(List<AuditEvent> events) throws IOException {
+        var lines = new ByteArrayOutputStream(events.size() * 160);
+        for (var event : events) {
+            lines.write(objectMapper.writeValueAsBytes(event));
+            lines.write('\n');
+        }
+
+        var buffer = ByteBuffer.wrap(lines.toByteArray());
+        var out = open();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        if (fsync) {
+            out.force(false);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private FileChannel open() throws IOException {
+        if (channel == null) {
+            var directory = path.toAbsolutePath().getParent();
+            if (directory != null) {
+                Files.createDirectories(directory);
+            }
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        }
+        return channel;
+    }
+}
@@ -0,0 +1,24 @@
+package com.jerosanchez.pms_patient_service.audit;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps written audit events in memory so that tests can assert on them.
+ */
+public class InMemoryAuditSink implements AuditSink {
+    private final List<AuditEvent> written = new ArrayList<>();
+
+    @Override
+    public synchronized void write(List<AuditEvent> events) {
+        written.addAll(events);
+    }
+
+    public synchronized List<AuditEvent> written() {
+        return List.copyOf(written);
+    }
+
+    public synchronized void clear() {
+        written.clear();
+    }
+}
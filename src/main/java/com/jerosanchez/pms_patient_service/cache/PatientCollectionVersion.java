@@ -0,0 +1,37 @@
+package com.jerosanchez.pms_patient_service.cache;
+
+import org.springframework.stereotype.Component;
+
+import com.jerosanchez.pms_patient_service.repository.PatientChangeSlotRepository;
+
+/**
+ * The version of the whole patient collection: the number of writes committed, counted on the
+ * write slots every write claims. A write moves it once it commits and not at all if it rolls back,
+ * and it never goes back. It lets list reads answer conditional requests (If-None-Match) by summing
+ * a handful of rows instead of running the page query, and every instance sharing the database
+ * agrees on it. Change sequence numbers cannot serve: they commit out of order, so the highest one
+ * committed does not move when a write with a lower one commits after it.
+ * <p>
+ * No Last-Modified is derived from it: HTTP dates have one-second precision, so a write landing in
+ * the same second as a read would wrongly answer If-Modified-Since with 304.
+ */
+@Component
+public class PatientCollectionVersion {
+    private final PatientChangeSlotRepository slotRepository;
+
+    public PatientCollectionVersion(PatientChangeSlotRepository slotRepository) {
+        this.slotRepository = slotRepository;
+    }
+
+    public long current() {
+        return slotRepository.sumWrites();
+    }
+
+    /**
+     * @return a weak ETag: the version identifies the data, which is sent in several encodings
+     *         (JSON, CBOR, Smile, compressed or not), none of them byte for byte the same
+     */
+    public String etag(long version) {
+        return "W/\"" + version + "\"";
+    }
+}
@@ -0,0 +1,108 @@
+package com.jerosanchez.pms_patient_service.cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import com.jerosanchez.pms_patient_service.dto.VersionedPatientDTO;
+
+/**
+ * Keeps the patient cache from going back in time. A read that found the row before a write
+ * committed puts its result after the write has put the new one, so a plain put would leave the
+ * old patient cached until it expires. Here a put never replaces a newer version, and an evicted
+ * patient is remembered as deleted, so a read that raced the delete cannot bring it back; later
+ * reads miss and find out from the database.
+ * <p>
+ * Versions are compared atomically when the cache is Caffeine; any other cache, such as the no-op
+ * one, gets plain puts and evictions. Clearing the cache forgets deletions, so batch deletes evict
+ * each deleted patient instead.
+ */
+public class VersionedPatientCache implements Cache {
+    private static final Object DELETED = new Object();
+
+    private final Cache delegate;
+
+    public VersionedPatientCache(Cache delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        var value = delegate.get(key);
+        return value == null || value.get() == DELETED ? null : value;
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        var value = get(key);
+        return value == null ? null : type.cast(value.get());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        var value = get(key);
+        if (value != null) {
+            return (T) value.get();
+        }
+
+        T loaded;
+        try {
+            loaded = valueLoader.call();
+        } catch (Exception ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+        put(key, loaded);
+        return loaded;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value != null && delegate instanceof CaffeineCache caffeineCache) {
+            entries(caffeineCache).merge(key, value, VersionedPatientCache::latest);
+        } else {
+            delegate.put(key, value);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        if (delegate instanceof CaffeineCache caffeineCache) {
+            entries(caffeineCache).put(key, DELETED);
+        } else {
+            delegate.evict(key);
+        }
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    private static Object latest(Object cached, Object value) {
+        if (cached == DELETED) {
+            return DELETED;
+        }
+        if (cached instanceof VersionedPatientDTO cachedPatient && value instanceof VersionedPatientDTO patient
+                && cachedPatient.version() > patient.version()) {
+            return cachedPatient;
+        }
+        return value;
+    }
+
+    private static ConcurrentMap<Object, Object> entries(CaffeineCache cache) {
+        return cache.getNativeCache().asMap();
+    }
+}
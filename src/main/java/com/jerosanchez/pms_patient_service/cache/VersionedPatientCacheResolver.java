@@ -0,0 +1,46 @@
+package com.jerosanchez.pms_patient_service.cache;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.CacheOperationInvocationContext;
+import org.springframework.cache.interceptor.SimpleCacheResolver;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves the caches named by a cache annotation as {@link VersionedPatientCache}s, for the
+ * operations that cache patients by ID.
+ */
+@Component(VersionedPatientCacheResolver.NAME)
+public class VersionedPatientCacheResolver extends SimpleCacheResolver {
+    public static final String NAME = "versionedPatientCacheResolver";
+
+    private final ConcurrentHashMap<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public VersionedPatientCacheResolver(CacheManager cacheManager) {
+        super(cacheManager);
+    }
+
+    @Override
+    public Collection<? extends Cache> resolveCaches(CacheOperationInvocationContext<?> context) {
+        return super.resolveCaches(context).stream()
+                .map(this::versioned)
+                .toList();
+    }
+
+    /**
+     * Looks up a cache outside a cache annotation, for evictions the annotations cannot express.
+     * @param name the cache name
+     * @return the same versioned cache the annotations resolve, or null when there is no such cache
+     */
+    public Cache getCache(String name) {
+        var cache = getCacheManager().getCache(name);
+        return cache == null ? null : versioned(cache);
+    }
+
+    private Cache versioned(Cache cache) {
+        return caches.computeIfAbsent(cache.getName(), name -> new VersionedPatientCache(cache));
+    }
+}
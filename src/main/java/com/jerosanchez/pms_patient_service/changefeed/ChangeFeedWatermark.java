@@ -0,0 +1,49 @@
+package com.jerosanchez.pms_patient_service.changefeed;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+import com.jerosanchez.pms_patient_service.model.PatientChangeSlot;
+import com.jerosanchez.pms_patient_service.repository.PatientChangeSlotRepository;
+
+/**
+ * Finds how far the change feed can be read. Change sequence numbers are not committed in the order
+ * they are taken, so a page that moved its cursor past a number still in flight would skip that
+ * change for good once it commits. The watermark is a number at or below which every writer has
+ * either committed or rolled back.
+ * <p>
+ * Writers claim a write slot before they take a number and hold it until they finish (see
+ * {@link PatientChangeLog}). The watermark takes a number of its own first, then waits for each slot
+ * in turn: every writer that took a lower number held its slot by then, so once each slot has been
+ * free for a moment, all of them are done. A writer that claims a slot after it has been waited for
+ * takes a higher number, which the next page reads.
+ * <p>
+ * Writers never wait on the watermark, and a reader only waits for the writes in flight when it
+ * starts, so a page takes as long as the slowest of those to commit. Each slot is waited for by its
+ * own statement, so a slot is only held back while its own writer finishes.
+ */
+@Component
+public class ChangeFeedWatermark {
+    private final PatientChangeSlotRepository slotRepository;
+
+    public ChangeFeedWatermark(PatientChangeSlotRepository slotRepository) {
+        this.slotRepository = slotRepository;
+    }
+
+    /**
+     * Must be called outside a transaction: inside one, each slot would stay locked until it ends
+     * and hold up every writer.
+     * @return the highest change sequence number the change feed can be read up to
+     */
+    public long current() {
+        Assert.state(!TransactionSynchronizationManager.isActualTransactionActive(),
+                "The change feed watermark must be taken outside a transaction");
+
+        var next = slotRepository.nextChangeSeq();
+        for (int slot = 1; slot <= PatientChangeSlot.COUNT; slot++) {
+            slotRepository.awaitRelease(slot);
+        }
+        return next - 1;
+    }
+}
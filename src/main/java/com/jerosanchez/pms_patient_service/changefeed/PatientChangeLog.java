@@ -0,0 +1,99 @@
+package com.jerosanchez.pms_patient_service.changefeed;
+
+import java.time.Clock;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.jerosanchez.pms_patient_service.model.PatientChangeSlot;
+import com.jerosanchez.pms_patient_service.model.PatientTombstone;
+import com.jerosanchez.pms_patient_service.repository.PatientChangeSlotRepository;
+import com.jerosanchez.pms_patient_service.repository.PatientTombstoneRepository;
+
+/**
+ * Hands out positions in the change feed. Every method must join the transaction that makes the
+ * change.
+ * <p>
+ * Positions come from a database sequence, so writers do not queue to take one, but they are not
+ * committed in order: a transaction can commit after one that took a higher number. The change
+ * feed therefore reads only up to the {@link ChangeFeedWatermark}, which relies on every writer
+ * claiming a write slot, a row it keeps locked until it commits, before taking a number. Writers
+ * claim the slot before any patient row, which keeps lock order consistent; two writers only wait
+ * for each other when they pick the same slot.
+ * <p>
+ * A patient's position must grow with every change committed to it, so writers take it once no
+ * other change to the patient can commit ahead of theirs: after the read that an optimistic update
+ * checks its version against, after a delete, or with a patch that only applies over an older
+ * position. docs/PERFORMANCE.md describes what it costs.
+ */
+@Component
+@Transactional(propagation = Propagation.MANDATORY)
+public class PatientChangeLog {
+    private final PatientTombstoneRepository tombstoneRepository;
+    private final PatientChangeSlotRepository slotRepository;
+    private final Clock clock;
+
+    @Autowired
+    public PatientChangeLog(PatientTombstoneRepository tombstoneRepository,
+            PatientChangeSlotRepository slotRepository) {
+        this(tombstoneRepository, slotRepository, Clock.systemUTC());
+    }
+
+    PatientChangeLog(PatientTombstoneRepository tombstoneRepository, PatientChangeSlotRepository slotRepository,
+            Clock clock) {
+        this.tombstoneRepository = tombstoneRepository;
+        this.slotRepository = slotRepository;
+        this.clock = clock;
+    }
+
+    /**
+     * Claims a write slot for the current transaction unless it holds one already. Writers that
+     * may change patient rows before taking a number, such as deletes, call it first; it also
+     * counts the write towards the collection version.
+     */
+    public void beginChange() {
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+
+        slotRepository.claim(ThreadLocalRandom.current().nextInt(PatientChangeSlot.COUNT) + 1);
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(PatientChangeLog.this);
+            }
+        });
+    }
+
+    /**
+     * Takes the position of the changes the current transaction is about to write, claiming a
+     * write slot first if needed. Created and updated patients store it in their change sequence
+     * column; deleted ones pass it to {@link #recordDeleted(Collection, long)}.
+     * @return the change sequence number, shared by every change written with it
+     */
+    public long nextChangeSeq() {
+        beginChange();
+        return slotRepository.nextChangeSeq();
+    }
+
+    /**
+     * Leaves a tombstone for each deleted patient, all at the same position in the change feed.
+     * @param ids the patients deleted by the current transaction
+     * @param changeSeq the position taken by {@link #nextChangeSeq()} after deleting them
+     */
+    public void recordDeleted(Collection<UUID> ids, long changeSeq) {
+        var deletedAt = clock.instant();
+
+        tombstoneRepository.saveAll(ids.stream()
+                .map(id -> new PatientTombstone(id, changeSeq, deletedAt))
+                .toList());
+    }
+}
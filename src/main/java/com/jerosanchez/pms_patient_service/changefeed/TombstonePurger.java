@@ -0,0 +1,64 @@
+package com.jerosanchez.pms_patient_service.changefeed;
+
+import java.time.Clock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.jerosanchez.pms_patient_service.config.ChangeFeedProperties;
+import com.jerosanchez.pms_patient_service.repository.PatientChangeCounterRepository;
+import com.jerosanchez.pms_patient_service.repository.PatientTombstoneRepository;
+
+/**
+ * Deletes tombstones older than the retention and records the newest purged position, so that the
+ * change feed can tell consumers whose cursor is behind it that they may have missed deletions.
+ */
+@Component
+public class TombstonePurger {
+    private static final Logger logger = LoggerFactory.getLogger(TombstonePurger.class);
+
+    private final PatientTombstoneRepository tombstoneRepository;
+    private final PatientChangeCounterRepository counterRepository;
+    private final ChangeFeedProperties properties;
+    private final TransactionTemplate transaction;
+    private final Clock clock;
+
+    @Autowired
+    public TombstonePurger(PatientTombstoneRepository tombstoneRepository,
+            PatientChangeCounterRepository counterRepository, ChangeFeedProperties properties,
+            PlatformTransactionManager transactionManager) {
+        this(tombstoneRepository, counterRepository, properties, transactionManager, Clock.systemUTC());
+    }
+
+    TombstonePurger(PatientTombstoneRepository tombstoneRepository, PatientChangeCounterRepository counterRepository,
+            ChangeFeedProperties properties, PlatformTransactionManager transactionManager, Clock clock) {
+        this.tombstoneRepository = tombstoneRepository;
+        this.counterRepository = counterRepository;
+        this.properties = properties;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+    }
+
+    @Scheduled(fixedDelayString = "${patients.changes.purge-interval:PT1H}")
+    public void purge() {
+        var before = clock.instant().minus(properties.tombstoneRetention());
+
+        var purged = transaction.execute(status -> tombstoneRepository.findMaxChangeSeqDeletedBefore(before)
+                .map(changeSeq -> {
+                    var deleted = tombstoneRepository.deleteUpTo(changeSeq);
+                    // Raised in the same transaction, so no reader sees the tombstones gone but the mark unmoved
+                    counterRepository.raisePurgedSeq(changeSeq);
+                    return deleted;
+                })
+                .orElse(0));
+
+        if (purged > 0) {
+            logger.info("Patient tombstones purged: count={}", purged);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.jerosanchez.pms_patient_service.concurrency;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.jerosanchez.pms_patient_service.config.AdmissionProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Concurrency limit that finds its own level from observed latency (additive increase,
+ * multiplicative decrease). Every completed request feeds its latency into a short-term and a
+ * long-term moving average. While recent latency stays within the tolerance of the long-term
+ * average, and the limit is actually being used, the limit grows by one; once recent latency
+ * rises above it, or requests fail as overloaded, the limit shrinks by the back-off ratio. Queues
+ * building up in the service therefore shrink the limit before they show as timeouts, and
+ * requests above it are turned away at once instead of joining the queue.
+ * <p>
+ * Writes may only fill part of the limit, so under pressure they are shed before reads.
+ */
+@Component
+@ConditionalOnProperty(prefix = "patients.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AdaptiveConcurrencyLimit {
+    // Smoothing factors of the moving averages, covering roughly the last 10 and the last 500 samples
+    private static final double SHORT_SMOOTHING = 2.0 / (10 + 1);
+    private static final double LONG_SMOOTHING = 2.0 / (500 + 1);
+
+    public enum Priority {
+        READ, WRITE
+    }
+
+    private final AdmissionProperties properties;
+    private final LongSupplier nanoTime;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter readRejections;
+    private final Counter writeRejections;
+    private volatile double limit;
+
+    // Guarded by this
+    private double shortLatency = Double.NaN;
+    private double longLatency = Double.NaN;
+    private long lastBackoffNanos;
+
+    @Autowired
+    public AdaptiveConcurrencyLimit(AdmissionProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimit(AdmissionProperties properties, MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        if (properties.minLimit() < 1 || properties.minLimit() > properties.maxLimit()) {
+            throw new IllegalArgumentException("minLimit must be between 1 and maxLimit");
+        }
+
+        this.properties = properties;
+        this.nanoTime = nanoTime;
+        this.limit = Math.clamp(properties.initialLimit(), properties.minLimit(), properties.maxLimit());
+        this.lastBackoffNanos = nanoTime.getAsLong();
+
+        Gauge.builder("patients.admission.limit", this, AdaptiveConcurrencyLimit::limit)
+                .description("Concurrent requests currently admitted to the patient API")
+                .register(meterRegistry);
+        Gauge.builder("patients.admission.in.flight", inFlight, AtomicInteger::get)
+                .description("Requests being processed by the patient API")
+                .register(meterRegistry);
+        this.readRejections = rejectionCounter(meterRegistry, Priority.READ);
+        this.writeRejections = rejectionCounter(meterRegistry, Priority.WRITE);
+    }
+
+    /**
+     * Admits a request if there is room for its priority, without waiting.
+     * @param priority reads may use the whole limit, writes only their share of it
+     * @return the permit to release once the request completes, or null when the request must be shed
+     */
+    public Permit tryAcquire(Priority priority) {
+        var allowed = (int) (priority == Priority.READ ? limit : limit * properties.writeShare());
+
+        while (true) {
+            var current = inFlight.get();
+            if (current >= Math.max(1, allowed)) {
+                (priority == Priority.READ ? readRejections : writeRejections).increment();
+                return null;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return new Permit(nanoTime.getAsLong(), current + 1);
+            }
+        }
+    }
+
+    /**
+     * Releases a permit and adapts the limit to how long the request took.
+     * @param permit the permit of the completed request
+     * @param overloaded true when the request failed because a resource behind it was saturated
+     */
+    public void release(Permit permit, boolean overloaded) {
+        var latency = nanoTime.getAsLong() - permit.startNanos();
+        inFlight.decrementAndGet();
+        adapt(permit, latency, overloaded);
+    }
+
+    /**
+     * Releases a permit without learning from it, for requests whose duration says nothing about
+     * load, such as streamed responses.
+     * @param permit the permit to release
+     */
+    public void releaseWithoutSample(Permit permit) {
+        inFlight.decrementAndGet();
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void adapt(Permit permit, long latency, boolean overloaded) {
+        if (Double.isNaN(longLatency)) {
+            shortLatency = latency;
+            longLatency = latency;
+        } else {
+            shortLatency += SHORT_SMOOTHING * (latency - shortLatency);
+            longLatency += LONG_SMOOTHING * (latency - longLatency);
+        }
+
+        if (overloaded || shortLatency > longLatency * properties.latencyTolerance()) {
+            // Back off at most once per round of requests: those admitted before the last back-off
+            // could not have benefited from it yet
+            if (permit.startNanos() - lastBackoffNanos > 0) {
+                limit = Math.max(properties.minLimit(), limit * properties.backoffRatio());
+                lastBackoffNanos = nanoTime.getAsLong();
+            }
+        } else if (permit.inFlight() * 2 >= limit) {
+            // Only grow while the limit is being used, so that a quiet service keeps a tight limit
+            limit = Math.min(properties.maxLimit(), limit + 1);
+        }
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, Priority priority) {
+        return Counter.builder("patients.admission.rejections")
+                .description("Requests shed because the concurrency limit was reached")
+                .tag("priority", priority.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param startNanos when the request was admitted
+     * @param inFlight requests in flight once this one was admitted
+     */
+    public record Permit(long startNanos, int inFlight) {
+    }
+}
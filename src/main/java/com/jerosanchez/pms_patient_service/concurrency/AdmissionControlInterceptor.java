@@ -0,0 +1,78 @@
+package com.jerosanchez.pms_patient_service.concurrency;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import com.jerosanchez.pms_patient_service.concurrency.AdaptiveConcurrencyLimit.Permit;
+import com.jerosanchez.pms_patient_service.concurrency.AdaptiveConcurrencyLimit.Priority;
+import com.jerosanchez.pms_patient_service.exception.ServiceOverloadedException;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Admits patient API requests through the {@link AdaptiveConcurrencyLimit} before they reach the
+ * controller. Shed requests fail with {@link ServiceOverloadedException}, which the exception
+ * handler turns into 503 with Retry-After. GET and HEAD requests are reads, everything else a write.
+ * <p>
+ * The limit backs off on rising latency, and on requests the exception handler marks as
+ * {@linkplain #markOverloaded overloaded}; other failures, 503s included, say nothing about load.
+ */
+public class AdmissionControlInterceptor implements AsyncHandlerInterceptor {
+    private static final String PERMIT_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".permit";
+    private static final String OVERLOADED_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".overloaded";
+
+    private final AdaptiveConcurrencyLimit limit;
+
+    public AdmissionControlInterceptor(AdaptiveConcurrencyLimit limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * Marks a request as failed because a resource behind it was saturated, so that the limit backs
+     * off once it completes.
+     * @param request the failed request
+     */
+    public static void markOverloaded(HttpServletRequest request) {
+        request.setAttribute(OVERLOADED_ATTRIBUTE, Boolean.TRUE);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Async and error dispatches belong to a request that was already admitted
+        if (request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+
+        var method = HttpMethod.valueOf(request.getMethod());
+        var priority = method == HttpMethod.GET || method == HttpMethod.HEAD ? Priority.READ : Priority.WRITE;
+        var permit = limit.tryAcquire(priority);
+        if (permit == null) {
+            throw new ServiceOverloadedException("Concurrency limit reached: limit=" + limit.limit());
+        }
+
+        request.setAttribute(PERMIT_ATTRIBUTE, permit);
+        return true;
+    }
+
+    // Streamed responses (the export) give up their permit once the handler returns: how long the
+    // client takes to read the stream says nothing about the load on the service
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+            Object handler) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof Permit permit) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            limit.releaseWithoutSample(permit);
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof Permit permit) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            limit.release(permit, Boolean.TRUE.equals(request.getAttribute(OVERLOADED_ATTRIBUTE)));
+        }
+    }
+}
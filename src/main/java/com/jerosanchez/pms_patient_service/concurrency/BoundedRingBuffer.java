@@ -0,0 +1,115 @@
+package com.jerosanchez.pms_patient_service.concurrency;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free bounded queue for many producers and a single consumer, after Dmitry Vyukov's bounded
+ * MPMC queue. Every slot of the ring carries a sequence number telling whose turn it is: producers
+ * claim a slot with one CAS on the tail and publish it by advancing its sequence, so they never
+ * wait on each other or on the consumer. A full ring makes {@link #offer} fail at once, leaving it
+ * to the caller to drop or retry.
+ * @param <E> element type
+ */
+public class BoundedRingBuffer<E> {
+    private final AtomicReferenceArray<E> slots;
+    // The slot at position p is free for the producer of p when its sequence is p, and holds that
+    // producer's element for the consumer when its sequence is p + 1
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * @param capacity maximum number of queued elements, rounded up to a power of two
+     */
+    public BoundedRingBuffer(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity must be between 1 and 2^30");
+        }
+
+        var size = Math.max(2, Integer.highestOneBit(capacity - 1) << 1);
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Adds an element without blocking. Safe to call from any number of threads.
+     * @param element the element to add
+     * @return false when the buffer is full and the element was not added
+     */
+    public boolean offer(E element) {
+        Objects.requireNonNull(element, "element");
+
+        var position = tail.get();
+        while (true) {
+            var index = (int) (position & mask);
+            var sequence = sequences.get(index);
+
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.set(index, element);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (sequence < position) {
+                // The consumer has not yet taken the element a full lap behind
+                return false;
+            } else {
+                // Another producer claimed this position first
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Moves up to {@code max} elements, oldest first, to the target. Only one thread may drain at a
+     * time. An element whose producer has claimed its slot but not yet filled it ends the drain, so
+     * the order elements were claimed in is kept.
+     * @param target receives the elements
+     * @param max maximum number of elements to move
+     * @return the number of elements moved
+     */
+    public int drainTo(Collection<? super E> target, int max) {
+        var position = head.get();
+        var drained = 0;
+
+        while (drained < max) {
+            var index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+
+            target.add(slots.get(index));
+            slots.set(index, null);
+            // Hand the slot to the producer one lap ahead
+            sequences.set(index, position + mask + 1);
+            position++;
+            drained++;
+        }
+
+        head.set(position);
+        return drained;
+    }
+
+    /**
+     * @return the number of queued elements, including slots claimed but not yet filled; only an
+     *         estimate while producers or the consumer are active
+     */
+    public int size() {
+        var queued = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(queued, capacity()));
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,20 @@
+package com.jerosanchez.pms_patient_service.concurrency;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read-only method whose concurrent calls with equal arguments may share one execution,
+ * see {@link SingleFlightAspect}. The arguments must implement equals and hashCode.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Coalesced {
+    /**
+     * @return name of the operation, as listed in patients.single-flight.operations and tagged on
+     *         the metrics
+     */
+    String value();
+}
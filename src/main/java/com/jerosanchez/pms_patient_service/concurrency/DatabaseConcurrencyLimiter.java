@@ -0,0 +1,128 @@
+package com.jerosanchez.pms_patient_service.concurrency;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.jerosanchez.pms_patient_service.config.DatabaseLimiterProperties;
+import com.jerosanchez.pms_patient_service.exception.DatabaseBusyException;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Bounds how many callers may be inside the service and repository layers at once when requests
+ * run on virtual threads. Virtual threads are cheap, connections are not: without this gate,
+ * thousands of concurrent requests would all queue inside the connection pool and fail after its
+ * connection timeout. Here they park on a fair semaphore sized to the pool instead, and are
+ * rejected with 503 once the acquire timeout elapses.
+ * <p>
+ * The gate is reentrant: a thread that already holds a permit, or is already inside a
+ * transaction (and so already holds a connection), passes straight through. It runs inside the
+ * cache advice, so cache hits never wait for a permit, and outside the transaction advice, so a
+ * connection is only taken once a permit has been granted.
+ * <p>
+ * Every Spring Data repository is gated, so callers outside the service layer wait their turn as
+ * well. Background work that opens its own transaction first passes through and takes its
+ * connection directly: the outbox relay, the tombstone purger, and the email, typeahead and
+ * semantic index loads. Scheduled runs share the two scheduler threads, but the three index
+ * warm-ups start together when the application is ready, so up to five connections can be in use
+ * beyond the limit.
+ */
+@Aspect
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Order(DatabaseConcurrencyLimiter.ORDER)
+public class DatabaseConcurrencyLimiter {
+    public static final int ORDER = Ordered.LOWEST_PRECEDENCE - 1;
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseConcurrencyLimiter.class);
+    private static final int DEFAULT_POOL_SIZE = 10;
+    private static final ThreadLocal<Boolean> HOLDS_PERMIT = ThreadLocal.withInitial(() -> false);
+
+    private final int maxConcurrent;
+    private final Duration acquireTimeout;
+    private final Semaphore permits;
+    private final Counter rejections;
+
+    @Autowired
+    public DatabaseConcurrencyLimiter(DataSource dataSource, DatabaseLimiterProperties properties,
+            MeterRegistry meterRegistry) {
+        this(properties.maxConcurrent() > 0 ? properties.maxConcurrent() : poolSize(dataSource),
+                properties.acquireTimeout(), meterRegistry);
+    }
+
+    DatabaseConcurrencyLimiter(int maxConcurrent, Duration acquireTimeout, MeterRegistry meterRegistry) {
+        this.maxConcurrent = maxConcurrent;
+        this.acquireTimeout = acquireTimeout;
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.rejections = Counter.builder("patients.db.limiter.rejections")
+                .description("Calls rejected after waiting too long for a database permit")
+                .register(meterRegistry);
+
+        Gauge.builder("patients.db.limiter.in.use", permits, p -> maxConcurrent - p.availablePermits())
+                .description("Database permits currently held")
+                .register(meterRegistry);
+        Gauge.builder("patients.db.limiter.waiting", permits, Semaphore::getQueueLength)
+                .description("Callers queued for a database permit")
+                .register(meterRegistry);
+
+        logger.info("Database concurrency limiter enabled: maxConcurrent={}, acquireTimeout={}",
+                maxConcurrent, acquireTimeout);
+    }
+
+    @Around("execution(public * com.jerosanchez.pms_patient_service.service..*(..))"
+            + " || this(org.springframework.data.repository.Repository)")
+    public Object limit(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (HOLDS_PERMIT.get() || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        acquire();
+        HOLDS_PERMIT.set(true);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            HOLDS_PERMIT.remove();
+            permits.release();
+        }
+    }
+
+    int maxConcurrent() {
+        return maxConcurrent;
+    }
+
+    private void acquire() {
+        try {
+            if (permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        rejections.increment();
+        throw new DatabaseBusyException("Timed out waiting for a database permit.");
+    }
+
+    private static int poolSize(DataSource dataSource) {
+        return dataSource instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : DEFAULT_POOL_SIZE;
+    }
+}
@@ -0,0 +1,98 @@
+package com.jerosanchez.pms_patient_service.concurrency;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Collapses concurrent identical calls into one: the first caller for a key runs the call, and
+ * callers arriving with the same key while it runs wait for it and share its result, or its
+ * exception. Nothing is kept once the call returns, so a result is never older than the call that
+ * was already running when the caller arrived. That call may have read the data before the caller's
+ * own write committed, though: a client that writes and then reads can be answered with the data
+ * as it was before its write. Operations that must read their own writes are not to be coalesced.
+ * @param <K> key identifying identical calls
+ * @param <V> result type
+ */
+public class SingleFlight<K, V> {
+    private final ConcurrentHashMap<K, CompletableFuture<V>> flights = new ConcurrentHashMap<>();
+    private final Counter executedCounter;
+    private final Counter sharedCounter;
+
+    /**
+     * @param operation name of the coalesced operation, used as the metrics tag
+     * @param meterRegistry registry for the call counters and the coalescing ratio
+     */
+    public SingleFlight(String operation, MeterRegistry meterRegistry) {
+        this.executedCounter = callCounter(meterRegistry, operation, "executed");
+        this.sharedCounter = callCounter(meterRegistry, operation, "shared");
+
+        Gauge.builder("patients.single.flight.coalescing.ratio", this, SingleFlight::coalescingRatio)
+                .description("Share of calls answered by another caller's execution")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the call, or joins the identical call already running.
+     * @param key identifies identical calls
+     * @param call computes the result
+     * @return the result, possibly computed for another caller
+     */
+    public V execute(K key, Supplier<V> call) {
+        var flight = new CompletableFuture<V>();
+        var running = flights.putIfAbsent(key, flight);
+        if (running != null) {
+            sharedCounter.increment();
+            return join(running);
+        }
+
+        V result;
+        try {
+            result = call.get();
+        } catch (RuntimeException | Error ex) {
+            flights.remove(key, flight);
+            flight.completeExceptionally(ex);
+            throw ex;
+        }
+
+        // Later callers start a new execution rather than getting this result
+        flights.remove(key, flight);
+        flight.complete(result);
+        executedCounter.increment();
+        return result;
+    }
+
+    double coalescingRatio() {
+        var shared = sharedCounter.count();
+        var total = shared + executedCounter.count();
+        return total == 0 ? 0 : shared / total;
+    }
+
+    private static <V> V join(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private static Counter callCounter(MeterRegistry meterRegistry, String operation, String outcome) {
+        return Counter.builder("patients.single.flight.calls")
+                .description("Calls through the single-flight layer, by whether they ran or shared a result")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,62 @@
+package com.jerosanchez.pms_patient_service.concurrency;
+
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.jerosanchez.pms_patient_service.config.SingleFlightProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Runs {@link Coalesced} methods through a {@link SingleFlight} per operation, keyed by the
+ * method arguments, so that a burst of identical reads costs one query and one mapping pass.
+ * <p>
+ * It runs inside the cache advice, so cache hits are answered directly, and outside the database
+ * limiter and the transaction advice, so callers waiting for a shared result hold neither a
+ * permit nor a connection.
+ */
+@Aspect
+@Component
+@Order(SingleFlightAspect.ORDER)
+public class SingleFlightAspect {
+    public static final int ORDER = Ordered.LOWEST_PRECEDENCE - 2;
+
+    private final SingleFlightProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<String, SingleFlight<List<Object>, Object>> flights = new ConcurrentHashMap<>();
+
+    public SingleFlightAspect(SingleFlightProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("@annotation(coalesced)")
+    public Object coalesce(ProceedingJoinPoint joinPoint, Coalesced coalesced) throws Throwable {
+        var operation = coalesced.value();
+        if (!properties.operations().contains(operation)) {
+            return joinPoint.proceed();
+        }
+
+        var flight = flights.computeIfAbsent(operation, name -> new SingleFlight<>(name, meterRegistry));
+        return flight.execute(Arrays.asList(joinPoint.getArgs()), () -> proceed(joinPoint));
+    }
+
+    private static Object proceed(ProceedingJoinPoint joinPoint) {
+        try {
+            return joinPoint.proceed();
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new UndeclaredThrowableException(ex);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.jerosanchez.pms_patient_service.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.jerosanchez.pms_patient_service.concurrency.AdaptiveConcurrencyLimit;
+import com.jerosanchez.pms_patient_service.concurrency.AdmissionControlInterceptor;
+
+@Configuration
+public class AdmissionControlConfig implements WebMvcConfigurer {
+    // Absent when admission control is disabled
+    private final ObjectProvider<AdaptiveConcurrencyLimit> limit;
+
+    public AdmissionControlConfig(ObjectProvider<AdaptiveConcurrencyLimit> limit) {
+        this.limit = limit;
+    }
+
+    // Only the patient API is limited; actuator and API docs stay reachable under load
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        limit.ifAvailable(available -> registry.addInterceptor(new AdmissionControlInterceptor(available))
+                .addPathPatterns("/api/patients", "/api/patients/**"));
+    }
+}
@@ -0,0 +1,28 @@
+package com.jerosanchez.pms_patient_service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Adaptive admission control for the patient API.
+ * @param enabled whether excess requests are shed; read once at startup
+ * @param initialLimit concurrent requests admitted before any latency has been observed
+ * @param minLimit the limit never drops below this
+ * @param maxLimit the limit never grows above this
+ * @param writeShare fraction of the limit that writes may fill; the rest is kept for reads, so
+ *                   writes are shed first
+ * @param latencyTolerance how far recent latency may rise above the long-term average before the
+ *                         limit backs off, as a ratio
+ * @param backoffRatio factor the limit is multiplied by when latency rises or requests fail because the
+ *                     database is saturated
+ */
+@ConfigurationProperties("patients.admission")
+public record AdmissionProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100") int initialLimit,
+        @DefaultValue("20") int minLimit,
+        @DefaultValue("1000") int maxLimit,
+        @DefaultValue("0.8") double writeShare,
+        @DefaultValue("1.5") double latencyTolerance,
+        @DefaultValue("0.9") double backoffRatio) {
+}
@@ -0,0 +1,12 @@
+package com.jerosanchez.pms_patient_service.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+@Configuration
+// Lets the startup warm-ups run on the application task executor, so that loading the in-memory
+// indexes does not hold back readiness
+@EnableAsync
+public class AsyncConfig {
+
+}
@@ -0,0 +1,23 @@
+package com.jerosanchez.pms_patient_service.config;
+
+import java.nio.file.Path;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jerosanchez.pms_patient_service.audit.AuditSink;
+import com.jerosanchez.pms_patient_service.audit.FileAuditSink;
+import com.jerosanchez.pms_patient_service.audit.InMemoryAuditSink;
+
+@Configuration
+public class AuditConfig {
+
+    @Bean
+    public AuditSink auditSink(AuditProperties properties, ObjectMapper objectMapper) {
+        return switch (properties.sink()) {
+            case FILE -> new FileAuditSink(Path.of(properties.file()), objectMapper, properties.fsync());
+            case IN_MEMORY -> new InMemoryAuditSink();
+        };
+    }
+}
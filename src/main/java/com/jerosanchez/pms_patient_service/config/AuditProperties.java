@@ -0,0 +1,45 @@
+package com.jerosanchez.pms_patient_service.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Audit trail of patient changes, buffered in memory and written in batches off the request thread.
+ * @param enabled when false no audit events are recorded
+ * @param bufferCapacity events held in memory waiting to be written, rounded up to a power of two
+ * @param overflowPolicy what a request does when the buffer is full
+ * @param blockTimeout with the block policy, how long a request waits for room before dropping its event
+ * @param batchSize events written per call to the sink
+ * @param flushInterval how long the writer sleeps once the buffer is empty, i.e. how stale the trail can get
+ * @param sink where events are written
+ * @param file the file appended to by the file sink
+ * @param fsync whether the file sink forces every batch to disk
+ * @param actorHeader request header identifying who makes the change
+ */
+@ConfigurationProperties("patients.audit")
+public record AuditProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("8192") int bufferCapacity,
+        @DefaultValue("drop") OverflowPolicy overflowPolicy,
+        @DefaultValue("100ms") Duration blockTimeout,
+        @DefaultValue("256") int batchSize,
+        @DefaultValue("200ms") Duration flushInterval,
+        @DefaultValue("file") Sink sink,
+        @DefaultValue("logs/patient-audit.jsonl") String file,
+        @DefaultValue("false") boolean fsync,
+        @DefaultValue("X-Actor") String actorHeader) {
+
+    public enum OverflowPolicy {
+        // Never delay the request; the event is lost and counted
+        DROP,
+        // Wait up to the block timeout for the writer to make room, then drop
+        BLOCK
+    }
+
+    public enum Sink {
+        FILE,
+        IN_MEMORY
+    }
+}
@@ -0,0 +1,15 @@
+package com.jerosanchez.pms_patient_service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Limits for bulk patient operations.
+ * @param maxSize maximum number of items accepted in a single bulk request
+ * @param queryChunkSize maximum number of values bound into a single IN clause
+ */
+@ConfigurationProperties("patients.batch")
+public record BatchProperties(
+        @DefaultValue("1000") int maxSize,
+        @DefaultValue("500") int queryChunkSize) {
+}
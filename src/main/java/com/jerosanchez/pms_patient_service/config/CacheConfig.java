@@ -0,0 +1,14 @@
+package com.jerosanchez.pms_patient_service.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+// Runs before request coalescing and the database concurrency limiter, so cache hits never wait
+// for another caller or for a permit
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 3)
+public class CacheConfig {
+    public static final String PATIENTS_CACHE = "patients";
+
+}
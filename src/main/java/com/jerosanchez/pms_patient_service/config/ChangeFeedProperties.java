@@ -0,0 +1,16 @@
+package com.jerosanchez.pms_patient_service.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Retention of the change feed.
+ * @param tombstoneRetention how long deletions are kept; consumers that sync less often than this
+ *                           must start over without a cursor
+ */
+@ConfigurationProperties("patients.changes")
+public record ChangeFeedProperties(
+        @DefaultValue("P30D") Duration tombstoneRetention) {
+}
@@ -0,0 +1,18 @@
+package com.jerosanchez.pms_patient_service.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Limits for concurrent database work when requests run on virtual threads.
+ * @param maxConcurrent maximum number of callers allowed into the data layer at once; 0 uses the
+ *        connection pool size
+ * @param acquireTimeout how long a caller may queue for a permit before the request is rejected
+ */
+@ConfigurationProperties("patients.db-limiter")
+public record DatabaseLimiterProperties(
+        @DefaultValue("0") int maxConcurrent,
+        @DefaultValue("5s") Duration acquireTimeout) {
+}
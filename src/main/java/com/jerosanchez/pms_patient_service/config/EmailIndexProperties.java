@@ -0,0 +1,19 @@
+package com.jerosanchez.pms_patient_service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Sizing of the in-memory email index that screens uniqueness checks.
+ * @param enabled when false every check goes straight to the database
+ * @param expectedInsertions minimum number of emails the filter is sized for
+ * @param falsePositiveProbability target rate of "maybe present" answers for absent emails
+ * @param staleRatio fraction of removed emails, relative to insertions, that triggers a rebuild
+ */
+@ConfigurationProperties("patients.email-index")
+public record EmailIndexProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1000000") long expectedInsertions,
+        @DefaultValue("0.01") double falsePositiveProbability,
+        @DefaultValue("0.2") double staleRatio) {
+}
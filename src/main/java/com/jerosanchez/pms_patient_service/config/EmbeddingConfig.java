@@ -0,0 +1,23 @@
+package com.jerosanchez.pms_patient_service.config;
+
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.jerosanchez.pms_patient_service.embedding.HashingEmbeddingModel;
+
+/**
+ * Selects the embedding model through Spring AI's own switch, spring.ai.model.embedding.
+ * "hashing" uses the local {@link HashingEmbeddingModel}; "postgresml" lets the PostgresML starter
+ * declare its model, which needs a PostgresML database.
+ */
+@Configuration
+public class EmbeddingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "spring.ai.model.embedding", havingValue = "hashing")
+    public EmbeddingModel hashingEmbeddingModel(SemanticSearchProperties properties) {
+        return new HashingEmbeddingModel(properties.hashingDimensions());
+    }
+}
@@ -0,0 +1,24 @@
+package com.jerosanchez.pms_patient_service.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Idempotency keys for patient creation.
+ * @param enabled whether the Idempotency-Key header is honoured; when false it is ignored
+ * @param maxEntries maximum number of completed keys remembered; beyond it the oldest or least used
+ *                   are evicted. Keys whose creation is still running are not counted
+ * @param ttl how long a key is remembered after its creation completes; a retry arriving later creates
+ *            the patient again, which then fails on the duplicate email
+ * @param waitTimeout how long a duplicate request waits for the first one to finish before it is
+ *                    rejected with 409
+ */
+@ConfigurationProperties("patients.idempotency")
+public record IdempotencyProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10000") int maxEntries,
+        @DefaultValue("PT1H") Duration ttl,
+        @DefaultValue("10s") Duration waitTimeout) {
+}
@@ -0,0 +1,54 @@
+package com.jerosanchez.pms_patient_service.config;
+
+import java.util.List;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+
+/**
+ * Marks the beans of the given packages lazy, so that they are created on first use instead of at
+ * startup. A bean counts as part of a package when its class, or the configuration class declaring
+ * it, is in it. Lazy beans that an eagerly created bean depends on are still created at startup,
+ * and infrastructure beans are left alone.
+ */
+public class LazyBeanPackagesPostProcessor implements BeanFactoryPostProcessor {
+    private final List<String> packages;
+
+    /**
+     * @param packages package names, e.g. {@code org.springdoc}; subpackages are included
+     */
+    public LazyBeanPackagesPostProcessor(List<String> packages) {
+        this.packages = packages.stream().map(name -> name.endsWith(".") ? name : name + ".").toList();
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) throws BeansException {
+        if (packages.isEmpty()) {
+            return;
+        }
+
+        for (var name : beanFactory.getBeanDefinitionNames()) {
+            var definition = beanFactory.getBeanDefinition(name);
+            if (definition.getRole() != BeanDefinition.ROLE_INFRASTRUCTURE && isInPackages(beanFactory, definition)) {
+                definition.setLazyInit(true);
+            }
+        }
+    }
+
+    private boolean isInPackages(ConfigurableListableBeanFactory beanFactory, BeanDefinition definition) {
+        if (matches(definition.getBeanClassName())) {
+            return true;
+        }
+
+        // @Bean methods have no bean class of their own, only the configuration class declaring them
+        var factoryBeanName = definition.getFactoryBeanName();
+        return factoryBeanName != null && beanFactory.containsBeanDefinition(factoryBeanName)
+                && matches(beanFactory.getBeanDefinition(factoryBeanName).getBeanClassName());
+    }
+
+    private boolean matches(String className) {
+        return className != null && packages.stream().anyMatch(className::startsWith);
+    }
+}
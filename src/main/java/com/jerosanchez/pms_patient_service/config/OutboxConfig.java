@@ -0,0 +1,20 @@
+package com.jerosanchez.pms_patient_service.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.jerosanchez.pms_patient_service.outbox.InMemoryOutboxPublisher;
+import com.jerosanchez.pms_patient_service.outbox.LoggingOutboxPublisher;
+import com.jerosanchez.pms_patient_service.outbox.OutboxPublisher;
+
+@Configuration
+public class OutboxConfig {
+
+    @Bean
+    public OutboxPublisher outboxPublisher(OutboxProperties properties) {
+        return switch (properties.publisher()) {
+            case LOGGING -> new LoggingOutboxPublisher();
+            case IN_MEMORY -> new InMemoryOutboxPublisher();
+        };
+    }
+}
@@ -0,0 +1,22 @@
+package com.jerosanchez.pms_patient_service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Relay of patient change events from the outbox table to other services.
+ * @param relayEnabled when false events accumulate in the outbox; run the relay on one instance only
+ * @param batchSize events read, published and deleted per transaction
+ * @param publisher where events are published
+ */
+@ConfigurationProperties("patients.outbox")
+public record OutboxProperties(
+        @DefaultValue("true") boolean relayEnabled,
+        @DefaultValue("100") int batchSize,
+        @DefaultValue("logging") Publisher publisher) {
+
+    public enum Publisher {
+        LOGGING,
+        IN_MEMORY
+    }
+}
@@ -0,0 +1,23 @@
+package com.jerosanchez.pms_patient_service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Page size limits for paginated patient reads.
+ * @param defaultSize page size used when the client does not ask for one
+ * @param maxSize upper bound applied to any requested page size
+ */
+@ConfigurationProperties("patients.pagination")
+public record PaginationProperties(
+        @DefaultValue("50") int defaultSize,
+        @DefaultValue("500") int maxSize) {
+
+    public int resolveSize(Integer requestedSize) {
+        if (requestedSize == null) {
+            return Math.min(defaultSize, maxSize);
+        }
+
+        return Math.max(1, Math.min(requestedSize, maxSize));
+    }
+}
@@ -0,0 +1,56 @@
+package com.jerosanchez.pms_patient_service.config;
+
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.jerosanchez.pms_patient_service.controller.ContentLengthFilter;
+import com.jerosanchez.pms_patient_service.controller.PatientJsonHttpMessageConverter;
+
+/**
+ * How patient payloads are encoded on the wire. Besides JSON, clients may ask for CBOR
+ * (application/cbor) or Smile (application/x-jackson-smile) in the Accept header: both carry the
+ * same fields without quoting and with binary lengths and numbers, and Smile also refers back to
+ * field names it has already written instead of repeating them, which pays off on lists. JSON stays
+ * the default for clients that do not ask for another format. Patients themselves are written to
+ * JSON by a dedicated converter that sits in front of Jackson and produces the same bytes.
+ * <p>
+ * Compression is left to the server (server.compression.*), which skips bodies below its minimum
+ * size once they carry a Content-Length; {@link ContentLengthFilter} gives them one.
+ */
+@Configuration
+public class ResponseEncodingConfig {
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    // Built from the same builder as the JSON mapper, so every format shares its modules and settings
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public PatientJsonHttpMessageConverter patientJsonHttpMessageConverter() {
+        return new PatientJsonHttpMessageConverter();
+    }
+
+    // Bodies small enough to be sent uncompressed are held back to learn their length; larger ones
+    // are compressed anyway, so they are streamed once they pass the threshold
+    @Bean
+    public FilterRegistrationBean<ContentLengthFilter> contentLengthFilter(ServerProperties serverProperties) {
+        var limit = (int) serverProperties.getCompression().getMinResponseSize().toBytes();
+        var registration = new FilterRegistrationBean<>(new ContentLengthFilter(limit));
+        registration.addUrlPatterns("/api/patients", "/api/patients/*");
+        return registration;
+    }
+}
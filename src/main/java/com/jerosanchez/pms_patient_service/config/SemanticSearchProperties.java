@@ -0,0 +1,38 @@
+package com.jerosanchez.pms_patient_service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Tuning of the semantic patient index: embeddings of names and addresses in an in-memory
+ * approximate nearest-neighbour graph.
+ * @param enabled when false nothing is embedded and semantic search requests are rejected
+ * @param defaultLimit number of matches returned when the client does not ask for a number
+ * @param maxLimit upper bound applied to any requested number of matches
+ * @param batchSize patients embedded per call to the embedding model
+ * @param maxConnections graph links kept per patient; more improves recall at the cost of memory
+ * @param efConstruction candidates considered when linking a new patient into the graph
+ * @param efSearch candidates considered when answering a query; more improves recall at the cost of latency
+ * @param staleRatio share of replaced or removed entries that triggers a compaction
+ * @param hashingDimensions vector length of the local hashing model (spring.ai.model.embedding=hashing)
+ */
+@ConfigurationProperties("patients.semantic")
+public record SemanticSearchProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("10") int defaultLimit,
+        @DefaultValue("50") int maxLimit,
+        @DefaultValue("64") int batchSize,
+        @DefaultValue("16") int maxConnections,
+        @DefaultValue("100") int efConstruction,
+        @DefaultValue("64") int efSearch,
+        @DefaultValue("0.2") double staleRatio,
+        @DefaultValue("256") int hashingDimensions) {
+
+    public int resolveLimit(Integer requestedLimit) {
+        if (requestedLimit == null) {
+            return Math.min(defaultLimit, maxLimit);
+        }
+
+        return Math.max(1, Math.min(requestedLimit, maxLimit));
+    }
+}
@@ -0,0 +1,16 @@
+package com.jerosanchez.pms_patient_service.config;
+
+import java.util.Set;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Request coalescing for concurrent identical reads.
+ * @param operations names of the {@code @Coalesced} operations that share executions; the others
+ *                   run once per call
+ */
+@ConfigurationProperties("patients.single-flight")
+public record SingleFlightProperties(
+        @DefaultValue({ "get-patients", "get-patient", "search-patients" }) Set<String> operations) {
+}
@@ -0,0 +1,27 @@
+package com.jerosanchez.pms_patient_service.config;
+
+import java.util.List;
+
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Startup tuning. {@code patients.startup.lazy-bean-packages} lists packages whose beans no request
+ * needs right away, such as the OpenAPI documentation, to be created on first use.
+ */
+@Configuration(proxyBeanMethods = false)
+public class StartupConfig {
+
+    // Static, and bound by hand, because bean factory post-processors run before configuration
+    // properties can be injected
+    @Bean
+    public static LazyBeanPackagesPostProcessor lazyBeanPackagesPostProcessor(Environment environment) {
+        var packages = Binder.get(environment)
+                .bind("patients.startup.lazy-bean-packages", Bindable.listOf(String.class))
+                .orElse(List.of());
+        return new LazyBeanPackagesPostProcessor(packages);
+    }
+}
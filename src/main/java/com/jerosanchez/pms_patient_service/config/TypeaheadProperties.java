@@ -0,0 +1,31 @@
+package com.jerosanchez.pms_patient_service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Tuning of the in-memory typeahead index over patient names and addresses.
+ * @param enabled when false the index is not built and typeahead requests are rejected
+ * @param minQueryLength queries shorter than this return no matches instead of scanning huge posting lists
+ * @param defaultLimit number of matches returned when the client does not ask for a number
+ * @param maxLimit upper bound applied to any requested number of matches
+ * @param minSimilarity minimum share of the query trigrams a patient must contain to match, from 0 to 1
+ * @param staleRatio share of replaced or removed entries that triggers a rebuild
+ */
+@ConfigurationProperties("patients.typeahead")
+public record TypeaheadProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("3") int minQueryLength,
+        @DefaultValue("10") int defaultLimit,
+        @DefaultValue("50") int maxLimit,
+        @DefaultValue("0.5") double minSimilarity,
+        @DefaultValue("0.2") double staleRatio) {
+
+    public int resolveLimit(Integer requestedLimit) {
+        if (requestedLimit == null) {
+            return Math.min(defaultLimit, maxLimit);
+        }
+
+        return Math.max(1, Math.min(requestedLimit, maxLimit));
+    }
+}
@@ -0,0 +1,71 @@
+package com.jerosanchez.pms_patient_service.controller;
+
+import java.util.Locale;
+
+import com.jerosanchez.pms_patient_service.exception.EncodingNotAcceptableException;
+
+/**
+ * Chooses between gzip and no content coding from an Accept-Encoding header, with the quality
+ * values of RFC 9110: a coding not listed takes the quality of "*" when present, gzip is otherwise
+ * unacceptable and identity acceptable, and a quality of 0 rules a coding out. Identity that is
+ * acceptable only by default ranks below any listed coding.
+ */
+final class ContentCodings {
+    private ContentCodings() {}
+
+    /**
+     * @param acceptEncoding the header value, possibly null
+     * @return whether to gzip the response: gzip is acceptable and not ranked below identity
+     * @throws EncodingNotAcceptableException when the header rules out both gzip and identity
+     */
+    static boolean prefersGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+
+        Double gzip = null;
+        Double identity = null;
+        Double any = null;
+        for (var element : acceptEncoding.split(",")) {
+            var parameters = element.split(";");
+            var coding = parameters[0].trim().toLowerCase(Locale.ROOT);
+            var quality = quality(parameters);
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = max(gzip, quality);
+            } else if (coding.equals("identity")) {
+                identity = max(identity, quality);
+            } else if (coding.equals("*")) {
+                any = max(any, quality);
+            }
+        }
+
+        double gzipQuality = gzip != null ? gzip : any != null ? any : 0;
+        double identityQuality = identity != null ? identity : any != null ? any : Double.MIN_VALUE;
+        if (gzipQuality == 0 && identityQuality == 0) {
+            throw new EncodingNotAcceptableException(
+                    "Accept-Encoding allows neither gzip nor identity: " + acceptEncoding);
+        }
+        return gzipQuality > 0 && gzipQuality >= identityQuality;
+    }
+
+    // A malformed quality value counts as 0, so that a coding is never sent against the client's wishes
+    private static double quality(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            var parameter = parameters[i].trim();
+            if (parameter.length() > 2 && (parameter.charAt(0) == 'q' || parameter.charAt(0) == 'Q')
+                    && parameter.charAt(1) == '=') {
+                try {
+                    var quality = Double.parseDouble(parameter.substring(2).trim());
+                    return quality >= 0 && quality <= 1 ? quality : 0;
+                } catch (NumberFormatException ex) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static Double max(Double current, double quality) {
+        return current == null ? quality : Math.max(current, quality);
+    }
+}
@@ -0,0 +1,190 @@
+package com.jerosanchez.pms_patient_service.controller;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Holds back the start of patient API responses so that small ones go out with a Content-Length
+ * instead of chunked. The message converters flush as they finish writing, which commits the
+ * response before its size is known; with the size known, the server can leave bodies below its
+ * compression threshold uncompressed instead of gzipping every response.
+ * <p>
+ * Only bodies up to the threshold are held: the first write that would go past it sends what is
+ * held and streams the rest, chunked and compressed, so large pages cost no more memory than
+ * without the filter. The export is left alone entirely, so its first rows go out at once, and so
+ * are asynchronous and non-blocking responses, whose body is written after the filter returns.
+ */
+public class ContentLengthFilter extends OncePerRequestFilter {
+    private static final String EXPORT_PATH = "/api/patients/export";
+
+    private final int bufferLimit;
+
+    /**
+     * @param bufferLimit the largest body sent with a Content-Length, normally the server's minimum
+     *        size for compression
+     */
+    public ContentLengthFilter(int bufferLimit) {
+        this.bufferLimit = bufferLimit;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().endsWith(EXPORT_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var bounded = new BoundedBufferResponse(response, bufferLimit);
+        filterChain.doFilter(request, bounded);
+        if (request.isAsyncStarted()) {
+            bounded.stream();
+        } else {
+            bounded.finish();
+        }
+    }
+
+    /**
+     * Collects the body until it outgrows the limit, then turns into a plain pass-through.
+     */
+    private static final class BoundedBufferResponse extends HttpServletResponseWrapper {
+        private final int limit;
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+        private final ServletOutputStream outputStream = new BoundedOutputStream();
+        private PrintWriter writer;
+        private boolean streaming;
+
+        BoundedBufferResponse(HttpServletResponse response, int limit) {
+            super(response);
+            this.limit = limit;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(outputStream, getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (streaming) {
+                super.flushBuffer();
+            }
+        }
+
+        @Override
+        public void resetBuffer() {
+            buffer.reset();
+            super.resetBuffer();
+        }
+
+        @Override
+        public void reset() {
+            buffer.reset();
+            super.reset();
+        }
+
+        // Sends what is held and passes every later write straight through
+        void stream() throws IOException {
+            if (!streaming) {
+                streaming = true;
+                buffer.writeTo(getResponse().getOutputStream());
+                buffer.reset();
+            }
+        }
+
+        void finish() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (streaming) {
+                return;
+            }
+
+            var response = (HttpServletResponse) getResponse();
+            if (buffer.size() > 0 && !response.isCommitted()) {
+                response.setContentLength(buffer.size());
+            }
+            buffer.writeTo(response.getOutputStream());
+        }
+
+        private void write(byte[] bytes, int offset, int length) throws IOException {
+            if (!streaming && buffer.size() + length > limit) {
+                stream();
+            }
+
+            if (streaming) {
+                getResponse().getOutputStream().write(bytes, offset, length);
+            } else {
+                buffer.write(bytes, offset, length);
+            }
+        }
+
+        private final class BoundedOutputStream extends ServletOutputStream {
+            @Override
+            public void write(int b) throws IOException {
+                if (!streaming && buffer.size() < limit) {
+                    buffer.write(b);
+                } else {
+                    BoundedBufferResponse.this.write(new byte[] { (byte) b }, 0, 1);
+                }
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                BoundedBufferResponse.this.write(bytes, offset, length);
+            }
+
+            // Flushing a held body would commit it without a Content-Length, so only a streaming one is
+            @Override
+            public void flush() throws IOException {
+                if (streaming) {
+                    getResponse().getOutputStream().flush();
+                }
+            }
+
+            @Override
+            public boolean isReady() {
+                try {
+                    return !streaming || getResponse().getOutputStream().isReady();
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }
+
+            // Non-blocking writes are the server's to schedule, so nothing is held back from them
+            @Override
+            public void setWriteListener(WriteListener listener) {
+                try {
+                    stream();
+                    getResponse().getOutputStream().setWriteListener(listener);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.jerosanchez.pms_patient_service.controller;
+
+import org.springframework.http.ETag;
+
+import com.jerosanchez.pms_patient_service.exception.PreconditionFailedException;
+
+/**
+ * Converts between entity versions and strong ETag header values.
+ */
+final class ETags {
+    private ETags() {}
+
+    static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Reads the version a client expects from an If-Match header.
+     * @param ifMatch the header value, possibly null
+     * @return the expected version, or null when the header is absent or "*"
+     * @throws PreconditionFailedException when the header cannot match any version (e.g. a weak ETag)
+     */
+    static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        var tag = ifMatch.trim();
+        if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new PreconditionFailedException("If-Match must be a single strong ETag: " + ifMatch);
+        }
+
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException ex) {
+            throw new PreconditionFailedException("If-Match does not match any patient version: " + ifMatch);
+        }
+    }
+
+    /**
+     * Tells whether If-None-Match headers name an ETag, comparing weakly as RFC 9110 asks for GET.
+     * Unlike WebRequest#checkNotModified it leaves the response alone, so a miss can still be answered
+     * with a different ETag.
+     * @param ifNoneMatch the header values, possibly null
+     * @param etag the current ETag
+     */
+    static boolean noneMatchHits(String[] ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+
+        var current = ETag.create(etag);
+        for (var value : ifNoneMatch) {
+            for (var tag : ETag.parse(value)) {
+                if (tag.isWildcard() || tag.compare(current, false)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
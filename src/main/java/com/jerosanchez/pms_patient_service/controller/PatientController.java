@@ -1,22 +1,48 @@
 package com.jerosanchez.pms_patient_service.controller;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
 
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.jerosanchez.pms_patient_service.cache.PatientCollectionVersion;
+import com.jerosanchez.pms_patient_service.config.ResponseEncodingConfig;
+import com.jerosanchez.pms_patient_service.dto.PatientBatchDeleteResponseDTO;
+import com.jerosanchez.pms_patient_service.dto.PatientBatchResponseDTO;
+import com.jerosanchez.pms_patient_service.dto.PatientChangesDTO;
+import com.jerosanchez.pms_patient_service.dto.PatientPatchDTO;
 import com.jerosanchez.pms_patient_service.dto.PatientRequestDTO;
 import com.jerosanchez.pms_patient_service.dto.PatientResponseDTO;
+import com.jerosanchez.pms_patient_service.dto.PatientSearchDTO;
 import com.jerosanchez.pms_patient_service.dto.validators.CreatePatientValidationGroup;
+import com.jerosanchez.pms_patient_service.idempotency.IdempotencyStore;
+import com.jerosanchez.pms_patient_service.index.PatientSemanticIndex;
+import com.jerosanchez.pms_patient_service.index.PatientTypeaheadIndex;
+import com.jerosanchez.pms_patient_service.service.PatientChangeFeedService;
 import com.jerosanchez.pms_patient_service.service.PatientService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -24,41 +50,213 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.groups.Default;
 
 @RestController
-@RequestMapping("/api/patients")
+// Every endpoint answers in JSON, CBOR or Smile, as the Accept header asks; JSON by default
+@RequestMapping(value = "/api/patients", produces = { MediaType.APPLICATION_JSON_VALUE,
+        MediaType.APPLICATION_CBOR_VALUE, ResponseEncodingConfig.APPLICATION_SMILE_VALUE })
 @Tag(name = "Patient", description = "API for managing patients")
 public class PatientController {
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
     private final PatientService patientService;
+    private final PatientChangeFeedService changeFeedService;
+    private final PatientCollectionVersion collectionVersion;
+    private final PatientTypeaheadIndex typeaheadIndex;
+    private final PatientSemanticIndex semanticIndex;
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
 
-    public PatientController(PatientService patientService) {
+    public PatientController(PatientService patientService, PatientChangeFeedService changeFeedService,
+            PatientCollectionVersion collectionVersion, PatientTypeaheadIndex typeaheadIndex,
+            PatientSemanticIndex semanticIndex, IdempotencyStore idempotencyStore, ObjectMapper objectMapper) {
         this.patientService = patientService;
+        this.changeFeedService = changeFeedService;
+        this.collectionVersion = collectionVersion;
+        this.typeaheadIndex = typeaheadIndex;
+        this.semanticIndex = semanticIndex;
+        this.idempotencyStore = idempotencyStore;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
-    @Operation(summary = "Get all patients", description = "Retrieve a list of all patients")
-    public ResponseEntity<List<PatientResponseDTO>> getPatients() {
-        var responseDTO = patientService.getPatients();
+    @Operation(summary = "Get patients", description = "Retrieve one page of patients ordered by ID. "
+            + "Pass the X-Next-Cursor response header back as 'cursor' to fetch the next page. "
+            + "Send the ETag back as 'If-None-Match' to get 304 Not Modified while nothing has changed.")
+    public ResponseEntity<List<PatientResponseDTO>> getPatients(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest webRequest) {
+        // Nothing changed since the client's copy, whose ETag was read along with its data
+        var currentETag = collectionVersion.etag(collectionVersion.current());
+        if (ETags.noneMatchHits(webRequest.getHeaderValues(HttpHeaders.IF_NONE_MATCH), currentETag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(currentETag)
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .build(); // 304 Not Modified
+        }
 
-        return ResponseEntity.ok(responseDTO); // 200 OK
+        // The page may come from a call that started before a write committed, so its ETag is the
+        // version read with it rather than the one checked above
+        var versionedPage = patientService.getPatients(cursor, size);
+        var page = versionedPage.page();
+
+        // The ETag names the data, not its encoding: shared caches must keep each format apart
+        var response = ResponseEntity.ok()
+                .eTag(collectionVersion.etag(versionedPage.version()))
+                .varyBy(HttpHeaders.ACCEPT);
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+
+        return response.body(page.patients()); // 200 OK
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search patients", description = "Retrieve one page of patients matching every supplied "
+            + "filter, ordered by ID: name prefix (case-sensitive), exact email, and inclusive date-of-birth and "
+            + "registered-date ranges (yyyy-MM-dd). Paginate with 'cursor' like the patient list.")
+    public ResponseEntity<List<PatientResponseDTO>> searchPatients(
+            @ParameterObject PatientSearchDTO search,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        var page = patientService.searchPatients(search, cursor, size);
+
+        var response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+
+        return response.body(page.patients()); // 200 OK
+    }
+
+    @GetMapping("/changes")
+    @Operation(summary = "Get patient changes", description = "Retrieve the patients created, updated or deleted "
+            + "after the 'since' cursor, oldest change first; deleted patients come back as tombstones. Omit 'since' "
+            + "for a first full sync, then pass 'nextCursor' back on every call, even when nothing changed. "
+            + "A cursor older than the retained deletions gets 410 Gone: sync again without one.")
+    public ResponseEntity<PatientChangesDTO> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) Integer size) {
+        var changes = changeFeedService.getChanges(since, size);
+
+        return ResponseEntity.ok(changes); // 200 OK
+    }
+
+    @GetMapping("/typeahead")
+    @Operation(summary = "Typeahead patient search", description = "Match a partial or misspelled name or address "
+            + "against an in-memory index and return the closest patients, best first. Queries shorter than "
+            + "three characters return no matches.")
+    public ResponseEntity<List<PatientResponseDTO>> typeahead(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+        var matches = typeaheadIndex.search(q, limit);
+
+        return ResponseEntity.ok(matches); // 200 OK
+    }
+
+    @GetMapping("/semantic")
+    @Operation(summary = "Semantic patient search", description = "Embed the query text and return the patients "
+            + "whose name and address embeddings are closest to it, best first. Recent changes become searchable "
+            + "once they have been embedded in the background.")
+    public ResponseEntity<List<PatientResponseDTO>> semanticSearch(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+        var matches = semanticIndex.search(q, limit);
+
+        return ResponseEntity.ok(matches); // 200 OK
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get a patient", description = "Retrieve a single patient by ID")
+    public ResponseEntity<PatientResponseDTO> getPatient(@PathVariable UUID id) {
+        var versionedDTO = patientService.getPatient(id);
+
+        // Spring answers a matching If-None-Match with 304 from this ETag and skips serialization
+        return ResponseEntity.ok()
+                .eTag(ETags.of(versionedDTO.version()))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(versionedDTO.patient()); // 200 OK
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export all patients", description = "Stream every patient as newline-delimited JSON. "
+            + "The stream is gzip-compressed when 'Accept-Encoding' accepts gzip at least as much as no coding.")
+    public ResponseEntity<StreamingResponseBody> exportPatients(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        var gzip = ContentCodings.prefersGzip(acceptEncoding);
+
+        StreamingResponseBody body = outputStream -> writeNdjson(
+                gzip ? new GZIPOutputStream(outputStream) : outputStream);
+
+        var response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        return response.body(body); // 200 OK
     }
 
     @PostMapping
-    @Operation(summary = "Create a new patient", description = "Create a new patient with the provided details")
+    @Operation(summary = "Create a new patient", description = "Create a new patient with the provided details. "
+            + "Send a unique 'Idempotency-Key' to retry safely: repeating the request with the same key returns "
+            + "the original response, marked with 'Idempotent-Replayed: true', instead of creating the patient again.")
     public ResponseEntity<PatientResponseDTO> createPatient(
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @Validated({ Default.class,
                     CreatePatientValidationGroup.class }) @RequestBody PatientRequestDTO requestDTO) {
-        var responseDTO = patientService.createPatient(requestDTO);
+        if (idempotencyKey == null) {
+            return ResponseEntity.ok(patientService.createPatient(requestDTO)); // 200 OK
+        }
+
+        var outcome = idempotencyStore.execute(idempotencyKey, requestDTO,
+                () -> patientService.createPatient(requestDTO));
+
+        var response = ResponseEntity.ok();
+        if (outcome.replayed()) {
+            response.header(IDEMPOTENT_REPLAYED_HEADER, "true");
+        }
+
+        return response.body(outcome.response()); // 200 OK
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Create patients in bulk", description = "Create many patients in one request. "
+            + "Each item is validated on its own and the response reports whether it was created or rejected.")
+    public ResponseEntity<PatientBatchResponseDTO> createPatients(@RequestBody List<PatientRequestDTO> requestDTOs) {
+        var responseDTO = patientService.createPatients(requestDTOs);
 
         return ResponseEntity.ok(responseDTO); // 200 OK
     }
 
     @PutMapping("/{id}")
-    @Operation(summary = "Update an existing patient", description = "Update the details of an existing patient by ID")
+    @Operation(summary = "Update an existing patient", description = "Update the details of an existing patient by ID. "
+            + "Send the ETag from a previous response as 'If-Match' to fail with 412 if someone else changed it.")
     public ResponseEntity<PatientResponseDTO> updatePatient(
             @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Validated({ Default.class }) @RequestBody PatientRequestDTO requestDTO) {
-        var responseDTO = patientService.updatePatient(id, requestDTO);
+        var versionedDTO = patientService.updatePatient(id, requestDTO, ETags.parseIfMatch(ifMatch));
 
-        return ResponseEntity.ok(responseDTO); // 200 OK
+        return ResponseEntity.ok()
+                .eTag(ETags.of(versionedDTO.version()))
+                .body(versionedDTO.patient()); // 200 OK
+    }
+
+    @PatchMapping("/{id}")
+    @Operation(summary = "Partially update a patient", description = "Change only the supplied fields of a patient. "
+            + "Send the ETag from a previous response as 'If-Match' to fail with 412 if someone else changed it.")
+    public ResponseEntity<PatientResponseDTO> patchPatient(
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Validated @RequestBody PatientPatchDTO patchDTO) {
+        var versionedDTO = patientService.patchPatient(id, patchDTO, ETags.parseIfMatch(ifMatch));
+
+        return ResponseEntity.ok()
+                .eTag(ETags.of(versionedDTO.version()))
+                .body(versionedDTO.patient()); // 200 OK
     }
 
     @DeleteMapping("/{id}")
@@ -68,4 +266,29 @@ public class PatientController {
 
         return ResponseEntity.noContent().build(); // 204 No Content
     }
-}
\ No newline at end of file
+
+    @DeleteMapping
+    @Operation(summary = "Delete patients in bulk", description = "Delete every patient whose ID is listed in the "
+            + "request body. IDs that do not exist are ignored; the response lists the IDs that were deleted.")
+    public ResponseEntity<PatientBatchDeleteResponseDTO> deletePatients(@RequestBody List<UUID> ids) {
+        var responseDTO = patientService.deletePatients(ids);
+
+        return ResponseEntity.ok(responseDTO); // 200 OK
+    }
+
+    private void writeNdjson(OutputStream outputStream) throws IOException {
+        // Closing the generator also closes (and for gzip, finishes) the underlying stream
+        try (var generator = objectMapper.createGenerator(outputStream)) {
+            generator.setRootValueSeparator(null);
+
+            patientService.exportPatients(patient -> {
+                try {
+                    generator.writeObject(patient);
+                    generator.writeRaw('\n');
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        }
+    }
+}
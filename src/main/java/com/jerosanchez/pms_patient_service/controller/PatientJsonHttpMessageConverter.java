@@ -0,0 +1,279 @@
+package com.jerosanchez.pms_patient_service.controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import com.jerosanchez.pms_patient_service.dto.PatientResponseDTO;
+
+/**
+ * Writes {@link PatientResponseDTO}s, alone or in a list, as JSON straight to the response stream,
+ * byte for byte as the Jackson converter does with its defaults but without going through
+ * reflection and bean introspection. Field names are encoded once, up front, and values are
+ * encoded from their chars into a single buffer, with a lookup table deciding which ASCII
+ * characters need escaping.
+ * <p>
+ * Everything else, including reading request bodies, is left to the Jackson converter.
+ */
+public class PatientJsonHttpMessageConverter implements GenericHttpMessageConverter<Object> {
+    // Values are encoded in chunks of this many chars, each of which fits the byte buffer even when
+    // every char takes its longest encoding, a six-byte escape such as \\u001F
+    private static final int CHUNK_CHARS = 256;
+    private static final int MAX_CHAR_BYTES = 6;
+    private static final int BUFFER_BYTES = 2048;
+
+    // Platform threads serve request after request, so each keeps its buffers, as Jackson does; virtual
+    // threads live for one request and get fresh ones rather than a thread local each
+    private static final ThreadLocal<JsonBuffer> BUFFERS = ThreadLocal.withInitial(JsonBuffer::new);
+
+    private static final byte[] ID = ascii("{\"id\":");
+    private static final byte[] NAME = ascii(",\"name\":");
+    private static final byte[] EMAIL = ascii(",\"email\":");
+    private static final byte[] ADDRESS = ascii(",\"address\":");
+    private static final byte[] DATE_OF_BIRTH = ascii(",\"dateOfBirth\":");
+    private static final byte[] NULL = ascii("null");
+    private static final byte[] HEX = ascii("0123456789ABCDEF");
+
+    // For each ASCII char, the letter of its short escape, 'u' for a \\u00XX escape, or 0 when it
+    // is written as it is. Jackson escapes the same set: control chars, the quote and the backslash
+    private static final byte[] ESCAPES = new byte[128];
+
+    static {
+        for (int c = 0; c < 0x20; c++) {
+            ESCAPES[c] = 'u';
+        }
+        ESCAPES['"'] = '"';
+        ESCAPES['\\'] = '\\';
+        ESCAPES['\b'] = 'b';
+        ESCAPES['\t'] = 't';
+        ESCAPES['\n'] = 'n';
+        ESCAPES['\f'] = 'f';
+        ESCAPES['\r'] = 'r';
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes() {
+        return List.of(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return clazz == PatientResponseDTO.class && canWrite(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return (clazz == PatientResponseDTO.class || isPatientList(type, clazz)) && canWrite(mediaType);
+    }
+
+    // canRead never says yes, so Spring never calls this; the interface requires it all the same
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Patient JSON is only written by this converter", inputMessage);
+    }
+
+    @Override
+    public Object read(Class<?> clazz, HttpInputMessage inputMessage) {
+        return read(clazz, null, inputMessage);
+    }
+
+    @Override
+    public void write(Object body, MediaType contentType, HttpOutputMessage outputMessage) throws IOException {
+        write(body, null, contentType, outputMessage);
+    }
+
+    @Override
+    public void write(Object body, Type type, MediaType contentType, HttpOutputMessage outputMessage)
+            throws IOException {
+        // A wildcard or missing type means the client accepts anything, which JSON is
+        var headers = outputMessage.getHeaders();
+        if (headers.getContentType() == null) {
+            headers.setContentType(contentType != null && contentType.isConcrete()
+                    ? contentType
+                    : MediaType.APPLICATION_JSON);
+        }
+
+        var out = outputMessage.getBody();
+        var buffer = Thread.currentThread().isVirtual() ? new JsonBuffer() : BUFFERS.get();
+        buffer.start(out);
+        try {
+            if (body instanceof PatientResponseDTO patient) {
+                buffer.writePatient(patient);
+            } else {
+                buffer.writeByte('[');
+                var first = true;
+                for (var patient : (List<?>) body) {
+                    if (!first) {
+                        buffer.writeByte(',');
+                    }
+                    buffer.writePatient((PatientResponseDTO) patient);
+                    first = false;
+                }
+                buffer.writeByte(']');
+            }
+            buffer.flush();
+        } finally {
+            buffer.finish();
+        }
+        out.flush();
+    }
+
+    private static boolean canWrite(MediaType mediaType) {
+        return mediaType == null || MediaType.ALL.equalsTypeAndSubtype(mediaType)
+                || MediaType.APPLICATION_JSON.isCompatibleWith(mediaType);
+    }
+
+    private static boolean isPatientList(Type type, Class<?> clazz) {
+        return clazz != null && List.class.isAssignableFrom(clazz) && type != null
+                && ResolvableType.forType(type).asCollection().resolveGeneric() == PatientResponseDTO.class;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Collects encoded bytes and hands them to the stream once full, so the stream sees a few large
+     * writes instead of one per value.
+     */
+    private static final class JsonBuffer {
+        private final byte[] bytes = new byte[BUFFER_BYTES];
+        private final char[] chars = new char[CHUNK_CHARS];
+        private OutputStream out;
+        private int position;
+
+        void start(OutputStream out) {
+            this.out = out;
+            this.position = 0;
+        }
+
+        void finish() {
+            this.out = null;
+        }
+
+        void writePatient(PatientResponseDTO patient) throws IOException {
+            if (patient == null) {
+                writeRaw(NULL);
+                return;
+            }
+
+            writeRaw(ID);
+            writeString(patient.id());
+            writeRaw(NAME);
+            writeString(patient.name());
+            writeRaw(EMAIL);
+            writeString(patient.email());
+            writeRaw(ADDRESS);
+            writeString(patient.address());
+            writeRaw(DATE_OF_BIRTH);
+            writeString(patient.dateOfBirth());
+            writeByte('}');
+        }
+
+        void writeByte(int value) throws IOException {
+            if (position == bytes.length) {
+                flush();
+            }
+            bytes[position++] = (byte) value;
+        }
+
+        void flush() throws IOException {
+            out.write(bytes, 0, position);
+            position = 0;
+        }
+
+        private void writeRaw(byte[] raw) throws IOException {
+            if (position + raw.length > bytes.length) {
+                flush();
+            }
+            System.arraycopy(raw, 0, bytes, position, raw.length);
+            position += raw.length;
+        }
+
+        private void writeString(String value) throws IOException {
+            if (value == null) {
+                writeRaw(NULL);
+                return;
+            }
+
+            writeByte('"');
+            for (int start = 0, length = value.length(); start < length; start += CHUNK_CHARS) {
+                var end = Math.min(length, start + CHUNK_CHARS);
+                value.getChars(start, end, chars, 0);
+                writeChars(end - start);
+            }
+            writeByte('"');
+        }
+
+        private void writeChars(int count) throws IOException {
+            if (position + count * MAX_CHAR_BYTES > bytes.length) {
+                flush();
+            }
+
+            // Room for the whole chunk is ensured above, so the loop checks nothing but the chars
+            var out = bytes;
+            var at = position;
+            for (int i = 0; i < count; i++) {
+                var c = chars[i];
+                if (c < 0x80 && ESCAPES[c] == 0) {
+                    out[at++] = (byte) c;
+                } else {
+                    at = writeSpecial(c, out, at);
+                }
+            }
+            position = at;
+        }
+
+        private static int writeSpecial(char c, byte[] out, int at) {
+            if (c < 0x80) {
+                var escape = ESCAPES[c];
+                if (escape == 'u') {
+                    return writeUnicodeEscape(c, out, at);
+                }
+                out[at++] = '\\';
+                out[at++] = escape;
+            } else if (c < 0x800) {
+                out[at++] = (byte) (0xC0 | (c >> 6));
+                out[at++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // Jackson escapes each half of a surrogate pair rather than combining them into one
+                // 4-byte sequence
+                return writeUnicodeEscape(c, out, at);
+            } else {
+                out[at++] = (byte) (0xE0 | (c >> 12));
+                out[at++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                out[at++] = (byte) (0x80 | (c & 0x3F));
+            }
+            return at;
+        }
+
+        private static int writeUnicodeEscape(char c, byte[] out, int at) {
+            out[at++] = '\\';
+            out[at++] = 'u';
+            out[at++] = HEX[c >> 12];
+            out[at++] = HEX[(c >> 8) & 0xF];
+            out[at++] = HEX[(c >> 4) & 0xF];
+            out[at++] = HEX[c & 0xF];
+            return at;
+        }
+    }
+}
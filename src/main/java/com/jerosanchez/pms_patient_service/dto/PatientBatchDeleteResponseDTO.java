@@ -0,0 +1,9 @@
+package com.jerosanchez.pms_patient_service.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record PatientBatchDeleteResponseDTO(
+        int deleted,
+        List<UUID> deletedIds) {
+}
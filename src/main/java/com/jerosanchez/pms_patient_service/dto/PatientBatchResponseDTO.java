@@ -0,0 +1,9 @@
+package com.jerosanchez.pms_patient_service.dto;
+
+import java.util.List;
+
+public record PatientBatchResponseDTO(
+        int created,
+        int rejected,
+        List<PatientBatchResultDTO> results) {
+}
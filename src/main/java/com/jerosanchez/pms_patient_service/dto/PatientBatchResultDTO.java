@@ -0,0 +1,33 @@
+package com.jerosanchez.pms_patient_service.dto;
+
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of a single item in a bulk create request.
+ * @param index position of the item in the request list
+ * @param status whether the item was created or rejected
+ * @param patient the created patient, or null when rejected
+ * @param errors field-level reasons for a rejection, or null when created
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PatientBatchResultDTO(
+        int index,
+        Status status,
+        PatientResponseDTO patient,
+        Map<String, String> errors) {
+
+    public enum Status {
+        CREATED,
+        REJECTED
+    }
+
+    public static PatientBatchResultDTO created(int index, PatientResponseDTO patient) {
+        return new PatientBatchResultDTO(index, Status.CREATED, patient, null);
+    }
+
+    public static PatientBatchResultDTO rejected(int index, Map<String, String> errors) {
+        return new PatientBatchResultDTO(index, Status.REJECTED, null, errors);
+    }
+}
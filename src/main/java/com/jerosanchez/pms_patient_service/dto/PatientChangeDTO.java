@@ -0,0 +1,25 @@
+package com.jerosanchez.pms_patient_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One entry of the change feed: the current state of a created or updated patient, or a tombstone
+ * for a deleted one.
+ * @param id the patient ID
+ * @param deleted whether the patient was deleted
+ * @param patient the patient as it is now, or null when deleted
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PatientChangeDTO(
+        String id,
+        boolean deleted,
+        PatientResponseDTO patient) {
+
+    public static PatientChangeDTO saved(PatientResponseDTO patient) {
+        return new PatientChangeDTO(patient.id(), false, patient);
+    }
+
+    public static PatientChangeDTO deleted(String id) {
+        return new PatientChangeDTO(id, true, null);
+    }
+}
@@ -0,0 +1,16 @@
+package com.jerosanchez.pms_patient_service.dto;
+
+import java.util.List;
+
+/**
+ * One page of the change feed, oldest change first.
+ * @param changes the changes after the requested cursor
+ * @param nextCursor where the next request should continue from; never null, so a consumer can
+ *                   always store it, even when nothing changed
+ * @param hasMore whether more changes are already waiting after this page
+ */
+public record PatientChangesDTO(
+        List<PatientChangeDTO> changes,
+        String nextCursor,
+        boolean hasMore) {
+}
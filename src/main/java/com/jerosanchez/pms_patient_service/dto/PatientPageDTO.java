@@ -0,0 +1,11 @@
+package com.jerosanchez.pms_patient_service.dto;
+
+import java.util.List;
+
+/**
+ * One page of patients plus the continuation token for the next page, or null on the last page.
+ */
+public record PatientPageDTO(
+        List<PatientResponseDTO> patients,
+        String nextCursor) {
+}
@@ -0,0 +1,35 @@
+package com.jerosanchez.pms_patient_service.dto;
+
+import com.jerosanchez.pms_patient_service.dto.validators.IsoDate;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Partial update of a patient. Fields left null are not changed.
+ */
+@NoArgsConstructor
+@Getter
+@Setter
+public class PatientPatchDTO {
+    private static final String NOT_BLANK = "(?s).*\\S.*";
+
+    @Pattern(regexp = NOT_BLANK, message = "Name must not be blank")
+    @Size(max = 100, message = "Name must not exceed 100 characters")
+    private String name;
+
+    @Pattern(regexp = NOT_BLANK, message = "Email must not be blank")
+    @Email(message = "Email should be valid")
+    private String email;
+
+    @Pattern(regexp = NOT_BLANK, message = "Address must not be blank")
+    private String address;
+
+    @Pattern(regexp = NOT_BLANK, message = "Date of birth must not be blank")
+    @IsoDate(message = "Date of birth must be a valid date (yyyy-MM-dd)")
+    private String dateOfBirth;
+}
@@ -1,6 +1,7 @@
 package com.jerosanchez.pms_patient_service.dto;
 
 import com.jerosanchez.pms_patient_service.dto.validators.CreatePatientValidationGroup;
+import com.jerosanchez.pms_patient_service.dto.validators.IsoDate;
 
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -25,8 +26,10 @@ public class PatientRequestDTO {
     private String address;
 
     @NotBlank(message = "Date of birth is required")
+    @IsoDate(message = "Date of birth must be a valid date (yyyy-MM-dd)")
     private String dateOfBirth;
 
     @NotBlank(groups = CreatePatientValidationGroup.class, message = "Registered date is required")
+    @IsoDate(groups = CreatePatientValidationGroup.class, message = "Registered date must be a valid date (yyyy-MM-dd)")
     private String registeredDate;
 }
@@ -0,0 +1,18 @@
+package com.jerosanchez.pms_patient_service.dto;
+
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+/**
+ * Patient search filters, bound from query parameters. Every filter is optional and the supplied
+ * ones are combined with AND; date ranges are inclusive and may be open on either side.
+ */
+public record PatientSearchDTO(
+        String name,
+        String email,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateOfBirthFrom,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateOfBirthTo,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate registeredDateFrom,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate registeredDateTo) {
+}
@@ -0,0 +1,9 @@
+package com.jerosanchez.pms_patient_service.dto;
+
+/**
+ * A patient together with its current version, which controllers expose as the ETag.
+ */
+public record VersionedPatientDTO(
+        PatientResponseDTO patient,
+        long version) {
+}
@@ -0,0 +1,10 @@
+package com.jerosanchez.pms_patient_service.dto;
+
+/**
+ * A page of patients together with the collection version read before it, which controllers
+ * expose as the ETag.
+ */
+public record VersionedPatientPageDTO(
+        PatientPageDTO page,
+        long version) {
+}
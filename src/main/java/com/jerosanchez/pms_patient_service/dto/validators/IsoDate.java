@@ -0,0 +1,24 @@
+package com.jerosanchez.pms_patient_service.dto.validators;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+/**
+ * The annotated string must be a valid ISO-8601 date (yyyy-MM-dd). Null and blank values are valid:
+ * combine with @NotBlank where a date is required.
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+@Constraint(validatedBy = IsoDateValidator.class)
+public @interface IsoDate {
+    String message() default "Must be a valid date (yyyy-MM-dd)";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,25 @@
+package com.jerosanchez.pms_patient_service.dto.validators;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class IsoDateValidator implements ConstraintValidator<IsoDate, String> {
+
+    @Override
+    public boolean isValid(String value, ConstraintValidatorContext context) {
+        // Whether a date must be present at all is left to @NotBlank
+        if (value == null || value.isBlank()) {
+            return true;
+        }
+
+        try {
+            LocalDate.parse(value);
+            return true;
+        } catch (DateTimeParseException ex) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.jerosanchez.pms_patient_service.embedding;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+/**
+ * Deterministic local {@link EmbeddingModel} that hashes the words and character trigrams of a
+ * text into a fixed number of dimensions (feature hashing). It captures spelling, not meaning, and
+ * stands in for a real model in development and tests: no network, no model files, and the same
+ * text always gives the same vector.
+ */
+public class HashingEmbeddingModel implements EmbeddingModel {
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final float WORD_WEIGHT = 1f;
+    private static final float TRIGRAM_WEIGHT = 0.5f;
+
+    private final int dimensions;
+
+    public HashingEmbeddingModel(int dimensions) {
+        if (dimensions <= 0) {
+            throw new IllegalArgumentException("dimensions must be positive");
+        }
+
+        this.dimensions = dimensions;
+    }
+
+    @Override
+    public EmbeddingResponse call(EmbeddingRequest request) {
+        var texts = request.getInstructions();
+        var embeddings = new ArrayList<Embedding>(texts.size());
+        for (int i = 0; i < texts.size(); i++) {
+            embeddings.add(new Embedding(embed(texts.get(i)), i));
+        }
+
+        return new EmbeddingResponse(embeddings);
+    }
+
+    @Override
+    public float[] embed(String text) {
+        var vector = new float[dimensions];
+        if (text == null) {
+            return vector;
+        }
+
+        var normalized = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        for (var word : WORD_SEPARATOR.split(normalized)) {
+            if (word.isEmpty()) {
+                continue;
+            }
+
+            add(vector, word, WORD_WEIGHT);
+            var padded = " " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                add(vector, padded.substring(i, i + 3), TRIGRAM_WEIGHT);
+            }
+        }
+
+        return normalize(vector);
+    }
+
+    @Override
+    public float[] embed(Document document) {
+        return embed(document.getText());
+    }
+
+    @Override
+    public int dimensions() {
+        return dimensions;
+    }
+
+    private void add(float[] vector, String feature, float weight) {
+        var hash = mix(feature.hashCode());
+        // The sign bit is drawn from the hash too, so that colliding features tend to cancel out
+        vector[Math.floorMod(hash, dimensions)] += (hash & 0x4000_0000) == 0 ? weight : -weight;
+    }
+
+    // Final mixing step of MurmurHash3, spreading String.hashCode over all bits
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85eb_ca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2_ae35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+
+    private static float[] normalize(float[] vector) {
+        var sum = 0d;
+        for (var component : vector) {
+            sum += component * component;
+        }
+
+        if (sum > 0) {
+            var norm = (float) Math.sqrt(sum);
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] /= norm;
+            }
+        }
+        return vector;
+    }
+}
@@ -0,0 +1,41 @@
+package com.jerosanchez.pms_patient_service.event;
+
+import java.util.List;
+
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.jerosanchez.pms_patient_service.mapper.PatientMapper;
+import com.jerosanchez.pms_patient_service.model.Patient;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Publishes application events from the JPA lifecycle of {@link Patient}. Hibernate obtains this
+ * listener from Spring, so it can be constructor-injected.
+ * <p>
+ * Bulk JPQL and Criteria statements (patch, delete) bypass entity callbacks; {@code PatientService}
+ * publishes the same events for those paths.
+ */
+public class PatientEntityListener {
+    private final ApplicationEventPublisher eventPublisher;
+
+    public PatientEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Patient patient) {
+        eventPublisher.publishEvent(
+                new PatientSavedEvent(patient.getId(), PatientMapper.toDTO(patient), patient.getChangeSeq()));
+    }
+
+    // The entity still carries the position of its last change; listeners let a deletion replace a
+    // change at the same position
+    @PostRemove
+    public void onRemoved(Patient patient) {
+        eventPublisher.publishEvent(new PatientsDeletedEvent(List.of(patient.getId()), patient.getChangeSeq()));
+    }
+}
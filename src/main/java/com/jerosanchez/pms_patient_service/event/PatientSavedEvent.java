@@ -0,0 +1,15 @@
+package com.jerosanchez.pms_patient_service.event;
+
+import java.util.UUID;
+
+import com.jerosanchez.pms_patient_service.dto.PatientResponseDTO;
+
+/**
+ * A patient was created or changed.
+ * @param id the patient ID
+ * @param patient the patient as stored
+ * @param changeSeq the change sequence number of the change; listeners that may receive events out
+ *            of order keep the latest change they applied per patient and drop older ones
+ */
+public record PatientSavedEvent(UUID id, PatientResponseDTO patient, long changeSeq) {
+}
@@ -0,0 +1,13 @@
+package com.jerosanchez.pms_patient_service.event;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One or more patients were deleted.
+ * @param ids the deleted patient IDs
+ * @param changeSeq the change sequence number of the deletion, higher than any earlier change to
+ *            these patients
+ */
+public record PatientsDeletedEvent(List<UUID> ids, long changeSeq) {
+}
@@ -0,0 +1,8 @@
+package com.jerosanchez.pms_patient_service.exception;
+
+public class BatchTooLargeException extends RuntimeException {
+    public BatchTooLargeException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,8 @@
+package com.jerosanchez.pms_patient_service.exception;
+
+public class ChangeCursorExpiredException extends RuntimeException {
+    public ChangeCursorExpiredException(String message) {
+        super(message);
+    }
+
+}
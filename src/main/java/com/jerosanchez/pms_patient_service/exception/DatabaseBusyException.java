@@ -0,0 +1,8 @@
+package com.jerosanchez.pms_patient_service.exception;
+
+public class DatabaseBusyException extends RuntimeException {
+    public DatabaseBusyException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,8 @@
+package com.jerosanchez.pms_patient_service.exception;
+
+public class EncodingNotAcceptableException extends RuntimeException {
+    public EncodingNotAcceptableException(String message) {
+        super(message);
+    }
+
+}
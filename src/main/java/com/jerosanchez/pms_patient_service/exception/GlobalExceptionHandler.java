@@ -3,14 +3,29 @@ package com.jerosanchez.pms_patient_service.exception;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.exception.ConstraintViolationException.ConstraintKind;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import com.jerosanchez.pms_patient_service.concurrency.AdmissionControlInterceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+
 @ControllerAdvice
 public class GlobalExceptionHandler {
+    private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
+    // Named by PostgreSQL's default for UNIQUE on patient.email, and by h2/V5 on H2
+    private static final String EMAIL_CONSTRAINT = "patient_email_key";
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, String>> handleValidationExceptions(MethodArgumentNotValidException ex) {
@@ -32,6 +47,65 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(error); // 409 Conflict
     }
 
+    // The email index can let a duplicate through, for example an email taken through another
+    // instance, and the unique constraint rejects it at commit
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<Map<String, String>> handleDataIntegrityViolationException(
+            DataIntegrityViolationException ex) {
+        var error = new HashMap<String, String>();
+        var violation = constraintViolation(ex);
+
+        if (violation != null && isEmailConstraint(violation.getConstraintName())) {
+            error.put("message", "Email address already exists.");
+
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(error); // 409 Conflict
+        }
+
+        if (violation != null && violation.getKind() == ConstraintKind.UNIQUE) {
+            error.put("message", "Request conflicts with an existing record.");
+
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(error); // 409 Conflict
+        }
+
+        // Requests are validated before they reach the database, so anything else is a bug
+        logger.error("Unexpected data integrity violation", ex);
+        error.put("message", "Internal server error.");
+
+        return ResponseEntity.internalServerError().body(error); // 500 Internal Server Error
+    }
+
+    @ExceptionHandler(InvalidIdempotencyKeyException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidIdempotencyKeyException(
+            InvalidIdempotencyKeyException ex) {
+        var error = new HashMap<String, String>();
+
+        error.put("message", ex.getMessage());
+
+        return ResponseEntity.badRequest().body(error); // 400 Bad Request
+    }
+
+    @ExceptionHandler(IdempotencyKeyMismatchException.class)
+    public ResponseEntity<Map<String, String>> handleIdempotencyKeyMismatchException(
+            IdempotencyKeyMismatchException ex) {
+        var error = new HashMap<String, String>();
+
+        error.put("message", "Idempotency key was already used with a different request.");
+
+        return ResponseEntity.unprocessableEntity().body(error); // 422 Unprocessable Entity
+    }
+
+    @ExceptionHandler(IdempotencyKeyInUseException.class)
+    public ResponseEntity<Map<String, String>> handleIdempotencyKeyInUseException(
+            IdempotencyKeyInUseException ex) {
+        var error = new HashMap<String, String>();
+
+        error.put("message", "A request with this idempotency key is still in progress, please retry.");
+
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error); // 409 Conflict
+    }
+
     @ExceptionHandler(PatientNotFoundException.class)
     public ResponseEntity<Map<String, String>> handlePatientNotFoundException(PatientNotFoundException ex) {
         var error = new HashMap<String, String>();
@@ -40,4 +114,114 @@ public class GlobalExceptionHandler {
 
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error); // 404 Not Found
     }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidCursorException(InvalidCursorException ex) {
+        var error = new HashMap<String, String>();
+
+        error.put("message", "Invalid pagination cursor.");
+
+        return ResponseEntity.badRequest().body(error); // 400 Bad Request
+    }
+
+    @ExceptionHandler(ChangeCursorExpiredException.class)
+    public ResponseEntity<Map<String, String>> handleChangeCursorExpiredException(ChangeCursorExpiredException ex) {
+        var error = new HashMap<String, String>();
+
+        error.put("message", "Change cursor has expired; sync again without a cursor.");
+
+        return ResponseEntity.status(HttpStatus.GONE).body(error); // 410 Gone
+    }
+
+    @ExceptionHandler(BatchTooLargeException.class)
+    public ResponseEntity<Map<String, String>> handleBatchTooLargeException(BatchTooLargeException ex) {
+        var error = new HashMap<String, String>();
+
+        error.put("message", ex.getMessage());
+
+        return ResponseEntity.badRequest().body(error); // 400 Bad Request
+    }
+
+    @ExceptionHandler(DatabaseBusyException.class)
+    public ResponseEntity<Map<String, String>> handleDatabaseBusyException(DatabaseBusyException ex,
+            HttpServletRequest request) {
+        AdmissionControlInterceptor.markOverloaded(request);
+        var error = new HashMap<String, String>();
+
+        error.put("message", "Service is busy, please retry.");
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error); // 503 Service Unavailable
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<Map<String, String>> handleServiceOverloadedException(ServiceOverloadedException ex,
+            HttpServletRequest request) {
+        AdmissionControlInterceptor.markOverloaded(request);
+        var error = new HashMap<String, String>();
+
+        error.put("message", "Service is overloaded, please retry.");
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error); // 503 Service Unavailable
+    }
+
+    @ExceptionHandler(TypeaheadUnavailableException.class)
+    public ResponseEntity<Map<String, String>> handleTypeaheadUnavailableException(TypeaheadUnavailableException ex) {
+        var error = new HashMap<String, String>();
+
+        error.put("message", "Typeahead search is not available, please retry.");
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error); // 503 Service Unavailable
+    }
+
+    @ExceptionHandler(SemanticSearchUnavailableException.class)
+    public ResponseEntity<Map<String, String>> handleSemanticSearchUnavailableException(
+            SemanticSearchUnavailableException ex) {
+        var error = new HashMap<String, String>();
+
+        error.put("message", "Semantic search is not available, please retry.");
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error); // 503 Service Unavailable
+    }
+
+    @ExceptionHandler({ PreconditionFailedException.class, OptimisticLockingFailureException.class })
+    public ResponseEntity<Map<String, String>> handlePreconditionFailedException(RuntimeException ex) {
+        var error = new HashMap<String, String>();
+
+        error.put("message", "Patient was modified by another request.");
+
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(error); // 412 Precondition Failed
+    }
+
+    @ExceptionHandler(EncodingNotAcceptableException.class)
+    public ResponseEntity<Map<String, String>> handleEncodingNotAcceptableException(
+            EncodingNotAcceptableException ex) {
+        var error = new HashMap<String, String>();
+
+        error.put("message", "None of the accepted content codings can be sent.");
+
+        return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).body(error); // 406 Not Acceptable
+    }
+
+    private static ConstraintViolationException constraintViolation(Throwable ex) {
+        for (var cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return violation;
+            }
+        }
+        return null;
+    }
+
+    // H2 qualifies the name with its schema, e.g. PUBLIC.PATIENT_EMAIL_KEY
+    private static boolean isEmailConstraint(String constraintName) {
+        return constraintName != null
+                && constraintName.substring(constraintName.lastIndexOf('.') + 1).equalsIgnoreCase(EMAIL_CONSTRAINT);
+    }
 }
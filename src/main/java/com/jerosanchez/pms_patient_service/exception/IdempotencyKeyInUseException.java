@@ -0,0 +1,8 @@
+package com.jerosanchez.pms_patient_service.exception;
+
+public class IdempotencyKeyInUseException extends RuntimeException {
+    public IdempotencyKeyInUseException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,8 @@
+package com.jerosanchez.pms_patient_service.exception;
+
+public class SemanticSearchUnavailableException extends RuntimeException {
+    public SemanticSearchUnavailableException(String message) {
+        super(message);
+    }
+
+}
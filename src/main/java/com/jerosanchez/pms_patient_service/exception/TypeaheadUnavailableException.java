@@ -0,0 +1,8 @@
+package com.jerosanchez.pms_patient_service.exception;
+
+public class TypeaheadUnavailableException extends RuntimeException {
+    public TypeaheadUnavailableException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,178 @@
+package com.jerosanchez.pms_patient_service.idempotency;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.jerosanchez.pms_patient_service.config.IdempotencyProperties;
+import com.jerosanchez.pms_patient_service.dto.PatientRequestDTO;
+import com.jerosanchez.pms_patient_service.dto.PatientResponseDTO;
+import com.jerosanchez.pms_patient_service.exception.IdempotencyKeyInUseException;
+import com.jerosanchez.pms_patient_service.exception.IdempotencyKeyMismatchException;
+import com.jerosanchez.pms_patient_service.exception.InvalidIdempotencyKeyException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Remembers patient creations by their Idempotency-Key, so that a client retrying a create it
+ * never saw the answer to gets the original response back instead of a duplicate email conflict.
+ * The first request with a key reserves it and creates the patient; duplicates arriving meanwhile
+ * wait for that outcome, and later ones replay the stored response without touching the database.
+ * A failed creation releases the key, so the client can retry it.
+ * <p>
+ * Keys live in memory and are only known to the instance that saw them: retries must reach the
+ * same instance to be recognised. Completed creations are bounded in number and time; creations
+ * still running are held apart and never evicted, so a duplicate always finds them.
+ */
+@Component
+public class IdempotencyStore {
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyProperties properties;
+    private final ConcurrentHashMap<String, Reservation> inFlight = new ConcurrentHashMap<>();
+    private final Cache<String, Reservation> completed;
+    private final Counter executedCounter;
+    private final Counter replayedCounter;
+    private final Counter joinedCounter;
+
+    @Autowired
+    public IdempotencyStore(IdempotencyProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Ticker.systemTicker());
+    }
+
+    IdempotencyStore(IdempotencyProperties properties, MeterRegistry meterRegistry, Ticker ticker) {
+        this.properties = properties;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(properties.maxEntries())
+                .expireAfterWrite(properties.ttl())
+                .ticker(ticker)
+                .build();
+
+        this.executedCounter = outcomeCounter(meterRegistry, "executed");
+        this.replayedCounter = outcomeCounter(meterRegistry, "replayed");
+        this.joinedCounter = outcomeCounter(meterRegistry, "joined");
+    }
+
+    /**
+     * Creates a patient at most once per key.
+     * @param key the client's Idempotency-Key
+     * @param request the creation request; a key may only be reused with an identical request
+     * @param creation creates the patient; only called by the first request with the key
+     * @return the response, and whether it was replayed from an earlier request
+     * @throws InvalidIdempotencyKeyException if the key is blank or too long
+     * @throws IdempotencyKeyMismatchException if the key was used with a different request
+     * @throws IdempotencyKeyInUseException if the first request with the key is still running after
+     *                                      the wait timeout
+     */
+    public Outcome execute(String key, PatientRequestDTO request, Supplier<PatientResponseDTO> creation) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidIdempotencyKeyException(
+                    "Idempotency key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        if (!properties.enabled()) {
+            return new Outcome(creation.get(), false);
+        }
+
+        var reservation = new Reservation(fingerprint(request), new CompletableFuture<>());
+        var existing = reserve(key, reservation);
+        if (existing == null) {
+            return new Outcome(create(key, reservation, creation), false);
+        }
+
+        if (!existing.fingerprint().equals(reservation.fingerprint())) {
+            throw new IdempotencyKeyMismatchException("Idempotency key was used with a different request");
+        }
+        (existing.response().isDone() ? replayedCounter : joinedCounter).increment();
+        return new Outcome(await(existing), true);
+    }
+
+    // Returns the reservation already holding the key, or null once ours holds it. Runs under the
+    // key's bin lock, as does the move to the completed cache, so a creation finishing concurrently
+    // is seen in exactly one of the two places
+    private Reservation reserve(String key, Reservation reservation) {
+        var existing = new AtomicReference<Reservation>();
+        inFlight.compute(key, (k, running) -> {
+            if (running != null) {
+                existing.set(running);
+                return running;
+            }
+            existing.set(completed.getIfPresent(k));
+            return existing.get() == null ? reservation : null;
+        });
+        return existing.get();
+    }
+
+    private PatientResponseDTO create(String key, Reservation reservation, Supplier<PatientResponseDTO> creation) {
+        try {
+            var response = creation.get();
+            reservation.response().complete(response);
+            inFlight.computeIfPresent(key, (k, running) -> {
+                if (running != reservation) {
+                    return running;
+                }
+                completed.put(k, reservation);
+                return null;
+            });
+            executedCounter.increment();
+            return response;
+        } catch (RuntimeException | Error ex) {
+            // Waiting duplicates fail the same way; later retries run again
+            inFlight.remove(key, reservation);
+            reservation.response().completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    private PatientResponseDTO await(Reservation reservation) {
+        try {
+            return reservation.response().get(properties.waitTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (TimeoutException ex) {
+            throw new IdempotencyKeyInUseException("A request with this idempotency key is still in progress");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyInUseException("Interrupted while waiting for the first request with this key");
+        }
+    }
+
+    // Every field, so that reusing a key for a different patient is caught rather than answered
+    // with someone else's record
+    private static List<String> fingerprint(PatientRequestDTO request) {
+        return Arrays.asList(request.getName(), request.getEmail(), request.getAddress(),
+                request.getDateOfBirth(), request.getRegisteredDate());
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("patients.idempotency.requests")
+                .description("Create requests carrying an idempotency key, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param response the created patient
+     * @param replayed true when the response comes from an earlier request with the same key
+     */
+    public record Outcome(PatientResponseDTO response, boolean replayed) {
+    }
+
+    private record Reservation(List<String> fingerprint, CompletableFuture<PatientResponseDTO> response) {
+    }
+}
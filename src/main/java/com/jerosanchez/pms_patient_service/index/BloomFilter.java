@@ -0,0 +1,112 @@
+package com.jerosanchez.pms_patient_service.index;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter over strings. Answers "definitely absent" or "maybe present";
+ * it never produces false negatives for values that were put into it.
+ */
+public class BloomFilter {
+    // SplitMix64's increment, to derive the second base hash from the first
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final long expectedInsertions;
+
+    public BloomFilter(long expectedInsertions, double falsePositiveProbability) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("Expected insertions must be positive: " + expectedInsertions);
+        }
+        if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+            throw new IllegalArgumentException(
+                    "False positive probability must be between 0 and 1: " + falsePositiveProbability);
+        }
+
+        var ln2 = Math.log(2);
+        var bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveProbability) / (ln2 * ln2));
+
+        this.words = new AtomicLongArray(Math.toIntExact((bits + 63) / 64));
+        this.bitCount = words.length() * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * ln2));
+        this.expectedInsertions = expectedInsertions;
+    }
+
+    public void put(String value) {
+        var h1 = hash(value);
+        var h2 = mix(h1 + GOLDEN_GAMMA);
+
+        // Kirsch-Mitzenmacher double hashing: every probe is derived from the same two base hashes,
+        // kept 64 bits wide so that filters beyond 2^32 bits are probed throughout
+        for (int i = 1; i <= hashCount; i++) {
+            setBit(index(h1 + i * h2, bitCount));
+        }
+    }
+
+    public boolean mightContain(String value) {
+        var h1 = hash(value);
+        var h2 = mix(h1 + GOLDEN_GAMMA);
+
+        for (int i = 1; i <= hashCount; i++) {
+            if (!getBit(index(h1 + i * h2, bitCount))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Theoretical false positive probability after the given number of insertions.
+     * @param insertions number of values put so far
+     * @return the expected probability that an absent value is reported as present
+     */
+    public double expectedFalsePositiveProbability(long insertions) {
+        return Math.pow(1 - Math.exp(-(double) hashCount * insertions / bitCount), hashCount);
+    }
+
+    public long expectedInsertions() {
+        return expectedInsertions;
+    }
+
+    public long memoryBytes() {
+        return words.length() * 8L;
+    }
+
+    static long index(long combinedHash, long bitCount) {
+        return Long.remainderUnsigned(combinedHash, bitCount);
+    }
+
+    private void setBit(long bit) {
+        var word = (int) (bit >>> 6);
+        var mask = 1L << bit;
+
+        long current;
+        do {
+            current = words.get(word);
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!words.compareAndSet(word, current, current | mask));
+    }
+
+    private boolean getBit(long bit) {
+        return (words.get((int) (bit >>> 6)) & (1L << bit)) != 0;
+    }
+
+    private static long hash(String value) {
+        // FNV-1a over the UTF-16 code units, finished with the SplitMix64 mixer to spread the bits
+        var hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long hash) {
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+}
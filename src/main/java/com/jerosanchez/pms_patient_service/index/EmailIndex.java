@@ -0,0 +1,253 @@
+package com.jerosanchez.pms_patient_service.index;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.jerosanchez.pms_patient_service.config.EmailIndexProperties;
+import com.jerosanchez.pms_patient_service.repository.PatientRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Probabilistic index of every patient email, used to skip uniqueness queries for emails this
+ * instance has never seen. Bloom filters cannot forget values, so removals only mark the filter as
+ * stale; once enough of it is stale it is rebuilt from the patient table. The first build runs in
+ * the background once the application is ready; until it completes, every email is reported as
+ * "maybe present" and callers fall back to the database.
+ * <p>
+ * Each instance only learns about the emails written through it, so with several instances an
+ * email taken through another one is reported absent here until the next rebuild. The index is an
+ * optimisation for the common case, not a uniqueness check: the unique constraint on the email
+ * column still rejects the duplicate.
+ */
+@Component
+public class EmailIndex {
+    private static final Logger logger = LoggerFactory.getLogger(EmailIndex.class);
+
+    private final PatientRepository patientRepository;
+    private final EmailIndexProperties properties;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final AtomicLong insertions = new AtomicLong();
+    private final AtomicLong removals = new AtomicLong();
+    private final AtomicLong falsePositives = new AtomicLong();
+    private final AtomicLong pendingInsertions = new AtomicLong();
+    // Adds hold the read lock while they write to both filters, so a rebuild cannot swap the
+    // filters between the two writes
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    // Not a monitor: a rebuild holds it across database reads, which would pin a virtual thread
+    private final Lock rebuildLock = new ReentrantLock();
+    private final Counter negativeLookups;
+    private final Counter positiveLookups;
+
+    private volatile BloomFilter filter;
+    private volatile BloomFilter pendingFilter;
+
+    public EmailIndex(PatientRepository patientRepository, EmailIndexProperties properties,
+            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.patientRepository = patientRepository;
+        this.properties = properties;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        this.negativeLookups = Counter.builder("patients.email.index.lookups").tag("result", "absent")
+                .description("Email index lookups that skipped the database").register(meterRegistry);
+        this.positiveLookups = Counter.builder("patients.email.index.lookups").tag("result", "maybe_present")
+                .description("Email index lookups that fell through to the database").register(meterRegistry);
+        Gauge.builder("patients.email.index.false.positive.rate", this, EmailIndex::observedFalsePositiveRate)
+                .description("Share of absent emails the index reported as maybe present")
+                .register(meterRegistry);
+        Gauge.builder("patients.email.index.expected.false.positive.rate", this,
+                EmailIndex::expectedFalsePositiveRate)
+                .description("Theoretical false positive rate for the current fill level")
+                .register(meterRegistry);
+        Gauge.builder("patients.email.index.memory", this, EmailIndex::memoryBytes)
+                .baseUnit("bytes")
+                .description("Heap used by the email index bit array")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Answers whether the email may already belong to a patient.
+     * @param email the email to look up
+     * @return false when no patient written through this instance, or loaded by the last
+     *         rebuild, has the email
+     */
+    public boolean mightContain(String email) {
+        var current = filter;
+        if (!properties.enabled() || current == null || email == null) {
+            return true;
+        }
+
+        if (current.mightContain(email)) {
+            positiveLookups.increment();
+            return true;
+        }
+
+        negativeLookups.increment();
+        return false;
+    }
+
+    public void add(String email) {
+        put(email, true);
+
+        // A rebuild that read the table before the transaction committed has missed the email, so
+        // it is put again once the patient is visible
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put(email, false);
+                }
+            });
+        }
+    }
+
+    private void put(String email, boolean count) {
+        swapLock.readLock().lock();
+        try {
+            var current = filter;
+            if (current != null) {
+                current.put(email);
+            }
+
+            // Writes racing with a rebuild go to the new filter too, so it cannot miss them
+            var pending = pendingFilter;
+            if (pending != null) {
+                pending.put(email);
+                if (count) {
+                    pendingInsertions.incrementAndGet();
+                }
+            }
+
+            if (count) {
+                insertions.incrementAndGet();
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    public void recordRemoval() {
+        removals.incrementAndGet();
+    }
+
+    public void recordRemovals(int count) {
+        removals.addAndGet(count);
+    }
+
+    public void recordFalsePositive() {
+        if (properties.enabled() && filter != null) {
+            falsePositives.incrementAndGet();
+        }
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (properties.enabled()) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${patients.email-index.rebuild-check-interval:PT1M}")
+    public void rebuildIfStale() {
+        var current = filter;
+        if (!properties.enabled() || current == null) {
+            return;
+        }
+
+        var overfilled = insertions.get() > current.expectedInsertions();
+        var stale = removals.get() > insertions.get() * properties.staleRatio();
+        if (overfilled || stale) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Rebuilds the filter from the patient table, unless another rebuild is already running: that
+     * one resets the same counters, so waiting for it only to read the table again gains nothing.
+     */
+    public void rebuild() {
+        if (!rebuildLock.tryLock()) {
+            logger.debug("Email index rebuild already running, skipping");
+            return;
+        }
+        try {
+            rebuildLocked();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void rebuildLocked() {
+        var expectedInsertions = Math.max(properties.expectedInsertions(), patientRepository.count() * 2);
+        var next = new BloomFilter(expectedInsertions, properties.falsePositiveProbability());
+        pendingInsertions.set(0);
+        pendingFilter = next;
+
+        long loaded;
+        try {
+            loaded = readOnlyTransaction.execute(status -> {
+                long count = 0;
+                try (var emails = patientRepository.streamAllEmails()) {
+                    var iterator = emails.iterator();
+                    while (iterator.hasNext()) {
+                        next.put(iterator.next());
+                        count++;
+                    }
+                }
+                return count;
+            });
+        } catch (RuntimeException ex) {
+            pendingFilter = null;
+            throw ex;
+        }
+
+        // Emails added while the table was streamed may or may not have been loaded; counting them
+        // again only errs towards an earlier rebuild
+        swapLock.writeLock().lock();
+        try {
+            filter = next;
+            pendingFilter = null;
+            insertions.set(loaded + pendingInsertions.get());
+            removals.set(0);
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+
+        logger.info("Email index built: emails={}, memoryBytes={}", loaded, next.memoryBytes());
+    }
+
+    double observedFalsePositiveRate() {
+        var absentLookups = negativeLookups.count() + falsePositives.get();
+        return absentLookups == 0 ? 0 : falsePositives.get() / absentLookups;
+    }
+
+    double expectedFalsePositiveRate() {
+        var current = filter;
+        return current == null ? 0 : current.expectedFalsePositiveProbability(insertions.get());
+    }
+
+    double memoryBytes() {
+        var current = filter;
+        return current == null ? 0 : current.memoryBytes();
+    }
+}
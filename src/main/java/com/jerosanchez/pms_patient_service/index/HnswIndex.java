@@ -0,0 +1,359 @@
+package com.jerosanchez.pms_patient_service.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Thread-safe approximate nearest-neighbour index over vectors, using a Hierarchical Navigable
+ * Small World graph (Malkov and Yashunin, 2016). Vectors are normalized when added, so similarity
+ * is the cosine of the angle between them.
+ * <p>
+ * Replaced and removed documents stay in the graph so that it remains navigable, but they are
+ * never returned; they are only reclaimed by {@link #compacted()}, see {@link #staleRatio()}.
+ * @param <K> document key
+ * @param <V> value returned for matching documents
+ */
+public class HnswIndex<K, V> {
+    private static final Comparator<Scored> BEST_FIRST = Comparator.comparingDouble(Scored::similarity).reversed();
+    private static final Comparator<Scored> WORST_FIRST = Comparator.comparingDouble(Scored::similarity);
+
+    private final int maxConnections;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    // Fixed seed so that the same inserts always build the same graph
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<K, Integer> nodeIds = new HashMap<>();
+    private final List<Node<K, V>> nodes = new ArrayList<>();
+    private int entryPoint = -1;
+    private int topLevel = -1;
+    private int dimensions = -1;
+    private int deadNodes;
+
+    /**
+     * @param maxConnections neighbours kept per node on the upper layers (twice as many on the bottom
+     *                       one); more improves recall at the cost of memory and insert time
+     * @param efConstruction candidates considered when linking a new node; more gives a better graph
+     *                       at the cost of insert time
+     */
+    public HnswIndex(int maxConnections, int efConstruction) {
+        if (maxConnections < 2 || efConstruction < 1) {
+            throw new IllegalArgumentException("maxConnections must be at least 2 and efConstruction at least 1");
+        }
+
+        this.maxConnections = maxConnections;
+        this.efConstruction = efConstruction;
+        this.levelMultiplier = 1 / Math.log(maxConnections);
+    }
+
+    /**
+     * Indexes a document, replacing any previous document with the same key.
+     * @param key the document key
+     * @param vector the embedding to compare queries against; every vector must have the same length
+     * @param value returned by {@link #search} when the document matches
+     */
+    public void put(K key, float[] vector, V value) {
+        var unit = normalize(vector);
+
+        lock.writeLock().lock();
+        try {
+            if (dimensions < 0) {
+                dimensions = unit.length;
+            } else if (dimensions != unit.length) {
+                throw new IllegalArgumentException(
+                        "Expected a vector of " + dimensions + " dimensions but got " + unit.length);
+            }
+            removeLocked(key);
+
+            var level = randomLevel();
+            var nodeId = nodes.size();
+            nodes.add(new Node<>(key, unit, value, level, maxConnections));
+            nodeIds.put(key, nodeId);
+
+            if (entryPoint < 0) {
+                entryPoint = nodeId;
+                topLevel = level;
+                return;
+            }
+
+            var closest = descend(unit, level);
+            for (int layer = Math.min(level, topLevel); layer >= 0; layer--) {
+                var candidates = searchLayer(unit, closest, efConstruction, layer);
+                for (var neighbour : selectNeighbours(candidates, maxConnections)) {
+                    connect(nodeId, neighbour.node(), layer);
+                    connect(neighbour.node(), nodeId, layer);
+                }
+                closest = candidates.get(0).node();
+            }
+
+            if (level > topLevel) {
+                topLevel = level;
+                entryPoint = nodeId;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(K key) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the documents most similar to the query, best first. The search is approximate: a
+     * larger {@code ef} finds the true nearest neighbours more often but visits more nodes.
+     * @param query vector of the same length as the indexed ones
+     * @param limit maximum number of values to return
+     * @param ef candidates kept while searching the bottom layer, raised to {@code limit} if lower
+     * @return the values of the most similar documents, best first
+     */
+    public List<V> search(float[] query, int limit, int ef) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        var unit = normalize(query);
+
+        lock.readLock().lock();
+        try {
+            if (entryPoint < 0) {
+                return List.of();
+            }
+            if (unit.length != dimensions) {
+                throw new IllegalArgumentException(
+                        "Expected a vector of " + dimensions + " dimensions but got " + unit.length);
+            }
+
+            var candidates = searchLayer(unit, descend(unit, 0), Math.max(ef, limit), 0);
+            return candidates.stream()
+                    .map(candidate -> nodes.get(candidate.node()))
+                    .filter(node -> node.live)
+                    .limit(limit)
+                    .map(node -> node.value)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nodeIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Share of indexed documents that were since replaced or removed and still take up space.
+     * @return dead documents relative to all documents ever indexed, from 0 to 1
+     */
+    public double staleRatio() {
+        lock.readLock().lock();
+        try {
+            return nodes.isEmpty() ? 0 : (double) deadNodes / nodes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Builds a new index with the same settings holding only the live documents, reusing their
+     * vectors. This index stays searchable, and is not changed, while the copy is built.
+     * @return the compacted copy
+     */
+    public HnswIndex<K, V> compacted() {
+        var copy = new HnswIndex<K, V>(maxConnections, efConstruction);
+
+        lock.readLock().lock();
+        try {
+            for (var node : nodes) {
+                if (node.live) {
+                    copy.put(node.key, node.vector, node.value);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return copy;
+    }
+
+    private void removeLocked(K key) {
+        var previous = nodeIds.remove(key);
+        if (previous != null) {
+            var node = nodes.get(previous);
+            node.live = false;
+            node.value = null;
+            deadNodes++;
+        }
+    }
+
+    private int randomLevel() {
+        return (int) (-Math.log(1 - random.nextDouble()) * levelMultiplier);
+    }
+
+    // Greedy walk from the entry point down to the given layer, returning the closest node found
+    private int descend(float[] query, int toLevel) {
+        var closest = entryPoint;
+        for (int layer = topLevel; layer > toLevel; layer--) {
+            closest = searchLayer(query, closest, 1, layer).get(0).node();
+        }
+        return closest;
+    }
+
+    // Best-first search of one layer, keeping the ef most similar nodes seen; returns them best first
+    private List<Scored> searchLayer(float[] query, int start, int ef, int layer) {
+        var visited = new BitSet(nodes.size());
+        var candidates = new PriorityQueue<Scored>(BEST_FIRST);
+        var results = new PriorityQueue<Scored>(WORST_FIRST);
+
+        var first = new Scored(start, dot(query, nodes.get(start).vector));
+        visited.set(start);
+        candidates.add(first);
+        results.add(first);
+
+        while (!candidates.isEmpty()) {
+            var current = candidates.poll();
+            if (results.size() >= ef && current.similarity() < results.peek().similarity()) {
+                break;
+            }
+
+            var node = nodes.get(current.node());
+            var neighbours = node.neighbours[layer];
+            for (int i = 0; i < node.neighbourCounts[layer]; i++) {
+                var neighbour = neighbours[i];
+                if (visited.get(neighbour)) {
+                    continue;
+                }
+                visited.set(neighbour);
+
+                var scored = new Scored(neighbour, dot(query, nodes.get(neighbour).vector));
+                if (results.size() < ef || scored.similarity() > results.peek().similarity()) {
+                    candidates.add(scored);
+                    results.add(scored);
+                    if (results.size() > ef) {
+                        results.poll();
+                    }
+                }
+            }
+        }
+
+        var ordered = new ArrayList<>(results);
+        ordered.sort(BEST_FIRST);
+        return ordered;
+    }
+
+    // Neighbour selection heuristic from the paper: skip candidates that are closer to an already
+    // selected neighbour than to the new node, so that links spread in every direction, then top up
+    // with the closest skipped ones
+    private List<Scored> selectNeighbours(List<Scored> candidatesBestFirst, int count) {
+        var selected = new ArrayList<Scored>(count);
+        var skipped = new ArrayList<Scored>();
+
+        for (var candidate : candidatesBestFirst) {
+            if (selected.size() == count) {
+                break;
+            }
+
+            var vector = nodes.get(candidate.node()).vector;
+            var diverse = selected.stream()
+                    .noneMatch(chosen -> dot(vector, nodes.get(chosen.node()).vector) > candidate.similarity());
+            if (diverse) {
+                selected.add(candidate);
+            } else {
+                skipped.add(candidate);
+            }
+        }
+
+        for (int i = 0; i < skipped.size() && selected.size() < count; i++) {
+            selected.add(skipped.get(i));
+        }
+        return selected;
+    }
+
+    private void connect(int from, int to, int layer) {
+        var node = nodes.get(from);
+        var neighbours = node.neighbours[layer];
+        var count = node.neighbourCounts[layer];
+
+        if (count < neighbours.length) {
+            neighbours[count] = to;
+            node.neighbourCounts[layer]++;
+            return;
+        }
+
+        // Full: keep the best spread of the current neighbours plus the new one
+        var candidates = new ArrayList<Scored>(count + 1);
+        for (int i = 0; i < count; i++) {
+            candidates.add(new Scored(neighbours[i], dot(node.vector, nodes.get(neighbours[i]).vector)));
+        }
+        candidates.add(new Scored(to, dot(node.vector, nodes.get(to).vector)));
+        candidates.sort(BEST_FIRST);
+
+        var kept = selectNeighbours(candidates, neighbours.length);
+        for (int i = 0; i < kept.size(); i++) {
+            neighbours[i] = kept.get(i).node();
+        }
+        node.neighbourCounts[layer] = kept.size();
+    }
+
+    private static float[] normalize(float[] vector) {
+        var norm = Math.sqrt(dot(vector, vector));
+        var unit = Arrays.copyOf(vector, vector.length);
+        if (norm > 0) {
+            for (int i = 0; i < unit.length; i++) {
+                unit[i] /= (float) norm;
+            }
+        }
+        return unit;
+    }
+
+    private static float dot(float[] a, float[] b) {
+        var sum = 0f;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    private record Scored(int node, float similarity) {
+    }
+
+    private static final class Node<K, V> {
+        private final K key;
+        private final float[] vector;
+        // Neighbour IDs per layer, the first neighbourCounts[layer] entries being in use
+        private final int[][] neighbours;
+        private final int[] neighbourCounts;
+        private V value;
+        private boolean live = true;
+
+        Node(K key, float[] vector, V value, int level, int maxConnections) {
+            this.key = key;
+            this.vector = vector;
+            this.value = value;
+            this.neighbours = new int[level + 1][];
+            this.neighbourCounts = new int[level + 1];
+            for (int layer = 0; layer <= level; layer++) {
+                // The bottom layer holds every node, so it gets twice the links to stay well connected
+                neighbours[layer] = new int[layer == 0 ? 2 * maxConnections : maxConnections];
+            }
+        }
+    }
+}
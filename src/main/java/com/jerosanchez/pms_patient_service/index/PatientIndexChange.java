@@ -0,0 +1,32 @@
+package com.jerosanchez.pms_patient_service.index;
+
+import java.util.Optional;
+
+import com.jerosanchez.pms_patient_service.dto.PatientResponseDTO;
+
+/**
+ * A change to apply to an in-memory index: the patient as stored, or empty once deleted, with the
+ * position of the change. Changes arrive after their transaction commits, so two changes to the
+ * same patient can arrive in either order; only the later position counts.
+ * @param changeSeq the change sequence number of the change
+ * @param patient the patient as stored, or empty when it was deleted
+ */
+record PatientIndexChange(long changeSeq, Optional<PatientResponseDTO> patient) {
+
+    static PatientIndexChange saved(long changeSeq, PatientResponseDTO patient) {
+        return new PatientIndexChange(changeSeq, Optional.of(patient));
+    }
+
+    static PatientIndexChange deleted(long changeSeq) {
+        return new PatientIndexChange(changeSeq, Optional.empty());
+    }
+
+    // A change at the same position comes later in the same transaction, so it replaces the other
+    boolean isOlderThan(long otherChangeSeq) {
+        return changeSeq < otherChangeSeq;
+    }
+
+    static PatientIndexChange latest(PatientIndexChange current, PatientIndexChange next) {
+        return next.isOlderThan(current.changeSeq()) ? current : next;
+    }
+}
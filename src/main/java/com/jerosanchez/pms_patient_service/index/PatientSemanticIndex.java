@@ -0,0 +1,285 @@
+package com.jerosanchez.pms_patient_service.index;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.jerosanchez.pms_patient_service.config.SemanticSearchProperties;
+import com.jerosanchez.pms_patient_service.dto.PatientResponseDTO;
+import com.jerosanchez.pms_patient_service.event.PatientSavedEvent;
+import com.jerosanchez.pms_patient_service.event.PatientsDeletedEvent;
+import com.jerosanchez.pms_patient_service.exception.SemanticSearchUnavailableException;
+import com.jerosanchez.pms_patient_service.mapper.PatientMapper;
+import com.jerosanchez.pms_patient_service.repository.PatientRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Embeddings of patient names and addresses in an in-memory HNSW graph, answering "closest
+ * patients to this text" queries. Patient changes are queued once their transaction commits and
+ * embedded in batches by a scheduled task, never on the request thread; only the query itself is
+ * embedded while the caller waits. The task is the only writer, so deletions also go through the
+ * queue and a patient can show up in results until the next batch runs.
+ * <p>
+ * Patients are loaded in the background once the application is ready, and searches answer 503
+ * until the first batches have embedded them all. A failed load is retried by the batch task.
+ * <p>
+ * Events can arrive in a different order than their transactions committed, so every change keeps
+ * its change sequence number: a queued change is only replaced by a later one, and the batch task
+ * skips changes older than the one it last applied to the patient. Deleted patients keep theirs
+ * until the graph is next compacted, so that a change delivered late cannot bring them back.
+ */
+@Component
+public class PatientSemanticIndex {
+    private static final Logger logger = LoggerFactory.getLogger(PatientSemanticIndex.class);
+
+    private final EmbeddingModel embeddingModel;
+    private final PatientRepository patientRepository;
+    private final SemanticSearchProperties properties;
+    private final TransactionTemplate readOnlyTransaction;
+    // Latest change per patient waiting to be indexed: the patient to embed, or empty to remove it
+    private final Map<UUID, PatientIndexChange> pending = new LinkedHashMap<>();
+    // Position of the latest change applied per patient; only the batch task touches them
+    private final Map<UUID, Long> indexedChangeSeqs = new HashMap<>();
+    private final Map<UUID, Long> deletedChangeSeqs = new HashMap<>();
+    // A lock rather than a monitor: the load holds it across database reads
+    private final Lock loadLock = new ReentrantLock();
+
+    private volatile HnswIndex<UUID, PatientResponseDTO> index;
+    private volatile boolean loaded;
+    private volatile boolean ready;
+
+    public PatientSemanticIndex(EmbeddingModel embeddingModel, PatientRepository patientRepository,
+            SemanticSearchProperties properties, PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.embeddingModel = embeddingModel;
+        this.patientRepository = patientRepository;
+        this.properties = properties;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.index = new HnswIndex<>(properties.maxConnections(), properties.efConstruction());
+
+        Gauge.builder("patients.semantic.index.size", this, PatientSemanticIndex::size)
+                .description("Patients in the semantic index")
+                .register(meterRegistry);
+        Gauge.builder("patients.semantic.pending", this, PatientSemanticIndex::pendingCount)
+                .description("Patient changes waiting to be embedded")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Finds the patients whose name and address are most similar to the query text.
+     * @param query free text, e.g. a name and part of an address
+     * @param limit maximum number of matches, or null for the default
+     * @return the most similar patients, best first; empty when the query is blank
+     */
+    public List<PatientResponseDTO> search(String query, Integer limit) {
+        if (!properties.enabled() || !ready) {
+            throw new SemanticSearchUnavailableException("Semantic index is not built yet.");
+        }
+
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+
+        var vector = embeddingModel.embed(query);
+        return index.search(vector, properties.resolveLimit(limit), properties.efSearch());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPatientSaved(PatientSavedEvent event) {
+        if (properties.enabled()) {
+            var change = PatientIndexChange.saved(event.changeSeq(), event.patient());
+            synchronized (pending) {
+                pending.merge(event.id(), change, PatientIndexChange::latest);
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPatientsDeleted(PatientsDeletedEvent event) {
+        if (properties.enabled()) {
+            var change = PatientIndexChange.deleted(event.changeSeq());
+            synchronized (pending) {
+                event.ids().forEach(id -> pending.merge(id, change, PatientIndexChange::latest));
+            }
+        }
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (properties.enabled()) {
+            load();
+        }
+    }
+
+    /**
+     * Embeds the queued changes in batches until the queue is empty, then compacts the graph if too
+     * much of it is stale. Nothing is embedded before every patient has been queued, so that the
+     * load cannot overwrite newer changes; if {@link #warmUp()} failed, the load is retried here.
+     */
+    // Unguarded: a fixed-delay task never overlaps itself, and holding a monitor across the
+    // embedding call would pin a virtual carrier thread
+    @Scheduled(fixedDelayString = "${patients.semantic.batch-interval:PT1S}")
+    public void indexPending() {
+        if (!properties.enabled()) {
+            return;
+        }
+        if (!loaded) {
+            try {
+                load();
+            } catch (RuntimeException ex) {
+                logger.warn("Loading patients for the semantic index failed, will retry", ex);
+                return;
+            }
+            if (!loaded) {
+                return;
+            }
+        }
+
+        for (var batch = takeBatch(); !batch.isEmpty(); batch = takeBatch()) {
+            if (!apply(batch)) {
+                return;
+            }
+        }
+
+        if (!ready) {
+            ready = true;
+            logger.info("Semantic index built: patients={}", size());
+        }
+
+        var current = index;
+        if (current.staleRatio() > properties.staleRatio()) {
+            index = current.compacted();
+            deletedChangeSeqs.clear();
+        }
+    }
+
+    int size() {
+        return index.size();
+    }
+
+    int pendingCount() {
+        synchronized (pending) {
+            return pending.size();
+        }
+    }
+
+    // Queues every patient once, unless another load is already running
+    private void load() {
+        if (!loadLock.tryLock()) {
+            return;
+        }
+        try {
+            if (loaded) {
+                return;
+            }
+
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (var patients = patientRepository.streamAllChangedPatients()) {
+                    // Changes queued since startup may be older or newer than what is read here
+                    patients.forEach(patient -> {
+                        var change = PatientIndexChange.saved(patient.changeSeq(),
+                                PatientMapper.toDTO(patient.summary()));
+                        synchronized (pending) {
+                            pending.merge(patient.id(), change, PatientIndexChange::latest);
+                        }
+                    });
+                }
+            });
+            loaded = true;
+
+            logger.info("Semantic index loading: patients={}", pendingCount());
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private Map<UUID, PatientIndexChange> takeBatch() {
+        var batch = new LinkedHashMap<UUID, PatientIndexChange>();
+
+        synchronized (pending) {
+            var entries = pending.entrySet().iterator();
+            while (entries.hasNext() && batch.size() < properties.batchSize()) {
+                var entry = entries.next();
+                batch.put(entry.getKey(), entry.getValue());
+                entries.remove();
+            }
+        }
+
+        return batch;
+    }
+
+    private boolean apply(Map<UUID, PatientIndexChange> batch) {
+        batch.entrySet().removeIf(entry -> entry.getValue().isOlderThan(appliedChangeSeq(entry.getKey())));
+
+        var savedIds = new ArrayList<UUID>();
+        var saved = new ArrayList<PatientResponseDTO>();
+        batch.forEach((id, change) -> change.patient().ifPresent(value -> {
+            savedIds.add(id);
+            saved.add(value);
+        }));
+
+        List<float[]> vectors;
+        try {
+            vectors = saved.isEmpty()
+                    ? List.of()
+                    : embeddingModel.embed(saved.stream().map(PatientSemanticIndex::text).toList());
+        } catch (RuntimeException ex) {
+            // Put the batch back unless newer changes arrived meanwhile, and retry on the next run
+            synchronized (pending) {
+                batch.forEach((id, change) -> pending.merge(id, change, PatientIndexChange::latest));
+            }
+            logger.warn("Embedding patients failed, will retry: count={}", saved.size(), ex);
+            return false;
+        }
+
+        var current = index;
+        batch.forEach((id, change) -> {
+            if (change.patient().isEmpty()) {
+                current.remove(id);
+                indexedChangeSeqs.remove(id);
+                deletedChangeSeqs.put(id, change.changeSeq());
+            } else {
+                indexedChangeSeqs.put(id, change.changeSeq());
+                deletedChangeSeqs.remove(id);
+            }
+        });
+        for (int i = 0; i < saved.size(); i++) {
+            current.put(savedIds.get(i), vectors.get(i), saved.get(i));
+        }
+
+        return true;
+    }
+
+    private long appliedChangeSeq(UUID id) {
+        var changeSeq = indexedChangeSeqs.get(id);
+        if (changeSeq == null) {
+            changeSeq = deletedChangeSeqs.get(id);
+        }
+        return changeSeq == null ? Long.MIN_VALUE : changeSeq;
+    }
+
+    private static String text(PatientResponseDTO patient) {
+        return patient.name() + " " + patient.address();
+    }
+}
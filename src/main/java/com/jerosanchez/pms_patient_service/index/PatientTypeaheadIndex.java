@@ -0,0 +1,212 @@
+package com.jerosanchez.pms_patient_service.index;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.jerosanchez.pms_patient_service.config.TypeaheadProperties;
+import com.jerosanchez.pms_patient_service.dto.PatientResponseDTO;
+import com.jerosanchez.pms_patient_service.event.PatientSavedEvent;
+import com.jerosanchez.pms_patient_service.event.PatientsDeletedEvent;
+import com.jerosanchez.pms_patient_service.exception.TypeaheadUnavailableException;
+import com.jerosanchez.pms_patient_service.mapper.PatientMapper;
+import com.jerosanchez.pms_patient_service.repository.PatientRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * In-memory trigram index over patient names and addresses, answering typeahead queries without
+ * touching the database. It is built from the patient table in the background once the
+ * application is ready, answering 503 until then, and kept current from patient change events once
+ * their transaction commits. A failed first build is retried by the periodic check. Replaced and
+ * deleted entries are reclaimed by rebuilding once enough of the index is stale.
+ * <p>
+ * Events can be applied in a different order than their transactions committed, so the index keeps
+ * the change sequence number of the latest change applied to each patient and ignores older ones.
+ * Deleted patients keep theirs until the next rebuild, so that a change delivered late cannot bring
+ * them back.
+ */
+@Component
+public class PatientTypeaheadIndex {
+    private static final Logger logger = LoggerFactory.getLogger(PatientTypeaheadIndex.class);
+
+    private final PatientRepository patientRepository;
+    private final TypeaheadProperties properties;
+    private final TransactionTemplate readOnlyTransaction;
+    // Locks rather than monitors: a rebuild holds them across database reads, and changes arrive
+    // on request threads, either of which may be virtual and would otherwise pin its carrier
+    private final Lock rebuildLock = new ReentrantLock();
+    private final Lock changeLock = new ReentrantLock();
+
+    private volatile TrigramIndex<UUID, PatientResponseDTO> index;
+    // Position of the latest change applied to the index per patient, deletions included; swapped
+    // in with the index
+    private Map<UUID, Long> appliedChangeSeqs;
+    // Changes seen while a rebuild is loading, replayed onto the new index before it is swapped in
+    private Map<UUID, PatientIndexChange> pendingChanges;
+
+    public PatientTypeaheadIndex(PatientRepository patientRepository, TypeaheadProperties properties,
+            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.patientRepository = patientRepository;
+        this.properties = properties;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        Gauge.builder("patients.typeahead.index.size", this, PatientTypeaheadIndex::size)
+                .description("Patients in the typeahead index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Finds the patients whose name or address best matches a partial, possibly misspelled query.
+     * @param query the text typed so far
+     * @param limit maximum number of matches, or null for the default
+     * @return the best matches, best first; empty when the query is too short
+     */
+    public List<PatientResponseDTO> search(String query, Integer limit) {
+        var current = index;
+        if (!properties.enabled() || current == null) {
+            throw new TypeaheadUnavailableException("Typeahead index is not built yet.");
+        }
+
+        if (query == null || query.strip().length() < properties.minQueryLength()) {
+            return List.of();
+        }
+
+        return current.search(query, properties.resolveLimit(limit), properties.minSimilarity());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPatientSaved(PatientSavedEvent event) {
+        apply(event.id(), PatientIndexChange.saved(event.changeSeq(), event.patient()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPatientsDeleted(PatientsDeletedEvent event) {
+        var change = PatientIndexChange.deleted(event.changeSeq());
+        event.ids().forEach(id -> apply(id, change));
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (properties.enabled()) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${patients.typeahead.rebuild-check-interval:PT1M}")
+    public void rebuildIfStale() {
+        var current = index;
+        if (properties.enabled() && (current == null || current.staleRatio() > properties.staleRatio())) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Rebuilds the index from the patient table, unless another rebuild is already running and
+     * will swap in an equally fresh index.
+     */
+    public void rebuild() {
+        if (!rebuildLock.tryLock()) {
+            logger.debug("Typeahead index rebuild already running, skipping");
+            return;
+        }
+        try {
+            rebuildLocked();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void rebuildLocked() {
+        var next = new TrigramIndex<UUID, PatientResponseDTO>();
+        var nextChangeSeqs = new HashMap<UUID, Long>();
+        changeLock.lock();
+        try {
+            pendingChanges = new HashMap<>();
+        } finally {
+            changeLock.unlock();
+        }
+
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (var patients = patientRepository.streamAllChangedPatients()) {
+                    patients.forEach(patient -> {
+                        put(next, patient.id(), PatientMapper.toDTO(patient.summary()));
+                        nextChangeSeqs.put(patient.id(), patient.changeSeq());
+                    });
+                }
+            });
+
+            // Changes committed while loading may be missing from what was read; older ones are ignored
+            changeLock.lock();
+            try {
+                pendingChanges.forEach((id, change) -> applyTo(next, nextChangeSeqs, id, change));
+                index = next;
+                appliedChangeSeqs = nextChangeSeqs;
+            } finally {
+                changeLock.unlock();
+            }
+        } finally {
+            changeLock.lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                changeLock.unlock();
+            }
+        }
+
+        logger.info("Typeahead index built: patients={}", next.size());
+    }
+
+    int size() {
+        var current = index;
+        return current == null ? 0 : current.size();
+    }
+
+    private void apply(UUID id, PatientIndexChange change) {
+        changeLock.lock();
+        try {
+            var current = index;
+            if (current != null) {
+                applyTo(current, appliedChangeSeqs, id, change);
+            }
+            if (pendingChanges != null) {
+                pendingChanges.merge(id, change, PatientIndexChange::latest);
+            }
+        } finally {
+            changeLock.unlock();
+        }
+    }
+
+    private static void applyTo(TrigramIndex<UUID, PatientResponseDTO> target, Map<UUID, Long> changeSeqs, UUID id,
+            PatientIndexChange change) {
+        var appliedChangeSeq = changeSeqs.get(id);
+        if (appliedChangeSeq != null && change.isOlderThan(appliedChangeSeq)) {
+            return;
+        }
+
+        changeSeqs.put(id, change.changeSeq());
+        change.patient().ifPresentOrElse(value -> put(target, id, value), () -> target.remove(id));
+    }
+
+    private static void put(TrigramIndex<UUID, PatientResponseDTO> target, UUID id, PatientResponseDTO patient) {
+        target.put(id, patient.name() + " " + patient.address(), patient);
+    }
+}
@@ -0,0 +1,283 @@
+package com.jerosanchez.pms_patient_service.index;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Thread-safe inverted index from character trigrams to documents, for fuzzy matching of short
+ * texts such as names. Text is lower-cased, stripped of accents and split into words; every word
+ * is padded like PostgreSQL's pg_trgm ("  smith " gives "  s", " sm", "smi", "mit", "ith", "th "),
+ * so typos only cost the few trigrams around them.
+ * <p>
+ * Replaced and removed documents leave dead entries in the posting lists; they are skipped when
+ * searching and only reclaimed by building a new index, see {@link #staleRatio()}.
+ * @param <K> document key
+ * @param <V> value returned for matching documents
+ */
+public class TrigramIndex<K, V> {
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> trigramIds = new HashMap<>();
+    private final List<Postings> postings = new ArrayList<>();
+    private final Map<K, Integer> documentIds = new HashMap<>();
+    private final List<int[]> documentTrigrams = new ArrayList<>();
+    private final List<V> documentValues = new ArrayList<>();
+    private int deadDocuments;
+
+    /**
+     * Indexes a document, replacing any previous document with the same key.
+     * @param key the document key
+     * @param text the text to match queries against
+     * @param value returned by {@link #search} when the document matches
+     */
+    public void put(K key, String text, V value) {
+        var trigrams = trigrams(text, true);
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(key);
+
+            var documentId = documentValues.size();
+            var ids = new int[trigrams.size()];
+            var i = 0;
+            for (var trigram : trigrams) {
+                ids[i++] = trigramIds.computeIfAbsent(trigram, unused -> {
+                    postings.add(new Postings());
+                    return postings.size() - 1;
+                });
+            }
+            Arrays.sort(ids);
+
+            for (var id : ids) {
+                postings.get(id).add(documentId);
+            }
+            documentIds.put(key, documentId);
+            documentTrigrams.add(ids);
+            documentValues.add(value);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(K key) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the documents sharing the most trigrams with the query, best first; documents sharing
+     * as many are returned in indexing order. The last query word is treated as a prefix still
+     * being typed, so "smi" matches "smith".
+     * @param query the text typed so far
+     * @param limit maximum number of values to return
+     * @param minSimilarity minimum share of the query trigrams a document must contain, from 0 to 1
+     * @return the values of the best matching documents, best first
+     */
+    public List<V> search(String query, int limit, double minSimilarity) {
+        var queryTrigrams = trigrams(query, false);
+        var total = queryTrigrams.size();
+        if (total == 0 || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            var known = new ArrayList<Postings>(total);
+            var queryIds = new int[total];
+            var knownCount = 0;
+            for (var trigram : queryTrigrams) {
+                var id = trigramIds.get(trigram);
+                if (id != null) {
+                    known.add(postings.get(id));
+                    queryIds[knownCount++] = id;
+                }
+            }
+            queryIds = Arrays.copyOf(queryIds, knownCount);
+            Arrays.sort(queryIds);
+            known.sort(Comparator.comparingInt(list -> list.size));
+
+            var unknown = total - knownCount;
+            var threshold = Math.max(1, (int) Math.ceil(minSimilarity * total));
+            var cursors = new int[knownCount];
+            var best = new PriorityQueue<Match>(Match.WORST_FIRST);
+
+            while (true) {
+                // A document sharing `threshold` of the query trigrams appears in at least one of any
+                // (total - threshold + 1) of their posting lists, so only the shortest ones are walked.
+                // Unknown trigrams have empty lists and count towards that number for free. The
+                // threshold rises as better matches fill the result, shrinking the lists to walk.
+                var walked = Math.min(knownCount, total - threshold + 1 - unknown);
+                var documentId = nextDocument(known, cursors, walked);
+                if (documentId < 0) {
+                    break;
+                }
+
+                var trigramsOfDocument = documentTrigrams.get(documentId);
+                if (trigramsOfDocument == null) {
+                    continue;
+                }
+
+                var shared = countShared(queryIds, trigramsOfDocument);
+                if (shared < threshold) {
+                    continue;
+                }
+
+                best.offer(new Match(documentId, shared));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+                if (best.size() == limit) {
+                    // Documents are visited in ID order, so a later one must share strictly more to win a tie
+                    threshold = Math.max(threshold, best.peek().shared() + 1);
+                }
+            }
+
+            var ranked = new ArrayList<>(best);
+            ranked.sort(Match.WORST_FIRST.reversed());
+            return ranked.stream().map(match -> documentValues.get(match.documentId())).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Share of indexed documents that were since replaced or removed and still take up space.
+     * @return dead documents relative to all documents ever indexed, from 0 to 1
+     */
+    public double staleRatio() {
+        lock.readLock().lock();
+        try {
+            return documentValues.isEmpty() ? 0 : (double) deadDocuments / documentValues.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static Set<Long> trigrams(String text, boolean completeLastWord) {
+        var trigrams = new HashSet<Long>();
+        if (text == null) {
+            return trigrams;
+        }
+
+        var normalized = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        var words = WORD_SEPARATOR.split(normalized);
+        // A trailing separator means the user finished the last word
+        var lastWordComplete = completeLastWord || !normalized.isEmpty()
+                && !Character.isLetterOrDigit(normalized.charAt(normalized.length() - 1));
+
+        for (int w = 0; w < words.length; w++) {
+            if (words[w].isEmpty()) {
+                continue;
+            }
+
+            var complete = w < words.length - 1 || lastWordComplete;
+            var padded = "  " + words[w] + (complete ? " " : "");
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16)
+                        | padded.charAt(i + 2));
+            }
+        }
+
+        return trigrams;
+    }
+
+    private void removeLocked(K key) {
+        var previous = documentIds.remove(key);
+        if (previous != null) {
+            documentTrigrams.set(previous, null);
+            documentValues.set(previous, null);
+            deadDocuments++;
+        }
+    }
+
+    // Merges the first `walked` posting lists: returns their smallest unvisited document ID and
+    // moves every cursor past it, or returns -1 once they are exhausted
+    private static int nextDocument(List<Postings> lists, int[] cursors, int walked) {
+        var next = Integer.MAX_VALUE;
+        for (int i = 0; i < walked; i++) {
+            var list = lists.get(i);
+            if (cursors[i] < list.size) {
+                next = Math.min(next, list.documentIds[cursors[i]]);
+            }
+        }
+        if (next == Integer.MAX_VALUE) {
+            return -1;
+        }
+
+        for (int i = 0; i < walked; i++) {
+            var list = lists.get(i);
+            if (cursors[i] < list.size && list.documentIds[cursors[i]] == next) {
+                cursors[i]++;
+            }
+        }
+        return next;
+    }
+
+    private static int countShared(int[] sortedA, int[] sortedB) {
+        int shared = 0;
+        int i = 0;
+        int j = 0;
+
+        while (i < sortedA.length && j < sortedB.length) {
+            if (sortedA[i] == sortedB[j]) {
+                shared++;
+                i++;
+                j++;
+            } else if (sortedA[i] < sortedB[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+
+        return shared;
+    }
+
+    private record Match(int documentId, int shared) {
+        static final Comparator<Match> WORST_FIRST = Comparator.comparingInt(Match::shared)
+                .thenComparing(Comparator.comparingInt(Match::documentId).reversed());
+    }
+
+    // Growable list of document IDs, kept as a primitive array to avoid boxing millions of entries.
+    // IDs are only ever appended in increasing order, so every list is sorted.
+    private static final class Postings {
+        private int[] documentIds = new int[4];
+        private int size;
+
+        void add(int documentId) {
+            if (size == documentIds.length) {
+                documentIds = Arrays.copyOf(documentIds, size * 2);
+            }
+            documentIds[size++] = documentId;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.jerosanchez.pms_patient_service.mapper;
+
+import com.jerosanchez.pms_patient_service.repository.ChangePosition;
+
+/**
+ * Decoded change feed cursor.
+ * @param position the last change returned to the consumer
+ * @param floorSeq sequence number at or below which the consumer cannot be missing a deletion: the
+ *                 highest of its position and the last number handed out when its sync started,
+ *                 since patients deleted before that were never sent to it
+ */
+public record ChangeCursor(ChangePosition position, long floorSeq) {
+    public ChangeCursor advancedTo(ChangePosition next) {
+        return new ChangeCursor(next, Math.max(floorSeq, next.changeSeq()));
+    }
+}
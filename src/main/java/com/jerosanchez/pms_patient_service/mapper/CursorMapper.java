@@ -0,0 +1,78 @@
+package com.jerosanchez.pms_patient_service.mapper;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.UUID;
+
+import com.jerosanchez.pms_patient_service.exception.InvalidCursorException;
+import com.jerosanchez.pms_patient_service.repository.ChangePosition;
+
+/**
+ * Maps keyset positions to opaque, URL-safe continuation tokens and back.
+ */
+public class CursorMapper {
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private CursorMapper() {}
+
+    public static String toCursor(UUID lastId) {
+        var buffer = ByteBuffer.allocate(16);
+
+        buffer.putLong(lastId.getMostSignificantBits());
+        buffer.putLong(lastId.getLeastSignificantBits());
+
+        return ENCODER.encodeToString(buffer.array());
+    }
+
+    public static UUID toLastId(String cursor) {
+        byte[] bytes;
+
+        try {
+            bytes = DECODER.decode(cursor);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException("Malformed cursor: " + cursor);
+        }
+
+        if (bytes.length != 16) {
+            throw new InvalidCursorException("Malformed cursor: " + cursor);
+        }
+
+        var buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    public static String toCursor(ChangeCursor cursor) {
+        var buffer = ByteBuffer.allocate(32);
+
+        buffer.putLong(cursor.position().changeSeq());
+        buffer.putLong(cursor.position().id().getMostSignificantBits());
+        buffer.putLong(cursor.position().id().getLeastSignificantBits());
+        buffer.putLong(cursor.floorSeq());
+
+        return ENCODER.encodeToString(buffer.array());
+    }
+
+    public static ChangeCursor toChangeCursor(String cursor) {
+        byte[] bytes;
+
+        try {
+            bytes = DECODER.decode(cursor);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException("Malformed cursor: " + cursor);
+        }
+
+        if (bytes.length != 32) {
+            throw new InvalidCursorException("Malformed cursor: " + cursor);
+        }
+
+        var buffer = ByteBuffer.wrap(bytes);
+        var position = new ChangePosition(buffer.getLong(), new UUID(buffer.getLong(), buffer.getLong()));
+        var floorSeq = buffer.getLong();
+        if (position.changeSeq() < ChangePosition.START.changeSeq() || floorSeq < position.changeSeq()) {
+            throw new InvalidCursorException("Malformed cursor: " + cursor);
+        }
+
+        return new ChangeCursor(position, floorSeq);
+    }
+}
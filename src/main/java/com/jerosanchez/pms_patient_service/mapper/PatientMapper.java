@@ -1,10 +1,20 @@
 package com.jerosanchez.pms_patient_service.mapper;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
+import com.jerosanchez.pms_patient_service.dto.PatientPatchDTO;
 import com.jerosanchez.pms_patient_service.dto.PatientRequestDTO;
 import com.jerosanchez.pms_patient_service.dto.PatientResponseDTO;
+import com.jerosanchez.pms_patient_service.dto.PatientSearchDTO;
+import com.jerosanchez.pms_patient_service.dto.VersionedPatientDTO;
 import com.jerosanchez.pms_patient_service.model.Patient;
+import com.jerosanchez.pms_patient_service.repository.PatientSearchCriteria;
+import com.jerosanchez.pms_patient_service.repository.PatientSummary;
 
 public class PatientMapper {
     public static PatientResponseDTO toDTO(Patient model) {
@@ -16,6 +26,15 @@ public class PatientMapper {
                 model.getDateOfBirth().toString());
     }
 
+    public static PatientResponseDTO toDTO(PatientSummary summary) {
+        return new PatientResponseDTO(
+                summary.id().toString(),
+                summary.name(),
+                summary.email(),
+                summary.address(),
+                summary.dateOfBirth().toString());
+    }
+
     public static Patient toModel(PatientRequestDTO dto) {
         Patient patient = new Patient();
 
@@ -27,4 +46,80 @@ public class PatientMapper {
 
         return patient;
     }
-}
\ No newline at end of file
+
+    public static VersionedPatientDTO toVersionedDTO(Patient model) {
+        return new VersionedPatientDTO(toDTO(model), model.getVersion());
+    }
+
+    public static VersionedPatientDTO toVersionedDTO(PatientSummary summary) {
+        return new VersionedPatientDTO(toDTO(summary), summary.version());
+    }
+
+    /**
+     * Maps search filters to repository criteria. Blank text filters are treated as not supplied.
+     * @param dto the search filters
+     * @return the criteria to query with
+     */
+    public static PatientSearchCriteria toSearchCriteria(PatientSearchDTO dto) {
+        return new PatientSearchCriteria(
+                blankToNull(dto.name()),
+                blankToNull(dto.email()),
+                dto.dateOfBirthFrom(),
+                dto.dateOfBirthTo(),
+                dto.registeredDateFrom(),
+                dto.registeredDateTo());
+    }
+
+    /**
+     * Maps the supplied fields of a partial update to entity attribute names.
+     * @param dto the partial update
+     * @return only the attributes that were supplied, with their new values
+     */
+    public static Map<String, Object> toChanges(PatientPatchDTO dto) {
+        var changes = new HashMap<String, Object>();
+
+        if (dto.getName() != null) {
+            changes.put("name", dto.getName());
+        }
+        if (dto.getEmail() != null) {
+            changes.put("email", dto.getEmail());
+        }
+        if (dto.getAddress() != null) {
+            changes.put("address", dto.getAddress());
+        }
+        if (dto.getDateOfBirth() != null) {
+            changes.put("dateOfBirth", LocalDate.parse(dto.getDateOfBirth()));
+        }
+
+        return changes;
+    }
+
+    /**
+     * Names the fields a full update would change, for the audit trail.
+     * @param patient the patient as currently stored
+     * @param dto the new field values
+     * @return the names of the fields whose value differs
+     */
+    public static List<String> toChangedFields(Patient patient, PatientRequestDTO dto) {
+        var fields = new ArrayList<String>();
+
+        if (!Objects.equals(patient.getName(), dto.getName())) {
+            fields.add("name");
+        }
+        if (!Objects.equals(patient.getEmail(), dto.getEmail())) {
+            fields.add("email");
+        }
+        if (!Objects.equals(patient.getAddress(), dto.getAddress())) {
+            fields.add("address");
+        }
+        if (!Objects.equals(patient.getDateOfBirth(), LocalDate.parse(dto.getDateOfBirth()))) {
+            fields.add("dateOfBirth");
+        }
+
+        return fields;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
@@ -0,0 +1,58 @@
+package com.jerosanchez.pms_patient_service.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.jerosanchez.pms_patient_service.outbox.PatientChangeType;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A patient change waiting to be published to other services, written in the same transaction as
+ * the change itself. Rows are deleted once published.
+ */
+@Entity
+// Schema is defined by the migrations in db/migration
+@Table(name = "outbox_event")
+@NoArgsConstructor
+@Setter
+@Getter
+public class OutboxEvent {
+    // Pooled sequence: IDs are handed out in memory, so the inserts of a bulk change can be batched.
+    // Each instance takes its own block of IDs, so they do not follow the order of the changes
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+    @SequenceGenerator(name = "outbox_event_seq", sequenceName = "outbox_event_seq", allocationSize = 50)
+    private Long id;
+
+    @NotNull
+    private UUID patientId;
+
+    // The change sequence number of the change; orders the changes of one patient
+    @NotNull
+    private Long changeSeq;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private PatientChangeType type;
+
+    // The patient as JSON; null for deletions
+    @Column(length = 2048)
+    private String payload;
+
+    @NotNull
+    private Instant createdAt;
+}
@@ -3,11 +3,16 @@ package com.jerosanchez.pms_patient_service.model;
 import java.time.LocalDate;
 import java.util.UUID;
 
+import org.hibernate.annotations.OptimisticLock;
+import org.hibernate.annotations.UuidGenerator;
+
+import com.jerosanchez.pms_patient_service.event.PatientEntityListener;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Id;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
@@ -15,12 +20,15 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
+@EntityListeners(PatientEntityListener.class)
+// Schema and indexes are defined by the migrations in db/migration; Hibernate validates against them
 @NoArgsConstructor
 @Setter
 @Getter
 public class Patient {
+    // Generated in memory at persist time, so inserts never need a round trip for the key and can be batched
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidGenerator
     private UUID id;
 
     @NotNull
@@ -39,4 +47,13 @@ public class Patient {
 
     @NotNull
     private LocalDate registeredDate;
+
+    // Incremented on every update; stale writers fail instead of overwriting newer data
+    @Version
+    private Long version;
+
+    // Position of the latest change to this patient in the change feed, from PatientChangeLog. Moving
+    // it alone does not make a new version
+    @OptimisticLock(excluded = true)
+    private long changeSeq;
 }
\ No newline at end of file
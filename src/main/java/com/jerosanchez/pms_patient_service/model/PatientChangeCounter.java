@@ -0,0 +1,32 @@
+package com.jerosanchez.pms_patient_service.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * The single row recording how far tombstones have been purged. Change feed sequence numbers
+ * themselves come from the patient_change_seq sequence. Only ever changed through
+ * {@link com.jerosanchez.pms_patient_service.repository.PatientChangeCounterRepository}.
+ */
+@Entity
+// Schema is defined by the migrations in db/migration, which also insert the row
+@Table(name = "patient_change_counter")
+@NoArgsConstructor
+@Getter
+public class PatientChangeCounter {
+    // The one row every query in PatientChangeCounterRepository works on
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    // Newest sequence number whose tombstones may have been purged
+    private long purgedSeq;
+
+    public PatientChangeCounter(int id) {
+        this.id = id;
+    }
+}
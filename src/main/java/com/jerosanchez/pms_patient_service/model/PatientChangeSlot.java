@@ -0,0 +1,28 @@
+package com.jerosanchez.pms_patient_service.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * One of the rows a patient write claims before it takes change sequence numbers. Only ever changed
+ * through {@link com.jerosanchez.pms_patient_service.repository.PatientChangeSlotRepository}.
+ */
+@Entity
+// Schema is defined by the migrations in db/migration, which also insert the rows
+@Table(name = "patient_change_slot")
+@NoArgsConstructor
+@Getter
+public class PatientChangeSlot {
+    // Number of rows, with IDs 1 to COUNT. Writers that claim the same slot run one after the other;
+    // the change feed waits on every slot once per page
+    public static final int COUNT = 16;
+
+    @Id
+    private Integer id;
+
+    // Writes committed through this slot
+    private long writes;
+}
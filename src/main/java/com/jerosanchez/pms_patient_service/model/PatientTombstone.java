@@ -0,0 +1,49 @@
+package com.jerosanchez.pms_patient_service.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Marker left behind by a deleted patient, so that the change feed can report the deletion.
+ * Tombstones are purged once they are older than the configured retention.
+ */
+@Entity
+// Schema and indexes are defined by the migrations in db/migration
+@Table(name = "patient_tombstone")
+@NoArgsConstructor
+@Getter
+public class PatientTombstone implements Persistable<UUID> {
+    @Id
+    private UUID patientId;
+
+    private long changeSeq;
+
+    @NotNull
+    private Instant deletedAt;
+
+    public PatientTombstone(UUID patientId, long changeSeq, Instant deletedAt) {
+        this.patientId = patientId;
+        this.changeSeq = changeSeq;
+        this.deletedAt = deletedAt;
+    }
+
+    @Override
+    public UUID getId() {
+        return patientId;
+    }
+
+    // Tombstones are only ever inserted, so saving one never needs the SELECT that merging an assigned ID does
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -0,0 +1,24 @@
+package com.jerosanchez.pms_patient_service.outbox;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps published changes in memory so that tests can assert on them.
+ */
+public class InMemoryOutboxPublisher implements OutboxPublisher {
+    private final List<OutboxMessage> published = new ArrayList<>();
+
+    @Override
+    public synchronized void publish(List<OutboxMessage> messages) {
+        published.addAll(messages);
+    }
+
+    public synchronized List<OutboxMessage> published() {
+        return List.copyOf(published);
+    }
+
+    public synchronized void clear() {
+        published.clear();
+    }
+}
@@ -0,0 +1,21 @@
+package com.jerosanchez.pms_patient_service.outbox;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Default publisher until a message broker is wired in: logs each change without its payload.
+ */
+public class LoggingOutboxPublisher implements OutboxPublisher {
+    private static final Logger logger = LoggerFactory.getLogger(LoggingOutboxPublisher.class);
+
+    @Override
+    public void publish(List<OutboxMessage> messages) {
+        for (var message : messages) {
+            logger.info("Patient change published: eventId={}, patientId={}, type={}",
+                    message.id(), message.patientId(), message.type());
+        }
+    }
+}
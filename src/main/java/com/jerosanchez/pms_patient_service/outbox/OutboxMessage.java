@@ -0,0 +1,29 @@
+package com.jerosanchez.pms_patient_service.outbox;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.jerosanchez.pms_patient_service.model.OutboxEvent;
+
+/**
+ * A patient change as handed to an {@link OutboxPublisher}. Delivery is at least once and changes
+ * can arrive out of order, so consumers should keep the last change sequence number applied per
+ * patient and drop a message whose {@code changeSeq} is not above it: that drops redeliveries and
+ * changes overtaken by a newer one alike.
+ * @param id unique per message, but not ordered: instances take IDs from the sequence in blocks
+ * @param patientId the patient that changed
+ * @param changeSeq the change sequence number of the change, the same one the change feed shows;
+ *        higher for every later change of the same patient. Together with the patient ID it
+ *        identifies the change
+ * @param type what happened to the patient
+ * @param payload the patient as JSON after the change, or null when it was deleted
+ * @param createdAt when the change was recorded, just before its transaction committed
+ */
+public record OutboxMessage(long id, UUID patientId, long changeSeq, PatientChangeType type, String payload,
+        Instant createdAt) {
+
+    public static OutboxMessage of(OutboxEvent event) {
+        return new OutboxMessage(event.getId(), event.getPatientId(), event.getChangeSeq(), event.getType(),
+                event.getPayload(), event.getCreatedAt());
+    }
+}
@@ -0,0 +1,15 @@
+package com.jerosanchez.pms_patient_service.outbox;
+
+import java.util.List;
+
+/**
+ * Sends patient changes to other services, e.g. through a message broker.
+ */
+public interface OutboxPublisher {
+    /**
+     * Publishes a batch of changes in order. Throwing leaves the whole batch in the outbox to be
+     * published again on the next run, so messages can be delivered more than once.
+     * @param messages the changes, oldest first
+     */
+    void publish(List<OutboxMessage> messages);
+}
@@ -0,0 +1,123 @@
+package com.jerosanchez.pms_patient_service.outbox;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.jerosanchez.pms_patient_service.config.OutboxProperties;
+import com.jerosanchez.pms_patient_service.repository.OutboxEventRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Drains the outbox table in batches and hands the events to the {@link OutboxPublisher}. Each
+ * batch is claimed, published and deleted in one transaction, so a failed publish leaves the batch
+ * in place for the next run: delivery is at least once. Claimed rows are locked and skipped by
+ * other instances, so every instance can relay at the same time without publishing a batch twice;
+ * events leave in change sequence order per instance, but batches relayed by different instances
+ * can overtake each other. Consumers order the changes of a patient by their change sequence
+ * number, as {@link OutboxMessage} describes.
+ * <p>
+ * The transaction, and with it a pooled database connection, stays open while the publisher waits
+ * for the broker. A slow broker therefore takes a connection away from request handling for every
+ * instance relaying; publishers must bound their round trip with a timeout well below the time
+ * requests wait for a connection.
+ */
+@Component
+public class OutboxRelay {
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxPublisher publisher;
+    private final OutboxProperties properties;
+    private final TransactionTemplate transaction;
+    private final Clock clock;
+    private final Counter publishedCounter;
+    private final Counter failureCounter;
+    private final Timer lagTimer;
+
+    private volatile double oldestPendingAgeSeconds;
+
+    @Autowired
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, OutboxPublisher publisher,
+            OutboxProperties properties, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this(outboxEventRepository, publisher, properties, transactionManager, meterRegistry, Clock.systemUTC());
+    }
+
+    OutboxRelay(OutboxEventRepository outboxEventRepository, OutboxPublisher publisher, OutboxProperties properties,
+            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry, Clock clock) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.publisher = publisher;
+        this.properties = properties;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+
+        this.publishedCounter = Counter.builder("patients.outbox.published")
+                .description("Patient change events published")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("patients.outbox.publish.failures")
+                .description("Relay runs that failed and will be retried")
+                .register(meterRegistry);
+        this.lagTimer = Timer.builder("patients.outbox.lag")
+                .description("Time from recording a patient change to publishing it")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("patients.outbox.oldest.age", this, relay -> relay.oldestPendingAgeSeconds)
+                .description("Age in seconds of the oldest unpublished patient change, 0 when the outbox is empty")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${patients.outbox.poll-interval:PT1S}")
+    public void relay() {
+        if (!properties.relayEnabled()) {
+            return;
+        }
+
+        try {
+            // A full batch suggests more are waiting, so keep going instead of waiting for the next poll
+            while (relayBatch() == properties.batchSize()) {
+                logger.debug("Outbox batch relayed, fetching the next one");
+            }
+        } catch (RuntimeException ex) {
+            failureCounter.increment();
+            logger.warn("Outbox relay failed, will retry on the next run", ex);
+        }
+
+        oldestPendingAgeSeconds = outboxEventRepository.findFirstByOrderByChangeSeqAscIdAsc()
+                .map(event -> Duration.between(event.getCreatedAt(), clock.instant()).toMillis() / 1000.0)
+                .orElse(0.0);
+    }
+
+    private int relayBatch() {
+        var messages = transaction.execute(status -> {
+            var events = outboxEventRepository.findAllByOrderByChangeSeqAscIdAsc(Limit.of(properties.batchSize()));
+            if (events.isEmpty()) {
+                return List.<OutboxMessage>of();
+            }
+
+            var batch = events.stream().map(OutboxMessage::of).toList();
+            publisher.publish(batch);
+            outboxEventRepository.deleteAllInBatch(events);
+            return batch;
+        });
+
+        // Recorded after commit, so a failed delete is not counted as published
+        var now = clock.instant();
+        messages.forEach(message -> lagTimer.record(Duration.between(message.createdAt(), now)));
+        publishedCounter.increment(messages.size());
+        return messages.size();
+    }
+}
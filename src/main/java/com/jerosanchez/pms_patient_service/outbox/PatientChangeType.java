@@ -0,0 +1,7 @@
+package com.jerosanchez.pms_patient_service.outbox;
+
+public enum PatientChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,82 @@
+package com.jerosanchez.pms_patient_service.outbox;
+
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jerosanchez.pms_patient_service.dto.PatientResponseDTO;
+import com.jerosanchez.pms_patient_service.model.OutboxEvent;
+import com.jerosanchez.pms_patient_service.repository.OutboxEventRepository;
+
+/**
+ * Records patient changes in the outbox table. Every method must join the transaction that makes
+ * the change, so the change and its event are committed or rolled back together, and is given the
+ * change sequence number the change was stamped with.
+ */
+@Component
+@Transactional(propagation = Propagation.MANDATORY)
+public class PatientOutbox {
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+
+    @Autowired
+    public PatientOutbox(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this(outboxEventRepository, objectMapper, Clock.systemUTC());
+    }
+
+    PatientOutbox(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper, Clock clock) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+    }
+
+    public void recordCreated(PatientResponseDTO patient, long changeSeq) {
+        recordCreated(List.of(patient), changeSeq);
+    }
+
+    public void recordCreated(Collection<PatientResponseDTO> patients, long changeSeq) {
+        outboxEventRepository.saveAll(patients.stream()
+                .map(patient -> event(UUID.fromString(patient.id()), changeSeq, PatientChangeType.CREATED,
+                        toJson(patient)))
+                .toList());
+    }
+
+    public void recordUpdated(PatientResponseDTO patient, long changeSeq) {
+        outboxEventRepository.save(
+                event(UUID.fromString(patient.id()), changeSeq, PatientChangeType.UPDATED, toJson(patient)));
+    }
+
+    public void recordDeleted(Collection<UUID> ids, long changeSeq) {
+        outboxEventRepository.saveAll(ids.stream()
+                .map(id -> event(id, changeSeq, PatientChangeType.DELETED, null))
+                .toList());
+    }
+
+    private OutboxEvent event(UUID patientId, long changeSeq, PatientChangeType type, String payload) {
+        var event = new OutboxEvent();
+        event.setPatientId(patientId);
+        event.setChangeSeq(changeSeq);
+        event.setType(type);
+        event.setPayload(payload);
+        event.setCreatedAt(clock.instant());
+        return event;
+    }
+
+    private String toJson(PatientResponseDTO patient) {
+        try {
+            return objectMapper.writeValueAsString(patient);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -1,23 +1,63 @@
 package com.jerosanchez.pms_patient_service.policy;
 
+import java.util.UUID;
+
 import org.springframework.stereotype.Component;
 
 import com.jerosanchez.pms_patient_service.exception.EmailAlreadyExistsException;
+import com.jerosanchez.pms_patient_service.index.EmailIndex;
 import com.jerosanchez.pms_patient_service.repository.PatientRepository;
 
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
+
 @Component
 public class EmailUniquenessPolicy implements Policy<String> {
     private final PatientRepository patientRepository;
+    private final EmailIndex emailIndex;
 
-    public EmailUniquenessPolicy(PatientRepository patientRepository) {
+    public EmailUniquenessPolicy(PatientRepository patientRepository, EmailIndex emailIndex) {
         this.patientRepository = patientRepository;
+        this.emailIndex = emailIndex;
     }
 
     @Override
+    @Timed(value = "patients.policy", extraTags = { "policy", "email-uniqueness" }, histogram = true)
+    @Counted(value = "patients.policy.violations", extraTags = { "policy", "email-uniqueness" },
+            recordFailuresOnly = true)
     public void enforce(String email) {
+        // An email the index reports absent is taken to be free; the unique constraint catches the
+        // few it misses, such as emails taken through another instance
+        if (!emailIndex.mightContain(email)) {
+            return;
+        }
+
         if (patientRepository.existsByEmail(email)) {
             throw new EmailAlreadyExistsException(
                     "A patient with the given email already exists: " + email);
         }
+
+        emailIndex.recordFalsePositive();
+    }
+
+    /**
+     * Same as {@link #enforce(String)}, but the given patient may already own the email.
+     * @param email the email to check
+     * @param patientId the patient that is about to use the email
+     */
+    @Timed(value = "patients.policy", extraTags = { "policy", "email-uniqueness" }, histogram = true)
+    @Counted(value = "patients.policy.violations", extraTags = { "policy", "email-uniqueness" },
+            recordFailuresOnly = true)
+    public void enforce(String email, UUID patientId) {
+        if (!emailIndex.mightContain(email)) {
+            return;
+        }
+
+        if (patientRepository.existsByEmailAndIdNot(email, patientId)) {
+            throw new EmailAlreadyExistsException(
+                    "A patient with the given email already exists: " + email);
+        }
+
+        emailIndex.recordFalsePositive();
     }
 }
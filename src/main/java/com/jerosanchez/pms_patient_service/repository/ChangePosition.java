@@ -0,0 +1,26 @@
+package com.jerosanchez.pms_patient_service.repository;
+
+import java.util.UUID;
+
+/**
+ * Position in the change feed: a change sequence number plus the patient ID, which orders the
+ * patients changed by the same transaction.
+ */
+public record ChangePosition(long changeSeq, UUID id) implements Comparable<ChangePosition> {
+    /** Before every change, including patients written before the feed existed. */
+    public static final ChangePosition START = new ChangePosition(-1, new UUID(0, 0));
+
+    // UUIDs are compared as unsigned 128-bit numbers, the order H2 and PostgreSQL sort them in
+    @Override
+    public int compareTo(ChangePosition other) {
+        var bySeq = Long.compare(changeSeq, other.changeSeq);
+        if (bySeq != 0) {
+            return bySeq;
+        }
+
+        var byHigh = Long.compareUnsigned(id.getMostSignificantBits(), other.id.getMostSignificantBits());
+        return byHigh != 0
+                ? byHigh
+                : Long.compareUnsigned(id.getLeastSignificantBits(), other.id.getLeastSignificantBits());
+    }
+}
@@ -0,0 +1,22 @@
+package com.jerosanchez.pms_patient_service.repository;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * A patient as read by the change feed and by the in-memory indexes: its summary plus the position
+ * of its latest change.
+ */
+public record ChangedPatient(
+        UUID id,
+        String name,
+        String email,
+        String address,
+        LocalDate dateOfBirth,
+        Long version,
+        long changeSeq) {
+
+    public PatientSummary summary() {
+        return new PatientSummary(id, name, email, address, dateOfBirth, version);
+    }
+}
@@ -0,0 +1,28 @@
+package com.jerosanchez.pms_patient_service.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.hibernate.cfg.AvailableSettings;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+import com.jerosanchez.pms_patient_service.model.OutboxEvent;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    // Claims the batch until the transaction ends: FOR UPDATE SKIP LOCKED (timeout -2) passes over
+    // the rows another relay has already claimed instead of waiting for, and then repeating, them.
+    // H2 has no SKIP LOCKED, so there a second relay waits for the lock and fails its run instead.
+    // Claimed oldest change first: IDs are handed out in blocks per instance and do not follow it
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = AvailableSettings.JAKARTA_LOCK_TIMEOUT, value = "-2"))
+    List<OutboxEvent> findAllByOrderByChangeSeqAscIdAsc(Limit limit);
+
+    Optional<OutboxEvent> findFirstByOrderByChangeSeqAscIdAsc();
+}
@@ -0,0 +1,16 @@
+package com.jerosanchez.pms_patient_service.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.jerosanchez.pms_patient_service.model.PatientChangeCounter;
+
+public interface PatientChangeCounterRepository extends JpaRepository<PatientChangeCounter, Integer> {
+    @Modifying
+    @Query("UPDATE PatientChangeCounter c SET c.purgedSeq = :purgedSeq WHERE c.id = 1 AND c.purgedSeq < :purgedSeq")
+    int raisePurgedSeq(long purgedSeq);
+
+    @Query("SELECT c.purgedSeq FROM PatientChangeCounter c WHERE c.id = 1")
+    long findPurgedSeq();
+}
@@ -0,0 +1,18 @@
+package com.jerosanchez.pms_patient_service.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.jerosanchez.pms_patient_service.model.PatientChangeSlot;
+
+public interface PatientChangeSlotRepository
+        extends JpaRepository<PatientChangeSlot, Integer>, PatientChangeSlotRepositoryCustom {
+    // The row stays locked until the transaction ends, which is what the change feed waits for
+    @Modifying
+    @Query("UPDATE PatientChangeSlot s SET s.writes = s.writes + 1 WHERE s.id = :id")
+    int claim(int id);
+
+    @Query("SELECT SUM(s.writes) FROM PatientChangeSlot s")
+    long sumWrites();
+}
@@ -0,0 +1,21 @@
+package com.jerosanchez.pms_patient_service.repository;
+
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface PatientChangeSlotRepositoryCustom {
+    /**
+     * Takes the next number from the change sequence. Numbers are not handed back on rollback, and
+     * are not committed in the order they are taken.
+     * @return a change sequence number greater than every one taken before
+     */
+    long nextChangeSeq();
+
+    /**
+     * Waits until no transaction holds the given slot, without keeping it: the statement runs
+     * outside any transaction, so its lock is released as soon as it is granted.
+     * @param id the slot to wait for
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void awaitRelease(int id);
+}
@@ -0,0 +1,32 @@
+package com.jerosanchez.pms_patient_service.repository;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import jakarta.persistence.EntityManager;
+
+public class PatientChangeSlotRepositoryCustomImpl implements PatientChangeSlotRepositoryCustom {
+    // Defined by the migrations in db/migration
+    private static final String CHANGE_SEQUENCE = "patient_change_seq";
+
+    private final EntityManager entityManager;
+    private final String nextChangeSeqQuery;
+
+    public PatientChangeSlotRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+        // nextval('...') on PostgreSQL, NEXT VALUE FOR ... on H2
+        this.nextChangeSeqQuery = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect().getSequenceSupport().getSequenceNextValString(CHANGE_SEQUENCE);
+    }
+
+    @Override
+    public long nextChangeSeq() {
+        return ((Number) entityManager.createNativeQuery(nextChangeSeqQuery).getSingleResult()).longValue();
+    }
+
+    @Override
+    public void awaitRelease(int id) {
+        entityManager.createNativeQuery("SELECT id FROM patient_change_slot WHERE id = :id FOR UPDATE")
+                .setParameter("id", id)
+                .getSingleResult();
+    }
+}
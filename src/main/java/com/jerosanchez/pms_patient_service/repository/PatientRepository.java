@@ -1,13 +1,83 @@
 package com.jerosanchez.pms_patient_service.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
 import com.jerosanchez.pms_patient_service.model.Patient;
 
 @Repository
-public interface PatientRepository extends JpaRepository<Patient, UUID> {
+public interface PatientRepository extends JpaRepository<Patient, UUID>, PatientRepositoryCustom {
     boolean existsByEmail(String email);
+
+    boolean existsByEmailAndIdNot(String email, UUID id);
+
+    boolean existsByIdAndEmail(UUID id, String email);
+
+    @Query("SELECT p.version FROM Patient p WHERE p.id = :id")
+    Optional<Long> findVersionById(UUID id);
+
+    @Query("SELECT p.email FROM Patient p WHERE p.email IN :emails")
+    Set<String> findExistingEmails(Collection<String> emails);
+
+    // Locks the rows it finds until the transaction ends, so overlapping bulk deletes cannot both
+    // find, and both report, the same patient
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p.id FROM Patient p WHERE p.id IN :ids")
+    List<UUID> findExistingIds(Collection<UUID> ids);
+
+    // Single-statement deletes: unlike deleteById, nothing is loaded into the persistence context first
+    @Modifying
+    @Query("DELETE FROM Patient p WHERE p.id = :id")
+    int deleteByIdReturningCount(UUID id);
+
+    @Modifying
+    @Query("DELETE FROM Patient p WHERE p.id IN :ids")
+    int deleteAllByIdIn(Collection<UUID> ids);
+
+    Optional<PatientSummary> findSummaryById(UUID id);
+
+    // Keyset pagination: both queries seek on the primary key index, so every page costs the same
+    List<PatientSummary> findAllByOrderByIdAsc(Limit limit);
+
+    List<PatientSummary> findByIdGreaterThanOrderByIdAsc(UUID id, Limit limit);
+
+    // Streams rows through a server-side cursor; must be consumed inside a transaction
+    @Query("SELECT new com.jerosanchez.pms_patient_service.repository.PatientSummary("
+            + "p.id, p.name, p.email, p.address, p.dateOfBirth, p.version) FROM Patient p")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<PatientSummary> streamAllSummaries();
+
+    // Streams rows through a server-side cursor; must be consumed inside a transaction
+    @Query("SELECT new com.jerosanchez.pms_patient_service.repository.ChangedPatient("
+            + "p.id, p.name, p.email, p.address, p.dateOfBirth, p.version, p.changeSeq) FROM Patient p")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<ChangedPatient> streamAllChangedPatients();
+
+    // The leading range on change_seq lets the (change_seq, id) index seek straight to the position
+    @Query("SELECT new com.jerosanchez.pms_patient_service.repository.ChangedPatient("
+            + "p.id, p.name, p.email, p.address, p.dateOfBirth, p.version, p.changeSeq) FROM Patient p "
+            + "WHERE p.changeSeq >= :changeSeq AND (p.changeSeq > :changeSeq OR p.id > :id) "
+            + "ORDER BY p.changeSeq, p.id")
+    List<ChangedPatient> findChangedAfter(long changeSeq, UUID id, Limit limit);
+
+    @Query("SELECT p.email FROM Patient p")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<String> streamAllEmails();
 }
@@ -0,0 +1,32 @@
+package com.jerosanchez.pms_patient_service.repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.data.domain.Limit;
+
+public interface PatientRepositoryCustom {
+    /**
+     * Updates only the given attributes of one patient in a single UPDATE statement, without
+     * loading the entity first. The version is always incremented.
+     * @param id the patient to update
+     * @param expectedVersion when not null, the row is only updated if its version still matches
+     * @param changes entity attribute names mapped to their new values
+     * @param changeSeq the patient's new position in the change feed, set by the same statement;
+     *        the row is only updated while its current position is lower
+     * @return the number of rows updated: 0 when the patient does not exist, the version did not
+     *         match, or a change with a higher position was committed first
+     */
+    int patch(UUID id, Long expectedVersion, Map<String, Object> changes, long changeSeq);
+
+    /**
+     * Finds patients matching every supplied filter, one keyset page at a time in ID order. Each
+     * filter maps to an indexed column, so the database can seek instead of scanning the table.
+     * @param criteria the filters; null fields are not filtered on
+     * @param afterId when not null, only patients with a greater ID are returned
+     * @param limit maximum number of patients to return
+     * @return the matching patients, ordered by ID
+     */
+    List<PatientSummary> search(PatientSearchCriteria criteria, UUID afterId, Limit limit);
+}
@@ -0,0 +1,130 @@
+package com.jerosanchez.pms_patient_service.repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.domain.Limit;
+
+import com.jerosanchez.pms_patient_service.model.Patient;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+
+public class PatientRepositoryCustomImpl implements PatientRepositoryCustom {
+    // Must match the collation idx_patient_name_c is built with on PostgreSQL
+    private static final String BINARY_COLLATION = "\"C\"";
+
+    private final EntityManager entityManager;
+    private final boolean collateNames;
+
+    public PatientRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+        // PostgreSQL compares text in the database's linguistic collation unless told otherwise; H2
+        // compares by char code, which is the order the name prefix range needs already
+        this.collateNames = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+
+    @Override
+    public int patch(UUID id, Long expectedVersion, Map<String, Object> changes, long changeSeq) {
+        var builder = entityManager.getCriteriaBuilder();
+        var update = builder.createCriteriaUpdate(Patient.class);
+        var root = update.from(Patient.class);
+
+        changes.forEach((attribute, value) -> update.set(root.get(attribute), value));
+        update.set(root.<Long>get("changeSeq"), changeSeq);
+        update.set(root.<Long>get("version"), builder.sum(root.<Long>get("version"), 1L));
+
+        // A change that took a higher position and committed first must not be overwritten with an
+        // older one, which would put the patient behind change feed cursors that have seen it
+        var matchesId = builder.and(builder.equal(root.get("id"), id),
+                builder.lessThan(root.<Long>get("changeSeq"), changeSeq));
+        update.where(expectedVersion == null
+                ? matchesId
+                : builder.and(matchesId, builder.equal(root.get("version"), expectedVersion)));
+
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    public List<PatientSummary> search(PatientSearchCriteria criteria, UUID afterId, Limit limit) {
+        var builder = entityManager.getCriteriaBuilder();
+        var query = builder.createQuery(PatientSummary.class);
+        var root = query.from(Patient.class);
+        var predicates = new ArrayList<Predicate>();
+
+        if (criteria.namePrefix() != null) {
+            addNamePrefix(builder, orderedByCharCode(builder, root.<String>get("name")), criteria.namePrefix(),
+                    predicates);
+        }
+        if (criteria.email() != null) {
+            predicates.add(builder.equal(root.get("email"), criteria.email()));
+        }
+        addRange(builder, root.<LocalDate>get("dateOfBirth"), criteria.dateOfBirthFrom(), criteria.dateOfBirthTo(), predicates);
+        addRange(builder, root.<LocalDate>get("registeredDate"), criteria.registeredDateFrom(), criteria.registeredDateTo(),
+                predicates);
+        if (afterId != null) {
+            predicates.add(builder.greaterThan(root.<UUID>get("id"), afterId));
+        }
+
+        query.select(builder.construct(PatientSummary.class,
+                root.get("id"), root.get("name"), root.get("email"), root.get("address"),
+                root.get("dateOfBirth"), root.get("version")))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(builder.asc(root.get("id")));
+
+        var typedQuery = entityManager.createQuery(query);
+        if (limit.isLimited()) {
+            typedQuery.setMaxResults(limit.max());
+        }
+
+        return typedQuery.getResultList();
+    }
+
+    private Expression<String> orderedByCharCode(CriteriaBuilder builder, Path<String> name) {
+        return collateNames ? ((HibernateCriteriaBuilder) builder).collate(name, BINARY_COLLATION) : name;
+    }
+
+    // Every name starting with the prefix sorts between the prefix and the prefix with its last char
+    // incremented, but only when names are compared char code by char code: a linguistic collation
+    // ignores punctuation and case at first, and sorts such names outside the range. The range is
+    // therefore compared in a binary collation, which the name index is built in, so it seeks; the
+    // LIKE keeps exact prefix semantics for the rows inside the range. Surrogates have no such
+    // order to rely on, so a prefix ending at one is left without the upper bound.
+    private static void addNamePrefix(CriteriaBuilder builder, Expression<String> name, String prefix,
+            List<Predicate> predicates) {
+        predicates.add(builder.greaterThanOrEqualTo(name, prefix));
+
+        var lastChar = prefix.charAt(prefix.length() - 1);
+        var nextChar = (char) (lastChar + 1);
+        if (lastChar != Character.MAX_VALUE && !Character.isSurrogate(lastChar) && !Character.isSurrogate(nextChar)) {
+            var upperBound = prefix.substring(0, prefix.length() - 1) + nextChar;
+            predicates.add(builder.lessThan(name, upperBound));
+        }
+
+        predicates.add(builder.like(name, escapeLike(prefix) + "%", '\\'));
+    }
+
+    private static void addRange(CriteriaBuilder builder, Path<LocalDate> column, LocalDate from, LocalDate to,
+            List<Predicate> predicates) {
+        if (from != null) {
+            predicates.add(builder.greaterThanOrEqualTo(column, from));
+        }
+        if (to != null) {
+            predicates.add(builder.lessThanOrEqualTo(column, to));
+        }
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,21 @@
+package com.jerosanchez.pms_patient_service.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Filters for {@link PatientRepositoryCustom#search}. Null fields are not filtered on.
+ * @param namePrefix names starting with this value, case-sensitive
+ * @param email exact email address
+ * @param dateOfBirthFrom earliest date of birth, inclusive
+ * @param dateOfBirthTo latest date of birth, inclusive
+ * @param registeredDateFrom earliest registration date, inclusive
+ * @param registeredDateTo latest registration date, inclusive
+ */
+public record PatientSearchCriteria(
+        String namePrefix,
+        String email,
+        LocalDate dateOfBirthFrom,
+        LocalDate dateOfBirthTo,
+        LocalDate registeredDateFrom,
+        LocalDate registeredDateTo) {
+}
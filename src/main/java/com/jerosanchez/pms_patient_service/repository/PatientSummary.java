@@ -0,0 +1,18 @@
+package com.jerosanchez.pms_patient_service.repository;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Read-only view of a patient, selected straight into this record by a JPQL constructor
+ * expression. Nothing is attached to the persistence context, so reads skip entity hydration
+ * and dirty-checking snapshots.
+ */
+public record PatientSummary(
+        UUID id,
+        String name,
+        String email,
+        String address,
+        LocalDate dateOfBirth,
+        Long version) {
+}
@@ -0,0 +1,27 @@
+package com.jerosanchez.pms_patient_service.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.jerosanchez.pms_patient_service.model.PatientTombstone;
+
+public interface PatientTombstoneRepository extends JpaRepository<PatientTombstone, UUID> {
+    // Same seek as PatientRepository.findChangedAfter
+    @Query("SELECT t FROM PatientTombstone t WHERE t.changeSeq >= :changeSeq "
+            + "AND (t.changeSeq > :changeSeq OR t.patientId > :id) ORDER BY t.changeSeq, t.patientId")
+    List<PatientTombstone> findChangedAfter(long changeSeq, UUID id, Limit limit);
+
+    @Query("SELECT MAX(t.changeSeq) FROM PatientTombstone t WHERE t.deletedAt < :before")
+    Optional<Long> findMaxChangeSeqDeletedBefore(Instant before);
+
+    @Modifying
+    @Query("DELETE FROM PatientTombstone t WHERE t.changeSeq <= :changeSeq")
+    int deleteUpTo(long changeSeq);
+}
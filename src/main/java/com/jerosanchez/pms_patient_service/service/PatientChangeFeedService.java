@@ -0,0 +1,123 @@
+package com.jerosanchez.pms_patient_service.service;
+
+import java.util.ArrayList;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.jerosanchez.pms_patient_service.changefeed.ChangeFeedWatermark;
+import com.jerosanchez.pms_patient_service.config.PaginationProperties;
+import com.jerosanchez.pms_patient_service.dto.PatientChangeDTO;
+import com.jerosanchez.pms_patient_service.dto.PatientChangesDTO;
+import com.jerosanchez.pms_patient_service.exception.ChangeCursorExpiredException;
+import com.jerosanchez.pms_patient_service.mapper.ChangeCursor;
+import com.jerosanchez.pms_patient_service.mapper.CursorMapper;
+import com.jerosanchez.pms_patient_service.mapper.PatientMapper;
+import com.jerosanchez.pms_patient_service.repository.ChangePosition;
+import com.jerosanchez.pms_patient_service.repository.PatientChangeCounterRepository;
+import com.jerosanchez.pms_patient_service.repository.PatientRepository;
+import com.jerosanchez.pms_patient_service.repository.PatientTombstoneRepository;
+
+import io.micrometer.core.annotation.Timed;
+
+@Service
+@Timed(value = "patients.service", histogram = true)
+public class PatientChangeFeedService {
+    private final PatientRepository patientRepository;
+    private final PatientTombstoneRepository tombstoneRepository;
+    private final PatientChangeCounterRepository counterRepository;
+    private final ChangeFeedWatermark watermark;
+    private final PaginationProperties paginationProperties;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public PatientChangeFeedService(PatientRepository patientRepository,
+            PatientTombstoneRepository tombstoneRepository, PatientChangeCounterRepository counterRepository,
+            ChangeFeedWatermark watermark, PaginationProperties paginationProperties,
+            PlatformTransactionManager transactionManager) {
+        this.patientRepository = patientRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.counterRepository = counterRepository;
+        this.watermark = watermark;
+        this.paginationProperties = paginationProperties;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Finds the patients created, updated or deleted after the cursor, oldest change first. A
+     * patient changed several times shows up once, at its latest change. Both reads seek on an
+     * index, so a page costs the same however large the table is.
+     * <p>
+     * The patients and the tombstones are read by separate statements, each of which sees the
+     * changes committed by the time it starts. A change committed between the two could show up in
+     * the second read only, and moving the cursor past it would skip whatever the first read missed
+     * from the same or an earlier transaction. Change sequence numbers are not committed in order
+     * either. The page therefore stops at the {@link ChangeFeedWatermark}, taken before either read:
+     * every change up to it has committed by then, so both reads see all of them, and anything
+     * newer is left for the next call.
+     * @param cursor position returned by the previous call, or null to start from the beginning
+     * @param size requested page size, or null for the default
+     * @return the changes and the position to continue from
+     */
+    public PatientChangesDTO getChanges(String cursor, Integer size) {
+        // Outside the transaction: the watermark waits for writers without holding them up
+        var committedSeq = watermark.current();
+        return readOnlyTransaction.execute(status -> getChanges(cursor, size, committedSeq));
+    }
+
+    private PatientChangesDTO getChanges(String cursor, Integer size, long committedSeq) {
+        var pageSize = paginationProperties.resolveSize(size);
+        // A new consumer only receives patients that still exist, so earlier deletions cannot concern it.
+        // Read before the patients, so that anything deleted after that read counts.
+        var current = cursor == null
+                ? new ChangeCursor(ChangePosition.START, committedSeq)
+                : CursorMapper.toChangeCursor(cursor);
+        var after = current.position();
+
+        // Fetch one extra row from each side to learn whether more changes are waiting
+        var limit = Limit.of(pageSize + 1);
+        var patients = patientRepository.findChangedAfter(after.changeSeq(), after.id(), limit);
+        var tombstones = tombstoneRepository.findChangedAfter(after.changeSeq(), after.id(), limit);
+
+        // Read last: a purge that removed tombstones before the reads above is guaranteed to show here
+        if (counterRepository.findPurgedSeq() > current.floorSeq()) {
+            throw new ChangeCursorExpiredException("Change cursor is older than the retained deletions: " + cursor);
+        }
+
+        var changes = new ArrayList<PatientChangeDTO>(pageSize);
+        var last = after;
+        int p = 0;
+        int t = 0;
+
+        while (changes.size() < pageSize && (p < patients.size() || t < tombstones.size())) {
+            var patient = p < patients.size() ? patients.get(p) : null;
+            var tombstone = t < tombstones.size() ? tombstones.get(t) : null;
+            var patientPosition = patient == null ? null : new ChangePosition(patient.changeSeq(), patient.id());
+            var tombstonePosition = tombstone == null
+                    ? null
+                    : new ChangePosition(tombstone.getChangeSeq(), tombstone.getPatientId());
+
+            if (tombstonePosition == null
+                    || patientPosition != null && patientPosition.compareTo(tombstonePosition) < 0) {
+                if (patientPosition.changeSeq() > committedSeq) {
+                    break;
+                }
+                changes.add(PatientChangeDTO.saved(PatientMapper.toDTO(patient.summary())));
+                last = patientPosition;
+                p++;
+            } else {
+                if (tombstonePosition.changeSeq() > committedSeq) {
+                    break;
+                }
+                changes.add(PatientChangeDTO.deleted(tombstone.getPatientId().toString()));
+                last = tombstonePosition;
+                t++;
+            }
+        }
+
+        var hasMore = p < patients.size() || t < tombstones.size();
+        return new PatientChangesDTO(changes, CursorMapper.toCursor(current.advancedTo(last)), hasMore);
+    }
+}
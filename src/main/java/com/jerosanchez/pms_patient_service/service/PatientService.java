@@ -1,52 +1,294 @@
 package com.jerosanchez.pms_patient_service.service;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.jerosanchez.pms_patient_service.audit.AuditLog;
+import com.jerosanchez.pms_patient_service.audit.AuditOperation;
+import com.jerosanchez.pms_patient_service.cache.PatientCollectionVersion;
+import com.jerosanchez.pms_patient_service.cache.VersionedPatientCacheResolver;
+import com.jerosanchez.pms_patient_service.changefeed.PatientChangeLog;
+import com.jerosanchez.pms_patient_service.concurrency.Coalesced;
+import com.jerosanchez.pms_patient_service.config.BatchProperties;
+import com.jerosanchez.pms_patient_service.config.CacheConfig;
+import com.jerosanchez.pms_patient_service.config.PaginationProperties;
+import com.jerosanchez.pms_patient_service.dto.PatientBatchDeleteResponseDTO;
+import com.jerosanchez.pms_patient_service.dto.PatientBatchResponseDTO;
+import com.jerosanchez.pms_patient_service.dto.PatientBatchResultDTO;
+import com.jerosanchez.pms_patient_service.dto.PatientPageDTO;
+import com.jerosanchez.pms_patient_service.dto.PatientPatchDTO;
 import com.jerosanchez.pms_patient_service.dto.PatientRequestDTO;
 import com.jerosanchez.pms_patient_service.dto.PatientResponseDTO;
+import com.jerosanchez.pms_patient_service.dto.PatientSearchDTO;
+import com.jerosanchez.pms_patient_service.dto.VersionedPatientDTO;
+import com.jerosanchez.pms_patient_service.dto.VersionedPatientPageDTO;
+import com.jerosanchez.pms_patient_service.dto.validators.CreatePatientValidationGroup;
+import com.jerosanchez.pms_patient_service.event.PatientSavedEvent;
+import com.jerosanchez.pms_patient_service.event.PatientsDeletedEvent;
+import com.jerosanchez.pms_patient_service.exception.BatchTooLargeException;
 import com.jerosanchez.pms_patient_service.exception.PatientNotFoundException;
+import com.jerosanchez.pms_patient_service.exception.PreconditionFailedException;
+import com.jerosanchez.pms_patient_service.index.EmailIndex;
+import com.jerosanchez.pms_patient_service.mapper.CursorMapper;
 import com.jerosanchez.pms_patient_service.mapper.PatientMapper;
+import com.jerosanchez.pms_patient_service.model.Patient;
+import com.jerosanchez.pms_patient_service.outbox.PatientOutbox;
 import com.jerosanchez.pms_patient_service.policy.EmailUniquenessPolicy;
 import com.jerosanchez.pms_patient_service.repository.PatientRepository;
+import com.jerosanchez.pms_patient_service.repository.PatientSummary;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.Validator;
+import jakarta.validation.groups.Default;
 
 @Service
+@Timed(value = "patients.service", histogram = true)
 public class PatientService {
     private static final Logger logger = LoggerFactory.getLogger(PatientService.class);
+    private static final List<String> CREATED_FIELDS = List.of(
+            "name", "email", "address", "dateOfBirth", "registeredDate");
     private final PatientRepository patientRepository;
     private final EmailUniquenessPolicy emailUniquenessPolicy;
+    private final EmailIndex emailIndex;
+    private final PaginationProperties paginationProperties;
+    private final BatchProperties batchProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PatientOutbox outbox;
+    private final PatientChangeLog changeLog;
+    private final PatientCollectionVersion collectionVersion;
+    private final AuditLog auditLog;
+    private final VersionedPatientCacheResolver patientCacheResolver;
+    private final Validator validator;
 
-    public PatientService(PatientRepository patientRepository, EmailUniquenessPolicy emailUniquenessPolicy) {
+    public PatientService(PatientRepository patientRepository, EmailUniquenessPolicy emailUniquenessPolicy,
+            EmailIndex emailIndex, PaginationProperties paginationProperties, BatchProperties batchProperties,
+            ApplicationEventPublisher eventPublisher, PatientOutbox outbox, PatientChangeLog changeLog,
+            PatientCollectionVersion collectionVersion, AuditLog auditLog,
+            VersionedPatientCacheResolver patientCacheResolver, Validator validator) {
         this.patientRepository = patientRepository;
         this.emailUniquenessPolicy = emailUniquenessPolicy;
+        this.emailIndex = emailIndex;
+        this.paginationProperties = paginationProperties;
+        this.batchProperties = batchProperties;
+        this.eventPublisher = eventPublisher;
+        this.outbox = outbox;
+        this.changeLog = changeLog;
+        this.collectionVersion = collectionVersion;
+        this.auditLog = auditLog;
+        this.patientCacheResolver = patientCacheResolver;
+        this.validator = validator;
+    }
+
+    /**
+     * Reads one page of patients, ordered by ID, with the collection version for its ETag.
+     * @param cursor continuation token from the previous page, or null for the first page
+     * @param size requested page size, or null for the default
+     * @return the page and the collection version read before it
+     */
+    @Coalesced("get-patients")
+    @Transactional(readOnly = true)
+    public VersionedPatientPageDTO getPatients(String cursor, Integer size) {
+        var pageSize = paginationProperties.resolveSize(size);
+        // Read inside the coalesced call, so that callers sharing the page also share its version.
+        // Read before the query: a write landing in between leaves the version older than the data,
+        // which only costs the client one extra 200
+        var version = collectionVersion.current();
+
+        // Fetch one extra row to learn whether a next page exists without a count query
+        var limit = Limit.of(pageSize + 1);
+        var patients = cursor == null
+                ? patientRepository.findAllByOrderByIdAsc(limit)
+                : patientRepository.findByIdGreaterThanOrderByIdAsc(CursorMapper.toLastId(cursor), limit);
+
+        return new VersionedPatientPageDTO(toPage(patients, pageSize), version);
+    }
+
+    /**
+     * Finds one page of patients matching the given filters, ordered by ID.
+     * @param search the filters; omitted filters match every patient
+     * @param cursor continuation token from the previous page, or null for the first page
+     * @param size requested page size, or null for the default
+     * @return the page and the cursor for the next one
+     */
+    @Coalesced("search-patients")
+    @Transactional(readOnly = true)
+    public PatientPageDTO searchPatients(PatientSearchDTO search, String cursor, Integer size) {
+        var pageSize = paginationProperties.resolveSize(size);
+        var afterId = cursor == null ? null : CursorMapper.toLastId(cursor);
+
+        var patients = patientRepository.search(
+                PatientMapper.toSearchCriteria(search), afterId, Limit.of(pageSize + 1));
+
+        return toPage(patients, pageSize);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.PATIENTS_CACHE, key = "#id",
+            cacheResolver = VersionedPatientCacheResolver.NAME)
+    @Coalesced("get-patient")
+    @Transactional(readOnly = true)
+    public VersionedPatientDTO getPatient(UUID id) {
+        if (id == null) {
+            throw new IllegalArgumentException("Patient ID cannot be null for get operation.");
+        }
+
+        return patientRepository.findSummaryById(id)
+                .map(PatientMapper::toVersionedDTO)
+                .orElseThrow(() -> new PatientNotFoundException("Patient not found with id: " + id));
     }
 
-    public List<PatientResponseDTO> getPatients() {
-        var patients = patientRepository.findAll();
+    /**
+     * Streams every patient to the given sink, one row at a time. Rows are projected rather than
+     * loaded as entities, so the persistence context never grows with the table.
+     * @param sink receives each patient in turn
+     * @return the number of patients exported
+     */
+    @Transactional(readOnly = true)
+    public long exportPatients(Consumer<PatientResponseDTO> sink) {
+        long count = 0;
 
-        return patients.stream()
-                .map(PatientMapper::toDTO)
-                .toList();
+        try (var patients = patientRepository.streamAllSummaries()) {
+            var iterator = patients.iterator();
+            while (iterator.hasNext()) {
+                sink.accept(PatientMapper.toDTO(iterator.next()));
+                count++;
+            }
+        }
+
+        logger.info("Patients exported successfully: count={}", count);
+        return count;
     }
 
+    @Transactional
     public PatientResponseDTO createPatient(PatientRequestDTO patientRequestDTO) {
         var newPatient = PatientMapper.toModel(patientRequestDTO);
 
         emailUniquenessPolicy.enforce(newPatient.getEmail());
 
+        var changeSeq = changeLog.nextChangeSeq();
+        newPatient.setChangeSeq(changeSeq);
         var savedPatient = patientRepository.save(newPatient);
+        var createdPatient = PatientMapper.toDTO(savedPatient);
+        outbox.recordCreated(createdPatient, changeSeq);
+        emailIndex.add(savedPatient.getEmail());
+        auditLog.record(AuditOperation.CREATE, savedPatient.getId(), CREATED_FIELDS);
 
-        logger.info("Patient created successfully: id={}, email={}",
-                savedPatient.getId(), savedPatient.getEmail());
-        return PatientMapper.toDTO(savedPatient);
+        logger.debug("Patient created successfully: id={}", savedPatient.getId());
+        return createdPatient;
     }
 
-    public PatientResponseDTO updatePatient(UUID id, PatientRequestDTO patientRequestDTO) {
+    /**
+     * Creates many patients in one transaction. Invalid items and emails that already exist are
+     * rejected individually instead of failing the whole batch, and the remaining patients are
+     * inserted through JDBC batching.
+     * @param patientRequestDTOs the patients to create
+     * @return the outcome of every item, in request order
+     */
+    @Transactional
+    public PatientBatchResponseDTO createPatients(List<PatientRequestDTO> patientRequestDTOs) {
+        if (patientRequestDTOs.size() > batchProperties.maxSize()) {
+            throw new BatchTooLargeException(
+                    "A batch may contain at most " + batchProperties.maxSize() + " patients.");
+        }
+
+        var results = new PatientBatchResultDTO[patientRequestDTOs.size()];
+        var candidates = new LinkedHashMap<Integer, Patient>();
+        var batchEmails = new HashSet<String>();
+
+        for (int i = 0; i < patientRequestDTOs.size(); i++) {
+            var requestDTO = patientRequestDTOs.get(i);
+            var errors = validateForCreate(requestDTO);
+
+            if (errors.isEmpty() && !batchEmails.add(requestDTO.getEmail())) {
+                errors.put("email", "Email address is duplicated in this batch.");
+            }
+
+            if (errors.isEmpty()) {
+                candidates.put(i, PatientMapper.toModel(requestDTO));
+            } else {
+                results[i] = PatientBatchResultDTO.rejected(i, errors);
+            }
+        }
+
+        // One set-based lookup per chunk instead of one existsByEmail per patient
+        var existingEmails = findExistingEmails(batchEmails);
+        var newPatients = new ArrayList<Patient>();
+        var newPatientIndexes = new ArrayList<Integer>();
+
+        for (var candidate : candidates.entrySet()) {
+            var patient = candidate.getValue();
+
+            if (existingEmails.contains(patient.getEmail())) {
+                results[candidate.getKey()] = PatientBatchResultDTO.rejected(
+                        candidate.getKey(), Map.of("email", "Email address already exists."));
+            } else {
+                newPatients.add(patient);
+                newPatientIndexes.add(candidate.getKey());
+            }
+        }
+
+        // No number is taken when every patient was rejected
+        var changeSeq = newPatients.isEmpty() ? 0L : changeLog.nextChangeSeq();
+        newPatients.forEach(patient -> patient.setChangeSeq(changeSeq));
+
+        // IDs are generated in memory, so Hibernate can group these inserts into JDBC batches
+        var savedPatients = patientRepository.saveAll(newPatients);
+        var createdPatients = new ArrayList<PatientResponseDTO>(savedPatients.size());
+
+        for (int i = 0; i < savedPatients.size(); i++) {
+            var index = newPatientIndexes.get(i);
+            var createdPatient = PatientMapper.toDTO(savedPatients.get(i));
+            emailIndex.add(savedPatients.get(i).getEmail());
+            createdPatients.add(createdPatient);
+            results[index] = PatientBatchResultDTO.created(index, createdPatient);
+        }
+        outbox.recordCreated(createdPatients, changeSeq);
+
+        var created = savedPatients.size();
+        var rejected = results.length - created;
+        if (created > 0) {
+            var createdIds = savedPatients.stream().map(Patient::getId).toList();
+            auditLog.recordAll(AuditOperation.CREATE, createdIds, CREATED_FIELDS);
+        }
+
+        logger.info("Patients batch created successfully: created={}, rejected={}", created, rejected);
+        return new PatientBatchResponseDTO(created, rejected, Arrays.asList(results));
+    }
+
+    /**
+     * Replaces every editable field of a patient.
+     * @param id the patient to update
+     * @param patientRequestDTO the new field values
+     * @param expectedVersion when not null, the update fails unless the patient is still at this version
+     * @return the updated patient and its new version
+     */
+    @CachePut(cacheNames = CacheConfig.PATIENTS_CACHE, key = "#id",
+            cacheResolver = VersionedPatientCacheResolver.NAME)
+    @Transactional
+    public VersionedPatientDTO updatePatient(UUID id, PatientRequestDTO patientRequestDTO, Long expectedVersion) {
         if (id == null) {
             throw new IllegalArgumentException("Patient ID cannot be null for update operation.");
         }
@@ -54,7 +296,13 @@ public class PatientService {
         var existingPatient = patientRepository.findById(id)
                 .orElseThrow(() -> new PatientNotFoundException("Patient not found with id: " + id));
 
-        if (!existingPatient.getEmail().equals(patientRequestDTO.getEmail())) {
+        if (expectedVersion != null && !expectedVersion.equals(existingPatient.getVersion())) {
+            throw new PreconditionFailedException("Patient version does not match: id=" + id);
+        }
+
+        var changedFields = PatientMapper.toChangedFields(existingPatient, patientRequestDTO);
+        var emailChanged = !existingPatient.getEmail().equals(patientRequestDTO.getEmail());
+        if (emailChanged) {
             emailUniquenessPolicy.enforce(patientRequestDTO.getEmail());
         }
 
@@ -62,26 +310,254 @@ public class PatientService {
         existingPatient.setEmail(patientRequestDTO.getEmail());
         existingPatient.setAddress(patientRequestDTO.getAddress());
         existingPatient.setDateOfBirth(LocalDate.parse(patientRequestDTO.getDateOfBirth()));
+        // Taken after the read: a change committed before it has a lower position, and one committed
+        // after it fails the version check of this update
+        var changeSeq = changeLog.nextChangeSeq();
+        existingPatient.setChangeSeq(changeSeq);
+
+        // Flushed now so that the version in the response and the outbox event is the new one
+        var updatedPatient = patientRepository.saveAndFlush(existingPatient);
+        var versionedPatient = PatientMapper.toVersionedDTO(updatedPatient);
+        outbox.recordUpdated(versionedPatient.patient(), changeSeq);
+        if (emailChanged) {
+            emailIndex.add(updatedPatient.getEmail());
+            emailIndex.recordRemoval();
+        }
+        auditLog.record(AuditOperation.UPDATE, id, changedFields);
+
+        logger.debug("Patient updated successfully: id={}, fields={}", id, changedFields);
+        return versionedPatient;
+    }
+
+    /**
+     * Applies only the supplied fields of a patient in a single UPDATE statement, without reading the
+     * patient first. The stored row is read back afterwards to build the response.
+     * @param id the patient to update
+     * @param patientPatchDTO the fields to change; null fields are left as they are
+     * @param expectedVersion when not null, the update fails unless the patient is still at this version
+     * @return the updated patient and its new version; the patient as it is when no field was supplied
+     */
+    @CachePut(cacheNames = CacheConfig.PATIENTS_CACHE, key = "#id",
+            cacheResolver = VersionedPatientCacheResolver.NAME)
+    @Transactional
+    public VersionedPatientDTO patchPatient(UUID id, PatientPatchDTO patientPatchDTO, Long expectedVersion) {
+        if (id == null) {
+            throw new IllegalArgumentException("Patient ID cannot be null for patch operation.");
+        }
+
+        var changes = PatientMapper.toChanges(patientPatchDTO);
+        if (changes.isEmpty()) {
+            // Nothing to write, so no new version, change feed entry, event or audit record either
+            var currentPatient = patientRepository.findSummaryById(id)
+                    .map(PatientMapper::toVersionedDTO)
+                    .orElseThrow(() -> new PatientNotFoundException("Patient not found with id: " + id));
+            if (expectedVersion != null && currentPatient.version() != expectedVersion) {
+                throw new PreconditionFailedException("Patient version does not match: id=" + id);
+            }
+            return currentPatient;
+        }
 
-        var updatedPatient = patientRepository.save(existingPatient);
+        var newEmail = patientPatchDTO.getEmail();
+        var emailChanged = false;
+        if (newEmail != null) {
+            emailUniquenessPolicy.enforce(newEmail, id);
+            // The previous email is not known without a read; a primary key lookup is enough to
+            // tell whether it is being replaced
+            emailChanged = !patientRepository.existsByIdAndEmail(id, newEmail);
+        }
+
+        var changeSeq = changeLog.nextChangeSeq();
+        while (patientRepository.patch(id, expectedVersion, changes, changeSeq) == 0) {
+            // Only the failure path pays for finding out why nothing was updated
+            var currentVersion = patientRepository.findVersionById(id)
+                    .orElseThrow(() -> new PatientNotFoundException("Patient not found with id: " + id));
+            if (expectedVersion != null && !expectedVersion.equals(currentVersion)) {
+                throw new PreconditionFailedException("Patient version does not match: id=" + id);
+            }
+            // A concurrent change took a higher position and committed first: patch on top of it
+            changeSeq = changeLog.nextChangeSeq();
+        }
+
+        if (emailChanged) {
+            emailIndex.add(newEmail);
+            emailIndex.recordRemoval();
+        }
+
+        var patchedPatient = patientRepository.findSummaryById(id)
+                .map(PatientMapper::toVersionedDTO)
+                .orElseThrow(() -> new PatientNotFoundException("Patient not found with id: " + id));
+        eventPublisher.publishEvent(new PatientSavedEvent(id, patchedPatient.patient(), changeSeq));
+        outbox.recordUpdated(patchedPatient.patient(), changeSeq);
+        auditLog.record(AuditOperation.PATCH, id, changes.keySet());
 
-        logger.info("Patient updated successfully: id={}, email={}, address={}, dateOfBirth={}",
-                updatedPatient.getId(), updatedPatient.getEmail(), updatedPatient.getAddress(),
-                updatedPatient.getDateOfBirth());
-        return PatientMapper.toDTO(updatedPatient);
+        logger.debug("Patient patched successfully: id={}, fields={}", id, changes.keySet());
+        return patchedPatient;
     }
 
-    public void deletePatient(UUID id) {
+    /**
+     * Deletes a patient with a single DELETE statement. Deleting a patient that does not exist is a
+     * no-op, so the call is idempotent.
+     * @param id the patient to delete
+     * @return true if the patient existed and was deleted
+     */
+    // Only evicted when a row was deleted: eviction leaves a deletion marker, and unknown IDs would
+    // otherwise fill the cache with them
+    @CacheEvict(cacheNames = CacheConfig.PATIENTS_CACHE, key = "#id", condition = "#result",
+            cacheResolver = VersionedPatientCacheResolver.NAME)
+    @Transactional
+    public boolean deletePatient(UUID id) {
         if (id == null) {
             throw new IllegalArgumentException("Patient ID cannot be null for update operation.");
         }
 
-        if (!patientRepository.existsById(id)) {
+        // The slot is claimed before the row is locked; the position is taken once the row is gone, so
+        // it is higher than any change committed to the patient before
+        changeLog.beginChange();
+        if (patientRepository.deleteByIdReturningCount(id) == 0) {
+            discardChange();
+            return false;
+        }
+
+        var changeSeq = changeLog.nextChangeSeq();
+        emailIndex.recordRemoval();
+        eventPublisher.publishEvent(new PatientsDeletedEvent(List.of(id), changeSeq));
+        changeLog.recordDeleted(List.of(id), changeSeq);
+        outbox.recordDeleted(List.of(id), changeSeq);
+        auditLog.record(AuditOperation.DELETE, id, List.of());
+
+        logger.debug("Patient deleted successfully: id={}", id);
+        return true;
+    }
+
+    /**
+     * Deletes many patients in one transaction, one SELECT and one DELETE per chunk of IDs. IDs that
+     * do not exist are ignored.
+     * @param ids the patients to delete
+     * @return the IDs that were actually deleted
+     */
+    @Transactional
+    public PatientBatchDeleteResponseDTO deletePatients(List<UUID> ids) {
+        if (ids.size() > batchProperties.maxSize()) {
+            throw new BatchTooLargeException(
+                    "A batch may contain at most " + batchProperties.maxSize() + " patients.");
+        }
+
+        changeLog.beginChange();
+        var deletedIds = new ArrayList<UUID>();
+        var chunk = new ArrayList<UUID>(batchProperties.queryChunkSize());
+
+        for (var id : new LinkedHashSet<>(ids)) {
+            if (id == null) {
+                continue;
+            }
+            chunk.add(id);
+            if (chunk.size() == batchProperties.queryChunkSize()) {
+                deletedIds.addAll(deleteChunk(chunk));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            deletedIds.addAll(deleteChunk(chunk));
+        }
+
+        if (!deletedIds.isEmpty()) {
+            var changeSeq = changeLog.nextChangeSeq();
+            emailIndex.recordRemovals(deletedIds.size());
+            eventPublisher.publishEvent(new PatientsDeletedEvent(List.copyOf(deletedIds), changeSeq));
+            changeLog.recordDeleted(deletedIds, changeSeq);
+            outbox.recordDeleted(deletedIds, changeSeq);
+            auditLog.recordAll(AuditOperation.DELETE, deletedIds, List.of());
+            evictAfterCommit(deletedIds);
+        } else {
+            discardChange();
+        }
+
+        logger.info("Patients deleted successfully: requested={}, deleted={}", ids.size(), deletedIds.size());
+        return new PatientBatchDeleteResponseDTO(deletedIds.size(), deletedIds);
+    }
+
+    // Evicted once the delete commits: evicting earlier would let a concurrent read cache a patient
+    // before it is gone. Each eviction leaves a deletion marker, as on the single-delete path
+    private void evictAfterCommit(List<UUID> ids) {
+        var cache = patientCacheResolver.getCache(CacheConfig.PATIENTS_CACHE);
+        if (cache == null) {
             return;
         }
 
-        patientRepository.deleteById(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    ids.forEach(cache::evict);
+                }
+            });
+        } else {
+            ids.forEach(cache::evict);
+        }
+    }
+
+    // Nothing was deleted, so the write slot claimed up front must not count as a change: rolling
+    // back undoes its count and the collection ETag stays where it was. Only a transaction started
+    // here is rolled back; one joined from a caller decides for itself
+    private static void discardChange() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+
+        var status = TransactionAspectSupport.currentTransactionStatus();
+        if (status.isNewTransaction()) {
+            status.setRollbackOnly();
+        }
+    }
+
+    private Map<String, String> validateForCreate(PatientRequestDTO requestDTO) {
+        var errors = new HashMap<String, String>();
+
+        if (requestDTO == null) {
+            errors.put("patient", "Patient must not be null.");
+            return errors;
+        }
+
+        validator.validate(requestDTO, Default.class, CreatePatientValidationGroup.class)
+                .forEach(violation -> errors.put(violation.getPropertyPath().toString(), violation.getMessage()));
+
+        return errors;
+    }
+
+    private static PatientPageDTO toPage(List<PatientSummary> patients, int pageSize) {
+        var hasNextPage = patients.size() > pageSize;
+        var page = hasNextPage ? patients.subList(0, pageSize) : patients;
+        var nextCursor = hasNextPage ? CursorMapper.toCursor(page.get(pageSize - 1).id()) : null;
+
+        return new PatientPageDTO(
+                page.stream().map(PatientMapper::toDTO).toList(),
+                nextCursor);
+    }
+
+    private List<UUID> deleteChunk(List<UUID> ids) {
+        var existingIds = patientRepository.findExistingIds(ids);
+        if (!existingIds.isEmpty()) {
+            patientRepository.deleteAllByIdIn(existingIds);
+        }
+
+        return existingIds;
+    }
+
+    private Set<String> findExistingEmails(Collection<String> emails) {
+        var existingEmails = new HashSet<String>();
+        var chunk = new ArrayList<String>(batchProperties.queryChunkSize());
+
+        for (var email : emails) {
+            chunk.add(email);
+            if (chunk.size() == batchProperties.queryChunkSize()) {
+                existingEmails.addAll(patientRepository.findExistingEmails(chunk));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            existingEmails.addAll(patientRepository.findExistingEmails(chunk));
+        }
 
-        logger.info("Patient deleted successfully: id={}", id);
+        return existingEmails;
     }
 }
@@ -0,0 +1,11 @@
+-- The patient table as the former data.sql created it. Databases that already hold it are
+-- baselined at this version, so this script never runs there; everything added since goes in V2 and
+-- later, which run on both.
+CREATE TABLE patient (
+    id UUID PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) UNIQUE NOT NULL,
+    address VARCHAR(255) NOT NULL,
+    date_of_birth DATE NOT NULL,
+    registered_date DATE NOT NULL
+);
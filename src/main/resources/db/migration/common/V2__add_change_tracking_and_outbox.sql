@@ -0,0 +1,34 @@
+-- Optimistic locking and change feed columns. Patients that already exist start at version 0 and
+-- change sequence number 0, which the change feed still returns on a first sync.
+-- Lookup indexes are added by V3, separately for each database vendor.
+ALTER TABLE patient ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE patient ADD COLUMN change_seq BIGINT DEFAULT 0 NOT NULL;
+
+-- Change feed: every write stamps the patient with the next change sequence number, and deleted
+-- patients leave a tombstone carrying theirs
+CREATE TABLE patient_tombstone (
+    patient_id UUID PRIMARY KEY,
+    change_seq BIGINT NOT NULL,
+    deleted_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+-- Single row holding the last change sequence number handed out and the newest purged tombstone
+CREATE TABLE patient_change_counter (
+    id INT PRIMARY KEY,
+    last_seq BIGINT NOT NULL,
+    purged_seq BIGINT NOT NULL
+);
+
+INSERT INTO patient_change_counter (id, last_seq, purged_seq) VALUES (1, 0, 0);
+
+-- Patient change events waiting to be relayed to other services (transactional outbox)
+CREATE SEQUENCE outbox_event_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE outbox_event (
+    id BIGINT PRIMARY KEY,
+    patient_id UUID NOT NULL,
+    type VARCHAR(16) NOT NULL,
+    payload VARCHAR(2048),
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
@@ -0,0 +1,5 @@
+-- Outbox events carry the change sequence number of the change they announce. Event IDs come from
+-- a pooled sequence, so they interleave across instances and say nothing about the order of
+-- changes. Events still waiting to be relayed predate the column and get 0.
+-- The index the relay reads them by is added by V7, separately for each database vendor.
+ALTER TABLE outbox_event ADD COLUMN change_seq BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,16 @@
+-- Write slots: every patient write claims one of these rows, keeping it locked until it commits,
+-- before it takes a change sequence number. The change feed waits for the slots to find the
+-- highest number every writer has finished with. The count of writes committed through each slot
+-- adds up to the collection version; slot 1 starts at the last number the change counter handed
+-- out, so the version keeps growing from where it was and no earlier ETag comes back.
+-- The number of rows must match PatientChangeSlot.COUNT.
+CREATE TABLE patient_change_slot (
+    id INT PRIMARY KEY,
+    writes BIGINT NOT NULL
+);
+
+INSERT INTO patient_change_slot (id, writes) VALUES
+    (1, 0), (2, 0), (3, 0), (4, 0), (5, 0), (6, 0), (7, 0), (8, 0),
+    (9, 0), (10, 0), (11, 0), (12, 0), (13, 0), (14, 0), (15, 0), (16, 0);
+
+UPDATE patient_change_slot SET writes = (SELECT last_seq FROM patient_change_counter WHERE id = 1) WHERE id = 1;
@@ -0,0 +1,14 @@
+-- Lookup indexes. H2 only backs development and tests, so they are built the plain way; the
+-- PostgreSQL script builds them online.
+
+-- Name prefix and date range searches; the email unique constraint already indexes email
+CREATE INDEX IF NOT EXISTS idx_patient_name ON patient (name);
+
+CREATE INDEX IF NOT EXISTS idx_patient_date_of_birth ON patient (date_of_birth);
+
+CREATE INDEX IF NOT EXISTS idx_patient_registered_date ON patient (registered_date);
+
+-- Change feed pages, in change sequence order
+CREATE INDEX IF NOT EXISTS idx_patient_change_seq ON patient (change_seq, id);
+
+CREATE INDEX IF NOT EXISTS idx_patient_tombstone_change_seq ON patient_tombstone (change_seq, patient_id);
@@ -0,0 +1,14 @@
+-- The email unique constraint is recognised by name when it rejects a duplicate. PostgreSQL names
+-- it patient_email_key; H2 generates a name such as CONSTRAINT_8 and reports violations by the name
+-- of its index, so the constraint is recreated on top of an index named like PostgreSQL's.
+EXECUTE IMMEDIATE (
+    SELECT 'ALTER TABLE patient DROP CONSTRAINT "' || tc.constraint_name || '"'
+    FROM information_schema.table_constraints tc
+    JOIN information_schema.key_column_usage kcu
+        ON kcu.constraint_schema = tc.constraint_schema AND kcu.constraint_name = tc.constraint_name
+    WHERE tc.table_name = 'PATIENT' AND tc.constraint_type = 'UNIQUE' AND kcu.column_name = 'EMAIL'
+);
+
+CREATE UNIQUE INDEX patient_email_key ON patient (email);
+
+ALTER TABLE patient ADD CONSTRAINT patient_email_key UNIQUE (email);
@@ -0,0 +1,2 @@
+-- The relay claims outbox events in change sequence order
+CREATE INDEX IF NOT EXISTS idx_outbox_event_change_seq ON outbox_event (change_seq, id);
@@ -0,0 +1,6 @@
+-- Change sequence numbers come from a sequence instead of the change counter row, continuing after
+-- the last number the counter handed out. The counter row keeps only the purge mark.
+EXECUTE IMMEDIATE 'CREATE SEQUENCE patient_change_seq START WITH '
+    || (SELECT last_seq + 1 FROM patient_change_counter WHERE id = 1);
+
+ALTER TABLE patient_change_counter DROP COLUMN last_seq;
@@ -0,0 +1,16 @@
+-- Lookup indexes, built without blocking writes to the table. Flyway runs this script outside a
+-- transaction, as CONCURRENTLY requires; IF NOT EXISTS skips the indexes that a failed run
+-- already built. A build that fails leaves an invalid index behind: drop it before running the migration
+-- again.
+
+-- Name prefix and date range searches; the email unique constraint already indexes email
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_patient_name ON patient (name);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_patient_date_of_birth ON patient (date_of_birth);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_patient_registered_date ON patient (registered_date);
+
+-- Change feed pages, in change sequence order
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_patient_change_seq ON patient (change_seq, id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_patient_tombstone_change_seq ON patient_tombstone (change_seq, patient_id);
@@ -0,0 +1,8 @@
+-- Name prefix searches compare names in the "C" collation, where every name starting with a prefix
+-- sorts between the prefix and the prefix with its last character incremented. An index in the
+-- database's default collation cannot serve that comparison, so it is replaced by one in "C". Run
+-- outside a transaction, as V3 is; a failed build leaves an invalid idx_patient_name_c behind, which
+-- must be dropped before running the migration again.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_patient_name_c ON patient (name COLLATE "C");
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_patient_name;
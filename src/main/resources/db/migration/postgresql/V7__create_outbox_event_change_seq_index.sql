@@ -0,0 +1,4 @@
+-- The relay claims outbox events in change sequence order. Built without blocking writes, as the
+-- V3 indexes are: Flyway runs this script outside a transaction, and a build that fails leaves an
+-- invalid index behind that must be dropped before running the migration again.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_outbox_event_change_seq ON outbox_event (change_seq, id);
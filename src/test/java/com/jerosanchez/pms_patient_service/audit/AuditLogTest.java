@@ -0,0 +1,183 @@
+package com.jerosanchez.pms_patient_service.audit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.jerosanchez.pms_patient_service.config.AuditProperties;
+import com.jerosanchez.pms_patient_service.config.AuditProperties.OverflowPolicy;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AuditLogTest {
+    private static final Instant NOW = Instant.parse("2025-01-01T10:00:00Z");
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void record_outsideRequestAndTransaction_queuesSystemEventWithSortedFieldNames() {
+        // Arrange
+        AuditLog sut = auditLog(8, OverflowPolicy.DROP, true);
+        UUID id = UUID.randomUUID();
+
+        // Act
+        sut.record(AuditOperation.PATCH, id, Set.of("name", "address"));
+
+        // Assert
+        assertEquals(List.of(new AuditEvent(NOW, AuditLog.SYSTEM, AuditOperation.PATCH, id, List.of("address", "name"))),
+                drain(sut));
+        assertEquals(1.0, meterRegistry.get("patients.audit.recorded").counter().count());
+    }
+
+    @Test
+    void record_duringRequest_takesActorFromHeader() {
+        // Arrange
+        AuditLog sut = auditLog(8, OverflowPolicy.DROP, true);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-Actor", "  dr.house  ");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        // Act
+        sut.record(AuditOperation.DELETE, UUID.randomUUID(), List.of());
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        sut.record(AuditOperation.DELETE, UUID.randomUUID(), List.of());
+
+        // Assert
+        List<AuditEvent> events = drain(sut);
+        assertEquals("dr.house", events.get(0).actor());
+        assertEquals(AuditLog.ANONYMOUS, events.get(1).actor());
+    }
+
+    @Test
+    void recordAll_insideTransaction_queuesOnlyAfterCommit() {
+        // Arrange
+        AuditLog sut = auditLog(8, OverflowPolicy.DROP, true);
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        sut.recordAll(AuditOperation.DELETE, ids, List.of());
+        List<AuditEvent> beforeCommit = drain(sut);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // Assert
+        assertTrue(beforeCommit.isEmpty());
+        assertEquals(ids, drain(sut).stream().map(AuditEvent::patientId).toList());
+    }
+
+    @Test
+    void record_whenBufferFullWithDropPolicy_dropsAndCountsTheEvent() {
+        // Arrange
+        AuditLog sut = auditLog(2, OverflowPolicy.DROP, true);
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            sut.record(AuditOperation.CREATE, UUID.randomUUID(), List.of("name"));
+        }
+
+        // Assert
+        assertEquals(2, drain(sut).size());
+        assertEquals(1.0, meterRegistry.get("patients.audit.dropped").counter().count());
+        assertEquals(1, sut.takeUnreportedDrops());
+        assertEquals(0, sut.takeUnreportedDrops());
+    }
+
+    @Test
+    void record_whenBufferFullWithBlockPolicy_waitsForRoom() throws InterruptedException {
+        // Arrange
+        AuditLog sut = auditLog(2, OverflowPolicy.BLOCK, true);
+        sut.record(AuditOperation.CREATE, UUID.randomUUID(), List.of());
+        sut.record(AuditOperation.CREATE, UUID.randomUUID(), List.of());
+        List<AuditEvent> drained = new ArrayList<>();
+        Thread consumer = Thread.ofPlatform().start(() -> {
+            sleepQuietly(Duration.ofMillis(50));
+            sut.drainTo(drained, 1);
+        });
+
+        // Act
+        sut.record(AuditOperation.CREATE, UUID.randomUUID(), List.of());
+        consumer.join();
+
+        // Assert
+        assertEquals(1, drained.size());
+        assertEquals(2, drain(sut).size());
+        assertEquals(0.0, meterRegistry.get("patients.audit.dropped").counter().count());
+    }
+
+    @Test
+    void record_whenBufferStaysFullWithBlockPolicy_dropsAfterTimeout() {
+        // Arrange
+        AuditLog sut = auditLog(2, OverflowPolicy.BLOCK, true);
+        sut.record(AuditOperation.CREATE, UUID.randomUUID(), List.of());
+        sut.record(AuditOperation.CREATE, UUID.randomUUID(), List.of());
+
+        // Act
+        sut.record(AuditOperation.CREATE, UUID.randomUUID(), List.of());
+
+        // Assert
+        assertEquals(1.0, meterRegistry.get("patients.audit.dropped").counter().count());
+    }
+
+    @Test
+    void record_whenDisabled_queuesNothing() {
+        // Arrange
+        AuditLog sut = auditLog(8, OverflowPolicy.DROP, false);
+
+        // Act
+        sut.record(AuditOperation.CREATE, UUID.randomUUID(), List.of("name"));
+
+        // Assert
+        assertTrue(drain(sut).isEmpty());
+    }
+
+    private AuditLog auditLog(int capacity, OverflowPolicy policy, boolean enabled) {
+        AuditProperties properties = new AuditProperties(enabled, capacity, policy, Duration.ofMillis(500), 10,
+                Duration.ofMillis(10), AuditProperties.Sink.IN_MEMORY, "unused", false, "X-Actor");
+        return new AuditLog(properties, meterRegistry, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private static List<AuditEvent> drain(AuditLog auditLog) {
+        List<AuditEvent> events = new ArrayList<>();
+        auditLog.drainTo(events, Integer.MAX_VALUE);
+        return events;
+    }
+
+    private static void sleepQuietly(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.jerosanchez.pms_patient_service.audit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.jerosanchez.pms_patient_service.config.AuditProperties;
+import com.jerosanchez.pms_patient_service.config.AuditProperties.OverflowPolicy;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AuditWriterTest {
+    private MeterRegistry meterRegistry;
+
+    private AuditLog auditLog;
+
+    private FlakySink sink;
+
+    private AuditWriter sut;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        AuditProperties properties = new AuditProperties(true, 16, OverflowPolicy.DROP, Duration.ofMillis(100), 2,
+                Duration.ofHours(1), AuditProperties.Sink.IN_MEMORY, "unused", false, "X-Actor");
+        auditLog = new AuditLog(properties, meterRegistry);
+        sink = new FlakySink();
+        sut = new AuditWriter(auditLog, sink, properties, meterRegistry);
+    }
+
+    @Test
+    void flush_writesOneBatchOfAtMostBatchSize() {
+        // Arrange
+        recordEvents(3);
+
+        // Act
+        int first = sut.flush();
+        int second = sut.flush();
+        int third = sut.flush();
+
+        // Assert
+        assertEquals(List.of(2, 1, 0), List.of(first, second, third));
+        assertEquals(3, sink.written().size());
+        assertEquals(3.0, meterRegistry.get("patients.audit.written").counter().count());
+    }
+
+    @Test
+    void flush_whenSinkFails_retriesTheSameBatch() {
+        // Arrange
+        List<UUID> ids = recordEvents(2);
+        sink.failures = 1;
+
+        // Act
+        int failed = sut.flush();
+        int retried = sut.flush();
+
+        // Assert
+        assertEquals(0, failed);
+        assertEquals(2, retried);
+        assertEquals(ids, sink.written().stream().map(AuditEvent::patientId).toList());
+        assertEquals(1.0, meterRegistry.get("patients.audit.write.failures").counter().count());
+    }
+
+    @Test
+    void stop_writesWhatIsLeftAndClosesTheSink() {
+        // Arrange
+        sut.start();
+        recordEvents(5);
+
+        // Act
+        sut.stop();
+
+        // Assert
+        assertEquals(5, sink.written().size());
+        assertTrue(sink.closed);
+        assertFalse(sut.isRunning());
+    }
+
+    private List<UUID> recordEvents(int count) {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            UUID id = UUID.randomUUID();
+            auditLog.record(AuditOperation.CREATE, id, List.of("name"));
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    private static class FlakySink extends InMemoryAuditSink {
+        private int failures;
+        private volatile boolean closed;
+
+        @Override
+        public synchronized void write(List<AuditEvent> events) {
+            if (failures > 0) {
+                failures--;
+                throw new IllegalStateException("Disk full");
+            }
+            super.write(events);
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.jerosanchez.pms_patient_service.audit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+class FileAuditSinkTest {
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void write_appendsOneJsonLinePerEventAcrossRestarts() throws IOException {
+        // Arrange
+        Path file = directory.resolve("audit").resolve("patients.jsonl");
+        AuditEvent created = new AuditEvent(Instant.parse("2025-01-01T10:00:00Z"), "dr.house", AuditOperation.CREATE,
+                UUID.fromString("00000000-0000-0000-0000-000000000001"), List.of("email", "name"));
+        AuditEvent deleted = new AuditEvent(Instant.parse("2025-01-01T10:05:00Z"), "system", AuditOperation.DELETE,
+                UUID.fromString("00000000-0000-0000-0000-000000000001"), List.of());
+
+        // Act
+        try (FileAuditSink sut = new FileAuditSink(file, objectMapper, true)) {
+            sut.write(List.of(created));
+        }
+        try (FileAuditSink sut = new FileAuditSink(file, objectMapper, false)) {
+            sut.write(List.of(deleted));
+        }
+
+        // Assert
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        assertEquals("{\"timestamp\":\"2025-01-01T10:00:00Z\",\"actor\":\"dr.house\",\"operation\":\"CREATE\","
+                + "\"patientId\":\"00000000-0000-0000-0000-000000000001\",\"fields\":[\"email\",\"name\"]}", lines.get(0));
+        assertEquals(deleted, objectMapper.readValue(lines.get(1), AuditEvent.class));
+    }
+}
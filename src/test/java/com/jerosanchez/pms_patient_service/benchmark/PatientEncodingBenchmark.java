@@ -0,0 +1,87 @@
+package com.jerosanchez.pms_patient_service.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jerosanchez.pms_patient_service.dto.PatientResponseDTO;
+import com.jerosanchez.pms_patient_service.mapper.PatientMapper;
+import com.jerosanchez.pms_patient_service.test_helpers.PatientTestFactory;
+
+/**
+ * Encode and decode cost of a page of patients in each format the API negotiates, with and
+ * without gzip. The bytes on the wire for each combination are recorded in docs/PERFORMANCE.md.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PatientEncodingBenchmark {
+    @Param({ "json", "cbor", "smile" })
+    private String format;
+
+    @Param({ "1", "50" })
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<PatientResponseDTO> patients;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Same defaults Spring MVC applies to the mappers behind its message converters
+        objectMapper = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json().build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+        patients = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            patients.add(PatientMapper.toDTO(PatientTestFactory.createRandomPatient()));
+        }
+        encoded = objectMapper.writeValueAsBytes(patients);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return objectMapper.writeValueAsBytes(patients);
+    }
+
+    @Benchmark
+    public byte[] encodeGzip() throws IOException {
+        return gzip(objectMapper.writeValueAsBytes(patients));
+    }
+
+    @Benchmark
+    public PatientResponseDTO[] decode() throws IOException {
+        return objectMapper.readValue(encoded, PatientResponseDTO[].class);
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        var buffer = new ByteArrayOutputStream(bytes.length);
+        try (var gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(bytes);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -0,0 +1,108 @@
+package com.jerosanchez.pms_patient_service.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import com.jerosanchez.pms_patient_service.controller.PatientJsonHttpMessageConverter;
+import com.jerosanchez.pms_patient_service.dto.PatientResponseDTO;
+import com.jerosanchez.pms_patient_service.mapper.PatientMapper;
+import com.jerosanchez.pms_patient_service.test_helpers.PatientTestFactory;
+
+/**
+ * Writing a patient page through the Jackson converter Spring MVC uses by default against the
+ * dedicated patient converter, into a stream that discards the bytes so only the converters are
+ * measured. Run with -prof gc to compare allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PatientJsonConverterBenchmark {
+    private static final Type PATIENT_LIST = new ParameterizedTypeReference<List<PatientResponseDTO>>() {
+    }.getType();
+
+    @Param({ "1", "50", "500" })
+    private int size;
+
+    private MappingJackson2HttpMessageConverter jackson;
+    private PatientJsonHttpMessageConverter patientJson;
+    private List<PatientResponseDTO> patients;
+    private DiscardingOutputMessage outputMessage;
+
+    @Setup
+    public void setUp() {
+        jackson = new MappingJackson2HttpMessageConverter(Jackson2ObjectMapperBuilder.json().build());
+        patientJson = new PatientJsonHttpMessageConverter();
+        patients = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            patients.add(PatientMapper.toDTO(PatientTestFactory.createRandomPatient()));
+        }
+        outputMessage = new DiscardingOutputMessage();
+    }
+
+    @Benchmark
+    public void jackson(Blackhole blackhole) throws IOException {
+        jackson.write(patients, PATIENT_LIST, MediaType.APPLICATION_JSON, outputMessage);
+        blackhole.consume(outputMessage.body.bytes);
+    }
+
+    @Benchmark
+    public void patientJson(Blackhole blackhole) throws IOException {
+        patientJson.write(patients, PATIENT_LIST, MediaType.APPLICATION_JSON, outputMessage);
+        blackhole.consume(outputMessage.body.bytes);
+    }
+
+    private static final class DiscardingOutputMessage implements HttpOutputMessage {
+        private final HttpHeaders headers = new HttpHeaders();
+        private final CountingOutputStream body = new CountingOutputStream();
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.jerosanchez.pms_patient_service.benchmark;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.jerosanchez.pms_patient_service.dto.PatientRequestDTO;
+import com.jerosanchez.pms_patient_service.dto.PatientResponseDTO;
+import com.jerosanchez.pms_patient_service.mapper.PatientMapper;
+import com.jerosanchez.pms_patient_service.model.Patient;
+import com.jerosanchez.pms_patient_service.test_helpers.DtoTestFactory;
+import com.jerosanchez.pms_patient_service.test_helpers.PatientTestFactory;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PatientMapperBenchmark {
+    private Patient patient;
+    private PatientRequestDTO request;
+
+    @Setup
+    public void setUp() {
+        patient = PatientTestFactory.createRandomPatient();
+        request = DtoTestFactory.toRequestDTO(patient);
+    }
+
+    @Benchmark
+    public PatientResponseDTO toDTO() {
+        return PatientMapper.toDTO(patient);
+    }
+
+    @Benchmark
+    public Patient toModel() {
+        return PatientMapper.toModel(request);
+    }
+
+    // Isolates the two LocalDate.parse calls that toModel pays for
+    @Benchmark
+    public LocalDate parseDate() {
+        return LocalDate.parse(request.getDateOfBirth());
+    }
+}
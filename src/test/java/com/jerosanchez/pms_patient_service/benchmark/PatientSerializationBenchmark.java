@@ -0,0 +1,53 @@
+package com.jerosanchez.pms_patient_service.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jerosanchez.pms_patient_service.dto.PatientResponseDTO;
+import com.jerosanchez.pms_patient_service.mapper.PatientMapper;
+import com.jerosanchez.pms_patient_service.test_helpers.PatientTestFactory;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PatientSerializationBenchmark {
+    @Param({ "50", "500" })
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<PatientResponseDTO> patients;
+
+    @Setup
+    public void setUp() {
+        // Same defaults Spring MVC applies to the ObjectMapper it uses for responses
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        patients = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            patients.add(PatientMapper.toDTO(PatientTestFactory.createRandomPatient()));
+        }
+    }
+
+    @Benchmark
+    public byte[] writePatientList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(patients);
+    }
+}
@@ -0,0 +1,138 @@
+package com.jerosanchez.pms_patient_service.benchmark;
+
+import static org.mockito.Mockito.mock;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+
+import com.jerosanchez.pms_patient_service.audit.AuditLog;
+import com.jerosanchez.pms_patient_service.cache.PatientCollectionVersion;
+import com.jerosanchez.pms_patient_service.cache.VersionedPatientCacheResolver;
+import com.jerosanchez.pms_patient_service.changefeed.PatientChangeLog;
+import com.jerosanchez.pms_patient_service.config.BatchProperties;
+import com.jerosanchez.pms_patient_service.config.PaginationProperties;
+import com.jerosanchez.pms_patient_service.dto.VersionedPatientPageDTO;
+import com.jerosanchez.pms_patient_service.index.EmailIndex;
+import com.jerosanchez.pms_patient_service.mapper.CursorMapper;
+import com.jerosanchez.pms_patient_service.model.Patient;
+import com.jerosanchez.pms_patient_service.outbox.PatientOutbox;
+import com.jerosanchez.pms_patient_service.policy.EmailUniquenessPolicy;
+import com.jerosanchez.pms_patient_service.repository.PatientChangeSlotRepository;
+import com.jerosanchez.pms_patient_service.repository.PatientRepository;
+import com.jerosanchez.pms_patient_service.repository.PatientSummary;
+import com.jerosanchez.pms_patient_service.service.PatientService;
+import com.jerosanchez.pms_patient_service.test_helpers.PatientTestFactory;
+
+import jakarta.validation.Validator;
+
+/**
+ * Measures PatientService.getPatients without a database: the repository is an in-memory stub,
+ * so the numbers cover paging, cursor handling and DTO mapping only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PatientServiceBenchmark {
+    @Param({ "10", "100", "500" })
+    private int rows;
+
+    private PatientService patientService;
+    private String cursor;
+
+    @Setup
+    public void setUp() {
+        // One page of `rows` patients after the cursor, plus one more so a next cursor is produced
+        var patients = new ArrayList<Patient>();
+        for (int i = 0; i < rows * 2 + 2; i++) {
+            patients.add(PatientTestFactory.createRandomPatient());
+        }
+        patients.sort(Comparator.comparing(Patient::getId));
+        // Mapped once here, so the stub only slices the list inside the measured call
+        var summaries = patients.stream().map(PatientTestFactory::toSummary).toList();
+
+        patientService = patientService(inMemoryRepository(summaries), fixedCollectionVersion());
+        cursor = CursorMapper.toCursor(summaries.get(rows).id());
+    }
+
+    @Benchmark
+    public VersionedPatientPageDTO firstPage() {
+        return patientService.getPatients(null, rows);
+    }
+
+    @Benchmark
+    public VersionedPatientPageDTO pageAfterCursor() {
+        return patientService.getPatients(cursor, rows);
+    }
+
+    // getPatients only reaches the repository, the paging settings and the collection version; the
+    // other collaborators are mocks that are never called
+    private static PatientService patientService(PatientRepository repository,
+            PatientCollectionVersion collectionVersion) {
+        return new PatientService(repository, mock(EmailUniquenessPolicy.class), mock(EmailIndex.class),
+                new PaginationProperties(50, 500), new BatchProperties(1000, 500),
+                mock(ApplicationEventPublisher.class), mock(PatientOutbox.class), mock(PatientChangeLog.class),
+                collectionVersion, mock(AuditLog.class), mock(VersionedPatientCacheResolver.class),
+                mock(Validator.class));
+    }
+
+    private static PatientRepository inMemoryRepository(List<PatientSummary> sortedSummaries) {
+        return (PatientRepository) Proxy.newProxyInstance(
+                PatientRepository.class.getClassLoader(),
+                new Class<?>[] { PatientRepository.class },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findAllByOrderByIdAsc" -> head(sortedSummaries, 0, (Limit) args[0]);
+                    case "findByIdGreaterThanOrderByIdAsc" -> head(sortedSummaries,
+                            firstIndexAfter(sortedSummaries, (UUID) args[0]), (Limit) args[1]);
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static PatientCollectionVersion fixedCollectionVersion() {
+        return new PatientCollectionVersion((PatientChangeSlotRepository) Proxy.newProxyInstance(
+                PatientChangeSlotRepository.class.getClassLoader(),
+                new Class<?>[] { PatientChangeSlotRepository.class },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "sumWrites" -> 0L;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                }));
+    }
+
+    private static List<PatientSummary> head(List<PatientSummary> summaries, int from, Limit limit) {
+        return summaries.subList(from, Math.min(summaries.size(), from + limit.max()));
+    }
+
+    private static int firstIndexAfter(List<PatientSummary> summaries, UUID lastId) {
+        int low = 0;
+        int high = summaries.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (summaries.get(mid).id().compareTo(lastId) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,64 @@
+package com.jerosanchez.pms_patient_service.benchmark;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.jerosanchez.pms_patient_service.dto.PatientRequestDTO;
+import com.jerosanchez.pms_patient_service.dto.validators.CreatePatientValidationGroup;
+import com.jerosanchez.pms_patient_service.test_helpers.DtoTestFactory;
+import com.jerosanchez.pms_patient_service.test_helpers.PatientTestFactory;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import jakarta.validation.groups.Default;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PatientValidationBenchmark {
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private PatientRequestDTO validRequest;
+    private PatientRequestDTO invalidRequest;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        validRequest = DtoTestFactory.toRequestDTO(PatientTestFactory.createRandomPatient());
+        invalidRequest = new PatientRequestDTO();
+        invalidRequest.setEmail("not-an-email");
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<PatientRequestDTO>> validateValidRequest() {
+        return validator.validate(validRequest, Default.class, CreatePatientValidationGroup.class);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<PatientRequestDTO>> validateInvalidRequest() {
+        return validator.validate(invalidRequest, Default.class, CreatePatientValidationGroup.class);
+    }
+}
@@ -0,0 +1,79 @@
+package com.jerosanchez.pms_patient_service.benchmark;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.jerosanchez.pms_patient_service.index.TrigramIndex;
+
+/**
+ * Typeahead latency against a trigram index filled from a small vocabulary, so that common
+ * trigrams have the long posting lists real names produce (random strings would make every
+ * trigram rare and flatter the numbers).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class TypeaheadBenchmark {
+    private static final String[] FIRST_NAMES = { "James", "Mary", "John", "Patricia", "Robert", "Jennifer",
+            "Michael", "Linda", "William", "Elizabeth", "David", "Barbara", "Richard", "Susan", "Joseph", "Jessica",
+            "Thomas", "Sarah", "Charles", "Karen", "Daniel", "Nancy", "Matthew", "Lisa", "Anthony", "Margaret",
+            "Mark", "Sandra", "Donald", "Ashley", "Steven", "Emily", "Andrew", "Donna", "Joshua", "Michelle" };
+    private static final String[] LAST_NAMES = { "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia",
+            "Miller", "Davis", "Rodriguez", "Martinez", "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson",
+            "Thomas", "Taylor", "Moore", "Jackson", "Martin", "Lee", "Perez", "Thompson", "White", "Harris",
+            "Sanchez", "Clark", "Ramirez", "Lewis", "Robinson", "Walker", "Young", "Allen", "King", "Wright" };
+    private static final String[] STREETS = { "Main St", "Oak Ave", "Pine Rd", "Maple Ln", "Cedar Blvd",
+            "Elm St", "Washington Ave", "Lake Rd", "Hill St", "Park Ave", "Sunset Blvd", "River Rd" };
+
+    @Param({ "100000", "1000000" })
+    private int patients;
+
+    private TrigramIndex<Integer, String> index;
+
+    @Setup
+    public void setUp() {
+        var random = new SplittableRandom(42);
+        index = new TrigramIndex<>();
+
+        for (int i = 0; i < patients; i++) {
+            var name = pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES) + "-" + pick(random, LAST_NAMES);
+            var address = (1 + random.nextInt(9999)) + " " + pick(random, STREETS);
+            index.put(i, name + " " + address, name);
+        }
+    }
+
+    @Benchmark
+    public List<String> prefix() {
+        return index.search("margaret rodrig", 10, 0.5);
+    }
+
+    @Benchmark
+    public List<String> typo() {
+        return index.search("jonh hernadez", 10, 0.5);
+    }
+
+    @Benchmark
+    public List<String> shortQuery() {
+        return index.search("tho", 10, 0.5);
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,52 @@
+package com.jerosanchez.pms_patient_service.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.jerosanchez.pms_patient_service.repository.PatientChangeSlotRepository;
+
+class PatientCollectionVersionTest {
+    @Mock
+    private PatientChangeSlotRepository slotRepository;
+
+    @InjectMocks
+    private PatientCollectionVersion sut;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void current_sumsTheWritesCommittedThroughEverySlot() {
+        // Arrange
+        when(slotRepository.sumWrites()).thenReturn(42L);
+
+        // Act & Assert
+        assertEquals(42L, sut.current());
+    }
+
+    @Test
+    void etag_differsAfterAWrite() {
+        // Act & Assert
+        assertNotEquals(sut.etag(41), sut.etag(42));
+        assertEquals(sut.etag(42), sut.etag(42));
+    }
+
+    @Test
+    void etag_isWeak() {
+        // Act
+        var etag = sut.etag(42);
+
+        // Assert
+        assertTrue(etag.startsWith("W/\""), etag);
+    }
+}
@@ -0,0 +1,94 @@
+package com.jerosanchez.pms_patient_service.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.NoOpCache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jerosanchez.pms_patient_service.dto.PatientResponseDTO;
+import com.jerosanchez.pms_patient_service.dto.VersionedPatientDTO;
+
+class VersionedPatientCacheTest {
+    private static final UUID ID = UUID.randomUUID();
+
+    private VersionedPatientCache sut;
+
+    @BeforeEach
+    void setUp() {
+        sut = new VersionedPatientCache(new CaffeineCache("patients", Caffeine.newBuilder().build()));
+    }
+
+    @Test
+    void put_newerVersion_replacesTheCachedOne() {
+        // Arrange
+        sut.put(ID, patient(1));
+
+        // Act
+        sut.put(ID, patient(2));
+
+        // Assert
+        assertEquals(patient(2), sut.get(ID, VersionedPatientDTO.class));
+    }
+
+    @Test
+    void put_olderVersionFromARacingRead_keepsTheCachedOne() {
+        // Arrange
+        sut.put(ID, patient(2));
+
+        // Act
+        sut.put(ID, patient(1));
+
+        // Assert
+        assertEquals(patient(2), sut.get(ID, VersionedPatientDTO.class));
+    }
+
+    @Test
+    void put_afterEviction_isIgnored() {
+        // Arrange
+        sut.evict(ID);
+
+        // Act
+        sut.put(ID, patient(1));
+
+        // Assert
+        assertNull(sut.get(ID));
+    }
+
+    @Test
+    void get_withLoaderAfterEviction_loadsWithoutCaching() {
+        // Arrange
+        sut.evict(ID);
+
+        // Act
+        var loaded = sut.get(ID, () -> patient(1));
+
+        // Assert
+        assertEquals(patient(1), loaded);
+        assertNull(sut.get(ID));
+    }
+
+    @Test
+    void put_notCaffeine_isDelegated() {
+        // Arrange
+        var noOp = new VersionedPatientCache(new NoOpCache("patients"));
+
+        // Act
+        noOp.put(ID, patient(1));
+        noOp.evict(ID);
+
+        // Assert
+        assertNull(noOp.get(ID));
+    }
+
+    private static VersionedPatientDTO patient(long version) {
+        return new VersionedPatientDTO(
+                new PatientResponseDTO(ID.toString(), "John Doe", "john.doe@example.com", "123 Main St", "1985-06-15"),
+                version);
+    }
+}
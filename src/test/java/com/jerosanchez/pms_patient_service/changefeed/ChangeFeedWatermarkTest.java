@@ -0,0 +1,61 @@
+package com.jerosanchez.pms_patient_service.changefeed;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.jerosanchez.pms_patient_service.model.PatientChangeSlot;
+import com.jerosanchez.pms_patient_service.repository.PatientChangeSlotRepository;
+
+class ChangeFeedWatermarkTest {
+    @Mock
+    private PatientChangeSlotRepository slotRepository;
+
+    @InjectMocks
+    private ChangeFeedWatermark sut;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(slotRepository.nextChangeSeq()).thenReturn(42L);
+    }
+
+    @Test
+    void current_takesANumberThenWaitsForEverySlot() {
+        // Act
+        long watermark = sut.current();
+
+        // Assert
+        assertEquals(41L, watermark);
+        var order = inOrder(slotRepository);
+        order.verify(slotRepository).nextChangeSeq();
+        for (int slot = 1; slot <= PatientChangeSlot.COUNT; slot++) {
+            order.verify(slotRepository).awaitRelease(slot);
+        }
+    }
+
+    @Test
+    void current_insideATransaction_isRejected() {
+        // Arrange
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        // Act & Assert
+        try {
+            assertThrows(IllegalStateException.class, () -> sut.current());
+            verify(slotRepository, never()).awaitRelease(anyInt());
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.jerosanchez.pms_patient_service.changefeed;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.jerosanchez.pms_patient_service.model.PatientTombstone;
+import com.jerosanchez.pms_patient_service.repository.PatientChangeSlotRepository;
+import com.jerosanchez.pms_patient_service.repository.PatientTombstoneRepository;
+
+class PatientChangeLogTest {
+    private static final Instant NOW = Instant.parse("2025-01-01T10:00:00Z");
+
+    @Mock
+    private PatientTombstoneRepository tombstoneRepository;
+
+    @Mock
+    private PatientChangeSlotRepository slotRepository;
+
+    @Captor
+    private ArgumentCaptor<List<PatientTombstone>> tombstonesCaptor;
+
+    private PatientChangeLog sut;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        sut = new PatientChangeLog(tombstoneRepository, slotRepository, Clock.fixed(NOW, ZoneOffset.UTC));
+        when(slotRepository.nextChangeSeq()).thenReturn(7L, 8L);
+        // Stands in for the transaction every method joins
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        completeTransaction();
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void nextChangeSeq_claimsASlotThenTakesTheNextNumber() {
+        // Act
+        long changeSeq = sut.nextChangeSeq();
+
+        // Assert
+        assertEquals(7L, changeSeq);
+        var order = inOrder(slotRepository);
+        order.verify(slotRepository).claim(anyInt());
+        order.verify(slotRepository).nextChangeSeq();
+    }
+
+    @Test
+    void nextChangeSeq_afterBeginChange_claimsOnlyOneSlotPerTransaction() {
+        // Act
+        sut.beginChange();
+        long first = sut.nextChangeSeq();
+        long second = sut.nextChangeSeq();
+
+        // Assert
+        assertEquals(7L, first);
+        assertEquals(8L, second);
+        verify(slotRepository, times(1)).claim(anyInt());
+    }
+
+    @Test
+    void beginChange_releasesTheSlotWhenTheTransactionCompletes() {
+        // Arrange
+        sut.beginChange();
+
+        // Act
+        completeTransaction();
+
+        // Assert
+        assertFalse(TransactionSynchronizationManager.hasResource(sut));
+    }
+
+    @Test
+    void recordDeleted_leavesOneTombstonePerPatient() {
+        // Arrange
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+
+        // Act
+        sut.recordDeleted(ids, 7L);
+
+        // Assert
+        verify(tombstoneRepository).saveAll(tombstonesCaptor.capture());
+        List<PatientTombstone> tombstones = tombstonesCaptor.getValue();
+        assertEquals(ids, tombstones.stream().map(PatientTombstone::getPatientId).toList());
+        assertEquals(7L, tombstones.get(0).getChangeSeq());
+        assertEquals(NOW, tombstones.get(1).getDeletedAt());
+    }
+
+    private static void completeTransaction() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(
+                synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+}
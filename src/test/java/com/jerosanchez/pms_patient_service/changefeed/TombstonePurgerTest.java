@@ -0,0 +1,74 @@
+package com.jerosanchez.pms_patient_service.changefeed;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.jerosanchez.pms_patient_service.config.ChangeFeedProperties;
+import com.jerosanchez.pms_patient_service.repository.PatientChangeCounterRepository;
+import com.jerosanchez.pms_patient_service.repository.PatientTombstoneRepository;
+
+class TombstonePurgerTest {
+    private static final Instant NOW = Instant.parse("2025-01-31T10:00:00Z");
+
+    @Mock
+    private PatientTombstoneRepository tombstoneRepository;
+
+    @Mock
+    private PatientChangeCounterRepository counterRepository;
+
+    private TombstonePurger sut;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        sut = new TombstonePurger(tombstoneRepository, counterRepository,
+                new ChangeFeedProperties(Duration.ofDays(30)), mock(PlatformTransactionManager.class),
+                Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void purge_deletesExpiredTombstonesAndRaisesThePurgedMark() {
+        // Arrange
+        Instant before = NOW.minus(Duration.ofDays(30));
+        when(tombstoneRepository.findMaxChangeSeqDeletedBefore(before)).thenReturn(Optional.of(12L));
+        when(tombstoneRepository.deleteUpTo(12L)).thenReturn(3);
+
+        // Act
+        sut.purge();
+
+        // Assert
+        var order = inOrder(tombstoneRepository, counterRepository);
+        order.verify(tombstoneRepository).deleteUpTo(12L);
+        order.verify(counterRepository).raisePurgedSeq(12L);
+    }
+
+    @Test
+    void purge_whenNothingExpired_changesNothing() {
+        // Arrange
+        when(tombstoneRepository.findMaxChangeSeqDeletedBefore(NOW.minus(Duration.ofDays(30))))
+                .thenReturn(Optional.empty());
+
+        // Act
+        sut.purge();
+
+        // Assert
+        verify(tombstoneRepository, never()).deleteUpTo(anyLong());
+        verify(counterRepository, never()).raisePurgedSeq(anyLong());
+    }
+}
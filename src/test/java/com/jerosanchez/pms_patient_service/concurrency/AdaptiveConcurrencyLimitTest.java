@@ -0,0 +1,157 @@
+package com.jerosanchez.pms_patient_service.concurrency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.jerosanchez.pms_patient_service.concurrency.AdaptiveConcurrencyLimit.Permit;
+import com.jerosanchez.pms_patient_service.concurrency.AdaptiveConcurrencyLimit.Priority;
+import com.jerosanchez.pms_patient_service.config.AdmissionProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AdaptiveConcurrencyLimitTest {
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final AtomicLong nanos = new AtomicLong();
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void tryAcquire_atLimit_shedsWritesBeforeReads() {
+        // Arrange
+        AdaptiveConcurrencyLimit sut = limit(10, 1, 100);
+        List<Permit> permits = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            permits.add(sut.tryAcquire(Priority.READ));
+        }
+
+        // Act
+        Permit write = sut.tryAcquire(Priority.WRITE);
+        Permit firstRead = sut.tryAcquire(Priority.READ);
+        Permit secondRead = sut.tryAcquire(Priority.READ);
+        Permit thirdRead = sut.tryAcquire(Priority.READ);
+
+        // Assert
+        assertNull(write);
+        assertNotNull(firstRead);
+        assertNotNull(secondRead);
+        assertNull(thirdRead);
+        assertEquals(10, sut.inFlight());
+        assertEquals(1.0, rejections("write"));
+        assertEquals(1.0, rejections("read"));
+        assertEquals(10.0, meterRegistry.get("patients.admission.in.flight").gauge().value());
+    }
+
+    @Test
+    void release_fastRequestsWhileBusy_growLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimit sut = limit(10, 1, 12);
+        List<Permit> permits = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            permits.add(sut.tryAcquire(Priority.READ));
+        }
+
+        // Act
+        nanos.addAndGet(FAST);
+        permits.forEach(permit -> sut.release(permit, false));
+
+        // Assert
+        assertEquals(12, sut.limit());
+        assertEquals(0, sut.inFlight());
+        assertEquals(12.0, meterRegistry.get("patients.admission.limit").gauge().value());
+    }
+
+    @Test
+    void release_fastRequestsWhileQuiet_keepLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimit sut = limit(10, 1, 100);
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            completeAfter(sut, FAST, false);
+        }
+
+        // Assert
+        assertEquals(10, sut.limit());
+    }
+
+    @Test
+    void release_latencyRisingAboveLongTermAverage_backsOffOncePerRound() {
+        // Arrange
+        AdaptiveConcurrencyLimit sut = limit(10, 1, 10);
+        for (int i = 0; i < 20; i++) {
+            completeAfter(sut, FAST, false);
+        }
+        List<Permit> round = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            round.add(sut.tryAcquire(Priority.READ));
+        }
+
+        // Act
+        nanos.addAndGet(SLOW);
+        round.forEach(permit -> sut.release(permit, false));
+
+        // Assert
+        assertEquals(9, sut.limit());
+    }
+
+    @Test
+    void release_overloadedRequests_backOffDownToMinimum() {
+        // Arrange
+        AdaptiveConcurrencyLimit sut = limit(10, 8, 10);
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            completeAfter(sut, FAST, true);
+        }
+
+        // Assert
+        assertEquals(8, sut.limit());
+    }
+
+    @Test
+    void releaseWithoutSample_freesPermitWithoutAdapting() {
+        // Arrange
+        AdaptiveConcurrencyLimit sut = limit(1, 1, 10);
+        Permit permit = sut.tryAcquire(Priority.READ);
+
+        // Act
+        nanos.addAndGet(SLOW);
+        sut.releaseWithoutSample(permit);
+
+        // Assert
+        assertEquals(0, sut.inFlight());
+        assertEquals(1, sut.limit());
+        assertNotNull(sut.tryAcquire(Priority.WRITE));
+    }
+
+    private void completeAfter(AdaptiveConcurrencyLimit sut, long latency, boolean overloaded) {
+        Permit permit = sut.tryAcquire(Priority.READ);
+        nanos.addAndGet(latency);
+        sut.release(permit, overloaded);
+    }
+
+    private AdaptiveConcurrencyLimit limit(int initial, int min, int max) {
+        AdmissionProperties properties = new AdmissionProperties(true, initial, min, max, 0.8, 1.5, 0.9);
+        return new AdaptiveConcurrencyLimit(properties, meterRegistry, nanos::get);
+    }
+
+    private double rejections(String priority) {
+        return meterRegistry.get("patients.admission.rejections").tag("priority", priority).counter().count();
+    }
+}
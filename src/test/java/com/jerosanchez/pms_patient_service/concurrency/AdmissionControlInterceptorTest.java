@@ -0,0 +1,123 @@
+package com.jerosanchez.pms_patient_service.concurrency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.jerosanchez.pms_patient_service.config.AdmissionProperties;
+import com.jerosanchez.pms_patient_service.exception.ServiceOverloadedException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.DispatcherType;
+
+class AdmissionControlInterceptorTest {
+    private AdaptiveConcurrencyLimit limit;
+    private AdmissionControlInterceptor sut;
+
+    @BeforeEach
+    void setUp() {
+        // Limit of 2: reads may fill both slots, writes only one
+        limit = new AdaptiveConcurrencyLimit(new AdmissionProperties(true, 2, 2, 2, 0.5, 1.5, 0.9),
+                new SimpleMeterRegistry());
+        sut = new AdmissionControlInterceptor(limit);
+    }
+
+    @Test
+    void preHandle_belowLimit_admitsAndAfterCompletionReleases() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/patients");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        boolean admitted = sut.preHandle(request, response, new Object());
+        int inFlightDuring = limit.inFlight();
+        sut.afterCompletion(request, response, new Object(), null);
+
+        // Assert
+        assertTrue(admitted);
+        assertEquals(1, inFlightDuring);
+        assertEquals(0, limit.inFlight());
+    }
+
+    @Test
+    void preHandle_writeAboveItsShare_throwsOverloadedWhileReadsAreAdmitted() {
+        // Arrange
+        sut.preHandle(new MockHttpServletRequest("POST", "/api/patients"), new MockHttpServletResponse(), new Object());
+
+        // Act & Assert
+        assertThrows(ServiceOverloadedException.class, () -> sut.preHandle(
+                new MockHttpServletRequest("DELETE", "/api/patients/1"), new MockHttpServletResponse(), new Object()));
+        assertTrue(sut.preHandle(
+                new MockHttpServletRequest("GET", "/api/patients/1"), new MockHttpServletResponse(), new Object()));
+        assertEquals(2, limit.inFlight());
+    }
+
+    @Test
+    void afterCompletion_unrelated503_doesNotLowerLimit() {
+        // Arrange
+        AtomicLong nanos = new AtomicLong();
+        AdaptiveConcurrencyLimit adaptive = adaptiveLimit(nanos);
+        AdmissionControlInterceptor interceptor = new AdmissionControlInterceptor(adaptive);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/patients/typeahead");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        nanos.set(1);
+        interceptor.preHandle(request, response, new Object());
+
+        // Act
+        // What GlobalExceptionHandler answers for TypeaheadUnavailableException during warm-up
+        response.setStatus(503);
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        // Assert
+        assertEquals(10, adaptive.limit());
+    }
+
+    @Test
+    void afterCompletion_markedOverloaded_lowersLimit() {
+        // Arrange
+        AtomicLong nanos = new AtomicLong();
+        AdaptiveConcurrencyLimit adaptive = adaptiveLimit(nanos);
+        AdmissionControlInterceptor interceptor = new AdmissionControlInterceptor(adaptive);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/patients");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        nanos.set(1);
+        interceptor.preHandle(request, response, new Object());
+
+        // Act
+        AdmissionControlInterceptor.markOverloaded(request);
+        response.setStatus(503);
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        // Assert
+        assertEquals(5, adaptive.limit());
+    }
+
+    @Test
+    void asyncRequest_releasesPermitWhenHandlingGoesAsyncAndIsNotAdmittedTwice() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/patients/export");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        sut.preHandle(request, response, new Object());
+
+        // Act
+        sut.afterConcurrentHandlingStarted(request, response, new Object());
+        request.setDispatcherType(DispatcherType.ASYNC);
+        sut.preHandle(request, response, new Object());
+        sut.afterCompletion(request, response, new Object(), null);
+
+        // Assert
+        assertEquals(0, limit.inFlight());
+    }
+
+    private static AdaptiveConcurrencyLimit adaptiveLimit(AtomicLong nanos) {
+        return new AdaptiveConcurrencyLimit(new AdmissionProperties(true, 10, 1, 20, 0.5, 1.5, 0.5),
+                new SimpleMeterRegistry(), nanos::get);
+    }
+}
@@ -0,0 +1,113 @@
+package com.jerosanchez.pms_patient_service.concurrency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class BoundedRingBufferTest {
+    @Test
+    void constructor_roundsCapacityUpToAPowerOfTwo() {
+        // Act & Assert
+        assertEquals(2, new BoundedRingBuffer<String>(1).capacity());
+        assertEquals(8, new BoundedRingBuffer<String>(5).capacity());
+        assertEquals(8, new BoundedRingBuffer<String>(8).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new BoundedRingBuffer<String>(0));
+    }
+
+    @Test
+    void offer_whenFull_rejectsUntilDrained() {
+        // Arrange
+        BoundedRingBuffer<Integer> sut = new BoundedRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(sut.offer(i));
+        }
+
+        // Act
+        boolean whenFull = sut.offer(4);
+        List<Integer> drained = new ArrayList<>();
+        int count = sut.drainTo(drained, 1);
+        boolean afterDrain = sut.offer(4);
+
+        // Assert
+        assertFalse(whenFull);
+        assertEquals(1, count);
+        assertEquals(List.of(0), drained);
+        assertTrue(afterDrain);
+        assertEquals(4, sut.size());
+    }
+
+    @Test
+    void drainTo_returnsElementsInOrderAcrossLaps() {
+        // Arrange
+        BoundedRingBuffer<Integer> sut = new BoundedRingBuffer<>(4);
+        List<Integer> drained = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            sut.offer(i);
+            if (i % 3 == 2) {
+                sut.drainTo(drained, Integer.MAX_VALUE);
+            }
+        }
+        sut.drainTo(drained, Integer.MAX_VALUE);
+
+        // Assert
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), drained);
+        assertEquals(0, sut.size());
+    }
+
+    @Test
+    void offer_fromManyThreads_losesAndDuplicatesNothing() throws InterruptedException {
+        // Arrange
+        int producers = 4;
+        int perProducer = 10_000;
+        BoundedRingBuffer<Integer> sut = new BoundedRingBuffer<>(64);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int first = p * perProducer;
+            threads.add(Thread.ofPlatform().start(() -> {
+                awaitQuietly(start);
+                for (int i = first; i < first + perProducer; i++) {
+                    while (!sut.offer(i)) {
+                        Thread.yield();
+                    }
+                }
+            }));
+        }
+
+        // Act
+        start.countDown();
+        List<Integer> drained = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (drained.size() < producers * perProducer && System.nanoTime() < deadline) {
+            if (sut.drainTo(drained, 16) == 0) {
+                Thread.yield();
+            }
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Assert
+        assertEquals(producers * perProducer, drained.size());
+        assertEquals(producers * perProducer, new HashSet<>(drained).size());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.jerosanchez.pms_patient_service.concurrency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.jerosanchez.pms_patient_service.exception.DatabaseBusyException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class DatabaseConcurrencyLimiterTest {
+    private MeterRegistry meterRegistry;
+
+    private DatabaseConcurrencyLimiter sut;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sut = new DatabaseConcurrencyLimiter(1, Duration.ofMillis(50), meterRegistry);
+    }
+
+    @Test
+    void limit_whenPermitAvailable_proceedsAndReleasesPermit() throws Throwable {
+        // Arrange
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.proceed()).thenReturn("result");
+
+        // Act
+        Object first = sut.limit(joinPoint);
+        Object second = sut.limit(joinPoint);
+
+        // Assert
+        assertEquals("result", first);
+        assertEquals("result", second);
+        assertEquals(0.0, meterRegistry.get("patients.db.limiter.in.use").gauge().value());
+    }
+
+    @Test
+    void limit_whenNestedOnSameThread_doesNotWaitForASecondPermit() throws Throwable {
+        // Arrange
+        ProceedingJoinPoint inner = mock(ProceedingJoinPoint.class);
+        when(inner.proceed()).thenReturn("inner");
+        ProceedingJoinPoint outer = mock(ProceedingJoinPoint.class);
+        when(outer.proceed()).thenAnswer(invocation -> sut.limit(inner));
+
+        // Act
+        Object result = sut.limit(outer);
+
+        // Assert
+        assertEquals("inner", result);
+    }
+
+    @Test
+    void limit_whenAllPermitsHeld_rejectsAfterTimeout() throws Throwable {
+        // Arrange
+        var holding = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        ProceedingJoinPoint blocking = mock(ProceedingJoinPoint.class);
+        when(blocking.proceed()).thenAnswer(invocation -> {
+            holding.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        });
+        Thread holder = Thread.ofVirtual().start(() -> {
+            try {
+                sut.limit(blocking);
+            } catch (Throwable ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        holding.await(5, TimeUnit.SECONDS);
+
+        // Act & Assert
+        assertThrows(DatabaseBusyException.class, () -> sut.limit(mock(ProceedingJoinPoint.class)));
+        assertEquals(1.0, meterRegistry.get("patients.db.limiter.rejections").counter().count());
+
+        release.countDown();
+        holder.join();
+    }
+}
@@ -0,0 +1,118 @@
+package com.jerosanchez.pms_patient_service.concurrency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import com.jerosanchez.pms_patient_service.config.SingleFlightProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SingleFlightAspectTest {
+    private MeterRegistry meterRegistry;
+    private ExecutorService executor;
+    private Reads target;
+    private Reads sut;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = Executors.newFixedThreadPool(2);
+        target = new Reads();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new SingleFlightAspect(new SingleFlightProperties(Set.of("enabled")), meterRegistry));
+        sut = factory.getProxy();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void coalesce_enabledOperationWithEqualArguments_sharesExecution() throws Exception {
+        // Arrange
+        Future<String> leader = executor.submit(() -> sut.enabled("page-1"));
+        assertTrue(target.running.await(5, TimeUnit.SECONDS));
+
+        // Act
+        Future<String> follower = executor.submit(() -> sut.enabled("page-1"));
+        awaitSharedCall();
+        target.release.countDown();
+
+        // Assert
+        assertEquals("page-1:1", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("page-1:1", follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, target.executions.get());
+    }
+
+    @Test
+    void coalesce_operationNotConfigured_executesEveryCall() throws Exception {
+        // Arrange
+        Future<String> first = executor.submit(() -> sut.disabled("page-1"));
+        assertTrue(target.running.await(5, TimeUnit.SECONDS));
+
+        // Act
+        Future<String> second = executor.submit(() -> sut.disabled("page-1"));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (target.executions.get() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        target.release.countDown();
+
+        // Assert
+        assertEquals(2, target.executions.get());
+        assertTrue(first.get(5, TimeUnit.SECONDS).startsWith("page-1:"));
+        assertTrue(second.get(5, TimeUnit.SECONDS).startsWith("page-1:"));
+        assertTrue(meterRegistry.find("patients.single.flight.calls").tag("operation", "disabled").meters().isEmpty());
+    }
+
+    private void awaitSharedCall() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline && meterRegistry.get("patients.single.flight.calls")
+                .tag("operation", "enabled").tag("outcome", "shared").counter().count() < 1) {
+            Thread.sleep(1);
+        }
+    }
+
+    static class Reads {
+        final AtomicInteger executions = new AtomicInteger();
+        final CountDownLatch running = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Coalesced("enabled")
+        public String enabled(String page) {
+            return read(page);
+        }
+
+        @Coalesced("disabled")
+        public String disabled(String page) {
+            return read(page);
+        }
+
+        private String read(String page) {
+            int execution = executions.incrementAndGet();
+            running.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return page + ":" + execution;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.jerosanchez.pms_patient_service.concurrency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SingleFlightTest {
+    private static final int CALLERS = 4;
+
+    private MeterRegistry meterRegistry;
+    private ExecutorService executor;
+    private SingleFlight<String, Object> sut;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = Executors.newFixedThreadPool(CALLERS);
+        sut = new SingleFlight<>("get-patients", meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_concurrentIdenticalCalls_shareOneExecution() throws Exception {
+        // Arrange
+        Object result = new Object();
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Object> leader = executor.submit(() -> sut.execute("page-1", () -> {
+            executions.incrementAndGet();
+            running.countDown();
+            await(release);
+            return result;
+        }));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+
+        // Act
+        List<Future<Object>> followers = new ArrayList<>();
+        for (int i = 1; i < CALLERS; i++) {
+            followers.add(executor.submit(() -> sut.execute("page-1", () -> {
+                executions.incrementAndGet();
+                return new Object();
+            })));
+        }
+        awaitShared(CALLERS - 1);
+        release.countDown();
+
+        // Assert
+        assertSame(result, leader.get(5, TimeUnit.SECONDS));
+        for (Future<Object> follower : followers) {
+            assertSame(result, follower.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, executions.get());
+        assertEquals(0.75, ratio(), 1e-9);
+    }
+
+    @Test
+    void execute_afterCallCompletes_executesAgain() {
+        // Arrange
+        AtomicInteger executions = new AtomicInteger();
+
+        // Act
+        sut.execute("page-1", executions::incrementAndGet);
+        Object second = sut.execute("page-1", executions::incrementAndGet);
+
+        // Assert
+        assertEquals(2, second);
+        assertEquals(0.0, ratio());
+    }
+
+    @Test
+    void execute_differentKeys_doNotShare() throws Exception {
+        // Arrange
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Object> first = executor.submit(() -> sut.execute("page-1", () -> {
+            running.countDown();
+            await(release);
+            return "first";
+        }));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+
+        // Act
+        Object second = sut.execute("page-2", () -> "second");
+        release.countDown();
+
+        // Assert
+        assertEquals("second", second);
+        assertEquals("first", first.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void execute_failingCall_sharesExceptionWithWaiters() throws Exception {
+        // Arrange
+        IllegalStateException failure = new IllegalStateException("database down");
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Object> leader = executor.submit(() -> sut.execute("page-1", () -> {
+            running.countDown();
+            await(release);
+            throw failure;
+        }));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        Future<Object> follower = executor.submit(() -> sut.execute("page-1", Object::new));
+        awaitShared(1);
+
+        // Act
+        release.countDown();
+
+        // Assert
+        ExecutionException leaderFailure = assertThrows(ExecutionException.class,
+                () -> leader.get(5, TimeUnit.SECONDS));
+        ExecutionException followerFailure = assertThrows(ExecutionException.class,
+                () -> follower.get(5, TimeUnit.SECONDS));
+        assertSame(failure, leaderFailure.getCause());
+        assertSame(failure, followerFailure.getCause());
+    }
+
+    // Followers count as shared as soon as they join, before they block on the leader's result
+    private void awaitShared(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (sharedCalls() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(expected, sharedCalls());
+    }
+
+    private double sharedCalls() {
+        return meterRegistry.get("patients.single.flight.calls").tag("outcome", "shared").counter().count();
+    }
+
+    private double ratio() {
+        return meterRegistry.get("patients.single.flight.coalescing.ratio").tag("operation", "get-patients")
+                .gauge().value();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
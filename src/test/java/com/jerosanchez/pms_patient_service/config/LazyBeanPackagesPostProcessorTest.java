@@ -0,0 +1,58 @@
+package com.jerosanchez.pms_patient_service.config;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+
+class LazyBeanPackagesPostProcessorTest {
+    private DefaultListableBeanFactory beanFactory;
+
+    @BeforeEach
+    void setUp() {
+        beanFactory = new DefaultListableBeanFactory();
+    }
+
+    @Test
+    void postProcessBeanFactory_marksBeansOfListedPackagesLazy() {
+        // Arrange
+        beanFactory.registerBeanDefinition("docs", new RootBeanDefinition("org.springdoc.core.Docs"));
+        beanFactory.registerBeanDefinition("docsConfig", new RootBeanDefinition("org.springdoc.core.DocsConfig"));
+        RootBeanDefinition declared = new RootBeanDefinition();
+        declared.setFactoryBeanName("docsConfig");
+        declared.setFactoryMethodName("docsService");
+        beanFactory.registerBeanDefinition("docsService", declared);
+        beanFactory.registerBeanDefinition("patients", new RootBeanDefinition("com.example.PatientService"));
+        beanFactory.registerBeanDefinition("lookalike", new RootBeanDefinition("org.springdocs.Other"));
+
+        // Act
+        new LazyBeanPackagesPostProcessor(List.of("org.springdoc")).postProcessBeanFactory(beanFactory);
+
+        // Assert
+        assertTrue(beanFactory.getBeanDefinition("docs").isLazyInit());
+        assertTrue(beanFactory.getBeanDefinition("docsConfig").isLazyInit());
+        assertTrue(beanFactory.getBeanDefinition("docsService").isLazyInit());
+        assertFalse(beanFactory.getBeanDefinition("patients").isLazyInit());
+        assertFalse(beanFactory.getBeanDefinition("lookalike").isLazyInit());
+    }
+
+    @Test
+    void postProcessBeanFactory_leavesInfrastructureBeansEager() {
+        // Arrange
+        RootBeanDefinition infrastructure = new RootBeanDefinition("org.springdoc.core.Processor");
+        infrastructure.setRole(BeanDefinition.ROLE_INFRASTRUCTURE);
+        beanFactory.registerBeanDefinition("processor", infrastructure);
+
+        // Act
+        new LazyBeanPackagesPostProcessor(List.of("org.springdoc")).postProcessBeanFactory(beanFactory);
+
+        // Assert
+        assertFalse(beanFactory.getBeanDefinition("processor").isLazyInit());
+    }
+}
@@ -0,0 +1,51 @@
+package com.jerosanchez.pms_patient_service.controller;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.jerosanchez.pms_patient_service.exception.EncodingNotAcceptableException;
+
+class ContentCodingsTest {
+    @Test
+    void prefersGzip_whenGzipIsListed_returnsTrue() {
+        assertTrue(ContentCodings.prefersGzip("gzip, deflate, br"));
+        assertTrue(ContentCodings.prefersGzip("deflate;q=0.5, GZIP;q=0.8"));
+        assertTrue(ContentCodings.prefersGzip("*"));
+    }
+
+    @Test
+    void prefersGzip_whenAbsentOrNotListed_returnsFalse() {
+        assertFalse(ContentCodings.prefersGzip(null));
+        assertFalse(ContentCodings.prefersGzip(""));
+        assertFalse(ContentCodings.prefersGzip("deflate, br"));
+    }
+
+    @Test
+    void prefersGzip_whenGzipHasQualityZero_returnsFalse() {
+        assertFalse(ContentCodings.prefersGzip("gzip;q=0"));
+        assertFalse(ContentCodings.prefersGzip("gzip; q=0.000, deflate"));
+        assertFalse(ContentCodings.prefersGzip("*, gzip;q=0"));
+        assertFalse(ContentCodings.prefersGzip("gzip;q=abc"));
+    }
+
+    @Test
+    void prefersGzip_whenIdentityIsRankedHigher_returnsFalse() {
+        assertFalse(ContentCodings.prefersGzip("gzip;q=0.5, identity"));
+    }
+
+    @Test
+    void prefersGzip_whenOnlyGzipRemainsAcceptable_returnsTrue() {
+        assertTrue(ContentCodings.prefersGzip("gzip;q=0.1, identity;q=0"));
+        assertTrue(ContentCodings.prefersGzip("gzip;q=0.1, *;q=0"));
+    }
+
+    @Test
+    void prefersGzip_whenGzipAndIdentityAreRuledOut_throwsNotAcceptable() {
+        assertThrows(EncodingNotAcceptableException.class, () -> ContentCodings.prefersGzip("*;q=0"));
+        assertThrows(EncodingNotAcceptableException.class,
+                () -> ContentCodings.prefersGzip("br, identity;q=0"));
+    }
+}
@@ -0,0 +1,140 @@
+package com.jerosanchez.pms_patient_service.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+
+class ContentLengthFilterTest {
+    private static final byte[] BODY = "[{\"id\":\"1\"}]".getBytes(StandardCharsets.UTF_8);
+
+    private final ContentLengthFilter sut = new ContentLengthFilter(64);
+
+    @Test
+    void doFilter_flushedBody_isSentWithContentLength() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/patients");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        boolean[] committedWhileWriting = new boolean[1];
+        FilterChain chain = (req, res) -> {
+            res.getOutputStream().write(BODY);
+            res.getOutputStream().flush();
+            res.flushBuffer();
+            committedWhileWriting[0] = response.isCommitted();
+        };
+
+        // Act
+        sut.doFilter(request, response, chain);
+
+        // Assert
+        assertFalse(committedWhileWriting[0]);
+        assertEquals(BODY.length, response.getContentLength());
+        assertEquals(new String(BODY, StandardCharsets.UTF_8), response.getContentAsString());
+    }
+
+    @Test
+    void doFilter_bodyPastTheLimit_isStreamedWithoutContentLength() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/patients");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        boolean[] committedWhileWriting = new boolean[1];
+        FilterChain chain = (req, res) -> {
+            for (int i = 0; i < 10; i++) {
+                res.getOutputStream().write(BODY);
+            }
+            res.getOutputStream().flush();
+            committedWhileWriting[0] = response.isCommitted();
+        };
+
+        // Act
+        sut.doFilter(request, response, chain);
+
+        // Assert
+        assertTrue(committedWhileWriting[0]);
+        assertNull(response.getHeader("Content-Length"));
+        assertEquals(new String(BODY, StandardCharsets.UTF_8).repeat(10), response.getContentAsString());
+    }
+
+    @Test
+    void doFilter_export_isStreamedUnbuffered() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/patients/export");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        boolean[] committedWhileWriting = new boolean[1];
+        FilterChain chain = (req, res) -> {
+            res.getOutputStream().write(BODY);
+            res.flushBuffer();
+            committedWhileWriting[0] = response.isCommitted();
+        };
+
+        // Act
+        sut.doFilter(request, response, chain);
+
+        // Assert
+        assertTrue(committedWhileWriting[0]);
+        assertEquals(new String(BODY, StandardCharsets.UTF_8), response.getContentAsString());
+    }
+
+    @Test
+    void doFilter_asyncResponse_streamsWhatIsWrittenAfterTheFilterReturns() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/patients");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ServletResponse[] wrapped = new ServletResponse[1];
+        FilterChain chain = (req, res) -> {
+            req.startAsync(req, res);
+            wrapped[0] = res;
+        };
+
+        // Act
+        sut.doFilter(request, response, chain);
+        wrapped[0].getOutputStream().write(BODY);
+
+        // Assert
+        assertNull(response.getHeader("Content-Length"));
+        assertEquals(new String(BODY, StandardCharsets.UTF_8), response.getContentAsString());
+    }
+
+    @Test
+    void setWriteListener_sendsWhatIsHeldAndHandsTheListenerToTheServer() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/patients");
+        ServletOutputStream serverStream = mock(ServletOutputStream.class);
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        when(response.getOutputStream()).thenReturn(serverStream);
+        when(serverStream.isReady()).thenReturn(false);
+        WriteListener listener = mock(WriteListener.class);
+        boolean[] readyAfterListener = new boolean[] { true };
+        FilterChain chain = (req, res) -> {
+            res.getOutputStream().write(BODY);
+            res.getOutputStream().setWriteListener(listener);
+            readyAfterListener[0] = res.getOutputStream().isReady();
+        };
+
+        // Act
+        sut.doFilter(request, response, chain);
+
+        // Assert
+        verify(serverStream).write(ArgumentMatchers.any(byte[].class), ArgumentMatchers.eq(0),
+                ArgumentMatchers.eq(BODY.length));
+        verify(serverStream).setWriteListener(listener);
+        assertFalse(readyAfterListener[0]);
+    }
+}
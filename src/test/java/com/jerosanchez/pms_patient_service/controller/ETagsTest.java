@@ -0,0 +1,51 @@
+package com.jerosanchez.pms_patient_service.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.jerosanchez.pms_patient_service.exception.PreconditionFailedException;
+
+class ETagsTest {
+    @Test
+    void of_quotesTheVersion() {
+        assertEquals("\"7\"", ETags.of(7));
+    }
+
+    @Test
+    void parseIfMatch_readsAStrongETag() {
+        assertEquals(7L, ETags.parseIfMatch(" \"7\" "));
+    }
+
+    @Test
+    void parseIfMatch_whenAbsentOrWildcard_returnsNull() {
+        assertNull(ETags.parseIfMatch(null));
+        assertNull(ETags.parseIfMatch(""));
+        assertNull(ETags.parseIfMatch("*"));
+    }
+
+    @Test
+    void parseIfMatch_whenWeakOrMalformed_throwsPreconditionFailed() {
+        assertThrows(PreconditionFailedException.class, () -> ETags.parseIfMatch("W/\"7\""));
+        assertThrows(PreconditionFailedException.class, () -> ETags.parseIfMatch("7"));
+        assertThrows(PreconditionFailedException.class, () -> ETags.parseIfMatch("\"abc\""));
+        assertThrows(PreconditionFailedException.class, () -> ETags.parseIfMatch("\"1\", \"2\""));
+    }
+
+    @Test
+    void noneMatchHits_comparesWeaklyAcrossEveryListedTag() {
+        assertTrue(ETags.noneMatchHits(new String[] { "W/\"3\", W/\"7\"" }, "W/\"7\""));
+        assertTrue(ETags.noneMatchHits(new String[] { "\"7\"" }, "W/\"7\""));
+        assertTrue(ETags.noneMatchHits(new String[] { "*" }, "W/\"7\""));
+    }
+
+    @Test
+    void noneMatchHits_whenAbsentOrDifferent_returnsFalse() {
+        assertFalse(ETags.noneMatchHits(null, "W/\"7\""));
+        assertFalse(ETags.noneMatchHits(new String[] { "W/\"6\"" }, "W/\"7\""));
+    }
+}
@@ -1,30 +1,66 @@
 package com.jerosanchez.pms_patient_service.controller;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.jerosanchez.pms_patient_service.cache.PatientCollectionVersion;
+import com.jerosanchez.pms_patient_service.dto.PatientBatchDeleteResponseDTO;
+import com.jerosanchez.pms_patient_service.dto.PatientBatchResponseDTO;
+import com.jerosanchez.pms_patient_service.dto.PatientBatchResultDTO;
+import com.jerosanchez.pms_patient_service.dto.PatientChangeDTO;
+import com.jerosanchez.pms_patient_service.dto.PatientChangesDTO;
+import com.jerosanchez.pms_patient_service.dto.PatientPageDTO;
+import com.jerosanchez.pms_patient_service.dto.PatientPatchDTO;
 import com.jerosanchez.pms_patient_service.dto.PatientRequestDTO;
 import com.jerosanchez.pms_patient_service.dto.PatientResponseDTO;
+import com.jerosanchez.pms_patient_service.dto.VersionedPatientPageDTO;
 import com.jerosanchez.pms_patient_service.exception.EmailAlreadyExistsException;
 import com.jerosanchez.pms_patient_service.mapper.PatientMapper;
 import com.jerosanchez.pms_patient_service.model.Patient;
+import com.jerosanchez.pms_patient_service.idempotency.IdempotencyStore;
+import com.jerosanchez.pms_patient_service.index.PatientSemanticIndex;
+import com.jerosanchez.pms_patient_service.index.PatientTypeaheadIndex;
+import com.jerosanchez.pms_patient_service.repository.PatientChangeCounterRepository;
+import com.jerosanchez.pms_patient_service.service.PatientChangeFeedService;
 import com.jerosanchez.pms_patient_service.service.PatientService;
 import com.jerosanchez.pms_patient_service.test_helpers.DtoTestFactory;
 import com.jerosanchez.pms_patient_service.test_helpers.PatientAssertions;
@@ -35,12 +71,35 @@ class PatientControllerTest {
     @Mock
     private PatientService patientService;
 
+    @Mock
+    private PatientChangeFeedService changeFeedService;
+
+    @Spy
+    private PatientCollectionVersion collectionVersion = new PatientCollectionVersion(
+            mock(PatientChangeCounterRepository.class));
+
+    @Mock
+    private PatientTypeaheadIndex typeaheadIndex;
+
+    @Mock
+    private PatientSemanticIndex semanticIndex;
+
+    @Mock
+    private IdempotencyStore idempotencyStore;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    private ServletWebRequest webRequest;
+
     @InjectMocks
     private PatientController sut;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        webRequest = new ServletWebRequest(new MockHttpServletRequest("GET", "/api/patients"),
+                new MockHttpServletResponse());
     }
 
     // --- Get Patients Tests ---
@@ -49,10 +108,10 @@ class PatientControllerTest {
     void getPatients_returnsListAndOk() {
         // Arrange
         List<PatientResponseDTO> dtos = createRandomPatientResponseDTOList(2);
-        when(patientService.getPatients()).thenReturn(dtos);
+        when(patientService.getPatients(null, null)).thenReturn(pageAt(0, dtos, null));
 
         // Act
-        ResponseEntity<List<PatientResponseDTO>> response = sut.getPatients();
+        ResponseEntity<List<PatientResponseDTO>> response = sut.getPatients(null, null, webRequest);
 
         // Assert
         assertEquals(HttpStatus.OK.value(), response.getStatusCode().value());
@@ -61,17 +120,18 @@ class PatientControllerTest {
         assertNotNull(body);
         assertEquals(dtos.size(), body.size());
         assertEquals(dtos, body);
+        assertFalse(response.getHeaders().containsKey(PatientController.NEXT_CURSOR_HEADER));
 
-        verify(patientService, times(1)).getPatients();
+        verify(patientService, times(1)).getPatients(null, null);
     }
 
     @Test
     void getPatients_returnsEmptyListAndOk() {
         // Arrange
-        when(patientService.getPatients()).thenReturn(List.of());
+        when(patientService.getPatients(null, null)).thenReturn(pageAt(0, List.of(), null));
 
         // Act
-        ResponseEntity<List<PatientResponseDTO>> response = sut.getPatients();
+        ResponseEntity<List<PatientResponseDTO>> response = sut.getPatients(null, null, webRequest);
 
         // Assert
         assertEquals(HttpStatus.OK.value(), response.getStatusCode().value());
@@ -81,7 +141,74 @@ class PatientControllerTest {
         assertNotNull(body);
         assertTrue(body.isEmpty());
 
-        verify(patientService, times(1)).getPatients();
+        verify(patientService, times(1)).getPatients(null, null);
+    }
+
+    @Test
+    void getPatients_whenMorePagesExist_returnsNextCursorHeader() {
+        // Arrange
+        List<PatientResponseDTO> dtos = createRandomPatientResponseDTOList(2);
+        when(patientService.getPatients("cursor", 2)).thenReturn(pageAt(0, dtos, "next"));
+
+        // Act
+        ResponseEntity<List<PatientResponseDTO>> response = sut.getPatients("cursor", 2, webRequest);
+
+        // Assert
+        assertEquals(HttpStatus.OK.value(), response.getStatusCode().value());
+        assertEquals("next", response.getHeaders().getFirst(PatientController.NEXT_CURSOR_HEADER));
+    }
+
+    // --- Export Patients Tests ---
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void exportPatients_streamsOneJsonObjectPerLine() throws Exception {
+        // Arrange
+        List<PatientResponseDTO> dtos = createRandomPatientResponseDTOList(2);
+        doAnswer(invocation -> {
+            dtos.forEach(invocation.getArgument(0, Consumer.class));
+            return (long) dtos.size();
+        }).when(patientService).exportPatients(any());
+
+        // Act
+        ResponseEntity<StreamingResponseBody> response = sut.exportPatients(null);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+
+        // Assert
+        assertEquals(HttpStatus.OK.value(), response.getStatusCode().value());
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING));
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(dtos.get(0), objectMapper.readValue(lines[0], PatientResponseDTO.class));
+        assertEquals(dtos.get(1), objectMapper.readValue(lines[1], PatientResponseDTO.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void exportPatients_whenClientAcceptsGzip_compressesStream() throws Exception {
+        // Arrange
+        List<PatientResponseDTO> dtos = createRandomPatientResponseDTOList(3);
+        doAnswer(invocation -> {
+            dtos.forEach(invocation.getArgument(0, Consumer.class));
+            return (long) dtos.size();
+        }).when(patientService).exportPatients(any());
+
+        // Act
+        ResponseEntity<StreamingResponseBody> response = sut.exportPatients("gzip, deflate");
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+
+        // Assert
+        assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+
+        try (var input = new GZIPInputStream(new ByteArrayInputStream(output.toByteArray()))) {
+            String[] lines = new String(input.readAllBytes(), StandardCharsets.UTF_8).split("\n");
+            assertEquals(3, lines.length);
+            assertEquals(dtos.get(2), objectMapper.readValue(lines[2], PatientResponseDTO.class));
+        }
     }
 
     // --- Create Patient Tests ---
@@ -95,7 +222,7 @@ class PatientControllerTest {
         when(patientService.createPatient(request)).thenReturn(responseDTO);
 
         // Act
-        ResponseEntity<PatientResponseDTO> response = sut.createPatient(request);
+        ResponseEntity<PatientResponseDTO> response = sut.createPatient(null, request);
 
         // Assert
         assertEquals(HttpStatus.OK.value(), response.getStatusCode().value());
@@ -115,11 +242,92 @@ class PatientControllerTest {
                 .thenThrow(new EmailAlreadyExistsException("exists"));
 
         // Act & Assert
-        assertThrows(EmailAlreadyExistsException.class, () -> sut.createPatient(request));
+        assertThrows(EmailAlreadyExistsException.class, () -> sut.createPatient(null, request));
 
         verify(patientService, times(1)).createPatient(request);
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void createPatient_withIdempotencyKeyReplayed_returnsStoredResponseWithReplayedHeader() {
+        // Arrange
+        Patient model = PatientTestFactory.createRandomPatient();
+        PatientRequestDTO request = DtoTestFactory.toRequestDTO(model);
+        PatientResponseDTO responseDTO = PatientMapper.toDTO(model);
+
+        when(idempotencyStore.execute(eq("key-1"), eq(request), any(Supplier.class)))
+                .thenReturn(new IdempotencyStore.Outcome(responseDTO, true));
+
+        // Act
+        ResponseEntity<PatientResponseDTO> response = sut.createPatient("key-1", request);
+
+        // Assert
+        assertEquals(HttpStatus.OK.value(), response.getStatusCode().value());
+        assertEquals(responseDTO, response.getBody());
+        assertEquals("true", response.getHeaders().getFirst(PatientController.IDEMPOTENT_REPLAYED_HEADER));
+        verify(patientService, never()).createPatient(any());
+    }
+
+    // --- Create Patients Batch Tests ---
+
+    @Test
+    void createPatients_returnsBatchResultAndOk() {
+        // Arrange
+        Patient model = PatientTestFactory.createRandomPatient();
+        List<PatientRequestDTO> requests = List.of(DtoTestFactory.toRequestDTO(model));
+        PatientBatchResponseDTO responseDTO = new PatientBatchResponseDTO(1, 0,
+                List.of(PatientBatchResultDTO.created(0, PatientMapper.toDTO(model))));
+
+        when(patientService.createPatients(requests)).thenReturn(responseDTO);
+
+        // Act
+        ResponseEntity<PatientBatchResponseDTO> response = sut.createPatients(requests);
+
+        // Assert
+        assertEquals(HttpStatus.OK.value(), response.getStatusCode().value());
+        assertEquals(responseDTO, response.getBody());
+
+        verify(patientService, times(1)).createPatients(requests);
+    }
+
+    @Test
+    void getPatients_whenIfNoneMatchIsCurrent_returnsNotModifiedWithoutQuerying() {
+        // Arrange
+        var request = new MockHttpServletRequest("GET", "/api/patients");
+        request.addHeader("If-None-Match", collectionVersion.etag(collectionVersion.current()));
+        var servletResponse = new MockHttpServletResponse();
+
+        // Act
+        ResponseEntity<List<PatientResponseDTO>> response = sut.getPatients(null, null,
+                new ServletWebRequest(request, servletResponse));
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(collectionVersion.etag(collectionVersion.current()), response.getHeaders().getETag());
+        assertNull(response.getBody());
+        verify(patientService, times(0)).getPatients(any(), any());
+    }
+
+    // --- Get Patient Tests ---
+
+    @Test
+    void getPatient_returnsPatientAndOk() {
+        // Arrange
+        Patient model = PatientTestFactory.createRandomPatient();
+        when(patientService.getPatient(model.getId())).thenReturn(PatientMapper.toVersionedDTO(model));
+
+        // Act
+        ResponseEntity<PatientResponseDTO> response = sut.getPatient(model.getId());
+
+        // Assert
+        assertEquals(HttpStatus.OK.value(), response.getStatusCode().value());
+        assertEquals("\"0\"", response.getHeaders().getETag());
+        assertNotNull(response.getBody());
+        PatientAssertions.assertEqual(model, response.getBody());
+
+        verify(patientService, times(1)).getPatient(model.getId());
+    }
+
     // --- Update Patient Tests ---
 
     @Test
@@ -129,19 +337,92 @@ class PatientControllerTest {
 
         // No need to update fields, we are only testing the controller layer
         PatientRequestDTO request = DtoTestFactory.toRequestDTO(model);
-        PatientResponseDTO responseDTO = PatientMapper.toDTO(model);
 
-        when(patientService.updatePatient(model.getId(), request)).thenReturn(responseDTO);
+        when(patientService.updatePatient(model.getId(), request, 0L)).thenReturn(PatientMapper.toVersionedDTO(model));
 
         // Act
-        ResponseEntity<PatientResponseDTO> response = sut.updatePatient(model.getId(), request);
+        ResponseEntity<PatientResponseDTO> response = sut.updatePatient(model.getId(), "\"0\"", request);
 
         // Assert
         assertEquals(HttpStatus.OK.value(), response.getStatusCode().value());
         assertNotNull(response.getBody());
         PatientAssertions.assertEqual(model, response.getBody());
 
-        verify(patientService, times(1)).updatePatient(model.getId(), request);
+        verify(patientService, times(1)).updatePatient(model.getId(), request, 0L);
+    }
+
+    // --- Patch Patient Tests ---
+
+    @Test
+    void patchPatient_returnsPatchedPatientWithETag() {
+        // Arrange
+        Patient model = PatientTestFactory.createRandomPatient();
+        model.setVersion(5L);
+        PatientPatchDTO request = new PatientPatchDTO();
+        request.setAddress(model.getAddress());
+
+        when(patientService.patchPatient(model.getId(), request, null)).thenReturn(PatientMapper.toVersionedDTO(model));
+
+        // Act
+        ResponseEntity<PatientResponseDTO> response = sut.patchPatient(model.getId(), null, request);
+
+        // Assert
+        assertEquals(HttpStatus.OK.value(), response.getStatusCode().value());
+        assertEquals("\"5\"", response.getHeaders().getETag());
+        PatientAssertions.assertEqual(model, response.getBody());
+
+        verify(patientService, times(1)).patchPatient(model.getId(), request, null);
+    }
+
+    // --- Typeahead Tests ---
+
+    @Test
+    void typeahead_returnsMatchesAndOk() {
+        // Arrange
+        List<PatientResponseDTO> dtos = createRandomPatientResponseDTOList(2);
+        when(typeaheadIndex.search("smi", 5)).thenReturn(dtos);
+
+        // Act
+        ResponseEntity<List<PatientResponseDTO>> response = sut.typeahead("smi", 5);
+
+        // Assert
+        assertEquals(HttpStatus.OK.value(), response.getStatusCode().value());
+        assertEquals(dtos, response.getBody());
+    }
+
+    // --- Semantic Search Tests ---
+
+    @Test
+    void semanticSearch_returnsMatchesAndOk() {
+        // Arrange
+        List<PatientResponseDTO> dtos = createRandomPatientResponseDTOList(2);
+        when(semanticIndex.search("john smith main street", 5)).thenReturn(dtos);
+
+        // Act
+        ResponseEntity<List<PatientResponseDTO>> response = sut.semanticSearch("john smith main street", 5);
+
+        // Assert
+        assertEquals(HttpStatus.OK.value(), response.getStatusCode().value());
+        assertEquals(dtos, response.getBody());
+    }
+
+    // --- Change Feed Tests ---
+
+    @Test
+    void getChanges_returnsChangesAndOk() {
+        // Arrange
+        PatientResponseDTO dto = createRandomPatientResponseDTOList(1).get(0);
+        PatientChangesDTO changes = new PatientChangesDTO(
+                List.of(PatientChangeDTO.saved(dto), PatientChangeDTO.deleted(UUID.randomUUID().toString())),
+                "next", false);
+        when(changeFeedService.getChanges("since", 10)).thenReturn(changes);
+
+        // Act
+        ResponseEntity<PatientChangesDTO> response = sut.getChanges("since", 10);
+
+        // Assert
+        assertEquals(HttpStatus.OK.value(), response.getStatusCode().value());
+        assertEquals(changes, response.getBody());
     }
 
     // --- Delete Patient Tests ---
@@ -173,6 +454,23 @@ class PatientControllerTest {
         verify(patientService, times(1)).deletePatient(id);
     }
 
+    @Test
+    void deletePatients_returnsDeletedIds() {
+        // Arrange
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+        PatientBatchDeleteResponseDTO responseDTO = new PatientBatchDeleteResponseDTO(1, List.of(ids.get(0)));
+        when(patientService.deletePatients(ids)).thenReturn(responseDTO);
+
+        // Act
+        ResponseEntity<PatientBatchDeleteResponseDTO> response = sut.deletePatients(ids);
+
+        // Assert
+        assertEquals(HttpStatus.OK.value(), response.getStatusCode().value());
+        assertEquals(responseDTO, response.getBody());
+
+        verify(patientService, times(1)).deletePatients(ids);
+    }
+
     // Helper methods
 
     private List<PatientResponseDTO> createRandomPatientResponseDTOList(int count) {
@@ -184,4 +482,7 @@ class PatientControllerTest {
         return dtos;
     }
 
+    private static VersionedPatientPageDTO pageAt(long version, List<PatientResponseDTO> patients, String nextCursor) {
+        return new VersionedPatientPageDTO(new PatientPageDTO(patients, nextCursor), version);
+    }
 }
@@ -4,36 +4,84 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.sql.SQLException;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.exception.ConstraintViolationException.ConstraintKind;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jerosanchez.pms_patient_service.cache.PatientCollectionVersion;
+import com.jerosanchez.pms_patient_service.dto.PatientBatchDeleteResponseDTO;
+import com.jerosanchez.pms_patient_service.dto.PatientBatchResponseDTO;
+import com.jerosanchez.pms_patient_service.dto.PatientBatchResultDTO;
+import com.jerosanchez.pms_patient_service.dto.PatientChangeDTO;
+import com.jerosanchez.pms_patient_service.dto.PatientChangesDTO;
+import com.jerosanchez.pms_patient_service.dto.PatientPageDTO;
+import com.jerosanchez.pms_patient_service.dto.PatientPatchDTO;
 import com.jerosanchez.pms_patient_service.dto.PatientRequestDTO;
 import com.jerosanchez.pms_patient_service.dto.PatientResponseDTO;
+import com.jerosanchez.pms_patient_service.dto.PatientSearchDTO;
+import com.jerosanchez.pms_patient_service.dto.VersionedPatientPageDTO;
+import com.jerosanchez.pms_patient_service.exception.BatchTooLargeException;
+import com.jerosanchez.pms_patient_service.exception.ChangeCursorExpiredException;
+import com.jerosanchez.pms_patient_service.exception.DatabaseBusyException;
 import com.jerosanchez.pms_patient_service.exception.EmailAlreadyExistsException;
+import com.jerosanchez.pms_patient_service.exception.IdempotencyKeyInUseException;
+import com.jerosanchez.pms_patient_service.exception.IdempotencyKeyMismatchException;
+import com.jerosanchez.pms_patient_service.exception.InvalidCursorException;
 import com.jerosanchez.pms_patient_service.exception.PatientNotFoundException;
+import com.jerosanchez.pms_patient_service.exception.PreconditionFailedException;
+import com.jerosanchez.pms_patient_service.exception.SemanticSearchUnavailableException;
+import com.jerosanchez.pms_patient_service.exception.ServiceOverloadedException;
+import com.jerosanchez.pms_patient_service.exception.TypeaheadUnavailableException;
+import com.jerosanchez.pms_patient_service.idempotency.IdempotencyStore;
+import com.jerosanchez.pms_patient_service.index.PatientSemanticIndex;
+import com.jerosanchez.pms_patient_service.index.PatientTypeaheadIndex;
 import com.jerosanchez.pms_patient_service.mapper.PatientMapper;
 import com.jerosanchez.pms_patient_service.model.Patient;
+import com.jerosanchez.pms_patient_service.repository.PatientChangeSlotRepository;
+import com.jerosanchez.pms_patient_service.service.PatientChangeFeedService;
 import com.jerosanchez.pms_patient_service.service.PatientService;
 import com.jerosanchez.pms_patient_service.test_helpers.DtoTestFactory;
 import com.jerosanchez.pms_patient_service.test_helpers.PatientTestFactory;
 
 @WebMvcTest(PatientController.class)
+@Import(PatientCollectionVersion.class)
 class PatientControllerWebTest {
     @Autowired
     private MockMvc mockMvc;
@@ -41,9 +89,27 @@ class PatientControllerWebTest {
     @MockBean
     private PatientService patientService;
 
+    @MockBean
+    private PatientChangeFeedService changeFeedService;
+
+    @MockBean
+    private PatientTypeaheadIndex typeaheadIndex;
+
+    @MockBean
+    private PatientSemanticIndex semanticIndex;
+
+    @MockBean
+    private IdempotencyStore idempotencyStore;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @MockBean
+    private PatientChangeSlotRepository slotRepository;
+
+    @Autowired
+    private PatientCollectionVersion collectionVersion;
+
     // --- Get Patients Tests ---
 
     @Test
@@ -54,10 +120,11 @@ class PatientControllerWebTest {
         Patient model2 = PatientTestFactory.createRandomPatient();
         PatientResponseDTO dto1 = PatientMapper.toDTO(model1);
         PatientResponseDTO dto2 = PatientMapper.toDTO(model2);
-        when(patientService.getPatients()).thenReturn(List.of(dto1, dto2));
+        when(patientService.getPatients(null, null)).thenReturn(pageAt(0, List.of(dto1, dto2), null));
 
         mockMvc.perform(get("/api/patients"))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
                 .andExpect(jsonPath("$", hasSize(2)))
                 .andExpect(jsonPath("$[0].id", is(dto1.id())))
                 .andExpect(jsonPath("$[0].name", is(dto1.name())))
@@ -65,12 +132,54 @@ class PatientControllerWebTest {
                 .andExpect(jsonPath("$[1].email", is(dto2.email())));
     }
 
+    @Test
+    @DisplayName("GET /api/patients returns the collection ETag and answers a matching If-None-Match with 304")
+    void getPatients_conditional_returnsNotModified() throws Exception {
+        when(patientService.getPatients(null, null)).thenReturn(pageAt(0, List.of(), null));
+
+        String etag = mockMvc.perform(get("/api/patients"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Last-Modified"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/patients").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(patientService, times(1)).getPatients(null, null);
+    }
+
+    @Test
+    @DisplayName("GET /api/patients after a write returns 200 with a new ETag")
+    void getPatients_afterWrite_returnsNewETag() throws Exception {
+        when(patientService.getPatients(null, null)).thenReturn(pageAt(4, List.of(), null));
+        when(slotRepository.sumWrites()).thenReturn(3L);
+        String etag = collectionVersion.etag(collectionVersion.current());
+
+        when(slotRepository.sumWrites()).thenReturn(4L);
+
+        mockMvc.perform(get("/api/patients").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", collectionVersion.etag(4)));
+    }
+
+    @Test
+    @DisplayName("GET /api/patients tags a page read before a write with the version it was read at")
+    void getPatients_pageReadBeforeWrite_returnsThePageVersion() throws Exception {
+        when(slotRepository.sumWrites()).thenReturn(4L);
+        when(patientService.getPatients(null, null)).thenReturn(pageAt(3, List.of(), null));
+
+        mockMvc.perform(get("/api/patients"))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues("ETag", collectionVersion.etag(3)));
+    }
+
     @Test
     @SuppressWarnings("null")
     @DisplayName("GET /api/patients returns empty list")
     void getPatients_returnsEmptyList() throws Exception {
         // Arrange
-        when(patientService.getPatients()).thenReturn(List.of());
+        when(patientService.getPatients(null, null)).thenReturn(pageAt(0, List.of(), null));
 
         // Act & Assert
         mockMvc.perform(get("/api/patients"))
@@ -78,6 +187,216 @@ class PatientControllerWebTest {
                 .andExpect(jsonPath("$", hasSize(0)));
     }
 
+    @Test
+    @SuppressWarnings("null")
+    @DisplayName("GET /api/patients with cursor and size returns page and next cursor header")
+    void getPatients_withCursorAndSize_returnsPageAndNextCursor() throws Exception {
+        // Arrange
+        PatientResponseDTO dto = PatientMapper.toDTO(PatientTestFactory.createRandomPatient());
+        when(patientService.getPatients("abc", 1)).thenReturn(pageAt(0, List.of(dto), "def"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/patients").param("cursor", "abc").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "def"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(dto.id())));
+    }
+
+    @Test
+    @DisplayName("GET /api/patients with malformed cursor returns 400")
+    void getPatients_malformedCursor_returnsBadRequest() throws Exception {
+        // Arrange
+        when(patientService.getPatients("bad", null)).thenThrow(new InvalidCursorException("bad"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/patients").param("cursor", "bad"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // --- Search Patients Tests ---
+
+    @Test
+    @SuppressWarnings("null")
+    @DisplayName("GET /api/patients/search binds the filters and returns the page with its next cursor")
+    void searchPatients_withFilters_returnsPage() throws Exception {
+        // Arrange
+        PatientResponseDTO dto = PatientMapper.toDTO(PatientTestFactory.createRandomPatient());
+        PatientSearchDTO search = new PatientSearchDTO("Sm", null, LocalDate.of(1980, 1, 1),
+                LocalDate.of(1989, 12, 31), null, null);
+        when(patientService.searchPatients(search, null, 10)).thenReturn(new PatientPageDTO(List.of(dto), "def"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/patients/search")
+                .param("name", "Sm")
+                .param("dateOfBirthFrom", "1980-01-01")
+                .param("dateOfBirthTo", "1989-12-31")
+                .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "def"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(dto.id())));
+    }
+
+    @Test
+    @DisplayName("GET /api/patients/search with a malformed date returns 400")
+    void searchPatients_malformedDate_returnsBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/patients/search").param("registeredDateFrom", "2024-13-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // --- Typeahead Tests ---
+
+    @Test
+    @SuppressWarnings("null")
+    @DisplayName("GET /api/patients/typeahead returns the ranked matches")
+    void typeahead_returnsMatches() throws Exception {
+        // Arrange
+        PatientResponseDTO dto = PatientMapper.toDTO(PatientTestFactory.createRandomPatient());
+        when(typeaheadIndex.search("jhon", null)).thenReturn(List.of(dto));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/patients/typeahead").param("q", "jhon"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(dto.id())));
+    }
+
+    @Test
+    @DisplayName("GET /api/patients/typeahead before the index is built returns 503 with Retry-After")
+    void typeahead_indexNotReady_returnsServiceUnavailable() throws Exception {
+        // Arrange
+        when(typeaheadIndex.search("jhon", null)).thenThrow(new TypeaheadUnavailableException("not built"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/patients/typeahead").param("q", "jhon"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    @DisplayName("GET /api/patients/typeahead without a query returns 400")
+    void typeahead_missingQuery_returnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/patients/typeahead"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // --- Semantic Search Tests ---
+
+    @Test
+    @SuppressWarnings("null")
+    @DisplayName("GET /api/patients/semantic returns the closest patients")
+    void semanticSearch_returnsMatches() throws Exception {
+        // Arrange
+        PatientResponseDTO dto = PatientMapper.toDTO(PatientTestFactory.createRandomPatient());
+        when(semanticIndex.search("john on main street", 3)).thenReturn(List.of(dto));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/patients/semantic").param("q", "john on main street").param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(dto.id())));
+    }
+
+    @Test
+    @DisplayName("GET /api/patients/semantic before the index is built returns 503 with Retry-After")
+    void semanticSearch_indexNotReady_returnsServiceUnavailable() throws Exception {
+        // Arrange
+        when(semanticIndex.search("john", null)).thenThrow(new SemanticSearchUnavailableException("not built"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/patients/semantic").param("q", "john"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    // --- Change Feed Tests ---
+
+    @Test
+    @SuppressWarnings("null")
+    @DisplayName("GET /api/patients/changes returns saved patients, tombstones and the next cursor")
+    void getChanges_returnsChangesAndNextCursor() throws Exception {
+        // Arrange
+        PatientResponseDTO dto = PatientMapper.toDTO(PatientTestFactory.createRandomPatient());
+        String deletedId = UUID.randomUUID().toString();
+        when(changeFeedService.getChanges("abc", 2)).thenReturn(new PatientChangesDTO(
+                List.of(PatientChangeDTO.saved(dto), PatientChangeDTO.deleted(deletedId)), "def", true));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/patients/changes").param("since", "abc").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(2)))
+                .andExpect(jsonPath("$.changes[0].id", is(dto.id())))
+                .andExpect(jsonPath("$.changes[0].deleted", is(false)))
+                .andExpect(jsonPath("$.changes[0].patient.email", is(dto.email())))
+                .andExpect(jsonPath("$.changes[1].id", is(deletedId)))
+                .andExpect(jsonPath("$.changes[1].deleted", is(true)))
+                .andExpect(jsonPath("$.changes[1].patient").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor", is("def")))
+                .andExpect(jsonPath("$.hasMore", is(true)));
+    }
+
+    @Test
+    @DisplayName("GET /api/patients/changes with an expired cursor returns 410")
+    void getChanges_expiredCursor_returnsGone() throws Exception {
+        // Arrange
+        when(changeFeedService.getChanges("old", null)).thenThrow(new ChangeCursorExpiredException("expired"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/patients/changes").param("since", "old"))
+                .andExpect(status().isGone());
+    }
+
+    @Test
+    @DisplayName("GET /api/patients/changes with a malformed cursor returns 400")
+    void getChanges_malformedCursor_returnsBadRequest() throws Exception {
+        // Arrange
+        when(changeFeedService.getChanges("bad", null)).thenThrow(new InvalidCursorException("bad"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/patients/changes").param("since", "bad"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // --- Export Patients Tests ---
+
+    @Test
+    @SuppressWarnings({ "null", "unchecked" })
+    @DisplayName("GET /api/patients/export streams patients as NDJSON")
+    void exportPatients_streamsNdjson() throws Exception {
+        // Arrange
+        PatientResponseDTO dto1 = PatientMapper.toDTO(PatientTestFactory.createRandomPatient());
+        PatientResponseDTO dto2 = PatientMapper.toDTO(PatientTestFactory.createRandomPatient());
+        doAnswer(invocation -> {
+            Consumer<PatientResponseDTO> sink = invocation.getArgument(0);
+            sink.accept(dto1);
+            sink.accept(dto2);
+            return 2L;
+        }).when(patientService).exportPatients(any());
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/patients/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(objectMapper.writeValueAsString(dto1) + "\n"
+                        + objectMapper.writeValueAsString(dto2) + "\n"));
+    }
+
+    @Test
+    @DisplayName("GET /api/patients/export refusing both gzip and identity returns 406 Not Acceptable")
+    void exportPatients_noAcceptableEncoding_returnsNotAcceptable() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/patients/export").header(HttpHeaders.ACCEPT_ENCODING, "br, *;q=0"))
+                .andExpect(status().isNotAcceptable());
+        verify(patientService, never()).exportPatients(any());
+    }
+
     // --- Create Patient Tests ---
 
     @Test
@@ -126,6 +445,213 @@ class PatientControllerWebTest {
                 .andExpect(status().isConflict());
     }
 
+    @Test
+    @SuppressWarnings("null")
+    @DisplayName("POST /api/patients rejected by the email unique constraint returns 409")
+    void createPatient_emailConstraintViolated_returnsConflict() throws Exception {
+        Patient model = com.jerosanchez.pms_patient_service.test_helpers.PatientTestFactory
+                .createRandomPatient();
+        PatientRequestDTO request = com.jerosanchez.pms_patient_service.test_helpers.DtoTestFactory
+                .toRequestDTO(model);
+        when(patientService.createPatient(any(PatientRequestDTO.class)))
+                .thenThrow(constraintViolated(ConstraintKind.UNIQUE, "PUBLIC.PATIENT_EMAIL_KEY"));
+
+        mockMvc.perform(post("/api/patients")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message", is("Email address already exists.")));
+    }
+
+    @Test
+    @SuppressWarnings("null")
+    @DisplayName("POST /api/patients rejected by another unique constraint returns 409 without blaming the email")
+    void createPatient_otherUniqueConstraintViolated_returnsConflict() throws Exception {
+        PatientRequestDTO request = DtoTestFactory.toRequestDTO(PatientTestFactory.createRandomPatient());
+        when(patientService.createPatient(any(PatientRequestDTO.class)))
+                .thenThrow(constraintViolated(ConstraintKind.UNIQUE, "patient_pkey"));
+
+        mockMvc.perform(post("/api/patients")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message", is("Request conflicts with an existing record.")));
+    }
+
+    @Test
+    @SuppressWarnings("null")
+    @DisplayName("POST /api/patients rejected by a non-unique constraint returns 500")
+    void createPatient_otherConstraintViolated_returnsInternalServerError() throws Exception {
+        PatientRequestDTO request = DtoTestFactory.toRequestDTO(PatientTestFactory.createRandomPatient());
+        when(patientService.createPatient(any(PatientRequestDTO.class)))
+                .thenThrow(constraintViolated(ConstraintKind.OTHER, "patient_name_not_null"));
+
+        mockMvc.perform(post("/api/patients")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.message", is("Internal server error.")));
+    }
+
+    @Test
+    @SuppressWarnings({ "null", "unchecked" })
+    @DisplayName("POST /api/patients replayed by its Idempotency-Key returns the stored patient")
+    void createPatient_replayedIdempotencyKey_returnsStoredPatientWithHeader() throws Exception {
+        // Arrange
+        Patient model = PatientTestFactory.createRandomPatient();
+        PatientRequestDTO request = DtoTestFactory.toRequestDTO(model);
+        PatientResponseDTO response = PatientMapper.toDTO(model);
+        when(idempotencyStore.execute(eq("key-1"), any(PatientRequestDTO.class), any(Supplier.class)))
+                .thenReturn(new IdempotencyStore.Outcome(response, true));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/patients")
+                .header("Idempotency-Key", "key-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.id", is(response.id())));
+        verify(patientService, times(0)).createPatient(any(PatientRequestDTO.class));
+    }
+
+    @Test
+    @SuppressWarnings({ "null", "unchecked" })
+    @DisplayName("POST /api/patients reusing an Idempotency-Key for another patient returns 422")
+    void createPatient_idempotencyKeyMismatch_returnsUnprocessableEntity() throws Exception {
+        // Arrange
+        PatientRequestDTO request = DtoTestFactory.toRequestDTO(PatientTestFactory.createRandomPatient());
+        when(idempotencyStore.execute(eq("key-1"), any(PatientRequestDTO.class), any(Supplier.class)))
+                .thenThrow(new IdempotencyKeyMismatchException("mismatch"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/patients")
+                .header("Idempotency-Key", "key-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    @SuppressWarnings({ "null", "unchecked" })
+    @DisplayName("POST /api/patients while the same Idempotency-Key is still running returns 409 with Retry-After")
+    void createPatient_idempotencyKeyInUse_returnsConflictWithRetryAfter() throws Exception {
+        // Arrange
+        PatientRequestDTO request = DtoTestFactory.toRequestDTO(PatientTestFactory.createRandomPatient());
+        when(idempotencyStore.execute(eq("key-1"), any(PatientRequestDTO.class), any(Supplier.class)))
+                .thenThrow(new IdempotencyKeyInUseException("in use"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/patients")
+                .header("Idempotency-Key", "key-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    // --- Create Patients Batch Tests ---
+
+    @Test
+    @SuppressWarnings("null")
+    @DisplayName("POST /api/patients/batch reports per-item results")
+    void createPatients_returnsPerItemResults() throws Exception {
+        // Arrange
+        Patient model = PatientTestFactory.createRandomPatient();
+        PatientRequestDTO valid = DtoTestFactory.toRequestDTO(model);
+        PatientRequestDTO invalid = new PatientRequestDTO();
+        when(patientService.createPatients(any())).thenReturn(new PatientBatchResponseDTO(1, 1, List.of(
+                PatientBatchResultDTO.created(0, PatientMapper.toDTO(model)),
+                PatientBatchResultDTO.rejected(1, Map.of("name", "must not be blank")))));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/patients/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(valid, invalid))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(1)))
+                .andExpect(jsonPath("$.rejected", is(1)))
+                .andExpect(jsonPath("$.results[0].status", is("CREATED")))
+                .andExpect(jsonPath("$.results[0].patient.id", is(model.getId().toString())))
+                .andExpect(jsonPath("$.results[1].status", is("REJECTED")))
+                .andExpect(jsonPath("$.results[1].errors.name", is("must not be blank")));
+    }
+
+    @Test
+    @SuppressWarnings("null")
+    @DisplayName("POST /api/patients/batch with too many items returns 400")
+    void createPatients_tooLarge_returnsBadRequest() throws Exception {
+        // Arrange
+        when(patientService.createPatients(any())).thenThrow(new BatchTooLargeException("too large"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/patients/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("too large")));
+    }
+
+    // --- Get Patient Tests ---
+
+    @Test
+    @DisplayName("GET /api/patients/{id} returns the patient")
+    void getPatient_found_returnsPatient() throws Exception {
+        Patient model = com.jerosanchez.pms_patient_service.test_helpers.PatientTestFactory
+                .createRandomPatient();
+        PatientResponseDTO response = PatientMapper.toDTO(model);
+        when(patientService.getPatient(model.getId())).thenReturn(PatientMapper.toVersionedDTO(model));
+
+        mockMvc.perform(get("/api/patients/" + model.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0\""))
+                .andExpect(jsonPath("$.id", is(response.id())))
+                .andExpect(jsonPath("$.email", is(response.email())));
+    }
+
+    @Test
+    @DisplayName("GET /api/patients/{id} with a matching If-None-Match returns 304 without a body")
+    void getPatient_conditional_returnsNotModified() throws Exception {
+        Patient model = PatientTestFactory.createRandomPatient();
+        when(patientService.getPatient(model.getId())).thenReturn(PatientMapper.toVersionedDTO(model));
+
+        mockMvc.perform(get("/api/patients/" + model.getId()).header("If-None-Match", "\"0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("GET /api/patients/{id} when not found returns 404")
+    void getPatient_notFound_returnsNotFound() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(patientService.getPatient(id)).thenThrow(new PatientNotFoundException("not found"));
+
+        mockMvc.perform(get("/api/patients/" + id))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /api/patients/{id} when the database is saturated returns 503 with Retry-After")
+    void getPatient_databaseBusy_returnsServiceUnavailable() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(patientService.getPatient(id)).thenThrow(new DatabaseBusyException("busy"));
+
+        mockMvc.perform(get("/api/patients/" + id))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    @DisplayName("GET /api/patients/{id} when load is being shed returns 503 with Retry-After")
+    void getPatient_serviceOverloaded_returnsServiceUnavailable() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(patientService.getPatient(id)).thenThrow(new ServiceOverloadedException("overloaded"));
+
+        mockMvc.perform(get("/api/patients/" + id))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
     // --- Update Patient Tests ---
 
     @Test
@@ -137,12 +663,14 @@ class PatientControllerWebTest {
         PatientRequestDTO request = DtoTestFactory.toRequestDTO(model);
         PatientResponseDTO response = PatientMapper.toDTO(model);
         UUID id = model.getId();
-        when(patientService.updatePatient(eq(id), any(PatientRequestDTO.class))).thenReturn(response);
+        when(patientService.updatePatient(eq(id), any(PatientRequestDTO.class), isNull()))
+                .thenReturn(PatientMapper.toVersionedDTO(model));
 
         mockMvc.perform(put("/api/patients/" + id)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0\""))
                 .andExpect(jsonPath("$.id", is(response.id())))
                 .andExpect(jsonPath("$.name", is(response.name())));
     }
@@ -168,7 +696,7 @@ class PatientControllerWebTest {
         PatientRequestDTO request = com.jerosanchez.pms_patient_service.test_helpers.DtoTestFactory
                 .toRequestDTO(model);
         UUID id = model.getId();
-        when(patientService.updatePatient(eq(id), any(PatientRequestDTO.class)))
+        when(patientService.updatePatient(eq(id), any(PatientRequestDTO.class), any()))
                 .thenThrow(new PatientNotFoundException("not found"));
 
         mockMvc.perform(put("/api/patients/" + id)
@@ -177,6 +705,80 @@ class PatientControllerWebTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @DisplayName("PUT /api/patients/{id} with a stale If-Match returns 412")
+    void updatePatient_staleVersion_returnsPreconditionFailed() throws Exception {
+        Patient model = com.jerosanchez.pms_patient_service.test_helpers.PatientTestFactory
+                .createRandomPatient();
+        UUID id = model.getId();
+        when(patientService.updatePatient(eq(id), any(PatientRequestDTO.class), eq(3L)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Patient.class, id));
+
+        mockMvc.perform(put("/api/patients/" + id)
+                .header("If-Match", "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(DtoTestFactory.toRequestDTO(model))))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    // --- Patch Patient Tests ---
+
+    @Test
+    @DisplayName("PATCH /api/patients/{id} with If-Match passes the expected version and returns the new ETag")
+    void patchPatient_valid_returnsPatchedWithETag() throws Exception {
+        Patient model = com.jerosanchez.pms_patient_service.test_helpers.PatientTestFactory
+                .createRandomPatient();
+        model.setVersion(4L);
+        UUID id = model.getId();
+        when(patientService.patchPatient(eq(id), any(PatientPatchDTO.class), eq(3L)))
+                .thenReturn(PatientMapper.toVersionedDTO(model));
+
+        mockMvc.perform(patch("/api/patients/" + id)
+                .header("If-Match", "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"address\": \"" + model.getAddress() + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(jsonPath("$.address", is(model.getAddress())));
+    }
+
+    @Test
+    @DisplayName("PATCH /api/patients/{id} with invalid fields returns 400")
+    void patchPatient_invalid_returnsBadRequest() throws Exception {
+        mockMvc.perform(patch("/api/patients/" + UUID.randomUUID())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\": \"not-an-email\", \"name\": \" \", \"dateOfBirth\": \"2020-13-45\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.email").exists())
+                .andExpect(jsonPath("$.name").exists())
+                .andExpect(jsonPath("$.dateOfBirth").exists());
+    }
+
+    @Test
+    @DisplayName("PATCH /api/patients/{id} with a weak or malformed If-Match returns 412")
+    void patchPatient_malformedIfMatch_returnsPreconditionFailed() throws Exception {
+        mockMvc.perform(patch("/api/patients/" + UUID.randomUUID())
+                .header("If-Match", "W/\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @DisplayName("PATCH /api/patients/{id} when the version moved on returns 412")
+    void patchPatient_staleVersion_returnsPreconditionFailed() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(patientService.patchPatient(eq(id), any(PatientPatchDTO.class), eq(1L)))
+                .thenThrow(new PreconditionFailedException("stale"));
+
+        mockMvc.perform(patch("/api/patients/" + id)
+                .header("If-Match", "\"1\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.message", is("Patient was modified by another request.")));
+    }
+
     // --- Delete Patient Tests ---
 
     @Test
@@ -201,6 +803,39 @@ class PatientControllerWebTest {
                 .andExpect(status().isNoContent());
     }
 
+    @Test
+    @SuppressWarnings("null")
+    @DisplayName("DELETE /api/patients with a list of IDs returns the deleted IDs")
+    void deletePatients_valid_returnsDeletedIds() throws Exception {
+        UUID deletedId = UUID.randomUUID();
+        UUID missingId = UUID.randomUUID();
+        when(patientService.deletePatients(List.of(deletedId, missingId)))
+                .thenReturn(new PatientBatchDeleteResponseDTO(1, List.of(deletedId)));
+
+        mockMvc.perform(org.springframework.test.web.servlet.request.MockMvcRequestBuilders
+                .delete("/api/patients")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(deletedId, missingId))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted", is(1)))
+                .andExpect(jsonPath("$.deletedIds", hasSize(1)))
+                .andExpect(jsonPath("$.deletedIds[0]", is(deletedId.toString())));
+    }
+
+    @Test
+    @DisplayName("DELETE /api/patients with too many IDs returns 400")
+    void deletePatients_tooLarge_returnsBadRequest() throws Exception {
+        when(patientService.deletePatients(any()))
+                .thenThrow(new BatchTooLargeException("A batch may contain at most 1000 patients."));
+
+        mockMvc.perform(org.springframework.test.web.servlet.request.MockMvcRequestBuilders
+                .delete("/api/patients")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("A batch may contain at most 1000 patients.")));
+    }
+
     @Test
     @DisplayName("DELETE /api/patients/{id} with null id returns 400")
     void deletePatient_nullId_returnsBadRequest() throws Exception {
@@ -215,4 +850,14 @@ class PatientControllerWebTest {
                 .delete("/api/patients/null"))
                 .andExpect(status().isBadRequest());
     }
+
+    private static VersionedPatientPageDTO pageAt(long version, List<PatientResponseDTO> patients, String nextCursor) {
+        return new VersionedPatientPageDTO(new PatientPageDTO(patients, nextCursor), version);
+    }
+
+    private static DataIntegrityViolationException constraintViolated(ConstraintKind kind, String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", new SQLException("violation"),
+                        kind, constraintName));
+    }
 }
@@ -0,0 +1,140 @@
+package com.jerosanchez.pms_patient_service.controller;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import com.jerosanchez.pms_patient_service.dto.PatientResponseDTO;
+import com.jerosanchez.pms_patient_service.mapper.PatientMapper;
+import com.jerosanchez.pms_patient_service.test_helpers.PatientTestFactory;
+
+class PatientJsonHttpMessageConverterTest {
+    private static final Type PATIENT_LIST = new ParameterizedTypeReference<List<PatientResponseDTO>>() {
+    }.getType();
+
+    private final PatientJsonHttpMessageConverter sut = new PatientJsonHttpMessageConverter();
+    private final MappingJackson2HttpMessageConverter jackson = new MappingJackson2HttpMessageConverter(
+            Jackson2ObjectMapperBuilder.json().build());
+
+    @Test
+    void write_patient_matchesJacksonByteForByte() throws IOException {
+        // Arrange
+        PatientResponseDTO patient = PatientMapper.toDTO(PatientTestFactory.createRandomPatient());
+
+        // Act & Assert
+        assertSameAsJackson(patient, PatientResponseDTO.class);
+    }
+
+    @Test
+    void write_patientList_matchesJacksonByteForByte() throws IOException {
+        // Arrange
+        List<PatientResponseDTO> patients = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            patients.add(PatientMapper.toDTO(PatientTestFactory.createRandomPatient()));
+        }
+
+        // Act & Assert
+        assertSameAsJackson(patients, PATIENT_LIST);
+        assertSameAsJackson(List.of(), PATIENT_LIST);
+    }
+
+    @Test
+    void write_charactersNeedingEscapesOrMultipleBytes_matchesJacksonByteForByte() throws IOException {
+        // Arrange
+        String controlChars = "\u0000\u0001\u001F\b\t\n\f\r\u007F";
+        String punctuation = "\"quoted\" back\\slash /slash <html> & 'single'";
+        String multiByte = "Zo\u00EB \u00D1\u00FA\u00F1ez \u674E\u5C0F\u9F99 \u2028\u2029 \uFFFF";
+        String surrogates = "emoji \uD83D\uDE00 lone \uD800 \uDFFF";
+        char[] longValue = new char[20_000];
+        Arrays.fill(longValue, '\u00E9');
+        longValue[8191] = '\n';
+
+        // Act & Assert
+        assertSameAsJackson(new PatientResponseDTO(controlChars, punctuation, multiByte, surrogates,
+                new String(longValue)), PatientResponseDTO.class);
+    }
+
+    @Test
+    void write_nullFieldsAndElements_matchesJacksonByteForByte() throws IOException {
+        // Arrange
+        List<PatientResponseDTO> patients = Arrays.asList(new PatientResponseDTO("1", null, null, null, null), null);
+
+        // Act & Assert
+        assertSameAsJackson(patients, PATIENT_LIST);
+    }
+
+    @Test
+    void write_onVirtualThread_matchesJacksonByteForByte() throws Exception {
+        // Arrange
+        PatientResponseDTO patient = PatientMapper.toDTO(PatientTestFactory.createRandomPatient());
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        // Act
+        Thread.ofVirtual().start(() -> {
+            try {
+                assertSameAsJackson(patient, PatientResponseDTO.class);
+            } catch (Throwable ex) {
+                failure.set(ex);
+            }
+        }).join();
+
+        // Assert
+        assertNull(failure.get());
+    }
+
+    @Test
+    void canWrite_onlyPatientsAndPatientListsAsJson() {
+        // Act & Assert
+        assertTrue(sut.canWrite(PatientResponseDTO.class, PatientResponseDTO.class, MediaType.APPLICATION_JSON));
+        assertTrue(sut.canWrite(PATIENT_LIST, ArrayList.class, MediaType.APPLICATION_JSON));
+        assertTrue(sut.canWrite(PATIENT_LIST, ArrayList.class, null));
+        assertFalse(sut.canWrite(PatientResponseDTO.class, PatientResponseDTO.class, MediaType.APPLICATION_CBOR));
+        assertFalse(sut.canWrite(new ParameterizedTypeReference<List<String>>() {
+        }.getType(), ArrayList.class, MediaType.APPLICATION_JSON));
+        assertFalse(sut.canWrite(ArrayList.class, ArrayList.class, MediaType.APPLICATION_JSON));
+        assertTrue(sut.canWrite(PatientResponseDTO.class, MediaType.ALL));
+        assertFalse(sut.canWrite(ArrayList.class, MediaType.APPLICATION_JSON));
+        assertFalse(sut.canRead(PatientResponseDTO.class, MediaType.APPLICATION_JSON));
+        assertFalse(sut.canRead(PATIENT_LIST, null, MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void write_withWildcardContentType_sendsJson() throws IOException {
+        // Arrange
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        // Act
+        sut.write(List.of(), PATIENT_LIST, MediaType.ALL, output);
+
+        // Assert
+        assertEquals(MediaType.APPLICATION_JSON, output.getHeaders().getContentType());
+        assertEquals("[]", output.getBodyAsString());
+    }
+
+    private void assertSameAsJackson(Object body, Type type) throws IOException {
+        MockHttpOutputMessage expected = new MockHttpOutputMessage();
+        jackson.write(body, type, MediaType.APPLICATION_JSON, expected);
+        MockHttpOutputMessage actual = new MockHttpOutputMessage();
+        sut.write(body, type, MediaType.APPLICATION_JSON, actual);
+
+        assertArrayEquals(expected.getBodyAsBytes(), actual.getBodyAsBytes(),
+                () -> "expected " + expected.getBodyAsString() + " but was " + actual.getBodyAsString());
+        assertEquals(expected.getHeaders().getContentType(), actual.getHeaders().getContentType());
+    }
+}
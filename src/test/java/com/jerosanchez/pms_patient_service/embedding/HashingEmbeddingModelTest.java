@@ -0,0 +1,61 @@
+package com.jerosanchez.pms_patient_service.embedding;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class HashingEmbeddingModelTest {
+    private final HashingEmbeddingModel sut = new HashingEmbeddingModel(128);
+
+    @Test
+    void embed_isDeterministicAndUnitLength() {
+        // Act
+        float[] first = sut.embed("John Smith, 12 Oak Street");
+        float[] second = new HashingEmbeddingModel(128).embed("John Smith, 12 Oak Street");
+
+        // Assert
+        assertArrayEquals(first, second);
+        assertEquals(128, first.length);
+        assertEquals(1.0, dot(first, first), 1e-5);
+    }
+
+    @Test
+    void embed_placesSimilarSpellingsCloser() {
+        // Act
+        float[] original = sut.embed("Margaret Rodriguez 40 Elm Road");
+        float[] misspelled = sut.embed("Margret Rodrigez Elm Road");
+        float[] unrelated = sut.embed("Thomas Whitfield 9 Harbour View");
+
+        // Assert
+        assertTrue(dot(original, misspelled) > dot(original, unrelated));
+    }
+
+    @Test
+    void embed_batchReturnsOneVectorPerTextInOrder() {
+        // Act
+        List<float[]> vectors = sut.embed(List.of("José Álvarez", "Jose Alvarez", "Maria Jones"));
+
+        // Assert
+        assertEquals(3, vectors.size());
+        assertArrayEquals(vectors.get(0), vectors.get(1));
+        assertArrayEquals(sut.embed("Maria Jones"), vectors.get(2));
+    }
+
+    @Test
+    void constructor_withNonPositiveDimensions_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new HashingEmbeddingModel(0));
+    }
+
+    private static double dot(float[] a, float[] b) {
+        double sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,274 @@
+package com.jerosanchez.pms_patient_service.idempotency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.jerosanchez.pms_patient_service.config.IdempotencyProperties;
+import com.jerosanchez.pms_patient_service.dto.PatientRequestDTO;
+import com.jerosanchez.pms_patient_service.dto.PatientResponseDTO;
+import com.jerosanchez.pms_patient_service.exception.EmailAlreadyExistsException;
+import com.jerosanchez.pms_patient_service.exception.IdempotencyKeyInUseException;
+import com.jerosanchez.pms_patient_service.exception.IdempotencyKeyMismatchException;
+import com.jerosanchez.pms_patient_service.exception.InvalidIdempotencyKeyException;
+import com.jerosanchez.pms_patient_service.mapper.PatientMapper;
+import com.jerosanchez.pms_patient_service.model.Patient;
+import com.jerosanchez.pms_patient_service.test_helpers.DtoTestFactory;
+import com.jerosanchez.pms_patient_service.test_helpers.PatientTestFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class IdempotencyStoreTest {
+    private static final Duration TTL = Duration.ofMinutes(10);
+    private static final int MAX_ENTRIES = 100;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private MeterRegistry meterRegistry;
+    private ExecutorService executor;
+    private PatientRequestDTO request;
+    private PatientResponseDTO created;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = Executors.newSingleThreadExecutor();
+        Patient patient = PatientTestFactory.createRandomPatient();
+        request = DtoTestFactory.toRequestDTO(patient);
+        created = PatientMapper.toDTO(patient);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_sameKeyAgain_replaysResponseWithoutCreatingAgain() {
+        // Arrange
+        IdempotencyStore sut = store(true, Duration.ofSeconds(1));
+        AtomicInteger creations = new AtomicInteger();
+
+        // Act
+        IdempotencyStore.Outcome first = sut.execute("key-1", request, () -> create(creations));
+        IdempotencyStore.Outcome second = sut.execute("key-1", copy(request), () -> create(creations));
+
+        // Assert
+        assertEquals(1, creations.get());
+        assertFalse(first.replayed());
+        assertTrue(second.replayed());
+        assertSame(created, second.response());
+        assertEquals(1.0, outcomeCount("executed"));
+        assertEquals(1.0, outcomeCount("replayed"));
+    }
+
+    @Test
+    void execute_duplicateWhileFirstRuns_waitsForFirstResponse() throws Exception {
+        // Arrange
+        IdempotencyStore sut = store(true, Duration.ofSeconds(10));
+        CountDownLatch creating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<IdempotencyStore.Outcome> first = executor.submit(() -> sut.execute("key-1", request, () -> {
+            creating.countDown();
+            await(release);
+            return created;
+        }));
+        assertTrue(creating.await(5, TimeUnit.SECONDS));
+
+        // Act
+        Thread releaser = Thread.ofPlatform().start(() -> {
+            sleep(50);
+            release.countDown();
+        });
+        IdempotencyStore.Outcome duplicate = sut.execute("key-1", request, () -> {
+            throw new AssertionError("duplicate must not create");
+        });
+        releaser.join();
+
+        // Assert
+        assertTrue(duplicate.replayed());
+        assertSame(created, duplicate.response());
+        assertFalse(first.get(5, TimeUnit.SECONDS).replayed());
+        assertEquals(1.0, outcomeCount("joined"));
+    }
+
+    @Test
+    void execute_storeFilledPastMaxEntriesWhileFirstRuns_duplicateStillWaitsForFirst() throws Exception {
+        // Arrange
+        IdempotencyStore sut = store(true, Duration.ofSeconds(10));
+        CountDownLatch creating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<IdempotencyStore.Outcome> first = executor.submit(() -> sut.execute("key-1", request, () -> {
+            creating.countDown();
+            await(release);
+            return created;
+        }));
+        assertTrue(creating.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < MAX_ENTRIES * 10; i++) {
+            PatientRequestDTO other = copy(request);
+            other.setName("Other " + i);
+            sut.execute("other-" + i, other, () -> created);
+        }
+
+        // Act
+        Thread releaser = Thread.ofPlatform().start(() -> {
+            sleep(50);
+            release.countDown();
+        });
+        IdempotencyStore.Outcome duplicate = sut.execute("key-1", request, () -> {
+            throw new AssertionError("duplicate must not create");
+        });
+        releaser.join();
+
+        // Assert
+        assertTrue(duplicate.replayed());
+        assertSame(created, duplicate.response());
+        assertFalse(first.get(5, TimeUnit.SECONDS).replayed());
+    }
+
+    @Test
+    void execute_duplicateWhileFirstRunsPastWaitTimeout_throwsInUse() throws Exception {
+        // Arrange
+        IdempotencyStore sut = store(true, Duration.ofMillis(20));
+        CountDownLatch creating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<IdempotencyStore.Outcome> first = executor.submit(() -> sut.execute("key-1", request, () -> {
+            creating.countDown();
+            await(release);
+            return created;
+        }));
+        assertTrue(creating.await(5, TimeUnit.SECONDS));
+
+        // Act & Assert
+        assertThrows(IdempotencyKeyInUseException.class, () -> sut.execute("key-1", request, () -> created));
+
+        release.countDown();
+        assertSame(created, first.get(5, TimeUnit.SECONDS).response());
+    }
+
+    @Test
+    void execute_firstFails_releasesKeyForRetry() {
+        // Arrange
+        IdempotencyStore sut = store(true, Duration.ofSeconds(1));
+        AtomicInteger creations = new AtomicInteger();
+
+        // Act
+        assertThrows(EmailAlreadyExistsException.class, () -> sut.execute("key-1", request, () -> {
+            throw new EmailAlreadyExistsException("exists");
+        }));
+        IdempotencyStore.Outcome retry = sut.execute("key-1", request, () -> create(creations));
+
+        // Assert
+        assertFalse(retry.replayed());
+        assertEquals(1, creations.get());
+    }
+
+    @Test
+    void execute_sameKeyWithDifferentRequest_throwsMismatch() {
+        // Arrange
+        IdempotencyStore sut = store(true, Duration.ofSeconds(1));
+        sut.execute("key-1", request, () -> created);
+        PatientRequestDTO other = copy(request);
+        other.setName("Someone Else");
+
+        // Act & Assert
+        assertThrows(IdempotencyKeyMismatchException.class, () -> sut.execute("key-1", other, () -> created));
+    }
+
+    @Test
+    void execute_afterTtl_createsAgain() {
+        // Arrange
+        IdempotencyStore sut = store(true, Duration.ofSeconds(1));
+        AtomicInteger creations = new AtomicInteger();
+        sut.execute("key-1", request, () -> create(creations));
+        nanos.addAndGet(TTL.plusSeconds(1).toNanos());
+
+        // Act
+        IdempotencyStore.Outcome later = sut.execute("key-1", request, () -> create(creations));
+
+        // Assert
+        assertFalse(later.replayed());
+        assertEquals(2, creations.get());
+    }
+
+    @Test
+    void execute_blankOrTooLongKey_throwsInvalidKey() {
+        // Arrange
+        IdempotencyStore sut = store(true, Duration.ofSeconds(1));
+        String tooLong = "k".repeat(IdempotencyStore.MAX_KEY_LENGTH + 1);
+
+        // Act & Assert
+        assertThrows(InvalidIdempotencyKeyException.class, () -> sut.execute(" ", request, () -> created));
+        assertThrows(InvalidIdempotencyKeyException.class, () -> sut.execute(tooLong, request, () -> created));
+    }
+
+    @Test
+    void execute_disabled_createsEveryTime() {
+        // Arrange
+        IdempotencyStore sut = store(false, Duration.ofSeconds(1));
+        AtomicInteger creations = new AtomicInteger();
+
+        // Act
+        sut.execute("key-1", request, () -> create(creations));
+        IdempotencyStore.Outcome second = sut.execute("key-1", request, () -> create(creations));
+
+        // Assert
+        assertFalse(second.replayed());
+        assertEquals(2, creations.get());
+    }
+
+    private IdempotencyStore store(boolean enabled, Duration waitTimeout) {
+        IdempotencyProperties properties = new IdempotencyProperties(enabled, MAX_ENTRIES, TTL, waitTimeout);
+        return new IdempotencyStore(properties, meterRegistry, nanos::get);
+    }
+
+    private PatientResponseDTO create(AtomicInteger creations) {
+        creations.incrementAndGet();
+        return created;
+    }
+
+    private double outcomeCount(String outcome) {
+        return meterRegistry.get("patients.idempotency.requests").tag("outcome", outcome).counter().count();
+    }
+
+    private static PatientRequestDTO copy(PatientRequestDTO source) {
+        PatientRequestDTO copy = new PatientRequestDTO();
+        copy.setName(source.getName());
+        copy.setEmail(source.getEmail());
+        copy.setAddress(source.getAddress());
+        copy.setDateOfBirth(source.getDateOfBirth());
+        copy.setRegisteredDate(source.getRegisteredDate());
+        return copy;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
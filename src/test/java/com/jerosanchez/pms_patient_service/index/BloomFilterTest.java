@@ -0,0 +1,83 @@
+package com.jerosanchez.pms_patient_service.index;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.jerosanchez.pms_patient_service.test_helpers.RandomTestData;
+
+class BloomFilterTest {
+    @Test
+    void mightContain_afterPut_isAlwaysTrue() {
+        // Arrange
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        List<String> emails = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            emails.add(RandomTestData.randomEmail());
+        }
+
+        // Act
+        emails.forEach(filter::put);
+
+        // Assert
+        emails.forEach(email -> assertTrue(filter.mightContain(email), email));
+    }
+
+    @Test
+    void mightContain_forAbsentValues_staysNearTargetFalsePositiveRate() {
+        // Arrange
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("present-" + i + "@example.com");
+        }
+
+        // Act
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("absent-" + i + "@example.com")) {
+                falsePositives++;
+            }
+        }
+
+        // Assert
+        double rate = falsePositives / 100_000.0;
+        assertTrue(rate < 0.02, "False positive rate too high: " + rate);
+        assertTrue(filter.expectedFalsePositiveProbability(10_000) < 0.011);
+    }
+
+    @Test
+    void mightContain_onEmptyFilter_isFalse() {
+        // Arrange
+        BloomFilter filter = new BloomFilter(100, 0.01);
+
+        // Act & Assert
+        assertFalse(filter.mightContain("someone@example.com"));
+    }
+
+    @Test
+    void constructor_withInvalidArguments_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 1.0));
+    }
+
+    @Test
+    void memoryBytes_growsWithExpectedInsertions() {
+        assertTrue(new BloomFilter(1_000_000, 0.01).memoryBytes() > new BloomFilter(1_000, 0.01).memoryBytes());
+    }
+
+    @Test
+    void index_reachesBitsBeyondTwoToThe31() {
+        // Arrange
+        long bitCount = 1L << 40;
+
+        // Act & Assert
+        assertTrue(BloomFilter.index(-1L, bitCount) > Integer.MAX_VALUE);
+        assertTrue(BloomFilter.index((1L << 39) + 5, bitCount) > Integer.MAX_VALUE);
+        assertTrue(BloomFilter.index(-1L, bitCount) < bitCount);
+    }
+}
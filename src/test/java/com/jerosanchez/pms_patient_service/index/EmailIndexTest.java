@@ -0,0 +1,194 @@
+package com.jerosanchez.pms_patient_service.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.jerosanchez.pms_patient_service.config.EmailIndexProperties;
+import com.jerosanchez.pms_patient_service.repository.PatientRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class EmailIndexTest {
+    @Mock
+    private PatientRepository patientRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MeterRegistry meterRegistry;
+
+    private EmailIndex sut;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionManager.getTransaction(org.mockito.ArgumentMatchers.any()))
+                .thenReturn(mock(TransactionStatus.class));
+        meterRegistry = new SimpleMeterRegistry();
+        sut = new EmailIndex(patientRepository, new EmailIndexProperties(true, 1_000, 0.01, 0.2),
+                transactionManager, meterRegistry);
+    }
+
+    @Test
+    void mightContain_beforeWarmUp_fallsBackToMaybePresent() {
+        assertTrue(sut.mightContain("someone@example.com"));
+    }
+
+    @Test
+    void mightContain_afterWarmUp_answersFromTheFilter() {
+        // Arrange
+        when(patientRepository.streamAllEmails()).thenReturn(Stream.of("john.doe@example.com"));
+
+        // Act
+        sut.warmUp();
+
+        // Assert
+        assertTrue(sut.mightContain("john.doe@example.com"));
+        assertFalse(sut.mightContain("jane.smith@example.com"));
+        assertEquals(1.0, meterRegistry.get("patients.email.index.lookups").tag("result", "absent")
+                .counter().count());
+        assertTrue(meterRegistry.get("patients.email.index.memory").gauge().value() > 0);
+    }
+
+    @Test
+    void add_afterWarmUp_makesEmailMaybePresent() {
+        // Arrange
+        when(patientRepository.streamAllEmails()).thenReturn(Stream.empty());
+        sut.warmUp();
+
+        // Act
+        sut.add("new.patient@example.com");
+
+        // Assert
+        assertTrue(sut.mightContain("new.patient@example.com"));
+    }
+
+    @Test
+    void add_whileRebuilding_reachesTheNewFilter() {
+        // Arrange
+        when(patientRepository.streamAllEmails()).thenReturn(Stream.of("a@example.com")
+                .peek(email -> sut.add("during.rebuild@example.com")));
+
+        // Act
+        sut.rebuild();
+
+        // Assert
+        assertTrue(sut.mightContain("during.rebuild@example.com"));
+    }
+
+    @Test
+    void rebuild_whileAnotherRebuildRuns_skipsTheSecondOne() {
+        // Arrange
+        when(patientRepository.streamAllEmails()).thenReturn(Stream.of("a@example.com")
+                .peek(email -> {
+                    var concurrent = new Thread(sut::rebuild);
+                    concurrent.start();
+                    try {
+                        concurrent.join(5_000);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+
+        // Act
+        sut.rebuild();
+
+        // Assert
+        verify(patientRepository, times(1)).streamAllEmails();
+        assertTrue(sut.mightContain("a@example.com"));
+    }
+
+    @Test
+    void add_committedAfterRebuildReadTheTable_isPutAgainAfterCommit() {
+        // Arrange
+        when(patientRepository.streamAllEmails()).thenReturn(Stream.empty());
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            sut.add("uncommitted@example.com");
+            sut.rebuild();
+            assertFalse(sut.mightContain("uncommitted@example.com"));
+
+            // Act
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Assert
+        assertTrue(sut.mightContain("uncommitted@example.com"));
+    }
+
+    @Test
+    void recordFalsePositive_updatesObservedRate() {
+        // Arrange
+        when(patientRepository.streamAllEmails()).thenReturn(Stream.empty());
+        sut.warmUp();
+        sut.mightContain("absent@example.com");
+
+        // Act
+        sut.recordFalsePositive();
+
+        // Assert
+        assertEquals(0.5, meterRegistry.get("patients.email.index.false.positive.rate").gauge().value());
+    }
+
+    @Test
+    void rebuildIfStale_whenRemovalsExceedStaleRatio_rebuildsFromRepository() {
+        // Arrange
+        when(patientRepository.streamAllEmails())
+                .thenReturn(Stream.of("a@example.com", "b@example.com"))
+                .thenReturn(Stream.of("b@example.com"));
+        sut.warmUp();
+        sut.recordRemoval();
+
+        // Act
+        sut.rebuildIfStale();
+
+        // Assert
+        verify(patientRepository, times(2)).streamAllEmails();
+    }
+
+    @Test
+    void rebuildIfStale_whenFresh_doesNotRebuild() {
+        // Arrange
+        when(patientRepository.streamAllEmails()).thenReturn(Stream.of("a@example.com"));
+        sut.warmUp();
+
+        // Act
+        sut.rebuildIfStale();
+
+        // Assert
+        verify(patientRepository, times(1)).streamAllEmails();
+    }
+
+    @Test
+    void mightContain_whenDisabled_alwaysFallsBackToDatabase() {
+        // Arrange
+        EmailIndex disabled = new EmailIndex(patientRepository, new EmailIndexProperties(false, 1_000, 0.01, 0.2),
+                transactionManager, new SimpleMeterRegistry());
+
+        // Act
+        disabled.warmUp();
+
+        // Assert
+        assertTrue(disabled.mightContain("anyone@example.com"));
+        verify(patientRepository, times(0)).streamAllEmails();
+    }
+}
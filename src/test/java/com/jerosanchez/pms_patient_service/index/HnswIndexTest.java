@@ -0,0 +1,127 @@
+package com.jerosanchez.pms_patient_service.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class HnswIndexTest {
+    private static final int DIMENSIONS = 16;
+
+    @Test
+    void search_findsMostOfTheExactNearestNeighbours() {
+        // Arrange
+        var random = new SplittableRandom(7);
+        var vectors = new ArrayList<float[]>();
+        var sut = new HnswIndex<Integer, Integer>(8, 64);
+        for (int i = 0; i < 2000; i++) {
+            var vector = randomVector(random);
+            vectors.add(vector);
+            sut.put(i, vector, i);
+        }
+
+        // Act
+        var found = 0;
+        var expected = 0;
+        for (int q = 0; q < 50; q++) {
+            var query = randomVector(random);
+            var exact = IntStream.range(0, vectors.size()).boxed()
+                    .sorted(Comparator.comparingDouble(i -> -cosine(query, vectors.get(i))))
+                    .limit(10)
+                    .toList();
+            var approximate = new HashSet<>(sut.search(query, 10, 64));
+            found += (int) exact.stream().filter(approximate::contains).count();
+            expected += exact.size();
+        }
+
+        // Assert
+        assertTrue((double) found / expected > 0.9, "recall@10 was " + (double) found / expected);
+    }
+
+    @Test
+    void search_returnsBestFirstAndAppliesLimit() {
+        // Arrange
+        var sut = new HnswIndex<String, String>(4, 16);
+        sut.put("x", new float[] { 1, 0 }, "x");
+        sut.put("diagonal", new float[] { 1, 1 }, "diagonal");
+        sut.put("y", new float[] { 0, 1 }, "y");
+
+        // Act
+        List<String> matches = sut.search(new float[] { 2, 0.1f }, 2, 10);
+
+        // Assert
+        assertEquals(List.of("x", "diagonal"), matches);
+    }
+
+    @Test
+    void put_withExistingKey_replacesDocument() {
+        // Arrange
+        var sut = new HnswIndex<String, String>(4, 16);
+        sut.put("a", new float[] { 1, 0 }, "old");
+        sut.put("b", new float[] { 0, 1 }, "b");
+
+        // Act
+        sut.put("a", new float[] { 0, 1 }, "new");
+
+        // Assert
+        assertEquals(2, sut.size());
+        assertEquals(1.0 / 3, sut.staleRatio(), 1e-9);
+        assertTrue(sut.search(new float[] { 1, 0 }, 10, 10).stream().noneMatch("old"::equals));
+    }
+
+    @Test
+    void remove_dropsDocumentFromResultsUntilCompacted() {
+        // Arrange
+        var sut = new HnswIndex<String, String>(4, 16);
+        sut.put("a", new float[] { 1, 0 }, "a");
+        sut.put("b", new float[] { 0, 1 }, "b");
+
+        // Act
+        sut.remove("a");
+        var compacted = sut.compacted();
+
+        // Assert
+        assertEquals(List.of("b"), sut.search(new float[] { 1, 0 }, 10, 10));
+        assertEquals(0.5, sut.staleRatio(), 1e-9);
+        assertEquals(List.of("b"), compacted.search(new float[] { 1, 0 }, 10, 10));
+        assertEquals(0, compacted.staleRatio());
+    }
+
+    @Test
+    void put_withDifferentDimensions_throws() {
+        // Arrange
+        var sut = new HnswIndex<String, String>(4, 16);
+        sut.put("a", new float[] { 1, 0 }, "a");
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> sut.put("b", new float[] { 1, 0, 0 }, "b"));
+    }
+
+    private static float[] randomVector(SplittableRandom random) {
+        var vector = new float[DIMENSIONS];
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] = (float) (random.nextDouble() * 2 - 1);
+        }
+        return vector;
+    }
+
+    private static double cosine(float[] a, float[] b) {
+        double dot = 0;
+        double normA = 0;
+        double normB = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            normA += a[i] * a[i];
+            normB += b[i] * b[i];
+        }
+        return dot / Math.sqrt(normA * normB);
+    }
+}
@@ -0,0 +1,214 @@
+package com.jerosanchez.pms_patient_service.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import com.jerosanchez.pms_patient_service.config.SemanticSearchProperties;
+import com.jerosanchez.pms_patient_service.dto.PatientResponseDTO;
+import com.jerosanchez.pms_patient_service.embedding.HashingEmbeddingModel;
+import com.jerosanchez.pms_patient_service.event.PatientSavedEvent;
+import com.jerosanchez.pms_patient_service.event.PatientsDeletedEvent;
+import com.jerosanchez.pms_patient_service.exception.SemanticSearchUnavailableException;
+import com.jerosanchez.pms_patient_service.mapper.PatientMapper;
+import com.jerosanchez.pms_patient_service.model.Patient;
+import com.jerosanchez.pms_patient_service.repository.PatientRepository;
+import com.jerosanchez.pms_patient_service.test_helpers.PatientTestFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PatientSemanticIndexTest {
+    private static final SemanticSearchProperties PROPERTIES =
+            new SemanticSearchProperties(true, 10, 50, 2, 8, 32, 32, 0.2, 128);
+
+    @Mock
+    private PatientRepository patientRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private EmbeddingModel embeddingModel;
+
+    private MeterRegistry meterRegistry;
+
+    private PatientSemanticIndex sut;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        embeddingModel = spy(new HashingEmbeddingModel(128));
+        meterRegistry = new SimpleMeterRegistry();
+        sut = new PatientSemanticIndex(embeddingModel, patientRepository, PROPERTIES, transactionManager,
+                meterRegistry);
+    }
+
+    @Test
+    void search_beforeFirstBatch_throwsUnavailable() {
+        // Arrange
+        when(patientRepository.streamAllChangedPatients()).thenReturn(Stream.empty());
+        sut.warmUp();
+
+        // Act & Assert
+        assertThrows(SemanticSearchUnavailableException.class, () -> sut.search("smith", null));
+    }
+
+    @Test
+    void indexPending_embedsWarmUpPatientsInBatches() {
+        // Arrange
+        List<Patient> patients = Stream.generate(PatientTestFactory::createRandomPatient).limit(5).toList();
+        patients.get(0).setName("Margaret Rodriguez");
+        when(patientRepository.streamAllChangedPatients())
+                .thenReturn(patients.stream().map(PatientTestFactory::toChangedPatient));
+        sut.warmUp();
+
+        // Act
+        sut.indexPending();
+
+        // Assert
+        verify(embeddingModel, times(3)).embed(anyList());
+        assertEquals(5.0, meterRegistry.get("patients.semantic.index.size").gauge().value());
+        assertEquals(0.0, meterRegistry.get("patients.semantic.pending").gauge().value());
+        assertEquals(PatientMapper.toDTO(patients.get(0)), sut.search("margaret rodriguez", 1).get(0));
+    }
+
+    @Test
+    void events_areOnlyEmbeddedByTheBatchTask() {
+        // Arrange
+        when(patientRepository.streamAllChangedPatients()).thenReturn(Stream.empty());
+        sut.warmUp();
+        sut.indexPending();
+        Patient patient = PatientTestFactory.createRandomPatient();
+        patient.setName("Bartholomew Higgins");
+        PatientResponseDTO dto = PatientMapper.toDTO(patient);
+
+        // Act & Assert
+        sut.onPatientSaved(new PatientSavedEvent(patient.getId(), dto, 1L));
+        verify(embeddingModel, never()).embed(anyList());
+        assertTrue(sut.search("bartholomew", null).isEmpty());
+
+        sut.indexPending();
+        assertEquals(List.of(dto), sut.search("bartholomew higgins", null));
+
+        sut.onPatientsDeleted(new PatientsDeletedEvent(List.of(patient.getId()), 2L));
+        sut.indexPending();
+        assertTrue(sut.search("bartholomew higgins", null).isEmpty());
+    }
+
+    @Test
+    void onPatientSaved_olderThanTheQueuedChange_doesNotReplaceIt() {
+        // Arrange
+        when(patientRepository.streamAllChangedPatients()).thenReturn(Stream.empty());
+        sut.warmUp();
+        sut.indexPending();
+        Patient patient = PatientTestFactory.createRandomPatient();
+        patient.setName("Margaret Rodriguez");
+        PatientResponseDTO newer = PatientMapper.toDTO(patient);
+        patient.setName("Bartholomew Higgins");
+        PatientResponseDTO older = PatientMapper.toDTO(patient);
+
+        // Act
+        sut.onPatientSaved(new PatientSavedEvent(patient.getId(), newer, 5L));
+        sut.onPatientSaved(new PatientSavedEvent(patient.getId(), older, 4L));
+        sut.indexPending();
+
+        // Assert
+        assertEquals(List.of(newer), sut.search("bartholomew higgins", null));
+    }
+
+    @Test
+    void indexPending_skipsChangesOlderThanTheAppliedDeletion() {
+        // Arrange
+        when(patientRepository.streamAllChangedPatients()).thenReturn(Stream.empty());
+        sut.warmUp();
+        sut.indexPending();
+        Patient patient = PatientTestFactory.createRandomPatient();
+        sut.onPatientsDeleted(new PatientsDeletedEvent(List.of(patient.getId()), 7L));
+        sut.indexPending();
+
+        // Act
+        sut.onPatientSaved(new PatientSavedEvent(patient.getId(), PatientMapper.toDTO(patient), 6L));
+        sut.indexPending();
+
+        // Assert
+        assertEquals(0.0, meterRegistry.get("patients.semantic.index.size").gauge().value());
+        verify(embeddingModel, never()).embed(anyList());
+    }
+
+    @Test
+    void indexPending_whenModelFails_keepsChangesForTheNextRun() {
+        // Arrange
+        Patient patient = PatientTestFactory.createRandomPatient();
+        when(patientRepository.streamAllChangedPatients())
+                .thenReturn(Stream.of(PatientTestFactory.toChangedPatient(patient)));
+        sut.warmUp();
+        doThrow(new IllegalStateException("model down")).when(embeddingModel).embed(anyList());
+
+        // Act
+        sut.indexPending();
+
+        // Assert
+        assertEquals(1.0, meterRegistry.get("patients.semantic.pending").gauge().value());
+        assertThrows(SemanticSearchUnavailableException.class, () -> sut.search("smith", null));
+
+        doCallRealMethod().when(embeddingModel).embed(anyList());
+        sut.indexPending();
+        assertEquals(1.0, meterRegistry.get("patients.semantic.index.size").gauge().value());
+    }
+
+    @Test
+    void indexPending_afterFailedWarmUp_loadsAndEmbedsPatients() {
+        // Arrange
+        Patient patient = PatientTestFactory.createRandomPatient();
+        patient.setName("Margaret Rodriguez");
+        when(patientRepository.streamAllChangedPatients())
+                .thenThrow(new IllegalStateException("database unavailable"))
+                .thenReturn(Stream.of(PatientTestFactory.toChangedPatient(patient)));
+        assertThrows(IllegalStateException.class, () -> sut.warmUp());
+
+        // Act
+        sut.indexPending();
+
+        // Assert
+        assertEquals(1.0, meterRegistry.get("patients.semantic.index.size").gauge().value());
+        assertEquals(List.of(PatientMapper.toDTO(patient)), sut.search("margaret rodriguez", null));
+    }
+
+    @Test
+    void search_whenDisabled_throwsUnavailable() {
+        // Arrange
+        PatientSemanticIndex disabled = new PatientSemanticIndex(embeddingModel, patientRepository,
+                new SemanticSearchProperties(false, 10, 50, 2, 8, 32, 32, 0.2, 128), transactionManager,
+                new SimpleMeterRegistry());
+
+        // Act
+        disabled.warmUp();
+        disabled.indexPending();
+
+        // Assert
+        assertThrows(SemanticSearchUnavailableException.class, () -> disabled.search("smith", null));
+        verify(patientRepository, times(0)).streamAllChangedPatients();
+    }
+}
@@ -0,0 +1,235 @@
+package com.jerosanchez.pms_patient_service.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import com.jerosanchez.pms_patient_service.config.TypeaheadProperties;
+import com.jerosanchez.pms_patient_service.dto.PatientResponseDTO;
+import com.jerosanchez.pms_patient_service.event.PatientSavedEvent;
+import com.jerosanchez.pms_patient_service.event.PatientsDeletedEvent;
+import com.jerosanchez.pms_patient_service.exception.TypeaheadUnavailableException;
+import com.jerosanchez.pms_patient_service.mapper.PatientMapper;
+import com.jerosanchez.pms_patient_service.model.Patient;
+import com.jerosanchez.pms_patient_service.repository.PatientRepository;
+import com.jerosanchez.pms_patient_service.test_helpers.PatientTestFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PatientTypeaheadIndexTest {
+    @Mock
+    private PatientRepository patientRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MeterRegistry meterRegistry;
+
+    private PatientTypeaheadIndex sut;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionManager.getTransaction(org.mockito.ArgumentMatchers.any()))
+                .thenReturn(mock(TransactionStatus.class));
+        meterRegistry = new SimpleMeterRegistry();
+        sut = new PatientTypeaheadIndex(patientRepository, new TypeaheadProperties(true, 3, 10, 50, 0.5, 0.2),
+                transactionManager, meterRegistry);
+    }
+
+    @Test
+    void search_beforeWarmUp_throwsUnavailable() {
+        assertThrows(TypeaheadUnavailableException.class, () -> sut.search("smith", null));
+    }
+
+    @Test
+    void search_afterWarmUp_matchesNamesAndAddresses() {
+        // Arrange
+        Patient patient = PatientTestFactory.createRandomPatient();
+        patient.setName("Margaret Thatcher");
+        when(patientRepository.streamAllChangedPatients()).thenReturn(Stream.of(PatientTestFactory.toChangedPatient(patient)));
+
+        // Act
+        sut.warmUp();
+
+        // Assert
+        assertEquals(List.of(PatientMapper.toDTO(patient)), sut.search("margret", null));
+        assertEquals(1.0, meterRegistry.get("patients.typeahead.index.size").gauge().value());
+    }
+
+    @Test
+    void search_withShortQuery_returnsNothing() {
+        // Arrange
+        when(patientRepository.streamAllChangedPatients()).thenReturn(Stream.empty());
+        sut.warmUp();
+
+        // Act & Assert
+        assertTrue(sut.search("ma", null).isEmpty());
+    }
+
+    @Test
+    void events_keepIndexCurrent() {
+        // Arrange
+        when(patientRepository.streamAllChangedPatients()).thenReturn(Stream.empty());
+        sut.warmUp();
+        Patient patient = PatientTestFactory.createRandomPatient();
+        patient.setName("Bartholomew Higgins");
+        PatientResponseDTO dto = PatientMapper.toDTO(patient);
+
+        // Act & Assert
+        sut.onPatientSaved(new PatientSavedEvent(patient.getId(), dto, 1L));
+        assertEquals(List.of(dto), sut.search("bartholomew", null));
+
+        sut.onPatientsDeleted(new PatientsDeletedEvent(List.of(patient.getId()), 2L));
+        assertTrue(sut.search("bartholomew", null).isEmpty());
+    }
+
+    @Test
+    void onPatientSaved_olderThanTheIndexedChange_isIgnored() {
+        // Arrange
+        Patient patient = PatientTestFactory.createRandomPatient();
+        patient.setName("Margaret Thatcher");
+        patient.setChangeSeq(5L);
+        when(patientRepository.streamAllChangedPatients())
+                .thenReturn(Stream.of(PatientTestFactory.toChangedPatient(patient)));
+        sut.warmUp();
+        PatientResponseDTO indexed = PatientMapper.toDTO(patient);
+        patient.setName("Bartholomew Higgins");
+
+        // Act
+        sut.onPatientSaved(new PatientSavedEvent(patient.getId(), PatientMapper.toDTO(patient), 4L));
+
+        // Assert
+        assertEquals(List.of(indexed), sut.search("margaret", null));
+        assertTrue(sut.search("bartholomew", null).isEmpty());
+    }
+
+    @Test
+    void onPatientSaved_olderThanTheDeletion_doesNotBringThePatientBack() {
+        // Arrange
+        when(patientRepository.streamAllChangedPatients()).thenReturn(Stream.empty());
+        sut.warmUp();
+        Patient patient = PatientTestFactory.createRandomPatient();
+        patient.setName("Bartholomew Higgins");
+        sut.onPatientsDeleted(new PatientsDeletedEvent(List.of(patient.getId()), 7L));
+
+        // Act
+        sut.onPatientSaved(new PatientSavedEvent(patient.getId(), PatientMapper.toDTO(patient), 6L));
+
+        // Assert
+        assertTrue(sut.search("bartholomew", null).isEmpty());
+    }
+
+    @Test
+    void rebuild_replaysOnlyChangesNewerThanWhatWasRead() {
+        // Arrange
+        Patient patient = PatientTestFactory.createRandomPatient();
+        patient.setName("Margaret Thatcher");
+        patient.setChangeSeq(5L);
+        Patient stale = PatientTestFactory.createRandomPatient();
+        stale.setId(patient.getId());
+        stale.setName("Bartholomew Higgins");
+        when(patientRepository.streamAllChangedPatients()).thenReturn(Stream.of(
+                PatientTestFactory.toChangedPatient(patient))
+                .peek(changed -> sut.onPatientSaved(
+                        new PatientSavedEvent(stale.getId(), PatientMapper.toDTO(stale), 4L))));
+
+        // Act
+        sut.rebuild();
+
+        // Assert
+        assertEquals(List.of(PatientMapper.toDTO(patient)), sut.search("margaret", null));
+        assertTrue(sut.search("bartholomew", null).isEmpty());
+    }
+
+    @Test
+    void rebuildIfStale_whenEnoughEntriesReplaced_rebuildsFromRepository() {
+        // Arrange
+        Patient patient = PatientTestFactory.createRandomPatient();
+        when(patientRepository.streamAllChangedPatients())
+                .thenReturn(Stream.of(PatientTestFactory.toChangedPatient(patient)))
+                .thenReturn(Stream.of(PatientTestFactory.toChangedPatient(patient)));
+        sut.warmUp();
+        sut.onPatientSaved(new PatientSavedEvent(patient.getId(), PatientMapper.toDTO(patient), 1L));
+
+        // Act
+        sut.rebuildIfStale();
+
+        // Assert
+        verify(patientRepository, times(2)).streamAllChangedPatients();
+    }
+
+    @Test
+    void rebuildIfStale_afterFailedWarmUp_buildsIndex() {
+        // Arrange
+        Patient patient = PatientTestFactory.createRandomPatient();
+        when(patientRepository.streamAllChangedPatients())
+                .thenThrow(new IllegalStateException("database unavailable"))
+                .thenReturn(Stream.of(PatientTestFactory.toChangedPatient(patient)));
+        assertThrows(IllegalStateException.class, () -> sut.warmUp());
+
+        // Act
+        sut.rebuildIfStale();
+
+        // Assert
+        assertEquals(1, sut.size());
+        assertEquals(List.of(PatientMapper.toDTO(patient)), sut.search(patient.getName(), null));
+    }
+
+    @Test
+    void rebuild_whileAnotherRebuildRuns_skipsItAndKeepsConcurrentChanges() {
+        // Arrange
+        Patient loaded = PatientTestFactory.createRandomPatient();
+        Patient savedMeanwhile = PatientTestFactory.createRandomPatient();
+        when(patientRepository.streamAllChangedPatients()).thenReturn(Stream.of(PatientTestFactory.toChangedPatient(loaded))
+                .peek(summary -> {
+                    var concurrent = new Thread(() -> {
+                        sut.rebuild();
+                        sut.onPatientSaved(new PatientSavedEvent(savedMeanwhile.getId(),
+                                PatientMapper.toDTO(savedMeanwhile), 1L));
+                    });
+                    concurrent.start();
+                    try {
+                        concurrent.join(5_000);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+
+        // Act
+        sut.rebuild();
+
+        // Assert
+        verify(patientRepository, times(1)).streamAllChangedPatients();
+        assertEquals(2, sut.size());
+    }
+
+    @Test
+    void search_whenDisabled_throwsUnavailable() {
+        // Arrange
+        PatientTypeaheadIndex disabled = new PatientTypeaheadIndex(patientRepository,
+                new TypeaheadProperties(false, 3, 10, 50, 0.5, 0.2), transactionManager, new SimpleMeterRegistry());
+
+        // Act
+        disabled.warmUp();
+
+        // Assert
+        assertThrows(TypeaheadUnavailableException.class, () -> disabled.search("smith", null));
+        verify(patientRepository, times(0)).streamAllChangedPatients();
+    }
+}
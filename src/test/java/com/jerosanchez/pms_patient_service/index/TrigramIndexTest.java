@@ -0,0 +1,96 @@
+package com.jerosanchez.pms_patient_service.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TrigramIndexTest {
+    private TrigramIndex<Integer, String> sut;
+
+    @BeforeEach
+    void setUp() {
+        sut = new TrigramIndex<>();
+        sut.put(1, "John Smith 12 Oak Street", "John Smith");
+        sut.put(2, "Jane Smythe 40 Elm Road", "Jane Smythe");
+        sut.put(3, "José Álvarez 7 Calle Mayor", "José Álvarez");
+        sut.put(4, "Maria Jones 3 Smithfield Lane", "Maria Jones");
+    }
+
+    @Test
+    void search_withPartialLastWord_matchesAsPrefix() {
+        // Act
+        List<String> matches = sut.search("john smi", 10, 0.5);
+
+        // Assert
+        assertEquals("John Smith", matches.get(0));
+    }
+
+    @Test
+    void search_withTypo_stillFindsThePatient() {
+        // Act
+        List<String> matches = sut.search("jhon smith", 10, 0.5);
+
+        // Assert
+        assertEquals("John Smith", matches.get(0));
+    }
+
+    @Test
+    void search_ranksByShareOfQueryMatched() {
+        // Act
+        List<String> matches = sut.search("smyth", 10, 0.3);
+
+        // Assert
+        assertEquals("Jane Smythe", matches.get(0));
+        assertTrue(matches.contains("John Smith"));
+    }
+
+    @Test
+    void search_ignoresCaseAndAccents() {
+        // Act
+        List<String> matches = sut.search("JOSE ALVAR", 10, 0.5);
+
+        // Assert
+        assertEquals(List.of("José Álvarez"), matches);
+    }
+
+    @Test
+    void search_appliesLimitAndMinimumSimilarity() {
+        // Act & Assert
+        assertEquals(1, sut.search("smith", 1, 0.3).size());
+        assertEquals(List.of(), sut.search("zzzzzz", 10, 0.5));
+    }
+
+    @Test
+    void put_withExistingKey_replacesDocument() {
+        // Act
+        sut.put(1, "Johnny Walker 12 Oak Street", "Johnny Walker");
+
+        // Assert
+        assertEquals(List.of("Johnny Walker"), sut.search("walker", 10, 0.5));
+        assertTrue(sut.search("john smith", 10, 0.8).isEmpty());
+        assertEquals(4, sut.size());
+        assertEquals(0.2, sut.staleRatio());
+    }
+
+    @Test
+    void remove_dropsDocumentFromResults() {
+        // Act
+        sut.remove(2);
+
+        // Assert
+        assertTrue(sut.search("jane smythe", 10, 0.5).isEmpty());
+        assertEquals(3, sut.size());
+    }
+
+    @Test
+    void trigrams_padsCompleteWordsOnly() {
+        // Act & Assert
+        assertEquals(6, TrigramIndex.trigrams("smith", true).size());
+        assertEquals(5, TrigramIndex.trigrams("smith", false).size());
+        assertEquals(6, TrigramIndex.trigrams("smith ", false).size());
+    }
+}
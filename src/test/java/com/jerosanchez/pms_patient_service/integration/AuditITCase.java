@@ -0,0 +1,78 @@
+package com.jerosanchez.pms_patient_service.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.jerosanchez.pms_patient_service.audit.AuditEvent;
+import com.jerosanchez.pms_patient_service.audit.AuditOperation;
+import com.jerosanchez.pms_patient_service.audit.AuditSink;
+import com.jerosanchez.pms_patient_service.audit.InMemoryAuditSink;
+import com.jerosanchez.pms_patient_service.dto.PatientRequestDTO;
+import com.jerosanchez.pms_patient_service.dto.PatientResponseDTO;
+import com.jerosanchez.pms_patient_service.test_helpers.DtoTestFactory;
+import com.jerosanchez.pms_patient_service.test_helpers.PatientTestFactory;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+                "patients.audit.sink=in-memory",
+                "patients.audit.flush-interval=20ms"
+})
+class AuditITCase {
+        @Autowired
+        private TestRestTemplate restTemplate;
+
+        @Autowired
+        private AuditSink auditSink;
+
+        @Test
+        @SuppressWarnings("null")
+        @DisplayName("Committed changes are written to the audit trail with the actor and field names only")
+        void patientChanges_areAudited() throws InterruptedException {
+                // Arrange
+                PatientRequestDTO request = DtoTestFactory.toRequestDTO(PatientTestFactory.createRandomPatient());
+                HttpHeaders headers = new HttpHeaders();
+                headers.set("X-Actor", "front-desk");
+
+                // Act
+                PatientResponseDTO created = restTemplate.exchange("/api/patients", HttpMethod.POST,
+                                new HttpEntity<>(request, headers), PatientResponseDTO.class).getBody();
+                UUID id = UUID.fromString(created.id());
+                restTemplate.patchForObject("/api/patients/" + id, Map.of("address", "1 Audited Road"), String.class);
+                ResponseEntity<String> rejected = restTemplate.postForEntity("/api/patients", request, String.class);
+                restTemplate.delete("/api/patients/" + id);
+
+                // Assert
+                List<AuditEvent> events = awaitEvents(id, 3);
+                assertThat(rejected.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+                assertThat(events).extracting(AuditEvent::operation)
+                                .containsExactly(AuditOperation.CREATE, AuditOperation.PATCH, AuditOperation.DELETE);
+                assertThat(events).extracting(AuditEvent::actor).containsExactly("front-desk", "anonymous", "anonymous");
+                assertThat(events.get(1).fields()).containsExactly("address");
+                assertThat(events.toString()).doesNotContain(request.getEmail(), "1 Audited Road");
+        }
+
+        private List<AuditEvent> awaitEvents(UUID patientId, int count) throws InterruptedException {
+                InMemoryAuditSink sink = (InMemoryAuditSink) auditSink;
+                long deadline = System.currentTimeMillis() + 5000;
+                List<AuditEvent> events = List.of();
+
+                while (events.size() < count && System.currentTimeMillis() < deadline) {
+                        Thread.sleep(20);
+                        events = sink.written().stream().filter(event -> event.patientId().equals(patientId)).toList();
+                }
+                return events;
+        }
+}
@@ -0,0 +1,213 @@
+package com.jerosanchez.pms_patient_service.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.jerosanchez.pms_patient_service.changefeed.TombstonePurger;
+import com.jerosanchez.pms_patient_service.dto.PatientBatchResponseDTO;
+import com.jerosanchez.pms_patient_service.dto.PatientChangeDTO;
+import com.jerosanchez.pms_patient_service.dto.PatientChangesDTO;
+import com.jerosanchez.pms_patient_service.dto.PatientRequestDTO;
+import com.jerosanchez.pms_patient_service.dto.PatientResponseDTO;
+import com.jerosanchez.pms_patient_service.service.PatientService;
+import com.jerosanchez.pms_patient_service.test_helpers.DtoTestFactory;
+import com.jerosanchez.pms_patient_service.test_helpers.PatientTestFactory;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ChangeFeedITCase {
+        @Autowired
+        private TestRestTemplate restTemplate;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Autowired
+        private TombstonePurger tombstonePurger;
+
+        @Autowired
+        private PatientService patientService;
+
+        @Autowired
+        private PlatformTransactionManager transactionManager;
+
+        @Test
+        @SuppressWarnings("null")
+        @DisplayName("The feed returns only what changed after the cursor, with deletions as tombstones")
+        void changes_returnOnlyWhatChangedSinceTheCursor() {
+                // Arrange
+                String cursor = syncToEnd(null);
+                PatientResponseDTO kept = create();
+                PatientResponseDTO deleted = create();
+                PatientRequestDTO rename = DtoTestFactory.toRequestDTO(PatientTestFactory.createRandomPatient());
+                rename.setEmail(kept.email());
+                rename.setName("Renamed Patient");
+                restTemplate.put("/api/patients/" + kept.id(), rename);
+                restTemplate.delete("/api/patients/" + deleted.id());
+
+                // Act
+                PatientChangesDTO changes = changes(cursor).getBody();
+                PatientChangesDTO nothingNew = changes(changes.nextCursor()).getBody();
+
+                // Assert
+                assertThat(changes.changes()).extracting(PatientChangeDTO::id).containsExactly(kept.id(), deleted.id());
+                assertThat(changes.changes().get(0).deleted()).isFalse();
+                assertThat(changes.changes().get(0).patient().name()).isEqualTo("Renamed Patient");
+                assertThat(changes.changes().get(1).deleted()).isTrue();
+                assertThat(changes.changes().get(1).patient()).isNull();
+                assertThat(changes.hasMore()).isFalse();
+                assertThat(nothingNew.changes()).isEmpty();
+                assertThat(nothingNew.nextCursor()).isEqualTo(changes.nextCursor());
+        }
+
+        @Test
+        @SuppressWarnings("null")
+        @DisplayName("Patients written by one transaction share a position and are paged through by ID")
+        void changes_pageThroughOneBulkWrite() {
+                // Arrange
+                String cursor = syncToEnd(null);
+                List<PatientRequestDTO> requests = List.of(
+                                DtoTestFactory.toRequestDTO(PatientTestFactory.createRandomPatient()),
+                                DtoTestFactory.toRequestDTO(PatientTestFactory.createRandomPatient()),
+                                DtoTestFactory.toRequestDTO(PatientTestFactory.createRandomPatient()));
+                restTemplate.postForEntity("/api/patients/batch", requests, PatientBatchResponseDTO.class);
+
+                // Act
+                PatientChangesDTO firstPage = restTemplate.getForObject(
+                                "/api/patients/changes?since={since}&size=2", PatientChangesDTO.class, cursor);
+                PatientChangesDTO secondPage = restTemplate.getForObject(
+                                "/api/patients/changes?since={since}&size=2", PatientChangesDTO.class,
+                                firstPage.nextCursor());
+
+                // Assert
+                assertThat(firstPage.changes()).hasSize(2);
+                assertThat(firstPage.hasMore()).isTrue();
+                assertThat(secondPage.changes()).hasSize(1);
+                assertThat(secondPage.hasMore()).isFalse();
+                assertThat(List.of(firstPage.changes().get(0), firstPage.changes().get(1), secondPage.changes().get(0)))
+                                .extracting(change -> change.patient().email())
+                                .containsExactlyInAnyOrderElementsOf(
+                                                requests.stream().map(PatientRequestDTO::getEmail).toList());
+        }
+
+        @Test
+        @SuppressWarnings("null")
+        @DisplayName("A cursor older than the purged tombstones gets 410 Gone")
+        void changes_cursorBehindPurgedTombstones_returnsGone() {
+                // Arrange
+                String staleCursor = syncToEnd(null);
+                restTemplate.delete("/api/patients/" + create().id());
+                Long changeSeq = jdbcTemplate.queryForObject(
+                                "SELECT MAX(change_seq) FROM patient_tombstone", Long.class);
+                jdbcTemplate.update("INSERT INTO patient_tombstone (patient_id, change_seq, deleted_at) VALUES (?, ?, ?)",
+                                UUID.randomUUID(), changeSeq,
+                                Timestamp.from(Instant.now().minus(Duration.ofDays(60))));
+
+                // Act
+                tombstonePurger.purge();
+                ResponseEntity<String> response = restTemplate.getForEntity(
+                                "/api/patients/changes?since={since}", String.class, staleCursor);
+
+                // Assert
+                assertThat(response.getStatusCode()).isEqualTo(HttpStatus.GONE);
+                assertThat(changes(syncToEnd(null)).getStatusCode()).isEqualTo(HttpStatus.OK);
+        }
+
+        @Test
+        @SuppressWarnings("null")
+        @DisplayName("The feed waits for a write still in flight instead of moving its cursor past it")
+        void changes_whileAWriteIsInFlight_waitForItToCommit() throws Exception {
+                // Arrange
+                String cursor = syncToEnd(null);
+                PatientRequestDTO inFlight = DtoTestFactory.toRequestDTO(PatientTestFactory.createRandomPatient());
+                CountDownLatch written = new CountDownLatch(1);
+                CountDownLatch release = new CountDownLatch(1);
+                CompletableFuture<PatientResponseDTO> slowWrite = CompletableFuture.supplyAsync(
+                                () -> new TransactionTemplate(transactionManager).execute(status -> {
+                                        PatientResponseDTO created = patientService.createPatient(inFlight);
+                                        written.countDown();
+                                        try {
+                                                release.await();
+                                        } catch (InterruptedException e) {
+                                                Thread.currentThread().interrupt();
+                                        }
+                                        return created;
+                                }));
+                assertThat(written.await(5, TimeUnit.SECONDS)).isTrue();
+                CompletableFuture<PatientResponseDTO> laterWrite = CompletableFuture.supplyAsync(this::create);
+
+                // Act
+                CompletableFuture<PatientChangesDTO> page = CompletableFuture.supplyAsync(
+                                () -> changes(cursor).getBody());
+                assertThatThrownBy(() -> page.get(200, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+                release.countDown();
+                PatientResponseDTO slow = slowWrite.get(5, TimeUnit.SECONDS);
+                PatientResponseDTO later = laterWrite.get(5, TimeUnit.SECONDS);
+                PatientChangesDTO firstPage = page.get(5, TimeUnit.SECONDS);
+                PatientChangesDTO nextPage = changes(firstPage.nextCursor()).getBody();
+
+                // Assert
+                assertThat(firstPage.changes()).extracting(PatientChangeDTO::id).contains(slow.id());
+                assertThat(List.of(firstPage.changes(), nextPage.changes()).stream().flatMap(List::stream).toList())
+                                .extracting(PatientChangeDTO::id)
+                                .containsExactlyInAnyOrder(slow.id(), later.id());
+        }
+
+        @Test
+        @DisplayName("Reading the feed seeks on the change sequence indexes")
+        void changeQueries_useIndexes() {
+                assertThat(jdbcTemplate.queryForObject("EXPLAIN SELECT p.id FROM patient p "
+                                + "WHERE p.change_seq >= ? AND (p.change_seq > ? OR p.id > ?) "
+                                + "ORDER BY p.change_seq, p.id FETCH FIRST 51 ROWS ONLY",
+                                String.class, 5L, 5L, UUID.randomUUID()))
+                                .containsIgnoringCase("IDX_PATIENT_CHANGE_SEQ");
+                assertThat(jdbcTemplate.queryForObject("EXPLAIN SELECT t.patient_id FROM patient_tombstone t "
+                                + "WHERE t.change_seq >= ? AND (t.change_seq > ? OR t.patient_id > ?) "
+                                + "ORDER BY t.change_seq, t.patient_id FETCH FIRST 51 ROWS ONLY",
+                                String.class, 5L, 5L, UUID.randomUUID()))
+                                .containsIgnoringCase("IDX_PATIENT_TOMBSTONE_CHANGE_SEQ");
+        }
+
+        private ResponseEntity<PatientChangesDTO> changes(String cursor) {
+                return cursor == null
+                                ? restTemplate.getForEntity("/api/patients/changes", PatientChangesDTO.class)
+                                : restTemplate.getForEntity("/api/patients/changes?since={since}",
+                                                PatientChangesDTO.class, cursor);
+        }
+
+        @SuppressWarnings("null")
+        private String syncToEnd(String cursor) {
+                PatientChangesDTO page;
+                do {
+                        page = changes(cursor).getBody();
+                        cursor = page.nextCursor();
+                } while (page.hasMore());
+                return cursor;
+        }
+
+        private PatientResponseDTO create() {
+                return restTemplate.postForObject("/api/patients",
+                                DtoTestFactory.toRequestDTO(PatientTestFactory.createRandomPatient()),
+                                PatientResponseDTO.class);
+        }
+}
@@ -0,0 +1,88 @@
+package com.jerosanchez.pms_patient_service.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+// Upgrades a database created by the former data.sql, with the Flyway settings of application.properties
+class LegacySchemaMigrationITCase {
+        private static final String LEGACY_PATIENT_ID = "123e4567-e89b-12d3-a456-426614174000";
+
+        private DriverManagerDataSource dataSource;
+        private JdbcTemplate jdbcTemplate;
+
+        @BeforeEach
+        void setUp() {
+                dataSource = new DriverManagerDataSource(
+                                "jdbc:h2:mem:legacy-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+                jdbcTemplate = new JdbcTemplate(dataSource);
+
+                // The schema and one of the sample patients, as data.sql created them
+                jdbcTemplate.execute("""
+                                CREATE TABLE IF NOT EXISTS patient (
+                                    id UUID PRIMARY KEY,
+                                    name VARCHAR(255) NOT NULL,
+                                    email VARCHAR(255) UNIQUE NOT NULL,
+                                    address VARCHAR(255) NOT NULL,
+                                    date_of_birth DATE NOT NULL,
+                                    registered_date DATE NOT NULL
+                                )""");
+                jdbcTemplate.update("INSERT INTO patient (id, name, email, address, date_of_birth, registered_date) "
+                                + "VALUES (?, 'John Doe', 'john.doe@example.com', '123 Main St, Springfield', "
+                                + "DATE '1985-06-15', DATE '2024-01-10')", UUID.fromString(LEGACY_PATIENT_ID));
+        }
+
+        @Test
+        @DisplayName("A database created by the former data.sql is baselined at V1 and migrated to the current schema")
+        void migrate_legacySchema_baselinesAndAppliesLaterMigrations() {
+                // Arrange
+                Flyway flyway = Flyway.configure()
+                                .dataSource(dataSource)
+                                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                                .baselineOnMigrate(true)
+                                .baselineVersion("1")
+                                .load();
+
+                // Act
+                flyway.migrate();
+
+                // Assert
+                assertThat(flyway.info().applied()).extracting(MigrationInfo::getScript).containsExactly(
+                                "<< Flyway Baseline >>",
+                                "V2__add_change_tracking_and_outbox.sql",
+                                "V3__create_patient_lookup_indexes.sql",
+                                "V5__name_patient_email_constraint.sql",
+                                "V6__add_outbox_event_change_seq.sql",
+                                "V7__create_outbox_event_change_seq_index.sql",
+                                "V8__add_patient_change_slots.sql",
+                                "V9__create_patient_change_sequence.sql");
+                Map<String, Object> patient = jdbcTemplate.queryForMap(
+                                "SELECT name, version, change_seq FROM patient WHERE id = ?",
+                                UUID.fromString(LEGACY_PATIENT_ID));
+                assertThat(patient).containsEntry("NAME", "John Doe")
+                                .containsEntry("VERSION", 0L)
+                                .containsEntry("CHANGE_SEQ", 0L);
+                assertThat(jdbcTemplate.queryForList("SELECT writes FROM patient_change_slot", Long.class))
+                                .hasSize(16)
+                                .containsOnly(0L);
+                List<String> tables = jdbcTemplate.queryForList(
+                                "SELECT table_name FROM information_schema.tables WHERE table_schema = 'PUBLIC'",
+                                String.class);
+                assertThat(tables).contains("PATIENT_TOMBSTONE", "PATIENT_CHANGE_COUNTER", "PATIENT_CHANGE_SLOT",
+                                "OUTBOX_EVENT");
+                assertThat(jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR outbox_event_seq", Long.class))
+                                .isEqualTo(1L);
+                assertThat(jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR patient_change_seq", Long.class))
+                                .isEqualTo(1L);
+        }
+}
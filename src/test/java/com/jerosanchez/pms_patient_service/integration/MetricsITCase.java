@@ -0,0 +1,51 @@
+package com.jerosanchez.pms_patient_service.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.jerosanchez.pms_patient_service.dto.PatientRequestDTO;
+import com.jerosanchez.pms_patient_service.dto.PatientResponseDTO;
+import com.jerosanchez.pms_patient_service.test_helpers.DtoTestFactory;
+import com.jerosanchez.pms_patient_service.test_helpers.PatientTestFactory;
+
+// Metrics export is switched off in tests unless explicitly requested
+@AutoConfigureObservability
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class MetricsITCase {
+        @Autowired
+        private TestRestTemplate restTemplate;
+
+        @Test
+        @DisplayName("Prometheus endpoint exposes request, service, policy, repository, pool and Hibernate metrics")
+        void prometheusEndpoint_exposesInstrumentedLayers() {
+                // Arrange
+                PatientRequestDTO request = DtoTestFactory.toRequestDTO(PatientTestFactory.createRandomPatient());
+                restTemplate.postForEntity("/api/patients", request, PatientResponseDTO.class);
+                restTemplate.postForEntity("/api/patients", request, String.class); // duplicate email
+                restTemplate.getForEntity("/api/patients", String.class);
+
+                // Act
+                ResponseEntity<String> response = restTemplate.getForEntity("/actuator/prometheus", String.class);
+
+                // Assert
+                assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+                assertThat(response.getBody())
+                                .contains("http_server_requests_seconds_bucket")
+                                .contains("patients_service_seconds_bucket{class=\"com.jerosanchez.pms_patient_service.service.PatientService\"")
+                                .contains("patients_policy_seconds_bucket")
+                                .contains("patients_policy_violations_total")
+                                .contains("spring_data_repository_invocations_seconds_bucket")
+                                .contains("hikaricp_connections_active")
+                                .contains("patients_admission_limit")
+                                .contains("patients_admission_in_flight")
+                                .contains("hibernate_statements_total");
+        }
+}
@@ -0,0 +1,161 @@
+package com.jerosanchez.pms_patient_service.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.jerosanchez.pms_patient_service.dto.PatientRequestDTO;
+import com.jerosanchez.pms_patient_service.dto.PatientResponseDTO;
+import com.jerosanchez.pms_patient_service.model.OutboxEvent;
+import com.jerosanchez.pms_patient_service.outbox.InMemoryOutboxPublisher;
+import com.jerosanchez.pms_patient_service.outbox.OutboxMessage;
+import com.jerosanchez.pms_patient_service.outbox.OutboxRelay;
+import com.jerosanchez.pms_patient_service.outbox.OutboxPublisher;
+import com.jerosanchez.pms_patient_service.outbox.PatientChangeType;
+import com.jerosanchez.pms_patient_service.repository.OutboxEventRepository;
+import com.jerosanchez.pms_patient_service.test_helpers.DtoTestFactory;
+import com.jerosanchez.pms_patient_service.test_helpers.PatientTestFactory;
+
+// The scheduled relay is slowed down so that the test decides when batches are relayed
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+                "patients.outbox.publisher=in-memory",
+                "patients.outbox.poll-interval=PT1H"
+})
+class OutboxITCase {
+        @Autowired
+        private TestRestTemplate restTemplate;
+
+        @Autowired
+        private OutboxRelay outboxRelay;
+
+        @Autowired
+        private OutboxPublisher outboxPublisher;
+
+        @Autowired
+        private OutboxEventRepository outboxEventRepository;
+
+        @Autowired
+        private PlatformTransactionManager transactionManager;
+
+        @Test
+        @SuppressWarnings("null")
+        @DisplayName("Creates, updates and deletes are recorded with the change and relayed in order")
+        void patientChanges_areRelayedInOrder() {
+                // Arrange
+                InMemoryOutboxPublisher publisher = (InMemoryOutboxPublisher) outboxPublisher;
+                outboxRelay.relay();
+                publisher.clear();
+                PatientRequestDTO request = DtoTestFactory.toRequestDTO(PatientTestFactory.createRandomPatient());
+
+                // Act
+                PatientResponseDTO created = restTemplate.postForEntity(
+                                "/api/patients", request, PatientResponseDTO.class).getBody();
+                String url = "/api/patients/" + created.id();
+                request.setName("Renamed Patient");
+                restTemplate.put(url, request);
+                restTemplate.patchForObject(url, Map.of("address", "1 Patched Road"), String.class);
+                restTemplate.delete(url);
+                outboxRelay.relay();
+
+                // Assert
+                List<OutboxMessage> messages = publisher.published();
+                assertThat(messages).extracting(OutboxMessage::patientId).containsOnly(UUID.fromString(created.id()));
+                assertThat(messages).extracting(OutboxMessage::type).containsExactly(PatientChangeType.CREATED,
+                                PatientChangeType.UPDATED, PatientChangeType.UPDATED, PatientChangeType.DELETED);
+                assertThat(messages).extracting(OutboxMessage::changeSeq).isSorted().doesNotHaveDuplicates();
+                assertThat(messages.get(1).payload()).contains("Renamed Patient");
+                assertThat(messages.get(2).payload()).contains("1 Patched Road");
+                assertThat(outboxEventRepository.count()).isZero();
+        }
+
+        @Test
+        @SuppressWarnings("null")
+        @DisplayName("A batch claimed by one relay is never claimed by another at the same time")
+        void claimedBatch_isNotClaimedTwice() throws Exception {
+                // Arrange
+                outboxRelay.relay();
+                for (int i = 0; i < 3; i++) {
+                        restTemplate.postForEntity("/api/patients",
+                                        DtoTestFactory.toRequestDTO(PatientTestFactory.createRandomPatient()), String.class);
+                }
+                TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+                CountDownLatch claimed = new CountDownLatch(1);
+                CountDownLatch release = new CountDownLatch(1);
+                ExecutorService executor = Executors.newSingleThreadExecutor();
+
+                try {
+                        Future<List<Long>> first = executor.submit(() -> transaction.execute(status -> {
+                                List<Long> ids = outboxEventRepository.findAllByOrderByChangeSeqAscIdAsc(Limit.of(1))
+                                                .stream().map(OutboxEvent::getId).toList();
+                                claimed.countDown();
+                                await(release);
+                                return ids;
+                        }));
+                        assertThat(claimed.await(10, TimeUnit.SECONDS)).isTrue();
+
+                        // Act
+                        // PostgreSQL skips the claimed row; H2 has no SKIP LOCKED and gives up on the
+                        // lock instead, which the relay retries on its next run
+                        List<Long> second;
+                        try {
+                                second = transaction.execute(status -> outboxEventRepository
+                                                .findAllByOrderByChangeSeqAscIdAsc(Limit.of(10)).stream()
+                                                .map(OutboxEvent::getId).toList());
+                        } catch (PessimisticLockingFailureException ex) {
+                                second = List.of();
+                        }
+                        release.countDown();
+
+                        // Assert
+                        List<Long> firstIds = first.get(10, TimeUnit.SECONDS);
+                        assertThat(firstIds).hasSize(1);
+                        assertThat(second).doesNotContainAnyElementsOf(firstIds);
+                } finally {
+                        release.countDown();
+                        executor.shutdownNow();
+                }
+        }
+
+        @Test
+        @DisplayName("A rejected change writes no outbox event")
+        void rejectedChange_isNotRecorded() {
+                // Arrange
+                PatientRequestDTO request = DtoTestFactory.toRequestDTO(PatientTestFactory.createRandomPatient());
+                restTemplate.postForEntity("/api/patients", request, String.class);
+                long before = outboxEventRepository.count();
+
+                // Act
+                ResponseEntity<String> response = restTemplate.postForEntity("/api/patients", request, String.class);
+
+                // Assert
+                assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+                assertThat(outboxEventRepository.count()).isEqualTo(before);
+        }
+
+        private static void await(CountDownLatch latch) {
+                try {
+                        latch.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                }
+        }
+}
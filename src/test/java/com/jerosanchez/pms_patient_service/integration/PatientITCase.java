@@ -2,20 +2,47 @@ package com.jerosanchez.pms_patient_service.integration;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.jerosanchez.pms_patient_service.cache.PatientCollectionVersion;
+import com.jerosanchez.pms_patient_service.config.CacheConfig;
+import com.jerosanchez.pms_patient_service.config.ResponseEncodingConfig;
+import com.jerosanchez.pms_patient_service.controller.PatientJsonHttpMessageConverter;
+import com.jerosanchez.pms_patient_service.dto.PatientBatchDeleteResponseDTO;
+import com.jerosanchez.pms_patient_service.dto.PatientBatchResponseDTO;
+import com.jerosanchez.pms_patient_service.dto.PatientBatchResultDTO;
 import com.jerosanchez.pms_patient_service.dto.PatientRequestDTO;
 import com.jerosanchez.pms_patient_service.dto.PatientResponseDTO;
 import com.jerosanchez.pms_patient_service.test_helpers.DtoTestFactory;
@@ -26,6 +53,21 @@ class PatientITCase {
         @Autowired
         private TestRestTemplate restTemplate;
 
+        @Autowired
+        private ObjectMapper objectMapper;
+
+        @Autowired
+        private CacheManager cacheManager;
+
+        @Autowired
+        private HttpMessageConverters messageConverters;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Autowired
+        private PatientCollectionVersion collectionVersion;
+
         @Test
         @SuppressWarnings("null")
         @DisplayName("Happy path: create, get, update, delete patient")
@@ -49,7 +91,7 @@ class PatientITCase {
                 // Act
                 // 2. Get all patients
                 ResponseEntity<PatientResponseDTO[]> getResp = restTemplate.getForEntity(
-                                "/api/patients", PatientResponseDTO[].class);
+                                "/api/patients?size=500", PatientResponseDTO[].class);
 
                 // Assert
                 assertThat(getResp.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -78,10 +120,242 @@ class PatientITCase {
                 // Assert
                 // 5. Confirm deletion
                 ResponseEntity<PatientResponseDTO[]> afterDelete = restTemplate.getForEntity(
-                                "/api/patients", PatientResponseDTO[].class);
+                                "/api/patients?size=500", PatientResponseDTO[].class);
                 assertThat(Arrays.stream(afterDelete.getBody()).noneMatch(p -> p.id().equals(created.id()))).isTrue();
         }
 
+        @Test
+        @SuppressWarnings("null")
+        @DisplayName("Cached patient reads are refreshed on update and evicted on delete")
+        void getPatient_cache_isKeptConsistentWithWrites() {
+                // Arrange
+                PatientRequestDTO request = DtoTestFactory.toRequestDTO(PatientTestFactory.createRandomPatient());
+                PatientResponseDTO created = restTemplate.postForEntity(
+                                "/api/patients", request, PatientResponseDTO.class).getBody();
+                assertThat(created).isNotNull();
+                String url = "/api/patients/" + created.id();
+                var stats = ((CaffeineCache) cacheManager.getCache(CacheConfig.PATIENTS_CACHE))
+                                .getNativeCache();
+                long hitsBefore = stats.stats().hitCount();
+
+                // Act
+                // 1. Two reads: the second one is served from the cache
+                restTemplate.getForEntity(url, PatientResponseDTO.class);
+                ResponseEntity<PatientResponseDTO> cachedResp = restTemplate.getForEntity(
+                                url, PatientResponseDTO.class);
+
+                // Assert
+                assertThat(cachedResp.getStatusCode()).isEqualTo(HttpStatus.OK);
+                assertThat(cachedResp.getBody()).isEqualTo(created);
+                assertThat(stats.stats().hitCount()).isGreaterThan(hitsBefore);
+
+                // Act
+                // 2. Update, then read again
+                request.setName(created.name() + " Updated");
+                restTemplate.put(url, request);
+                ResponseEntity<PatientResponseDTO> afterUpdate = restTemplate.getForEntity(
+                                url, PatientResponseDTO.class);
+
+                // Assert
+                assertThat(afterUpdate.getBody()).isNotNull();
+                assertThat(afterUpdate.getBody().name()).isEqualTo(request.getName());
+
+                // Act
+                // 3. Delete, then read again
+                restTemplate.delete(url);
+                ResponseEntity<String> afterDelete = restTemplate.getForEntity(url, String.class);
+
+                // Assert
+                assertThat(afterDelete.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+
+                // Act
+                // 4. Delete a patient that never existed
+                UUID unknownId = UUID.randomUUID();
+                restTemplate.delete("/api/patients/" + unknownId);
+
+                // Assert
+                assertThat(stats.asMap()).doesNotContainKey(unknownId);
+        }
+
+        @Test
+        @SuppressWarnings("null")
+        @DisplayName("PATCH applies only supplied fields and rejects stale If-Match with 412")
+        void patchPatient_withETags_detectsConcurrentEdits() {
+                // Arrange
+                PatientRequestDTO request = DtoTestFactory.toRequestDTO(PatientTestFactory.createRandomPatient());
+                PatientResponseDTO created = restTemplate.postForEntity(
+                                "/api/patients", request, PatientResponseDTO.class).getBody();
+                assertThat(created).isNotNull();
+                String url = "/api/patients/" + created.id();
+                String etag = restTemplate.getForEntity(url, PatientResponseDTO.class).getHeaders().getETag();
+                HttpHeaders headers = new HttpHeaders();
+                headers.setContentType(MediaType.APPLICATION_JSON);
+                headers.setIfMatch(etag);
+
+                // Act
+                // 1. Patch the address with the current version
+                ResponseEntity<PatientResponseDTO> patched = restTemplate.exchange(url, HttpMethod.PATCH,
+                                new HttpEntity<>("{\"address\": \"42 Patched Street\"}", headers),
+                                PatientResponseDTO.class);
+
+                // Assert
+                assertThat(patched.getStatusCode()).isEqualTo(HttpStatus.OK);
+                assertThat(patched.getBody().address()).isEqualTo("42 Patched Street");
+                assertThat(patched.getBody().name()).isEqualTo(created.name());
+                assertThat(patched.getHeaders().getETag()).isNotEqualTo(etag);
+
+                // Act
+                // 2. Patch again with the old version
+                ResponseEntity<String> stale = restTemplate.exchange(url, HttpMethod.PATCH,
+                                new HttpEntity<>("{\"name\": \"Lost Update\"}", headers), String.class);
+
+                // Assert
+                assertThat(stale.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED);
+                ResponseEntity<PatientResponseDTO> current = restTemplate.getForEntity(url, PatientResponseDTO.class);
+                assertThat(current.getBody().name()).isEqualTo(created.name());
+                assertThat(current.getHeaders().getETag()).isEqualTo(patched.getHeaders().getETag());
+
+                // Act
+                // 3. A full update with the new version succeeds and bumps the version again
+                headers.setIfMatch(patched.getHeaders().getETag());
+                ResponseEntity<PatientResponseDTO> updated = restTemplate.exchange(url, HttpMethod.PUT,
+                                new HttpEntity<>(request, headers), PatientResponseDTO.class);
+
+                // Assert
+                assertThat(updated.getStatusCode()).isEqualTo(HttpStatus.OK);
+                assertThat(updated.getHeaders().getETag())
+                                .isNotEqualTo(patched.getHeaders().getETag());
+        }
+
+        @Test
+        @SuppressWarnings("null")
+        @DisplayName("Overlapping bulk deletes report each patient as deleted exactly once")
+        void deletePatients_overlapping_reportEachPatientOnce() throws Exception {
+                // Arrange
+                List<UUID> createdIds = new ArrayList<>();
+                for (int i = 0; i < 20; i++) {
+                        createdIds.add(UUID.fromString(restTemplate.postForEntity("/api/patients",
+                                        DtoTestFactory.toRequestDTO(PatientTestFactory.createRandomPatient()),
+                                        PatientResponseDTO.class).getBody().id()));
+                }
+                ExecutorService executor = Executors.newFixedThreadPool(4);
+
+                // Act
+                List<Future<PatientBatchDeleteResponseDTO>> responses = new ArrayList<>();
+                try {
+                        for (int i = 0; i < 4; i++) {
+                                responses.add(executor.submit(() -> restTemplate.exchange("/api/patients",
+                                                HttpMethod.DELETE, new HttpEntity<>(createdIds),
+                                                PatientBatchDeleteResponseDTO.class).getBody()));
+                        }
+                        List<UUID> reported = new ArrayList<>();
+                        for (Future<PatientBatchDeleteResponseDTO> response : responses) {
+                                reported.addAll(response.get(30, TimeUnit.SECONDS).deletedIds());
+                        }
+
+                        // Assert
+                        assertThat(reported).containsExactlyInAnyOrderElementsOf(createdIds);
+                } finally {
+                        executor.shutdownNow();
+                }
+        }
+
+        @Test
+        @SuppressWarnings("null")
+        @DisplayName("Bulk delete removes existing patients, ignores unknown IDs and evicts cached reads")
+        void deletePatients_bulk_reportsDeletedIds() {
+                // Arrange
+                List<UUID> createdIds = new ArrayList<>();
+                for (int i = 0; i < 3; i++) {
+                        createdIds.add(UUID.fromString(restTemplate.postForEntity("/api/patients",
+                                        DtoTestFactory.toRequestDTO(PatientTestFactory.createRandomPatient()),
+                                        PatientResponseDTO.class).getBody().id()));
+                }
+                restTemplate.getForEntity("/api/patients/" + createdIds.get(0), PatientResponseDTO.class);
+                UUID unknownId = UUID.randomUUID();
+                List<UUID> toDelete = List.of(createdIds.get(0), unknownId, createdIds.get(1));
+
+                // Act
+                ResponseEntity<PatientBatchDeleteResponseDTO> response = restTemplate.exchange("/api/patients",
+                                HttpMethod.DELETE, new HttpEntity<>(toDelete), PatientBatchDeleteResponseDTO.class);
+
+                // Assert
+                assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+                assertThat(response.getBody().deleted()).isEqualTo(2);
+                assertThat(response.getBody().deletedIds())
+                                .containsExactlyInAnyOrder(createdIds.get(0), createdIds.get(1));
+                assertThat(restTemplate.getForEntity("/api/patients/" + createdIds.get(0), String.class)
+                                .getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+                assertThat(restTemplate.getForEntity("/api/patients/" + createdIds.get(2), String.class)
+                                .getStatusCode()).isEqualTo(HttpStatus.OK);
+        }
+
+        @Test
+        @SuppressWarnings("null")
+        @DisplayName("Polling the list with If-None-Match returns 304 until a write changes the collection")
+        void getPatients_conditionalPolling_returnsNotModifiedUntilWrite() {
+                // Arrange
+                String url = "/api/patients?size=500";
+                String etag = restTemplate.getForEntity(url, String.class).getHeaders().getETag();
+                HttpHeaders headers = new HttpHeaders();
+                headers.setIfNoneMatch(etag);
+
+                // Act
+                ResponseEntity<String> unchanged = restTemplate.exchange(url, HttpMethod.GET,
+                                new HttpEntity<>(headers), String.class);
+
+                // Assert
+                assertThat(unchanged.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+                assertThat(unchanged.getBody()).isNull();
+
+                // Act
+                restTemplate.postForEntity("/api/patients",
+                                DtoTestFactory.toRequestDTO(PatientTestFactory.createRandomPatient()),
+                                PatientResponseDTO.class);
+                ResponseEntity<String> changed = restTemplate.exchange(url, HttpMethod.GET,
+                                new HttpEntity<>(headers), String.class);
+
+                // Assert
+                assertThat(changed.getStatusCode()).isEqualTo(HttpStatus.OK);
+                assertThat(changed.getHeaders().getETag()).isNotEqualTo(etag);
+        }
+
+        @Test
+        @DisplayName("Deleting patients that do not exist leaves the collection version, and its ETag, unchanged")
+        void deleteMissingPatients_leavesCollectionVersionUnchanged() {
+                // Arrange
+                long before = collectionVersion.current();
+
+                // Act
+                restTemplate.delete("/api/patients/" + UUID.randomUUID());
+                ResponseEntity<PatientBatchDeleteResponseDTO> bulk = restTemplate.exchange("/api/patients",
+                                HttpMethod.DELETE, new HttpEntity<>(List.of(UUID.randomUUID(), UUID.randomUUID())),
+                                PatientBatchDeleteResponseDTO.class);
+
+                // Assert
+                assertThat(bulk.getStatusCode()).isEqualTo(HttpStatus.OK);
+                assertThat(collectionVersion.current()).isEqualTo(before);
+        }
+
+        @Test
+        @DisplayName("Sad path: an email taken through another instance, unknown to the email index, returns 409 Conflict")
+        void createPatient_emailTakenThroughAnotherInstance_returnsConflict() {
+                // Arrange
+                String email = "other-instance@example.com";
+                jdbcTemplate.update("INSERT INTO patient (id, name, email, address, date_of_birth, registered_date) "
+                                + "VALUES (?, 'Other Instance', ?, '1 Elsewhere St', DATE '1990-01-01', CURRENT_DATE)",
+                                UUID.randomUUID(), email);
+                PatientRequestDTO request = DtoTestFactory.toRequestDTO(PatientTestFactory.createRandomPatient());
+                request.setEmail(email);
+
+                // Act
+                ResponseEntity<String> response = restTemplate.postForEntity("/api/patients", request, String.class);
+
+                // Assert
+                assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+                assertThat(response.getBody()).containsIgnoringCase("email");
+        }
+
         @Test
         @DisplayName("Sad path: creating patient with duplicate email returns 409 Conflict")
         void createPatient_duplicateEmail_returnsConflict() {
@@ -120,4 +394,198 @@ class PatientITCase {
                 assertThat(response.getBody()).containsIgnoringCase("name");
                 assertThat(response.getBody()).containsIgnoringCase("email");
         }
+
+        @Test
+        @SuppressWarnings("null")
+        @DisplayName("Happy path: walking pages with the next cursor returns every patient exactly once")
+        void getPatients_keysetPagination_visitsEveryPatientOnce() {
+                // Arrange
+                for (int i = 0; i < 9; i++) {
+                        restTemplate.postForEntity("/api/patients",
+                                        DtoTestFactory.toRequestDTO(PatientTestFactory.createRandomPatient()),
+                                        PatientResponseDTO.class);
+                }
+                ResponseEntity<PatientResponseDTO[]> all = restTemplate.getForEntity(
+                                "/api/patients?size=500", PatientResponseDTO[].class);
+                Set<String> expectedIds = Arrays.stream(all.getBody()).map(PatientResponseDTO::id)
+                                .collect(Collectors.toSet());
+
+                // Act
+                List<String> visitedIds = new ArrayList<>();
+                String cursor = null;
+                do {
+                        String url = "/api/patients?size=4" + (cursor == null ? "" : "&cursor=" + cursor);
+                        ResponseEntity<PatientResponseDTO[]> page = restTemplate.getForEntity(
+                                        url, PatientResponseDTO[].class);
+                        assertThat(page.getStatusCode()).isEqualTo(HttpStatus.OK);
+                        assertThat(page.getBody().length).isLessThanOrEqualTo(4);
+                        Arrays.stream(page.getBody()).forEach(p -> visitedIds.add(p.id()));
+                        cursor = page.getHeaders().getFirst("X-Next-Cursor");
+                } while (cursor != null);
+
+                // Assert
+                assertThat(visitedIds).hasSize(expectedIds.size());
+                assertThat(visitedIds).containsExactlyInAnyOrderElementsOf(expectedIds);
+        }
+
+        @Test
+        @SuppressWarnings("null")
+        @DisplayName("Happy path: export streams every patient as one NDJSON line")
+        void exportPatients_streamsEveryPatient() throws Exception {
+                // Arrange
+                restTemplate.postForEntity("/api/patients",
+                                DtoTestFactory.toRequestDTO(PatientTestFactory.createRandomPatient()),
+                                PatientResponseDTO.class);
+                ResponseEntity<PatientResponseDTO[]> all = restTemplate.getForEntity(
+                                "/api/patients?size=500", PatientResponseDTO[].class);
+
+                // Act
+                ResponseEntity<String> export = restTemplate.getForEntity("/api/patients/export", String.class);
+
+                // Assert
+                assertThat(export.getStatusCode()).isEqualTo(HttpStatus.OK);
+                assertThat(export.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON);
+                List<String> lines = export.getBody().lines().toList();
+                assertThat(lines).hasSize(all.getBody().length);
+                assertThat(objectMapper.readValue(lines.get(0), PatientResponseDTO.class).id()).isNotNull();
+        }
+
+        @Test
+        @SuppressWarnings("null")
+        @DisplayName("Happy path: a patient requested as CBOR or Smile decodes to its JSON representation")
+        void getPatient_binaryAccept_returnsSamePatientInThatFormat() throws Exception {
+                // Arrange
+                PatientResponseDTO created = restTemplate.postForEntity("/api/patients",
+                                DtoTestFactory.toRequestDTO(PatientTestFactory.createRandomPatient()),
+                                PatientResponseDTO.class).getBody();
+                String url = "/api/patients/" + created.id();
+
+                // Act
+                ResponseEntity<byte[]> cbor = getAccepting(url, MediaType.APPLICATION_CBOR, false);
+                ResponseEntity<byte[]> smile = getAccepting(url,
+                                MediaType.parseMediaType(ResponseEncodingConfig.APPLICATION_SMILE_VALUE), false);
+
+                // Assert
+                assertThat(cbor.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_CBOR);
+                assertThat(new CBORMapper().readValue(cbor.getBody(), PatientResponseDTO.class)).isEqualTo(created);
+                assertThat(smile.getHeaders().getContentType().toString())
+                                .isEqualTo(ResponseEncodingConfig.APPLICATION_SMILE_VALUE);
+                assertThat(new SmileMapper().readValue(smile.getBody(), PatientResponseDTO.class)).isEqualTo(created);
+                assertThat(cbor.getHeaders().getVary()).contains(HttpHeaders.ACCEPT);
+        }
+
+        @Test
+        @SuppressWarnings("null")
+        @DisplayName("Happy path: patients are written by the dedicated converter, byte for byte as Jackson would")
+        void getPatients_json_isWrittenByPatientConverterAsJacksonWould() throws Exception {
+                // Arrange
+                restTemplate.postForEntity("/api/patients",
+                                DtoTestFactory.toRequestDTO(PatientTestFactory.createRandomPatient()),
+                                PatientResponseDTO.class);
+                List<HttpMessageConverter<?>> converters = messageConverters.getConverters();
+
+                // Act
+                ResponseEntity<byte[]> response = getAccepting("/api/patients?size=500", MediaType.APPLICATION_JSON,
+                                false);
+
+                // Assert
+                assertThat(converters.stream().filter(converter -> converter instanceof PatientJsonHttpMessageConverter
+                                || converter instanceof MappingJackson2HttpMessageConverter).findFirst())
+                                .containsInstanceOf(PatientJsonHttpMessageConverter.class);
+                PatientResponseDTO[] patients = objectMapper.readValue(response.getBody(), PatientResponseDTO[].class);
+                assertThat(patients).isNotEmpty();
+                assertThat(response.getBody()).isEqualTo(objectMapper.writeValueAsBytes(patients));
+        }
+
+        @Test
+        @SuppressWarnings("null")
+        @DisplayName("Compression: a single patient is sent as is, a full page is gzipped")
+        void getPatients_acceptingGzip_compressesOnlyLargeBodies() throws Exception {
+                // Arrange
+                List<PatientRequestDTO> requests = new ArrayList<>();
+                for (int i = 0; i < 20; i++) {
+                        requests.add(DtoTestFactory.toRequestDTO(PatientTestFactory.createRandomPatient()));
+                }
+                restTemplate.postForEntity("/api/patients/batch", requests, PatientBatchResponseDTO.class);
+
+                // Act
+                ResponseEntity<byte[]> small = getAccepting("/api/patients?size=1", MediaType.APPLICATION_JSON, true);
+                ResponseEntity<byte[]> large = getAccepting("/api/patients?size=20", MediaType.APPLICATION_JSON, true);
+
+                // Assert
+                assertThat(small.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+                assertThat(small.getHeaders().getContentLength()).isEqualTo(small.getBody().length);
+                assertThat(objectMapper.readValue(small.getBody(), PatientResponseDTO[].class)).hasSize(1);
+                assertThat(large.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+                try (var gunzipped = new GZIPInputStream(new ByteArrayInputStream(large.getBody()))) {
+                        assertThat(objectMapper.readValue(gunzipped, PatientResponseDTO[].class)).hasSize(20);
+                }
+        }
+
+        @Test
+        @SuppressWarnings("null")
+        @DisplayName("Mixed path: batch create inserts valid patients and rejects the rest per item")
+        void createPatients_batch_reportsPerItem() {
+                // Arrange
+                PatientRequestDTO existing = DtoTestFactory.toRequestDTO(PatientTestFactory.createRandomPatient());
+                restTemplate.postForEntity("/api/patients", existing, PatientResponseDTO.class);
+
+                PatientRequestDTO valid = DtoTestFactory.toRequestDTO(PatientTestFactory.createRandomPatient());
+                PatientRequestDTO duplicate = DtoTestFactory.toRequestDTO(PatientTestFactory.createRandomPatient());
+                duplicate.setEmail(existing.getEmail());
+                PatientRequestDTO invalid = new PatientRequestDTO();
+
+                // Act
+                ResponseEntity<PatientBatchResponseDTO> response = restTemplate.postForEntity(
+                                "/api/patients/batch", List.of(valid, duplicate, invalid),
+                                PatientBatchResponseDTO.class);
+
+                // Assert
+                assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+                PatientBatchResponseDTO body = response.getBody();
+                assertThat(body.created()).isEqualTo(1);
+                assertThat(body.rejected()).isEqualTo(2);
+                assertThat(body.results().get(0).status()).isEqualTo(PatientBatchResultDTO.Status.CREATED);
+                assertThat(body.results().get(1).errors()).containsKey("email");
+                assertThat(body.results().get(2).errors()).containsKeys("name", "email");
+
+                ResponseEntity<PatientResponseDTO[]> all = restTemplate.getForEntity(
+                                "/api/patients?size=500", PatientResponseDTO[].class);
+                assertThat(Arrays.stream(all.getBody()).anyMatch(p -> p.email().equals(valid.getEmail()))).isTrue();
+        }
+
+        @Test
+        @SuppressWarnings("null")
+        @DisplayName("Retry path: repeating a create with its Idempotency-Key returns the original patient")
+        void createPatient_retriedWithIdempotencyKey_returnsOriginalPatient() {
+                // Arrange
+                PatientRequestDTO request = DtoTestFactory.toRequestDTO(PatientTestFactory.createRandomPatient());
+                HttpHeaders headers = new HttpHeaders();
+                headers.set("Idempotency-Key", UUID.randomUUID().toString());
+                HttpEntity<PatientRequestDTO> entity = new HttpEntity<>(request, headers);
+
+                // Act
+                ResponseEntity<PatientResponseDTO> first = restTemplate.postForEntity(
+                                "/api/patients", entity, PatientResponseDTO.class);
+                ResponseEntity<PatientResponseDTO> retry = restTemplate.postForEntity(
+                                "/api/patients", entity, PatientResponseDTO.class);
+                ResponseEntity<String> withoutKey = restTemplate.postForEntity("/api/patients", request, String.class);
+
+                // Assert
+                assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+                assertThat(first.getHeaders().containsKey("Idempotent-Replayed")).isFalse();
+                assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.OK);
+                assertThat(retry.getHeaders().getFirst("Idempotent-Replayed")).isEqualTo("true");
+                assertThat(retry.getBody().id()).isEqualTo(first.getBody().id());
+                assertThat(withoutKey.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        }
+
+        private ResponseEntity<byte[]> getAccepting(String url, MediaType accept, boolean gzip) {
+                HttpHeaders headers = new HttpHeaders();
+                headers.setAccept(List.of(accept));
+                if (gzip) {
+                        headers.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+                }
+                return restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+        }
 }
@@ -0,0 +1,186 @@
+package com.jerosanchez.pms_patient_service.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.jerosanchez.pms_patient_service.dto.PatientRequestDTO;
+import com.jerosanchez.pms_patient_service.dto.PatientResponseDTO;
+import com.jerosanchez.pms_patient_service.index.PatientSemanticIndex;
+import com.jerosanchez.pms_patient_service.test_helpers.DtoTestFactory;
+import com.jerosanchez.pms_patient_service.test_helpers.PatientTestFactory;
+import com.jerosanchez.pms_patient_service.test_helpers.RecordingStatementInspector;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+                "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                                + "com.jerosanchez.pms_patient_service.test_helpers.RecordingStatementInspector",
+                "spring.ai.model.embedding=hashing",
+                "patients.semantic.enabled=true" })
+class PatientSearchITCase {
+        @Autowired
+        private TestRestTemplate restTemplate;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Autowired
+        private PatientSemanticIndex semanticIndex;
+
+        @Test
+        @SuppressWarnings("null")
+        @DisplayName("Search combines name prefix and date ranges and pages through the matches")
+        void searchPatients_filtersAndPaginates() {
+                // Arrange
+                createPatient("Searchable_ Alpha", LocalDate.of(1970, 1, 1));
+                createPatient("Searchable_ Beta", LocalDate.of(1980, 1, 1));
+                createPatient("Searchable_ Gamma", LocalDate.of(1990, 1, 1));
+                createPatient("SearchableX Delta", LocalDate.of(1980, 1, 1));
+
+                // Act
+                ResponseEntity<PatientResponseDTO[]> firstPage = restTemplate.getForEntity(
+                                "/api/patients/search?name=Searchable_&dateOfBirthFrom=1975-01-01&size=1",
+                                PatientResponseDTO[].class);
+                ResponseEntity<PatientResponseDTO[]> secondPage = restTemplate.getForEntity(
+                                "/api/patients/search?name=Searchable_&dateOfBirthFrom=1975-01-01&size=1&cursor="
+                                                + firstPage.getHeaders().getFirst("X-Next-Cursor"),
+                                PatientResponseDTO[].class);
+
+                // Assert
+                assertThat(firstPage.getStatusCode()).isEqualTo(HttpStatus.OK);
+                assertThat(secondPage.getStatusCode()).isEqualTo(HttpStatus.OK);
+                assertThat(secondPage.getHeaders().getFirst("X-Next-Cursor")).isNull();
+                assertThat(Arrays.asList(firstPage.getBody()[0].name(), secondPage.getBody()[0].name()))
+                                .containsExactlyInAnyOrder("Searchable_ Beta", "Searchable_ Gamma");
+        }
+
+        @Test
+        @DisplayName("Search with a malformed date returns 400 Bad Request")
+        void searchPatients_malformedDate_returnsBadRequest() {
+                // Act
+                ResponseEntity<String> response = restTemplate.getForEntity(
+                                "/api/patients/search?dateOfBirthFrom=not-a-date", String.class);
+
+                // Assert
+                assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        }
+
+        @Test
+        @SuppressWarnings("null")
+        @DisplayName("Typeahead finds misspelled names and follows creates, patches and deletes after commit")
+        void typeahead_followsWrites() throws InterruptedException {
+                // Arrange
+                awaitBuilt("/api/patients/typeahead?q=x", () -> { });
+                PatientRequestDTO request = DtoTestFactory.toRequestDTO(PatientTestFactory.createRandomPatient());
+                request.setName("Quentin Zebediah");
+                PatientResponseDTO created = restTemplate.postForEntity(
+                                "/api/patients", request, PatientResponseDTO.class).getBody();
+                String url = "/api/patients/" + created.id();
+
+                // Act & Assert
+                // 1. Created patients are found despite a typo
+                assertThat(typeahead("zebedaih")).extracting(PatientResponseDTO::id).contains(created.id());
+
+                // 2. Patched names replace the old entry
+                restTemplate.patchForObject(url, Map.of("name", "Quentin Yarborough"), String.class);
+                assertThat(typeahead("yarboro")).extracting(PatientResponseDTO::id).contains(created.id());
+                assertThat(typeahead("zebediah")).extracting(PatientResponseDTO::id).doesNotContain(created.id());
+
+                // 3. Deleted patients disappear
+                restTemplate.delete(url);
+                assertThat(typeahead("yarborough")).extracting(PatientResponseDTO::id)
+                                .doesNotContain(created.id());
+        }
+
+        @Test
+        @SuppressWarnings("null")
+        @DisplayName("Semantic search finds patients once the background task has embedded their changes")
+        void semanticSearch_followsWritesAfterEmbedding() throws InterruptedException {
+                // Arrange
+                awaitBuilt("/api/patients/semantic?q=x", semanticIndex::indexPending);
+                PatientRequestDTO request = DtoTestFactory.toRequestDTO(PatientTestFactory.createRandomPatient());
+                request.setName("Evangeline Fairweather");
+                PatientResponseDTO created = restTemplate.postForEntity(
+                                "/api/patients", request, PatientResponseDTO.class).getBody();
+
+                // Act & Assert
+                // 1. Created patients are found once embedded
+                semanticIndex.indexPending();
+                assertThat(semantic("evangeline fairweather")).extracting(PatientResponseDTO::id)
+                                .first().isEqualTo(created.id());
+
+                // 2. Deleted patients disappear once the deletion is processed
+                restTemplate.delete("/api/patients/" + created.id());
+                semanticIndex.indexPending();
+                assertThat(semantic("evangeline fairweather")).extracting(PatientResponseDTO::id)
+                                .doesNotContain(created.id());
+        }
+
+        @Test
+        @DisplayName("Every search filter is answered from an index rather than a table scan")
+        void searchQueries_useIndexes() {
+                // Each search is explained as the repository generated it, with the values the request bound
+                assertThat(explainSearch("name=Sm", "Sm", "Sn", "Sm%", 51))
+                                .containsIgnoringCase("IDX_PATIENT_NAME");
+                assertThat(explainSearch("email=john.doe@example.com", "john.doe@example.com", 51))
+                                .doesNotContainIgnoringCase("tableScan");
+                assertThat(explainSearch("dateOfBirthFrom=1980-01-01&dateOfBirthTo=1989-12-31",
+                                LocalDate.of(1980, 1, 1), LocalDate.of(1989, 12, 31), 51))
+                                .containsIgnoringCase("IDX_PATIENT_DATE_OF_BIRTH");
+                assertThat(explainSearch("registeredDateFrom=2024-01-01&registeredDateTo=2024-03-31",
+                                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31), 51))
+                                .containsIgnoringCase("IDX_PATIENT_REGISTERED_DATE");
+        }
+
+        private List<PatientResponseDTO> typeahead(String query) {
+                return Arrays.asList(restTemplate.getForObject("/api/patients/typeahead?q={q}",
+                                PatientResponseDTO[].class, query));
+        }
+
+        private List<PatientResponseDTO> semantic(String query) {
+                return Arrays.asList(restTemplate.getForObject("/api/patients/semantic?q={q}",
+                                PatientResponseDTO[].class, query));
+        }
+
+        // The indexes are loaded in the background after startup, and answer 503 until they are built
+        private void awaitBuilt(String url, Runnable poll) throws InterruptedException {
+                long deadline = System.currentTimeMillis() + 30000;
+                poll.run();
+                while (restTemplate.getForEntity(url, String.class).getStatusCode().is5xxServerError()
+                                && System.currentTimeMillis() < deadline) {
+                        Thread.sleep(20);
+                        poll.run();
+                }
+        }
+
+        private String explainSearch(String query, Object... boundValues) {
+                RecordingStatementInspector.clear();
+                ResponseEntity<String> response = restTemplate.getForEntity("/api/patients/search?" + query,
+                                String.class);
+                assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+                List<String> searches = RecordingStatementInspector.statements().stream()
+                                .filter(sql -> sql.startsWith("select") && sql.contains(" from patient "))
+                                .toList();
+                assertThat(searches).hasSize(1);
+                return jdbcTemplate.queryForObject("EXPLAIN " + searches.get(0), String.class, boundValues);
+        }
+
+        private void createPatient(String name, LocalDate dateOfBirth) {
+                PatientRequestDTO request = DtoTestFactory.toRequestDTO(PatientTestFactory.createRandomPatient());
+                request.setName(name);
+                request.setDateOfBirth(dateOfBirth.toString());
+                restTemplate.postForEntity("/api/patients", request, PatientResponseDTO.class);
+        }
+}
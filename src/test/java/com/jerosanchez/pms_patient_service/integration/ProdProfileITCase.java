@@ -0,0 +1,47 @@
+package com.jerosanchez.pms_patient_service.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+// Flyway migrates the throwaway database and Hibernate validates the entities against it
+@ActiveProfiles("prod")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ProdProfileITCase {
+        private static final String SEEDED_PATIENT_ID = "123e4567-e89b-12d3-a456-426614174000";
+
+        @Autowired
+        private TestRestTemplate restTemplate;
+
+        @Autowired
+        private ConfigurableListableBeanFactory beanFactory;
+
+        @Test
+        @DisplayName("The prod profile skips seed data and creates the API docs on first request")
+        void prodProfile_skipsSeedDataAndDefersApiDocs() {
+                // Arrange
+                boolean docsCreatedAtStartup = beanFactory.containsSingleton("openApiResource");
+
+                // Act
+                ResponseEntity<String> patients = restTemplate.getForEntity("/api/patients", String.class);
+                ResponseEntity<String> seeded = restTemplate.getForEntity(
+                                "/api/patients/" + SEEDED_PATIENT_ID, String.class);
+                ResponseEntity<String> docs = restTemplate.getForEntity("/v3/api-docs", String.class);
+
+                // Assert
+                assertThat(patients.getStatusCode()).isEqualTo(HttpStatus.OK);
+                assertThat(seeded.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+                assertThat(docsCreatedAtStartup).isFalse();
+                assertThat(beanFactory.getBeanDefinition("openApiResource").isLazyInit()).isTrue();
+                assertThat(docs.getStatusCode()).isEqualTo(HttpStatus.OK);
+                assertThat(beanFactory.containsSingleton("openApiResource")).isTrue();
+        }
+}
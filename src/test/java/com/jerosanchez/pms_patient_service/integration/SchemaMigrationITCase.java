@@ -0,0 +1,69 @@
+package com.jerosanchez.pms_patient_service.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+// The test profile adds the sample patients on top of the schema migrations
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class SchemaMigrationITCase {
+        private static final String SEEDED_PATIENT_ID = "123e4567-e89b-12d3-a456-426614174000";
+
+        @Autowired
+        private TestRestTemplate restTemplate;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Autowired
+        private Flyway flyway;
+
+        @Test
+        @DisplayName("Migrations create the schema with its lookup indexes, and the test profile seeds patients")
+        void migrations_createSchemaIndexesAndSeedData() {
+                // Arrange
+                MigrationInfo[] applied = flyway.info().applied();
+
+                // Act
+                List<String> indexes = jdbcTemplate.queryForList(
+                                "SELECT index_name FROM information_schema.indexes WHERE index_name LIKE 'IDX_PATIENT%'",
+                                String.class);
+                Long slotWrites = jdbcTemplate.queryForObject(
+                                "SELECT SUM(writes) FROM patient_change_slot", Long.class);
+                ResponseEntity<String> seeded = restTemplate.getForEntity(
+                                "/api/patients/" + SEEDED_PATIENT_ID, String.class);
+
+                // Assert
+                assertThat(applied).extracting(MigrationInfo::getScript).containsExactly(
+                                "V1__create_patient_tables.sql",
+                                "V2__add_change_tracking_and_outbox.sql",
+                                "V3__create_patient_lookup_indexes.sql",
+                                "V5__name_patient_email_constraint.sql",
+                                "V6__add_outbox_event_change_seq.sql",
+                                "V7__create_outbox_event_change_seq_index.sql",
+                                "V8__add_patient_change_slots.sql",
+                                "V9__create_patient_change_sequence.sql",
+                                "R__seed_sample_patients.sql");
+                assertThat(indexes).containsExactlyInAnyOrder(
+                                "IDX_PATIENT_NAME",
+                                "IDX_PATIENT_DATE_OF_BIRTH",
+                                "IDX_PATIENT_REGISTERED_DATE",
+                                "IDX_PATIENT_CHANGE_SEQ",
+                                "IDX_PATIENT_TOMBSTONE_CHANGE_SEQ");
+                assertThat(slotWrites).isZero();
+                assertThat(seeded.getStatusCode()).isEqualTo(HttpStatus.OK);
+        }
+}
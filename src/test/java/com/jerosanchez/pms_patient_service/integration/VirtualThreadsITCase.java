@@ -0,0 +1,118 @@
+package com.jerosanchez.pms_patient_service.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.jerosanchez.pms_patient_service.dto.PatientResponseDTO;
+import com.jerosanchez.pms_patient_service.exception.DatabaseBusyException;
+import com.jerosanchez.pms_patient_service.repository.PatientChangeCounterRepository;
+import com.jerosanchez.pms_patient_service.service.PatientService;
+import com.jerosanchez.pms_patient_service.test_helpers.DtoTestFactory;
+import com.jerosanchez.pms_patient_service.test_helpers.PatientTestFactory;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+                "spring.threads.virtual.enabled=true",
+                "patients.db-limiter.max-concurrent=1",
+                "patients.db-limiter.acquire-timeout=200ms"
+})
+class VirtualThreadsITCase {
+        @Autowired
+        private TestRestTemplate restTemplate;
+
+        @Autowired
+        private PatientService patientService;
+
+        @Autowired
+        private PatientChangeCounterRepository counterRepository;
+
+        @Test
+        @SuppressWarnings("null")
+        @DisplayName("Requests served on virtual threads reach the database through the limiter")
+        void createAndGetPatient_onVirtualThreads_succeeds() {
+                // Arrange
+                var request = DtoTestFactory.toRequestDTO(PatientTestFactory.createRandomPatient());
+
+                // Act
+                ResponseEntity<PatientResponseDTO> created = restTemplate.postForEntity(
+                                "/api/patients", request, PatientResponseDTO.class);
+                ResponseEntity<PatientResponseDTO> fetched = restTemplate.getForEntity(
+                                "/api/patients/" + created.getBody().id(), PatientResponseDTO.class);
+
+                // Assert
+                assertThat(created.getStatusCode()).isEqualTo(HttpStatus.OK);
+                assertThat(fetched.getStatusCode()).isEqualTo(HttpStatus.OK);
+                assertThat(fetched.getBody()).isEqualTo(created.getBody());
+        }
+
+        @Test
+        @DisplayName("Requests that cannot get a database permit in time are rejected with 503")
+        void getPatient_whenAllPermitsHeld_returnsServiceUnavailable() throws Exception {
+                // Arrange
+                // Hold the only permit by parking an export inside its sink
+                restTemplate.postForEntity("/api/patients",
+                                DtoTestFactory.toRequestDTO(PatientTestFactory.createRandomPatient()),
+                                PatientResponseDTO.class);
+                var holding = new CountDownLatch(1);
+                var release = new CountDownLatch(1);
+                Thread exporter = Thread.ofVirtual().start(() -> patientService.exportPatients(patient -> {
+                        holding.countDown();
+                        try {
+                                release.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException ex) {
+                                Thread.currentThread().interrupt();
+                        }
+                }));
+                assertThat(holding.await(5, TimeUnit.SECONDS)).isTrue();
+
+                // Act
+                ResponseEntity<String> response = restTemplate.getForEntity(
+                                "/api/patients/" + UUID.randomUUID(), String.class);
+                release.countDown();
+                exporter.join();
+
+                // Assert
+                assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+                assertThat(response.getHeaders().getFirst("Retry-After")).isEqualTo("1");
+        }
+
+        @Test
+        @DisplayName("Repositories called outside the service layer also wait for a database permit")
+        void counterRepository_whenAllPermitsHeld_isRejected() throws Exception {
+                // Arrange
+                restTemplate.postForEntity("/api/patients",
+                                DtoTestFactory.toRequestDTO(PatientTestFactory.createRandomPatient()),
+                                PatientResponseDTO.class);
+                var holding = new CountDownLatch(1);
+                var release = new CountDownLatch(1);
+                Thread exporter = Thread.ofVirtual().start(() -> patientService.exportPatients(patient -> {
+                        holding.countDown();
+                        try {
+                                release.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException ex) {
+                                Thread.currentThread().interrupt();
+                        }
+                }));
+                assertThat(holding.await(5, TimeUnit.SECONDS)).isTrue();
+
+                // Act & Assert
+                try {
+                        assertThatThrownBy(() -> counterRepository.findPurgedSeq())
+                                        .isInstanceOf(DatabaseBusyException.class);
+                } finally {
+                        release.countDown();
+                        exporter.join();
+                }
+        }
+}
@@ -0,0 +1,72 @@
+package com.jerosanchez.pms_patient_service.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.jerosanchez.pms_patient_service.exception.InvalidCursorException;
+import com.jerosanchez.pms_patient_service.repository.ChangePosition;
+
+class CursorMapperTest {
+    @Test
+    void toCursor_roundTripsThroughToLastId() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+
+        // Act
+        String cursor = CursorMapper.toCursor(id);
+
+        // Assert
+        assertEquals(id, CursorMapper.toLastId(cursor));
+    }
+
+    @Test
+    void toCursor_producesUrlSafeToken() {
+        // Act
+        String cursor = CursorMapper.toCursor(UUID.randomUUID());
+
+        // Assert
+        assertTrue(cursor.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    void toLastId_notBase64_throwsInvalidCursorException() {
+        assertThrows(InvalidCursorException.class, () -> CursorMapper.toLastId("not a cursor!"));
+    }
+
+    @Test
+    void toLastId_wrongLength_throwsInvalidCursorException() {
+        assertThrows(InvalidCursorException.class, () -> CursorMapper.toLastId("AAAA"));
+    }
+
+    @Test
+    void toCursor_roundTripsThroughToChangeCursor() {
+        // Arrange
+        ChangeCursor changeCursor = new ChangeCursor(new ChangePosition(42, UUID.randomUUID()), 50);
+
+        // Act
+        String cursor = CursorMapper.toCursor(changeCursor);
+
+        // Assert
+        assertEquals(changeCursor, CursorMapper.toChangeCursor(cursor));
+        assertTrue(cursor.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    void toChangeCursor_pageCursor_throwsInvalidCursorException() {
+        String pageCursor = CursorMapper.toCursor(UUID.randomUUID());
+
+        assertThrows(InvalidCursorException.class, () -> CursorMapper.toChangeCursor(pageCursor));
+    }
+
+    @Test
+    void toChangeCursor_floorBelowPosition_throwsInvalidCursorException() {
+        String cursor = CursorMapper.toCursor(new ChangeCursor(new ChangePosition(7, UUID.randomUUID()), 6));
+
+        assertThrows(InvalidCursorException.class, () -> CursorMapper.toChangeCursor(cursor));
+    }
+}
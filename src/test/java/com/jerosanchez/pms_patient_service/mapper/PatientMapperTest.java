@@ -1,14 +1,20 @@
 package com.jerosanchez.pms_patient_service.mapper;
 
 import static com.jerosanchez.pms_patient_service.test_helpers.DtoTestFactory.toRequestDTO;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.time.LocalDate;
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 
 import com.jerosanchez.pms_patient_service.dto.PatientRequestDTO;
 import com.jerosanchez.pms_patient_service.dto.PatientResponseDTO;
+import com.jerosanchez.pms_patient_service.dto.PatientSearchDTO;
 import com.jerosanchez.pms_patient_service.model.Patient;
+import com.jerosanchez.pms_patient_service.repository.PatientSearchCriteria;
 import com.jerosanchez.pms_patient_service.test_helpers.PatientAssertions;
 import com.jerosanchez.pms_patient_service.test_helpers.PatientTestFactory;
 
@@ -29,7 +35,19 @@ class PatientMapperTest {
     @Test
     void toDTO_nullPatientThrowsException() {
         // Act & Assert
-        assertThrows(NullPointerException.class, () -> PatientMapper.toDTO(null));
+        assertThrows(NullPointerException.class, () -> PatientMapper.toDTO((Patient) null));
+    }
+
+    @Test
+    void toDTO_fromSummary_mapsAllFieldsCorrectly() {
+        // Arrange
+        Patient patient = PatientTestFactory.createRandomPatient();
+
+        // Act
+        PatientResponseDTO dto = PatientMapper.toDTO(PatientTestFactory.toSummary(patient));
+
+        // Assert
+        PatientAssertions.assertEqual(patient, dto);
     }
 
     @Test
@@ -53,4 +71,33 @@ class PatientMapperTest {
         assertThrows(NullPointerException.class, () -> PatientMapper.toModel(null));
     }
 
+
+    @Test
+    void toSearchCriteria_treatsBlankTextFiltersAsAbsent() {
+        // Arrange
+        PatientSearchDTO dto = new PatientSearchDTO("  ", "john@example.com", LocalDate.of(1980, 1, 1), null,
+                null, LocalDate.of(2024, 1, 1));
+
+        // Act
+        PatientSearchCriteria criteria = PatientMapper.toSearchCriteria(dto);
+
+        // Assert
+        assertEquals(new PatientSearchCriteria(null, "john@example.com", LocalDate.of(1980, 1, 1), null, null,
+                LocalDate.of(2024, 1, 1)), criteria);
+    }
+
+    @Test
+    void toChangedFields_namesOnlyTheFieldsThatDiffer() {
+        // Arrange
+        Patient patient = PatientTestFactory.createRandomPatient();
+        PatientRequestDTO dto = toRequestDTO(patient);
+        dto.setAddress(patient.getAddress() + " (new)");
+        dto.setDateOfBirth(patient.getDateOfBirth().minusDays(1).toString());
+
+        // Act
+        List<String> fields = PatientMapper.toChangedFields(patient, dto);
+
+        // Assert
+        assertEquals(List.of("address", "dateOfBirth"), fields);
+    }
 }
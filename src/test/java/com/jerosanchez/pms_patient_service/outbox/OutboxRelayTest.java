@@ -0,0 +1,130 @@
+package com.jerosanchez.pms_patient_service.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import com.jerosanchez.pms_patient_service.config.OutboxProperties;
+import com.jerosanchez.pms_patient_service.model.OutboxEvent;
+import com.jerosanchez.pms_patient_service.repository.OutboxEventRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class OutboxRelayTest {
+    private static final Instant NOW = Instant.parse("2025-01-01T10:00:00Z");
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InMemoryOutboxPublisher publisher;
+
+    private MeterRegistry meterRegistry;
+
+    private OutboxRelay sut;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        publisher = new InMemoryOutboxPublisher();
+        meterRegistry = new SimpleMeterRegistry();
+        sut = new OutboxRelay(outboxEventRepository, publisher,
+                new OutboxProperties(true, 2, OutboxProperties.Publisher.IN_MEMORY), transactionManager,
+                meterRegistry, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void relay_publishesAndDeletesBatchesUntilTheOutboxIsDrained() {
+        // Arrange
+        List<OutboxEvent> firstBatch = List.of(event(1, 5), event(2, 4));
+        List<OutboxEvent> secondBatch = List.of(event(3, 1));
+        when(outboxEventRepository.findAllByOrderByChangeSeqAscIdAsc(Limit.of(2)))
+                .thenReturn(firstBatch)
+                .thenReturn(secondBatch);
+        when(outboxEventRepository.findFirstByOrderByChangeSeqAscIdAsc()).thenReturn(Optional.empty());
+
+        // Act
+        sut.relay();
+
+        // Assert
+        assertEquals(List.of(1L, 2L, 3L), publisher.published().stream().map(OutboxMessage::id).toList());
+        verify(outboxEventRepository, times(1)).deleteAllInBatch(firstBatch);
+        verify(outboxEventRepository, times(1)).deleteAllInBatch(secondBatch);
+        assertEquals(3.0, meterRegistry.get("patients.outbox.published").counter().count());
+        assertEquals(3, meterRegistry.get("patients.outbox.lag").timer().count());
+        assertEquals(5.0, meterRegistry.get("patients.outbox.lag").timer().max(TimeUnit.SECONDS));
+        assertEquals(0.0, meterRegistry.get("patients.outbox.oldest.age").gauge().value());
+    }
+
+    @Test
+    void relay_whenPublishFails_keepsTheBatchAndReportsLag() {
+        // Arrange
+        OutboxPublisher failing = messages -> {
+            throw new IllegalStateException("broker down");
+        };
+        MeterRegistry registry = new SimpleMeterRegistry();
+        OutboxRelay relay = new OutboxRelay(outboxEventRepository, failing,
+                new OutboxProperties(true, 2, OutboxProperties.Publisher.IN_MEMORY), transactionManager,
+                registry, Clock.fixed(NOW, ZoneOffset.UTC));
+        OutboxEvent pending = event(1, 30);
+        when(outboxEventRepository.findAllByOrderByChangeSeqAscIdAsc(Limit.of(2))).thenReturn(List.of(pending));
+        when(outboxEventRepository.findFirstByOrderByChangeSeqAscIdAsc()).thenReturn(Optional.of(pending));
+
+        // Act
+        relay.relay();
+
+        // Assert
+        verify(outboxEventRepository, never()).deleteAllInBatch(any());
+        assertEquals(1.0, registry.get("patients.outbox.publish.failures").counter().count());
+        assertEquals(0.0, registry.get("patients.outbox.published").counter().count());
+        assertEquals(30.0, registry.get("patients.outbox.oldest.age").gauge().value());
+    }
+
+    @Test
+    void relay_whenDisabled_doesNothing() {
+        // Arrange
+        OutboxRelay disabled = new OutboxRelay(outboxEventRepository, publisher,
+                new OutboxProperties(false, 2, OutboxProperties.Publisher.IN_MEMORY), transactionManager,
+                new SimpleMeterRegistry(), Clock.fixed(NOW, ZoneOffset.UTC));
+
+        // Act
+        disabled.relay();
+
+        // Assert
+        verify(outboxEventRepository, never()).findAllByOrderByIdAsc(any());
+    }
+
+    private static OutboxEvent event(long id, int secondsAgo) {
+        var event = new OutboxEvent();
+        event.setId(id);
+        event.setPatientId(UUID.randomUUID());
+        event.setChangeSeq(id);
+        event.setType(PatientChangeType.DELETED);
+        event.setCreatedAt(NOW.minusSeconds(secondsAgo));
+        return event;
+    }
+}
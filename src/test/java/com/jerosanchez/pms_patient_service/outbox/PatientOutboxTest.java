@@ -0,0 +1,83 @@
+package com.jerosanchez.pms_patient_service.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.verify;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jerosanchez.pms_patient_service.dto.PatientResponseDTO;
+import com.jerosanchez.pms_patient_service.mapper.PatientMapper;
+import com.jerosanchez.pms_patient_service.model.OutboxEvent;
+import com.jerosanchez.pms_patient_service.repository.OutboxEventRepository;
+import com.jerosanchez.pms_patient_service.test_helpers.PatientTestFactory;
+
+class PatientOutboxTest {
+    private static final Instant NOW = Instant.parse("2025-01-01T10:00:00Z");
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Captor
+    private ArgumentCaptor<OutboxEvent> eventCaptor;
+
+    @Captor
+    private ArgumentCaptor<List<OutboxEvent>> eventsCaptor;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private PatientOutbox sut;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        sut = new PatientOutbox(outboxEventRepository, objectMapper, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void recordUpdated_storesThePatientAsJson() throws Exception {
+        // Arrange
+        PatientResponseDTO patient = PatientMapper.toDTO(PatientTestFactory.createRandomPatient());
+
+        // Act
+        sut.recordUpdated(patient, 7L);
+
+        // Assert
+        verify(outboxEventRepository).save(eventCaptor.capture());
+        OutboxEvent event = eventCaptor.getValue();
+        assertEquals(UUID.fromString(patient.id()), event.getPatientId());
+        assertEquals(7L, event.getChangeSeq());
+        assertEquals(PatientChangeType.UPDATED, event.getType());
+        assertEquals(NOW, event.getCreatedAt());
+        assertEquals(patient, objectMapper.readValue(event.getPayload(), PatientResponseDTO.class));
+    }
+
+    @Test
+    void recordDeleted_storesOneEventPerPatientWithoutPayload() {
+        // Arrange
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+
+        // Act
+        sut.recordDeleted(ids, 7L);
+
+        // Assert
+        verify(outboxEventRepository).saveAll(eventsCaptor.capture());
+        List<OutboxEvent> events = eventsCaptor.getValue();
+        assertEquals(ids, events.stream().map(OutboxEvent::getPatientId).toList());
+        assertEquals(List.of(7L, 7L), events.stream().map(OutboxEvent::getChangeSeq).toList());
+        assertEquals(PatientChangeType.DELETED, events.get(0).getType());
+        assertNull(events.get(1).getPayload());
+    }
+}
@@ -1,15 +1,18 @@
 package com.jerosanchez.pms_patient_service.policy;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import com.jerosanchez.pms_patient_service.exception.EmailAlreadyExistsException;
+import com.jerosanchez.pms_patient_service.index.EmailIndex;
 import com.jerosanchez.pms_patient_service.repository.PatientRepository;
 import com.jerosanchez.pms_patient_service.test_helpers.PatientTestFactory;
 
@@ -17,12 +20,16 @@ class EmailUniquenessPolicyTest {
     @Mock
     private PatientRepository patientRepository;
 
+    @Mock
+    private EmailIndex emailIndex;
+
     private EmailUniquenessPolicy emailUniquenessPolicy;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        emailUniquenessPolicy = new EmailUniquenessPolicy(patientRepository);
+        emailUniquenessPolicy = new EmailUniquenessPolicy(patientRepository, emailIndex);
+        when(emailIndex.mightContain(ArgumentMatchers.any())).thenReturn(true);
     }
 
     @Test
@@ -61,4 +68,55 @@ class EmailUniquenessPolicyTest {
         // Assert
         verify(patientRepository).existsByEmail(null);
     }
+
+    @Test
+    void enforce_whenIndexSaysAbsent_skipsDatabase() {
+        // Arrange
+        String email = PatientTestFactory.createRandomPatient().getEmail();
+        when(emailIndex.mightContain(email)).thenReturn(false);
+
+        // Act
+        emailUniquenessPolicy.enforce(email);
+
+        // Assert
+        verify(patientRepository, never()).existsByEmail(ArgumentMatchers.any());
+    }
+
+    @Test
+    void enforce_whenIndexSaysMaybeButDatabaseSaysAbsent_recordsFalsePositive() {
+        // Arrange
+        String email = PatientTestFactory.createRandomPatient().getEmail();
+        when(patientRepository.existsByEmail(email)).thenReturn(false);
+
+        // Act
+        emailUniquenessPolicy.enforce(email);
+
+        // Assert
+        verify(emailIndex).recordFalsePositive();
+    }
+
+    @Test
+    void enforceForPatient_whenEmailBelongsToSamePatient_doesNotThrow() {
+        // Arrange
+        var patient = PatientTestFactory.createRandomPatient();
+        when(patientRepository.existsByEmailAndIdNot(patient.getEmail(), patient.getId())).thenReturn(false);
+
+        // Act
+        emailUniquenessPolicy.enforce(patient.getEmail(), patient.getId());
+
+        // Assert
+        verify(patientRepository).existsByEmailAndIdNot(patient.getEmail(), patient.getId());
+        verify(emailIndex).recordFalsePositive();
+    }
+
+    @Test
+    void enforceForPatient_whenEmailBelongsToAnotherPatient_throwsEmailAlreadyExistsException() {
+        // Arrange
+        var patient = PatientTestFactory.createRandomPatient();
+        when(patientRepository.existsByEmailAndIdNot(patient.getEmail(), patient.getId())).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(EmailAlreadyExistsException.class,
+                () -> emailUniquenessPolicy.enforce(patient.getEmail(), patient.getId()));
+    }
 }
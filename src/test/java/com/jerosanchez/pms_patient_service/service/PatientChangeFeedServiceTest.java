@@ -0,0 +1,181 @@
+package com.jerosanchez.pms_patient_service.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.jerosanchez.pms_patient_service.changefeed.ChangeFeedWatermark;
+import com.jerosanchez.pms_patient_service.config.PaginationProperties;
+import com.jerosanchez.pms_patient_service.dto.PatientChangeDTO;
+import com.jerosanchez.pms_patient_service.dto.PatientChangesDTO;
+import com.jerosanchez.pms_patient_service.exception.ChangeCursorExpiredException;
+import com.jerosanchez.pms_patient_service.mapper.ChangeCursor;
+import com.jerosanchez.pms_patient_service.mapper.CursorMapper;
+import com.jerosanchez.pms_patient_service.mapper.PatientMapper;
+import com.jerosanchez.pms_patient_service.model.Patient;
+import com.jerosanchez.pms_patient_service.model.PatientTombstone;
+import com.jerosanchez.pms_patient_service.repository.ChangePosition;
+import com.jerosanchez.pms_patient_service.repository.ChangedPatient;
+import com.jerosanchez.pms_patient_service.repository.PatientChangeCounterRepository;
+import com.jerosanchez.pms_patient_service.repository.PatientRepository;
+import com.jerosanchez.pms_patient_service.repository.PatientTombstoneRepository;
+import com.jerosanchez.pms_patient_service.test_helpers.PatientTestFactory;
+
+class PatientChangeFeedServiceTest {
+    // Differ only in the high bit, which signed UUID comparison would order the other way round
+    private static final UUID LOW_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID HIGH_ID = UUID.fromString("f0000000-0000-0000-0000-000000000001");
+
+    @Mock
+    private PatientRepository patientRepository;
+
+    @Mock
+    private PatientTombstoneRepository tombstoneRepository;
+
+    @Mock
+    private PatientChangeCounterRepository counterRepository;
+
+    @Mock
+    private ChangeFeedWatermark watermark;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private PaginationProperties paginationProperties = new PaginationProperties(50, 500);
+
+    @InjectMocks
+    private PatientChangeFeedService sut;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void getChanges_withoutCursor_startsBeforeEveryChangeAndIgnoresEarlierPurges() {
+        // Arrange
+        ChangedPatient patient = changed(PatientTestFactory.createRandomPatient(), 0);
+        when(watermark.current()).thenReturn(20L);
+        when(counterRepository.findPurgedSeq()).thenReturn(15L);
+        when(patientRepository.findChangedAfter(-1, ChangePosition.START.id(), Limit.of(11)))
+                .thenReturn(List.of(patient));
+        when(tombstoneRepository.findChangedAfter(-1, ChangePosition.START.id(), Limit.of(11)))
+                .thenReturn(List.of());
+
+        // Act
+        PatientChangesDTO result = sut.getChanges(null, 10);
+
+        // Assert
+        assertEquals(List.of(PatientChangeDTO.saved(PatientMapper.toDTO(patient.summary()))), result.changes());
+        assertEquals(new ChangeCursor(new ChangePosition(0, patient.id()), 20),
+                CursorMapper.toChangeCursor(result.nextCursor()));
+        assertFalse(result.hasMore());
+    }
+
+    @Test
+    void getChanges_mergesPatientsAndTombstonesInChangeOrder() {
+        // Arrange
+        ChangePosition after = new ChangePosition(4, UUID.randomUUID());
+        Patient saved = PatientTestFactory.createRandomPatient();
+        saved.setId(HIGH_ID);
+        ChangedPatient samePositionAsTombstone = changed(saved, 5);
+        ChangedPatient later = changed(PatientTestFactory.createRandomPatient(), 7);
+        PatientTombstone tombstone = new PatientTombstone(LOW_ID, 5, Instant.now());
+        when(watermark.current()).thenReturn(7L);
+        when(patientRepository.findChangedAfter(4, after.id(), Limit.of(3)))
+                .thenReturn(List.of(samePositionAsTombstone, later));
+        when(tombstoneRepository.findChangedAfter(4, after.id(), Limit.of(3))).thenReturn(List.of(tombstone));
+
+        // Act
+        PatientChangesDTO result = sut.getChanges(CursorMapper.toCursor(new ChangeCursor(after, 4)), 2);
+
+        // Assert
+        assertEquals(2, result.changes().size());
+        assertEquals(PatientChangeDTO.deleted(LOW_ID.toString()), result.changes().get(0));
+        assertEquals(HIGH_ID.toString(), result.changes().get(1).id());
+        assertFalse(result.changes().get(1).deleted());
+        assertEquals(new ChangeCursor(new ChangePosition(5, HIGH_ID), 5), CursorMapper.toChangeCursor(result.nextCursor()));
+        assertTrue(result.hasMore());
+    }
+
+    @Test
+    void getChanges_changeCommittedBetweenTheTwoReads_isLeftForTheNextPage() {
+        // Arrange
+        // A transaction that updated one patient and deleted another at seq 6 was still in flight
+        // when the watermark was taken, and committed after the patient read, so only the
+        // tombstone read sees it
+        ChangePosition after = new ChangePosition(4, UUID.randomUUID());
+        ChangedPatient before = changed(PatientTestFactory.createRandomPatient(), 5);
+        PatientTombstone committedInBetween = new PatientTombstone(LOW_ID, 6, Instant.now());
+        when(watermark.current()).thenReturn(5L);
+        when(patientRepository.findChangedAfter(4, after.id(), Limit.of(11))).thenReturn(List.of(before));
+        when(tombstoneRepository.findChangedAfter(4, after.id(), Limit.of(11))).thenReturn(List.of(committedInBetween));
+
+        // Act
+        PatientChangesDTO result = sut.getChanges(CursorMapper.toCursor(new ChangeCursor(after, 4)), 10);
+
+        // Assert
+        assertEquals(List.of(PatientChangeDTO.saved(PatientMapper.toDTO(before.summary()))), result.changes());
+        assertEquals(new ChangeCursor(new ChangePosition(5, before.id()), 5),
+                CursorMapper.toChangeCursor(result.nextCursor()));
+        assertTrue(result.hasMore());
+    }
+
+    @Test
+    void getChanges_whenNothingChanged_returnsTheSameCursor() {
+        // Arrange
+        String cursor = CursorMapper.toCursor(new ChangeCursor(new ChangePosition(9, UUID.randomUUID()), 9));
+
+        // Act
+        PatientChangesDTO result = sut.getChanges(cursor, null);
+
+        // Assert
+        assertTrue(result.changes().isEmpty());
+        assertEquals(cursor, result.nextCursor());
+        assertFalse(result.hasMore());
+    }
+
+    @Test
+    void getChanges_cursorBehindPurgedTombstones_throwsExpired() {
+        // Arrange
+        String cursor = CursorMapper.toCursor(new ChangeCursor(new ChangePosition(3, UUID.randomUUID()), 3));
+        when(counterRepository.findPurgedSeq()).thenReturn(4L);
+
+        // Act & Assert
+        assertThrows(ChangeCursorExpiredException.class, () -> sut.getChanges(cursor, null));
+    }
+
+    @Test
+    void getChanges_cursorBehindPurgedMarkButAboveItsFloor_isStillValid() {
+        // Arrange
+        String cursor = CursorMapper.toCursor(new ChangeCursor(new ChangePosition(2, UUID.randomUUID()), 4));
+        when(counterRepository.findPurgedSeq()).thenReturn(4L);
+
+        // Act
+        PatientChangesDTO result = sut.getChanges(cursor, null);
+
+        // Assert
+        assertEquals(cursor, result.nextCursor());
+    }
+
+    private static ChangedPatient changed(Patient patient, long changeSeq) {
+        return new ChangedPatient(patient.getId(), patient.getName(), patient.getEmail(), patient.getAddress(),
+                patient.getDateOfBirth(), patient.getVersion(), changeSeq);
+    }
+}
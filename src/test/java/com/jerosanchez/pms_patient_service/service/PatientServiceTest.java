@@ -2,7 +2,9 @@ package com.jerosanchez.pms_patient_service.service;
 
 import static com.jerosanchez.pms_patient_service.test_helpers.DtoTestFactory.toRequestDTO;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.doThrow;
@@ -10,9 +12,20 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,17 +33,58 @@ import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-
+import org.mockito.Spy;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.cache.Cache;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.jerosanchez.pms_patient_service.audit.AuditLog;
+import com.jerosanchez.pms_patient_service.audit.AuditOperation;
+import com.jerosanchez.pms_patient_service.cache.PatientCollectionVersion;
+import com.jerosanchez.pms_patient_service.cache.VersionedPatientCacheResolver;
+import com.jerosanchez.pms_patient_service.changefeed.PatientChangeLog;
+import com.jerosanchez.pms_patient_service.concurrency.SingleFlightAspect;
+import com.jerosanchez.pms_patient_service.config.BatchProperties;
+import com.jerosanchez.pms_patient_service.config.CacheConfig;
+import com.jerosanchez.pms_patient_service.config.PaginationProperties;
+import com.jerosanchez.pms_patient_service.config.SingleFlightProperties;
+import com.jerosanchez.pms_patient_service.dto.PatientBatchDeleteResponseDTO;
+import com.jerosanchez.pms_patient_service.dto.PatientBatchResponseDTO;
+import com.jerosanchez.pms_patient_service.dto.PatientBatchResultDTO.Status;
+import com.jerosanchez.pms_patient_service.dto.PatientPageDTO;
+import com.jerosanchez.pms_patient_service.dto.PatientPatchDTO;
 import com.jerosanchez.pms_patient_service.dto.PatientRequestDTO;
 import com.jerosanchez.pms_patient_service.dto.PatientResponseDTO;
+import com.jerosanchez.pms_patient_service.dto.PatientSearchDTO;
+import com.jerosanchez.pms_patient_service.dto.VersionedPatientDTO;
+import com.jerosanchez.pms_patient_service.dto.VersionedPatientPageDTO;
+import com.jerosanchez.pms_patient_service.event.PatientSavedEvent;
+import com.jerosanchez.pms_patient_service.event.PatientsDeletedEvent;
+import com.jerosanchez.pms_patient_service.exception.BatchTooLargeException;
 import com.jerosanchez.pms_patient_service.exception.EmailAlreadyExistsException;
+import com.jerosanchez.pms_patient_service.exception.InvalidCursorException;
+import com.jerosanchez.pms_patient_service.exception.PatientNotFoundException;
+import com.jerosanchez.pms_patient_service.exception.PreconditionFailedException;
+import com.jerosanchez.pms_patient_service.index.EmailIndex;
+import com.jerosanchez.pms_patient_service.mapper.CursorMapper;
 import com.jerosanchez.pms_patient_service.mapper.PatientMapper;
 import com.jerosanchez.pms_patient_service.model.Patient;
+import com.jerosanchez.pms_patient_service.outbox.PatientOutbox;
 import com.jerosanchez.pms_patient_service.policy.EmailUniquenessPolicy;
 import com.jerosanchez.pms_patient_service.repository.PatientRepository;
+import com.jerosanchez.pms_patient_service.repository.PatientSearchCriteria;
+import com.jerosanchez.pms_patient_service.repository.PatientSummary;
 import com.jerosanchez.pms_patient_service.test_helpers.PatientAssertions;
 import com.jerosanchez.pms_patient_service.test_helpers.PatientTestFactory;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
 class PatientServiceTest {
     @Mock
     private PatientRepository patientRepository;
@@ -38,49 +92,298 @@ class PatientServiceTest {
     @Mock
     private EmailUniquenessPolicy emailUniquenessPolicy;
 
+    @Mock
+    private EmailIndex emailIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PatientOutbox outbox;
+
+    @Mock
+    private PatientChangeLog changeLog;
+
+    @Mock
+    private PatientCollectionVersion collectionVersion;
+
+    @Mock
+    private AuditLog auditLog;
+
+    @Mock
+    private VersionedPatientCacheResolver patientCacheResolver;
+
+    @Mock
+    private Cache patientCache;
+
+    @Spy
+    private PaginationProperties paginationProperties = new PaginationProperties(50, 500);
+
+    @Spy
+    private BatchProperties batchProperties = new BatchProperties(4, 2);
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
     @InjectMocks
     private PatientService sut;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(changeLog.nextChangeSeq()).thenReturn(9L);
+        when(patientCacheResolver.getCache(CacheConfig.PATIENTS_CACHE)).thenReturn(patientCache);
     }
 
     // --- Get Patients Tests ---
 
     @Test
-    void getPatients_returnsMappedDTOs() {
+    void getPatients_withoutCursor_returnsFirstPage() {
         // Arrange
         Patient patient1 = PatientTestFactory.createRandomPatient();
         Patient patient2 = PatientTestFactory.createRandomPatient();
-        List<Patient> patients = Arrays.asList(patient1, patient2);
+        List<PatientSummary> patients = Arrays.asList(
+                PatientTestFactory.toSummary(patient1), PatientTestFactory.toSummary(patient2));
 
-        when(patientRepository.findAll()).thenReturn(patients);
+        when(patientRepository.findAllByOrderByIdAsc(Limit.of(11))).thenReturn(patients);
 
         // Act
-        List<PatientResponseDTO> result = sut.getPatients();
+        PatientPageDTO result = sut.getPatients(null, 10).page();
 
         // Assert
-        assertEquals(2, result.size());
-        PatientAssertions.assertEqual(patient1, result.get(0));
-        PatientAssertions.assertEqual(patient2, result.get(1));
+        assertEquals(2, result.patients().size());
+        PatientAssertions.assertEqual(patient1, result.patients().get(0));
+        PatientAssertions.assertEqual(patient2, result.patients().get(1));
+        assertNull(result.nextCursor());
 
-        verify(patientRepository, times(1)).findAll();
+        verify(patientRepository, times(1)).findAllByOrderByIdAsc(Limit.of(11));
     }
 
     @Test
-    void getPatients_returnsEmptyListWhenNoPatients() {
+    void getPatients_returnsEmptyPageWhenNoPatients() {
         // Arrange
-        when(patientRepository.findAll()).thenReturn(List.of());
+        when(patientRepository.findAllByOrderByIdAsc(ArgumentMatchers.any())).thenReturn(List.of());
 
         // Act
-        List<PatientResponseDTO> result = sut.getPatients();
+        PatientPageDTO result = sut.getPatients(null, null).page();
 
         // Assert
         assertNotNull(result);
-        assertTrue(result.isEmpty());
+        assertTrue(result.patients().isEmpty());
+        assertNull(result.nextCursor());
+    }
+
+    @Test
+    void getPatients_whenMoreRowsThanPageSize_returnsCursorToLastRowOfPage() {
+        // Arrange
+        Patient patient1 = PatientTestFactory.createRandomPatient();
+        Patient patient2 = PatientTestFactory.createRandomPatient();
+        Patient patient3 = PatientTestFactory.createRandomPatient();
+
+        when(patientRepository.findAllByOrderByIdAsc(Limit.of(3)))
+                .thenReturn(List.of(PatientTestFactory.toSummary(patient1), PatientTestFactory.toSummary(patient2),
+                        PatientTestFactory.toSummary(patient3)));
+
+        // Act
+        PatientPageDTO result = sut.getPatients(null, 2).page();
+
+        // Assert
+        assertEquals(2, result.patients().size());
+        assertEquals(patient2.getId(), CursorMapper.toLastId(result.nextCursor()));
+    }
+
+    @Test
+    void getPatients_withCursor_seeksPastLastSeenId() {
+        // Arrange
+        UUID lastId = UUID.randomUUID();
+        Patient patient = PatientTestFactory.createRandomPatient();
+
+        when(patientRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(3)))
+                .thenReturn(List.of(PatientTestFactory.toSummary(patient)));
+
+        // Act
+        PatientPageDTO result = sut.getPatients(CursorMapper.toCursor(lastId), 2).page();
+
+        // Assert
+        assertEquals(1, result.patients().size());
+        assertNull(result.nextCursor());
+
+        verify(patientRepository, times(0)).findAllByOrderByIdAsc(ArgumentMatchers.any());
+    }
+
+    @Test
+    void getPatients_returnsVersionReadBeforeThePage() {
+        // Arrange
+        when(collectionVersion.current()).thenReturn(7L);
+        when(patientRepository.findAllByOrderByIdAsc(ArgumentMatchers.any())).thenReturn(List.of());
+
+        // Act
+        VersionedPatientPageDTO result = sut.getPatients(null, null);
+
+        // Assert
+        assertEquals(7L, result.version());
+    }
+
+    @Test
+    void getPatients_joiningFlightAcrossWrite_sharesVersionReadWithThePage() throws Exception {
+        // Arrange
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AspectJProxyFactory factory = new AspectJProxyFactory(sut);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new SingleFlightAspect(new SingleFlightProperties(Set.of("get-patients")), meterRegistry));
+        PatientService coalesced = factory.getProxy();
+
+        CountDownLatch querying = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(collectionVersion.current()).thenReturn(1L, 2L);
+        when(patientRepository.findAllByOrderByIdAsc(ArgumentMatchers.any())).thenAnswer(invocation -> {
+            querying.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<VersionedPatientPageDTO> leader = executor.submit(() -> coalesced.getPatients(null, 10));
+            assertTrue(querying.await(5, TimeUnit.SECONDS));
+
+            // Act: a write commits while the leader's query runs, then a second caller joins the flight
+            assertEquals(2L, collectionVersion.current());
+            Future<VersionedPatientPageDTO> follower = executor.submit(() -> coalesced.getPatients(null, 10));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (System.nanoTime() < deadline && meterRegistry.get("patients.single.flight.calls")
+                    .tag("operation", "get-patients").tag("outcome", "shared").counter().count() < 1) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            // Assert: the follower gets the leader's page along with the version it was read at
+            assertEquals(1L, leader.get(5, TimeUnit.SECONDS).version());
+            assertEquals(1L, follower.get(5, TimeUnit.SECONDS).version());
+            verify(patientRepository, times(1)).findAllByOrderByIdAsc(ArgumentMatchers.any());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void getPatients_clampsRequestedSizeToConfiguredMaximum() {
+        // Arrange
+        when(patientRepository.findAllByOrderByIdAsc(ArgumentMatchers.any())).thenReturn(List.of());
+
+        // Act
+        sut.getPatients(null, 10_000);
+
+        // Assert
+        verify(patientRepository, times(1)).findAllByOrderByIdAsc(Limit.of(paginationProperties.maxSize() + 1));
+    }
+
+    @Test
+    void getPatients_withMalformedCursor_throwsInvalidCursorException() {
+        // Act & Assert
+        assertThrows(InvalidCursorException.class, () -> sut.getPatients("not a cursor!", 10));
+    }
+
+    // --- Search Patients Tests ---
+
+    @Test
+    void searchPatients_passesFiltersAndCursorToRepository() {
+        // Arrange
+        UUID lastId = UUID.randomUUID();
+        Patient patient1 = PatientTestFactory.createRandomPatient();
+        Patient patient2 = PatientTestFactory.createRandomPatient();
+        PatientSearchDTO search = new PatientSearchDTO("Sm", " ", LocalDate.of(1980, 1, 1), null, null,
+                LocalDate.of(2024, 12, 31));
+        PatientSearchCriteria expectedCriteria = new PatientSearchCriteria("Sm", null, LocalDate.of(1980, 1, 1),
+                null, null, LocalDate.of(2024, 12, 31));
+
+        when(patientRepository.search(expectedCriteria, lastId, Limit.of(2)))
+                .thenReturn(List.of(PatientTestFactory.toSummary(patient1), PatientTestFactory.toSummary(patient2)));
+
+        // Act
+        PatientPageDTO result = sut.searchPatients(search, CursorMapper.toCursor(lastId), 1);
+
+        // Assert
+        assertEquals(1, result.patients().size());
+        PatientAssertions.assertEqual(patient1, result.patients().get(0));
+        assertEquals(patient1.getId(), CursorMapper.toLastId(result.nextCursor()));
+    }
+
+    @Test
+    void searchPatients_withMalformedCursor_throwsInvalidCursorException() {
+        // Arrange
+        PatientSearchDTO search = new PatientSearchDTO(null, null, null, null, null, null);
+
+        // Act & Assert
+        assertThrows(InvalidCursorException.class, () -> sut.searchPatients(search, "not a cursor!", 10));
+    }
+
+    // --- Get Patient Tests ---
+
+    @Test
+    void getPatient_returnsPatientWhenFound() {
+        // Arrange
+        Patient patient = PatientTestFactory.createRandomPatient();
+        when(patientRepository.findSummaryById(patient.getId()))
+                .thenReturn(Optional.of(PatientTestFactory.toSummary(patient)));
+
+        // Act
+        VersionedPatientDTO result = sut.getPatient(patient.getId());
+
+        // Assert
+        PatientAssertions.assertEqual(patient, result.patient());
+        assertEquals(patient.getVersion(), result.version());
+    }
+
+    @Test
+    void getPatient_throwsWhenNotFound() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        when(patientRepository.findSummaryById(id)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(PatientNotFoundException.class, () -> sut.getPatient(id));
+    }
+
+    @Test
+    void getPatient_throwsWhenIdIsNull() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> sut.getPatient(null));
+    }
 
-        verify(patientRepository, times(1)).findAll();
+    // --- Export Patients Tests ---
+
+    @Test
+    void exportPatients_writesEveryPatient() {
+        // Arrange
+        Patient patient1 = PatientTestFactory.createRandomPatient();
+        Patient patient2 = PatientTestFactory.createRandomPatient();
+        when(patientRepository.streamAllSummaries()).thenReturn(
+                Stream.of(PatientTestFactory.toSummary(patient1), PatientTestFactory.toSummary(patient2)));
+        List<PatientResponseDTO> exported = new ArrayList<>();
+
+        // Act
+        long count = sut.exportPatients(exported::add);
+
+        // Assert
+        assertEquals(2, count);
+        assertEquals(2, exported.size());
+        PatientAssertions.assertEqual(patient1, exported.get(0));
+        PatientAssertions.assertEqual(patient2, exported.get(1));
+    }
+
+    @Test
+    void exportPatients_whenNoPatients_writesNothing() {
+        // Arrange
+        when(patientRepository.streamAllSummaries()).thenReturn(Stream.empty());
+        List<PatientResponseDTO> exported = new ArrayList<>();
+
+        // Act
+        long count = sut.exportPatients(exported::add);
+
+        // Assert
+        assertEquals(0, count);
+        assertTrue(exported.isEmpty());
     }
 
     // --- Create Patient Tests ---
@@ -104,7 +407,11 @@ class PatientServiceTest {
         assertEquals(expectedDTO, result);
 
         verify(emailUniquenessPolicy, times(1)).enforce(request.getEmail());
-        verify(patientRepository, times(1)).save(ArgumentMatchers.<Patient>any());
+        verify(patientRepository, times(1)).save(ArgumentMatchers.<Patient>argThat(p -> p.getChangeSeq() == 9L));
+        verify(emailIndex, times(1)).add(savedPatient.getEmail());
+        verify(outbox, times(1)).recordCreated(expectedDTO, 9L);
+        verify(auditLog, times(1)).record(AuditOperation.CREATE, savedPatient.getId(),
+                List.of("name", "email", "address", "dateOfBirth", "registeredDate"));
     }
 
     @Test
@@ -122,6 +429,104 @@ class PatientServiceTest {
 
         verify(emailUniquenessPolicy, times(1)).enforce(request.getEmail());
         verify(patientRepository, times(0)).save(ArgumentMatchers.<Patient>any());
+        verify(changeLog, times(0)).nextChangeSeq();
+        verify(auditLog, times(0)).record(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any());
+    }
+
+    // --- Create Patients Batch Tests ---
+
+    @Test
+    void createPatients_savesValidPatientsAndReportsEachItem() {
+        // Arrange
+        PatientRequestDTO valid1 = toRequestDTO(PatientTestFactory.createRandomPatient());
+        PatientRequestDTO valid2 = toRequestDTO(PatientTestFactory.createRandomPatient());
+        PatientRequestDTO invalid = toRequestDTO(PatientTestFactory.createRandomPatient());
+        invalid.setName("");
+        invalid.setDateOfBirth("not-a-date");
+
+        when(patientRepository.findExistingEmails(ArgumentMatchers.any())).thenReturn(Set.of());
+        stubSaveAllToAssignIds();
+
+        // Act
+        PatientBatchResponseDTO result = sut.createPatients(List.of(valid1, invalid, valid2));
+
+        // Assert
+        assertEquals(2, result.created());
+        assertEquals(1, result.rejected());
+        assertEquals(Status.CREATED, result.results().get(0).status());
+        assertEquals(valid1.getEmail(), result.results().get(0).patient().email());
+        assertEquals(Status.REJECTED, result.results().get(1).status());
+        assertTrue(result.results().get(1).errors().containsKey("name"));
+        assertEquals("Date of birth must be a valid date (yyyy-MM-dd)",
+                result.results().get(1).errors().get("dateOfBirth"));
+        assertEquals(Status.CREATED, result.results().get(2).status());
+
+        verify(patientRepository, times(1)).saveAll(ArgumentMatchers.<List<Patient>>argThat(
+                p -> p.size() == 2 && p.stream().allMatch(patient -> patient.getChangeSeq() == 9L)));
+        verify(changeLog, times(1)).nextChangeSeq();
+        verify(emailUniquenessPolicy, times(0)).enforce(ArgumentMatchers.any());
+        verify(outbox, times(1)).recordCreated(
+                List.of(result.results().get(0).patient(), result.results().get(2).patient()), 9L);
+        verify(auditLog, times(1)).recordAll(ArgumentMatchers.eq(AuditOperation.CREATE),
+                ArgumentMatchers.eq(List.of(
+                        UUID.fromString(result.results().get(0).patient().id()),
+                        UUID.fromString(result.results().get(2).patient().id()))),
+                ArgumentMatchers.any());
+    }
+
+    @Test
+    void createPatients_rejectsEmailsThatAlreadyExistOrRepeatInBatch() {
+        // Arrange
+        PatientRequestDTO existing = toRequestDTO(PatientTestFactory.createRandomPatient());
+        PatientRequestDTO first = toRequestDTO(PatientTestFactory.createRandomPatient());
+        PatientRequestDTO repeated = toRequestDTO(PatientTestFactory.createRandomPatient());
+        repeated.setEmail(first.getEmail());
+
+        when(patientRepository.findExistingEmails(ArgumentMatchers.any())).thenReturn(Set.of(existing.getEmail()));
+        stubSaveAllToAssignIds();
+
+        // Act
+        PatientBatchResponseDTO result = sut.createPatients(List.of(existing, first, repeated));
+
+        // Assert
+        assertEquals(1, result.created());
+        assertEquals(2, result.rejected());
+        assertEquals(Status.REJECTED, result.results().get(0).status());
+        assertEquals(Status.CREATED, result.results().get(1).status());
+        assertEquals(Status.REJECTED, result.results().get(2).status());
+        assertTrue(result.results().get(2).errors().get("email").contains("duplicated"));
+    }
+
+    @Test
+    void createPatients_checksEmailsInChunks() {
+        // Arrange
+        List<PatientRequestDTO> requests = List.of(
+                toRequestDTO(PatientTestFactory.createRandomPatient()),
+                toRequestDTO(PatientTestFactory.createRandomPatient()),
+                toRequestDTO(PatientTestFactory.createRandomPatient()));
+
+        when(patientRepository.findExistingEmails(ArgumentMatchers.any())).thenReturn(Set.of());
+        stubSaveAllToAssignIds();
+
+        // Act
+        sut.createPatients(requests);
+
+        // Assert (chunk size is 2)
+        verify(patientRepository, times(2)).findExistingEmails(ArgumentMatchers.any());
+    }
+
+    @Test
+    void createPatients_throwsWhenBatchTooLarge() {
+        // Arrange
+        List<PatientRequestDTO> requests = new ArrayList<>();
+        for (int i = 0; i < batchProperties.maxSize() + 1; i++) {
+            requests.add(toRequestDTO(PatientTestFactory.createRandomPatient()));
+        }
+
+        // Act & Assert
+        assertThrows(BatchTooLargeException.class, () -> sut.createPatients(requests));
+
+        verify(patientRepository, times(0)).saveAll(ArgumentMatchers.any());
     }
 
     // --- Update Patient Tests ---
@@ -138,18 +543,22 @@ class PatientServiceTest {
 
         when(patientRepository.findById(ArgumentMatchers.<UUID>any()))
                 .thenReturn(java.util.Optional.of(existingPatient));
-        when(patientRepository.save(existingPatient)).thenReturn(existingPatient);
+        when(patientRepository.saveAndFlush(existingPatient)).thenReturn(existingPatient);
 
         // Act
-        PatientResponseDTO result = sut.updatePatient(existingPatient.getId(), updateRequest);
+        VersionedPatientDTO result = sut.updatePatient(existingPatient.getId(), updateRequest, null);
 
         // Assert
-        assertEquals("Updated Name", result.name());
-        assertEquals("Updated Address", result.address());
-        assertEquals(existingPatient.getEmail(), result.email());
+        assertEquals("Updated Name", result.patient().name());
+        assertEquals("Updated Address", result.patient().address());
+        assertEquals(existingPatient.getEmail(), result.patient().email());
+        assertEquals(existingPatient.getVersion(), result.version());
 
         verify(patientRepository, times(1)).findById(ArgumentMatchers.<UUID>any());
-        verify(patientRepository, times(1)).save(existingPatient);
+        verify(patientRepository, times(1)).saveAndFlush(existingPatient);
+        assertEquals(9L, existingPatient.getChangeSeq());
+        verify(outbox, times(1)).recordUpdated(result.patient(), 9L);
+        verify(auditLog, times(1)).record(AuditOperation.UPDATE, existingPatient.getId(), List.of("name", "address"));
     }
 
     @Test
@@ -162,14 +571,37 @@ class PatientServiceTest {
 
         when(patientRepository.findById(ArgumentMatchers.<UUID>any()))
                 .thenReturn(java.util.Optional.of(existingPatient));
-        when(patientRepository.save(existingPatient)).thenReturn(existingPatient);
+        when(patientRepository.saveAndFlush(existingPatient)).thenReturn(existingPatient);
 
         // Act
-        sut.updatePatient(existingPatient.getId(), updateRequest);
+        sut.updatePatient(existingPatient.getId(), updateRequest, null);
 
         // Assert
         verify(emailUniquenessPolicy, times(1)).enforce("newemail@example.com");
-        verify(patientRepository, times(1)).save(existingPatient);
+        verify(patientRepository, times(1)).saveAndFlush(existingPatient);
+        verify(emailIndex, times(1)).add("newemail@example.com");
+        verify(emailIndex, times(1)).recordRemoval();
+    }
+
+    @Test
+    void patchPatient_whenEmailUnchanged_recordsNoRemoval() {
+        // Arrange
+        Patient patient = PatientTestFactory.createRandomPatient();
+        PatientPatchDTO patchRequest = new PatientPatchDTO();
+        patchRequest.setEmail(patient.getEmail());
+
+        when(patientRepository.existsByIdAndEmail(patient.getId(), patient.getEmail())).thenReturn(true);
+        when(patientRepository.patch(ArgumentMatchers.eq(patient.getId()), ArgumentMatchers.isNull(),
+                ArgumentMatchers.any(), ArgumentMatchers.anyLong())).thenReturn(1);
+        when(patientRepository.findSummaryById(patient.getId()))
+                .thenReturn(Optional.of(PatientTestFactory.toSummary(patient)));
+
+        // Act
+        sut.patchPatient(patient.getId(), patchRequest, null);
+
+        // Assert
+        verify(emailIndex, times(0)).add(ArgumentMatchers.any());
+        verify(emailIndex, times(0)).recordRemoval();
     }
 
     @Test
@@ -181,14 +613,14 @@ class PatientServiceTest {
 
         when(patientRepository.findById(ArgumentMatchers.<UUID>any()))
                 .thenReturn(java.util.Optional.of(existingPatient));
-        when(patientRepository.save(existingPatient)).thenReturn(existingPatient);
+        when(patientRepository.saveAndFlush(existingPatient)).thenReturn(existingPatient);
 
         // Act
-        sut.updatePatient(existingPatient.getId(), updateRequest);
+        sut.updatePatient(existingPatient.getId(), updateRequest, null);
 
         // Assert
         verify(emailUniquenessPolicy, times(0)).enforce(updateRequest.getEmail());
-        verify(patientRepository, times(1)).save(existingPatient);
+        verify(patientRepository, times(1)).saveAndFlush(existingPatient);
     }
 
     @Test
@@ -202,10 +634,10 @@ class PatientServiceTest {
 
         // Act & Assert
         assertThrows(com.jerosanchez.pms_patient_service.exception.PatientNotFoundException.class,
-                () -> sut.updatePatient(id, updateRequest));
+                () -> sut.updatePatient(id, updateRequest, null));
 
         verify(patientRepository, times(1)).findById(ArgumentMatchers.<UUID>any());
-        verify(patientRepository, times(0)).save(ArgumentMatchers.<Patient>any());
+        verify(patientRepository, times(0)).saveAndFlush(ArgumentMatchers.<Patient>any());
     }
 
     @Test
@@ -215,10 +647,176 @@ class PatientServiceTest {
         PatientRequestDTO updateRequest = new PatientRequestDTO();
 
         // Act & Assert
-        assertThrows(IllegalArgumentException.class, () -> sut.updatePatient(null, updateRequest));
+        assertThrows(IllegalArgumentException.class, () -> sut.updatePatient(null, updateRequest, null));
 
         verify(patientRepository, times(0)).findById(ArgumentMatchers.<UUID>any());
-        verify(patientRepository, times(0)).save(ArgumentMatchers.<Patient>any());
+        verify(patientRepository, times(0)).saveAndFlush(ArgumentMatchers.<Patient>any());
+    }
+
+    @Test
+    void updatePatient_throwsWhenVersionDoesNotMatch() {
+        // Arrange
+        Patient existingPatient = PatientTestFactory.createRandomPatient();
+        PatientRequestDTO updateRequest = toRequestDTO(existingPatient);
+
+        when(patientRepository.findById(existingPatient.getId())).thenReturn(Optional.of(existingPatient));
+
+        // Act & Assert
+        assertThrows(PreconditionFailedException.class,
+                () -> sut.updatePatient(existingPatient.getId(), updateRequest, existingPatient.getVersion() + 1));
+
+        verify(patientRepository, times(0)).saveAndFlush(ArgumentMatchers.<Patient>any());
+    }
+
+    // --- Patch Patient Tests ---
+
+    @Test
+    void patchPatient_updatesOnlySuppliedFieldsWithoutReadingFirst() {
+        // Arrange
+        Patient patient = PatientTestFactory.createRandomPatient();
+        PatientPatchDTO patchRequest = new PatientPatchDTO();
+        patchRequest.setAddress("Updated Address");
+        patient.setAddress("Updated Address");
+        patient.setVersion(3L);
+
+        when(patientRepository.patch(patient.getId(), 2L, Map.of("address", "Updated Address"), 9L)).thenReturn(1);
+        when(patientRepository.findSummaryById(patient.getId()))
+                .thenReturn(Optional.of(PatientTestFactory.toSummary(patient)));
+
+        // Act
+        VersionedPatientDTO result = sut.patchPatient(patient.getId(), patchRequest, 2L);
+
+        // Assert
+        PatientAssertions.assertEqual(patient, result.patient());
+        assertEquals(3L, result.version());
+
+        verify(patientRepository, times(0)).findById(ArgumentMatchers.<UUID>any());
+        verify(emailUniquenessPolicy, times(0)).enforce(ArgumentMatchers.any(), ArgumentMatchers.any());
+        verify(eventPublisher, times(1)).publishEvent(new PatientSavedEvent(patient.getId(), result.patient(), 9L));
+        verify(outbox, times(1)).recordUpdated(result.patient(), 9L);
+        verify(auditLog, times(1)).record(AuditOperation.PATCH, patient.getId(), Set.of("address"));
+    }
+
+    @Test
+    void patchPatient_whenEmailSupplied_enforcesUniquenessExcludingThePatient() {
+        // Arrange
+        Patient patient = PatientTestFactory.createRandomPatient();
+        PatientPatchDTO patchRequest = new PatientPatchDTO();
+        patchRequest.setEmail("newemail@example.com");
+
+        when(patientRepository.patch(ArgumentMatchers.eq(patient.getId()), ArgumentMatchers.isNull(),
+                ArgumentMatchers.any(), ArgumentMatchers.anyLong())).thenReturn(1);
+        when(patientRepository.findSummaryById(patient.getId()))
+                .thenReturn(Optional.of(PatientTestFactory.toSummary(patient)));
+
+        // Act
+        sut.patchPatient(patient.getId(), patchRequest, null);
+
+        // Assert
+        verify(emailUniquenessPolicy, times(1)).enforce("newemail@example.com", patient.getId());
+        verify(emailIndex, times(1)).add("newemail@example.com");
+        verify(emailIndex, times(1)).recordRemoval();
+    }
+
+    @Test
+    void patchPatient_whenNothingUpdatedAndPatientExists_throwsPreconditionFailed() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        when(patientRepository.patch(ArgumentMatchers.eq(id), ArgumentMatchers.eq(1L), ArgumentMatchers.any(),
+                ArgumentMatchers.anyLong())).thenReturn(0);
+        when(patientRepository.findVersionById(id)).thenReturn(Optional.of(2L));
+        PatientPatchDTO patchRequest = new PatientPatchDTO();
+        patchRequest.setAddress("Updated Address");
+
+        // Act & Assert
+        assertThrows(PreconditionFailedException.class, () -> sut.patchPatient(id, patchRequest, 1L));
+    }
+
+    @Test
+    void patchPatient_whenNothingUpdatedAndPatientMissing_throwsNotFound() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        when(patientRepository.patch(ArgumentMatchers.eq(id), ArgumentMatchers.any(), ArgumentMatchers.any(),
+                ArgumentMatchers.anyLong())).thenReturn(0);
+        when(patientRepository.findVersionById(id)).thenReturn(Optional.empty());
+        PatientPatchDTO patchRequest = new PatientPatchDTO();
+        patchRequest.setAddress("Updated Address");
+
+        // Act & Assert
+        assertThrows(PatientNotFoundException.class, () -> sut.patchPatient(id, patchRequest, null));
+    }
+
+    @Test
+    void patchPatient_whenOvertakenByAConcurrentChange_retriesAtANewPosition() {
+        // Arrange
+        Patient patient = PatientTestFactory.createRandomPatient();
+        PatientPatchDTO patchRequest = new PatientPatchDTO();
+        patchRequest.setAddress("Updated Address");
+
+        when(changeLog.nextChangeSeq()).thenReturn(9L, 10L);
+        when(patientRepository.patch(patient.getId(), null, Map.of("address", "Updated Address"), 9L)).thenReturn(0);
+        when(patientRepository.patch(patient.getId(), null, Map.of("address", "Updated Address"), 10L)).thenReturn(1);
+        when(patientRepository.findVersionById(patient.getId())).thenReturn(Optional.of(4L));
+        when(patientRepository.findSummaryById(patient.getId()))
+                .thenReturn(Optional.of(PatientTestFactory.toSummary(patient)));
+
+        // Act
+        VersionedPatientDTO result = sut.patchPatient(patient.getId(), patchRequest, null);
+
+        // Assert
+        verify(changeLog, times(2)).nextChangeSeq();
+        verify(outbox, times(1)).recordUpdated(result.patient(), 10L);
+    }
+
+    @Test
+    void patchPatient_withoutFields_returnsThePatientWithoutWriting() {
+        // Arrange
+        Patient patient = PatientTestFactory.createRandomPatient();
+        patient.setVersion(3L);
+        when(patientRepository.findSummaryById(patient.getId()))
+                .thenReturn(Optional.of(PatientTestFactory.toSummary(patient)));
+
+        // Act
+        VersionedPatientDTO result = sut.patchPatient(patient.getId(), new PatientPatchDTO(), 3L);
+
+        // Assert
+        PatientAssertions.assertEqual(patient, result.patient());
+        assertEquals(3L, result.version());
+        verify(patientRepository, times(0)).patch(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any(),
+                ArgumentMatchers.anyLong());
+        verify(changeLog, times(0)).nextChangeSeq();
+        verify(outbox, times(0)).recordUpdated(ArgumentMatchers.any(), ArgumentMatchers.anyLong());
+        verify(eventPublisher, times(0)).publishEvent(ArgumentMatchers.any());
+        verify(auditLog, times(0)).record(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any());
+    }
+
+    @Test
+    void patchPatient_withoutFieldsAndStaleVersion_throwsPreconditionFailed() {
+        // Arrange
+        Patient patient = PatientTestFactory.createRandomPatient();
+        patient.setVersion(3L);
+        when(patientRepository.findSummaryById(patient.getId()))
+                .thenReturn(Optional.of(PatientTestFactory.toSummary(patient)));
+
+        // Act & Assert
+        assertThrows(PreconditionFailedException.class,
+                () -> sut.patchPatient(patient.getId(), new PatientPatchDTO(), 2L));
+    }
+
+    @Test
+    void patchPatient_withoutFieldsAndPatientMissing_throwsNotFound() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        when(patientRepository.findSummaryById(id)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(PatientNotFoundException.class, () -> sut.patchPatient(id, new PatientPatchDTO(), null));
+    }
+
+    @Test
+    void patchPatient_throwsWhenIdIsNull() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> sut.patchPatient(null, new PatientPatchDTO(), null));
     }
 
     // --- Delete Patient Tests ---
@@ -228,14 +826,22 @@ class PatientServiceTest {
     void deletePatient_successful() {
         // Arrange
         UUID id = UUID.randomUUID();
-        when(patientRepository.existsById(id)).thenReturn(true);
+        when(patientRepository.deleteByIdReturningCount(id)).thenReturn(1);
 
         // Act
-        sut.deletePatient(id);
+        boolean deleted = sut.deletePatient(id);
 
         // Assert
-        verify(patientRepository, times(1)).existsById(id);
-        verify(patientRepository, times(1)).deleteById(id);
+        assertTrue(deleted);
+        verify(changeLog, times(1)).beginChange();
+        verify(patientRepository, times(1)).deleteByIdReturningCount(id);
+        verify(patientRepository, times(0)).existsById(id);
+        verify(patientRepository, times(0)).deleteById(id);
+        verify(emailIndex, times(1)).recordRemoval();
+        verify(eventPublisher, times(1)).publishEvent(new PatientsDeletedEvent(List.of(id), 9L));
+        verify(outbox, times(1)).recordDeleted(List.of(id), 9L);
+        verify(changeLog, times(1)).recordDeleted(List.of(id), 9L);
+        verify(auditLog, times(1)).record(AuditOperation.DELETE, id, List.of());
     }
 
     @Test
@@ -243,14 +849,19 @@ class PatientServiceTest {
     void deletePatient_doesNothingWhenNotExists() {
         // Arrange
         UUID id = UUID.randomUUID();
-        when(patientRepository.existsById(id)).thenReturn(false);
+        when(patientRepository.deleteByIdReturningCount(id)).thenReturn(0);
 
         // Act
-        sut.deletePatient(id);
+        boolean deleted = sut.deletePatient(id);
 
         // Assert
-        verify(patientRepository, times(1)).existsById(id);
-        verify(patientRepository, times(0)).deleteById(id);
+        assertFalse(deleted);
+        verify(patientRepository, times(1)).deleteByIdReturningCount(id);
+        verify(changeLog, times(0)).nextChangeSeq();
+        verify(emailIndex, times(0)).recordRemoval();
+        verify(outbox, times(0)).recordDeleted(ArgumentMatchers.any(), ArgumentMatchers.anyLong());
+        verify(changeLog, times(0)).recordDeleted(ArgumentMatchers.any(), ArgumentMatchers.anyLong());
+        verify(auditLog, times(0)).record(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any());
     }
 
     @Test
@@ -260,7 +871,96 @@ class PatientServiceTest {
         // Act & Assert
         assertThrows(IllegalArgumentException.class, () -> sut.deletePatient(null));
 
-        verify(patientRepository, times(0)).existsById(ArgumentMatchers.<UUID>any());
-        verify(patientRepository, times(0)).deleteById(ArgumentMatchers.<UUID>any());
+        verify(patientRepository, times(0)).deleteByIdReturningCount(ArgumentMatchers.<UUID>any());
+    }
+
+    // --- Delete Patients Batch Tests ---
+
+    @Test
+    void deletePatients_deletesExistingIdsInChunksAndReportsThem() {
+        // Arrange
+        UUID existing1 = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        UUID existing2 = UUID.randomUUID();
+
+        when(patientRepository.findExistingIds(List.of(existing1, missing))).thenReturn(List.of(existing1));
+        when(patientRepository.findExistingIds(List.of(existing2))).thenReturn(List.of(existing2));
+
+        // Act
+        PatientBatchDeleteResponseDTO result = sut.deletePatients(Arrays.asList(existing1, missing, null, existing2));
+
+        // Assert
+        assertEquals(2, result.deleted());
+        assertEquals(List.of(existing1, existing2), result.deletedIds());
+
+        verify(changeLog, times(1)).beginChange();
+        verify(patientRepository, times(1)).deleteAllByIdIn(List.of(existing1));
+        verify(patientRepository, times(1)).deleteAllByIdIn(List.of(existing2));
+        verify(emailIndex, times(1)).recordRemovals(2);
+        verify(eventPublisher, times(1)).publishEvent(new PatientsDeletedEvent(List.of(existing1, existing2), 9L));
+        verify(outbox, times(1)).recordDeleted(List.of(existing1, existing2), 9L);
+        verify(changeLog, times(1)).recordDeleted(List.of(existing1, existing2), 9L);
+        verify(auditLog, times(1)).recordAll(AuditOperation.DELETE, List.of(existing1, existing2), List.of());
+        verify(patientCache, times(1)).evict(existing1);
+        verify(patientCache, times(1)).evict(existing2);
+        verify(patientCache, times(0)).evict(missing);
+        verify(patientCache, times(0)).clear();
+    }
+
+    @Test
+    void deletePatients_insideTransaction_evictsOnlyAfterCommit() {
+        // Arrange
+        UUID existing = UUID.randomUUID();
+        when(patientRepository.findExistingIds(List.of(existing))).thenReturn(List.of(existing));
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            // Act
+            sut.deletePatients(List.of(existing));
+            verify(patientCache, times(0)).evict(existing);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+            // Assert
+            verify(patientCache, times(1)).evict(existing);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void deletePatients_whenNothingExists_deletesNothing() {
+        // Arrange
+        UUID missing = UUID.randomUUID();
+        when(patientRepository.findExistingIds(List.of(missing))).thenReturn(List.of());
+
+        // Act
+        PatientBatchDeleteResponseDTO result = sut.deletePatients(List.of(missing));
+
+        // Assert
+        assertEquals(0, result.deleted());
+        verify(patientRepository, times(0)).deleteAllByIdIn(ArgumentMatchers.<List<UUID>>any());
+        verify(changeLog, times(0)).nextChangeSeq();
+        verify(patientCache, times(0)).evict(ArgumentMatchers.any());
+    }
+
+    @Test
+    void deletePatients_throwsWhenBatchTooLarge() {
+        // Arrange
+        List<UUID> ids = Stream.generate(UUID::randomUUID).limit(5).toList();
+
+        // Act & Assert
+        assertThrows(BatchTooLargeException.class, () -> sut.deletePatients(ids));
+
+        verify(patientRepository, times(0)).findExistingIds(ArgumentMatchers.<List<UUID>>any());
+    }
+
+    // Helper methods
+
+    private void stubSaveAllToAssignIds() {
+        when(patientRepository.saveAll(ArgumentMatchers.<List<Patient>>any())).thenAnswer(invocation -> {
+            List<Patient> patients = invocation.getArgument(0);
+            patients.forEach(patient -> patient.setId(UUID.randomUUID()));
+            return patients;
+        });
     }
 }
@@ -3,6 +3,8 @@ package com.jerosanchez.pms_patient_service.test_helpers;
 import java.util.UUID;
 
 import com.jerosanchez.pms_patient_service.model.Patient;
+import com.jerosanchez.pms_patient_service.repository.ChangedPatient;
+import com.jerosanchez.pms_patient_service.repository.PatientSummary;
 
 public class PatientTestFactory {
     public static Patient createRandomPatient() {
@@ -13,6 +15,28 @@ public class PatientTestFactory {
         patient.setAddress(RandomTestData.randomAddress());
         patient.setDateOfBirth(RandomTestData.randomDate(1950, 2010));
         patient.setRegisteredDate(RandomTestData.randomDate(2015, 2025));
+        patient.setVersion(0L);
         return patient;
     }
+
+    public static PatientSummary toSummary(Patient patient) {
+        return new PatientSummary(
+                patient.getId(),
+                patient.getName(),
+                patient.getEmail(),
+                patient.getAddress(),
+                patient.getDateOfBirth(),
+                patient.getVersion());
+    }
+
+    public static ChangedPatient toChangedPatient(Patient patient) {
+        return new ChangedPatient(
+                patient.getId(),
+                patient.getName(),
+                patient.getEmail(),
+                patient.getAddress(),
+                patient.getDateOfBirth(),
+                patient.getVersion(),
+                patient.getChangeSeq());
+    }
 }
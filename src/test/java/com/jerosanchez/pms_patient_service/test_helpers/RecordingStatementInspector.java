@@ -0,0 +1,26 @@
+package com.jerosanchez.pms_patient_service.test_helpers;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Records the SQL Hibernate sends, as generated, for tests to inspect. Register it through
+// spring.jpa.properties.hibernate.session_factory.statement_inspector
+public class RecordingStatementInspector implements StatementInspector {
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+
+    public static void clear() {
+        STATEMENTS.clear();
+    }
+
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS);
+    }
+}
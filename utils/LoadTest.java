@@ -0,0 +1,91 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop HTTP load generator: a fixed number of clients each send one request at a time
+ * for a fixed duration, then throughput and latency percentiles are printed.
+ * <p>
+ * Usage: java utils/LoadTest.java [url] [concurrency] [seconds]
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        var url = URI.create(args.length > 0 ? args[0] : "http://localhost:8080/api/patients?size=20");
+        var concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        var seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+
+        var client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        var request = HttpRequest.newBuilder(url).timeout(Duration.ofSeconds(60)).GET().build();
+
+        // Warm up the JIT and the connection pool before measuring
+        runFor(client, request, concurrency, Duration.ofSeconds(Math.max(5, seconds / 5)), null);
+
+        var latencies = Collections.synchronizedList(new ArrayList<Long>());
+        var statuses = new ConcurrentHashMap<String, LongAdder>();
+        var started = System.nanoTime();
+        runFor(client, request, concurrency, Duration.ofSeconds(seconds), (status, nanos) -> {
+            latencies.add(nanos);
+            statuses.computeIfAbsent(status, k -> new LongAdder()).increment();
+        });
+        var elapsed = (System.nanoTime() - started) / 1e9;
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        System.out.printf("url=%s concurrency=%d duration=%.1fs%n", url, concurrency, elapsed);
+        System.out.printf("requests=%d throughput=%.1f req/s%n", sorted.size(), sorted.size() / elapsed);
+        System.out.printf("latency p50=%.1fms p99=%.1fms max=%.1fms%n",
+                percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 1.0));
+        System.out.printf("statuses=%s%n", Map.copyOf(statuses));
+    }
+
+    private static void runFor(HttpClient client, HttpRequest request, int concurrency, Duration duration,
+            Recorder recorder) throws InterruptedException {
+        var deadline = System.nanoTime() + duration.toNanos();
+
+        try (var workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                workers.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        var start = System.nanoTime();
+                        String status;
+                        try {
+                            status = String.valueOf(
+                                    client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+                        } catch (Exception ex) {
+                            status = ex.getClass().getSimpleName();
+                        }
+                        if (recorder != null) {
+                            recorder.record(status, System.nanoTime() - start);
+                        }
+                    }
+                });
+            }
+        }
+    }
+
+    private static double percentile(List<Long> sorted, double p) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        var index = (int) Math.ceil(p * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index)) / 1e6;
+    }
+
+    @FunctionalInterface
+    private interface Recorder {
+        void record(String status, long nanos);
+    }
+}
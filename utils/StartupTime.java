@@ -0,0 +1,84 @@
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time-to-first-request: starts the service with the given command, polls a URL until it answers
+ * with a 2xx status, stops the service, and repeats. The time is measured from launching the
+ * process, so it includes JVM startup, unlike the "Started ... in" log line.
+ * <p>
+ * Usage: java utils/StartupTime.java url runs command [args...]
+ */
+public class StartupTime {
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+    private static final Duration TIMEOUT = Duration.ofMinutes(3);
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("Usage: java utils/StartupTime.java url runs command [args...]");
+            System.exit(2);
+        }
+
+        var url = URI.create(args[0]);
+        var runs = Integer.parseInt(args[1]);
+        var command = List.of(Arrays.copyOfRange(args, 2, args.length));
+
+        var client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        var request = HttpRequest.newBuilder(url).timeout(Duration.ofSeconds(5)).GET().build();
+
+        var times = new ArrayList<Long>();
+        for (int run = 1; run <= runs; run++) {
+            var millis = measure(client, request, command);
+            times.add(millis);
+            System.out.printf("run=%d time-to-first-request=%dms%n", run, millis);
+        }
+
+        Collections.sort(times);
+        System.out.printf("command=%s%n", String.join(" ", command));
+        System.out.printf("runs=%d min=%dms median=%dms max=%dms%n",
+                runs, times.get(0), times.get(times.size() / 2), times.get(times.size() - 1));
+    }
+
+    private static long measure(HttpClient client, HttpRequest request, List<String> command) throws Exception {
+        var started = System.nanoTime();
+        var process = new ProcessBuilder(command)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+
+        try {
+            while (System.nanoTime() - started < TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Service exited with code " + process.exitValue());
+                }
+                if (isUp(client, request)) {
+                    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+                }
+                Thread.sleep(POLL_INTERVAL);
+            }
+            throw new IllegalStateException("Service did not answer within " + TIMEOUT);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static boolean isUp(HttpClient client, HttpRequest request) throws InterruptedException {
+        try {
+            var status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            return status >= 200 && status < 300;
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+}